@@ -0,0 +1,63 @@
+package com.skygate.backend.benchmark;
+
+import com.skygate.backend.model.entity.Flight;
+import com.skygate.backend.model.entity.Gate;
+import com.skygate.backend.model.enums.AircraftType;
+import com.skygate.backend.service.assignment.AssignmentStrategyService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Coste de puntuar todos los gates para un vuelo con AssignmentStrategyService.scoreGateForFlight.
+// Solo se usa el calculo de puntuacion, por lo que no hace falta GateAvailabilityService.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AssignmentScoringBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int gateCount;
+
+    @Param({"NARROW_BODY", "WIDE_BODY", "JUMBO"})
+    public AircraftType aircraftType;
+
+    private AssignmentStrategyService assignmentStrategyService;
+    private Flight flight;
+    private List<Gate> gates;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkFixtures.quietLogging();
+        assignmentStrategyService = new AssignmentStrategyService(null);
+        flight = BenchmarkFixtures.flight(1, BenchmarkFixtures.aircraft(1, aircraftType));
+        gates = BenchmarkFixtures.gates(gateCount, true);
+    }
+
+    @Benchmark
+    public Gate scoreAllGates() {
+        Gate bestGate = null;
+        int bestScore = 0;
+        for (Gate gate : gates) {
+            int score = assignmentStrategyService.scoreGateForFlight(flight, gate).getScore();
+            if (score > bestScore) {
+                bestScore = score;
+                bestGate = gate;
+            }
+        }
+        return bestGate;
+    }
+}
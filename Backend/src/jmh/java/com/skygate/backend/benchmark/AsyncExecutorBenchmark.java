@@ -0,0 +1,114 @@
+package com.skygate.backend.benchmark;
+
+import com.skygate.backend.BackendApplication;
+import com.skygate.backend.config.AsyncConfig;
+import com.skygate.backend.model.entity.Gate;
+import com.skygate.backend.model.enums.AircraftType;
+import com.skygate.backend.model.enums.GateStatus;
+import com.skygate.backend.repository.GateRepository;
+import com.skygate.backend.service.flight.FlightDetectionService;
+import com.skygate.backend.service.gate.GateAvailabilityService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Rafaga de detecciones reales (FlightDetectionService contra H2) enviadas al executor de @Async tal
+// como lo construye AsyncConfig. El tiempo de la rafaga da el throughput; el resultado es el numero de
+// detecciones que fallaron. Con CallerRunsPolicy el pool no rechaza: el hilo que envia ejecuta la
+// deteccion cuando la cola esta llena. VIRTUAL solo existe en Java 21+ y se pide con -p executor=VIRTUAL.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class AsyncExecutorBenchmark {
+
+    private static final int INVOCATIONS = 4;
+    private static final AircraftType[] AIRCRAFT_TYPES = AircraftType.values();
+
+    @Param({"POOL"})
+    public String executor;
+
+    @Param({"10000"})
+    public int detections;
+
+    private ConfigurableApplicationContext context;
+    private Executor taskExecutor;
+    private FlightDetectionService detectionService;
+    private int nextFlight;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boolean virtualThreads = "VIRTUAL".equals(executor);
+        if (virtualThreads && !AsyncConfig.useVirtualThreads(true)) {
+            throw new IllegalStateException("VIRTUAL executor requires Java 21+");
+        }
+
+        BenchmarkFixtures.quietLogging();
+        context = new SpringApplicationBuilder(BackendApplication.class)
+                .run("--spring.datasource.url=jdbc:h2:mem:asyncbench",
+                        "--spring.jpa.show-sql=false",
+                        "--server.port=0",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.skygate.backend=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--spring.threads.virtual.enabled=" + virtualThreads);
+
+        // Gates libres para todas las invocaciones: cada deteccion recorre la ruta completa hasta S4
+        List<Gate> gates = BenchmarkFixtures.gates(detections * INVOCATIONS, false);
+        gates.forEach(gate -> gate.setStatus(GateStatus.FREE));
+        context.getBean(GateRepository.class).saveAll(gates);
+        context.getBean(GateAvailabilityService.class).initializeIndex();
+
+        taskExecutor = context.getBean("taskExecutor", Executor.class);
+        detectionService = context.getBean(FlightDetectionService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public int burst() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(detections);
+        AtomicInteger failed = new AtomicInteger();
+
+        for (int i = 0; i < detections; i++) {
+            int flight = nextFlight++;
+            String flightNumber = "A" + (char) ('A' + flight / 10000) + String.format("%04d", flight % 10000);
+            AircraftType aircraftType = AIRCRAFT_TYPES[flight % AIRCRAFT_TYPES.length];
+            taskExecutor.execute(() -> {
+                try {
+                    detectionService.detectFlightByAircraftType(flightNumber, aircraftType, "BOG", "LIM", "SkyGate Bench");
+                } catch (RuntimeException e) {
+                    failed.incrementAndGet();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        return failed.get();
+    }
+}
@@ -0,0 +1,63 @@
+package com.skygate.backend.benchmark;
+
+import com.skygate.backend.model.enums.AircraftType;
+import com.skygate.backend.model.enums.AutomataInput;
+import com.skygate.backend.model.enums.AutomataState;
+import com.skygate.backend.service.automata.TransitionTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import java.util.concurrent.TimeUnit;
+
+// Compara el motor de transiciones basado en tabla con el antiguo basado en switch
+// recorriendo los ciclos completos de asignacion directa y con espera en S6.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AutomataTransitionBenchmark {
+
+    private static final AutomataInput[] INPUTS = {
+            AutomataInput.I1, AutomataInput.I2, AutomataInput.I3, AutomataInput.I5, AutomataInput.I6,
+            AutomataInput.I1, AutomataInput.I2, AutomataInput.I4, AutomataInput.I3, AutomataInput.I5, AutomataInput.I6
+    };
+
+    private static final Object[] CONTEXTS = {
+            AircraftType.WIDE_BODY, null, null, null, null,
+            AircraftType.NARROW_BODY, null, null, null, null, null
+    };
+
+    @Benchmark
+    public AutomataState tableEngine(Blackhole blackhole) {
+        AutomataState state = AutomataState.S0;
+        for (int i = 0; i < INPUTS.length; i++) {
+            TransitionTable.Transition transition = TransitionTable.resolve(state, INPUTS[i], CONTEXTS[i]);
+            blackhole.consume(transition.getOutputs());
+            state = transition.getNextState();
+        }
+        return state;
+    }
+
+    @Benchmark
+    public AutomataState switchEngine(Blackhole blackhole) {
+        AutomataState state = AutomataState.S0;
+        for (int i = 0; i < INPUTS.length; i++) {
+            if (!LegacySwitchTransitions.canTransition(state, INPUTS[i])) {
+                throw new IllegalStateException("Invalid transition from " + state + " with " + INPUTS[i]);
+            }
+            AutomataState nextState = LegacySwitchTransitions.determineNextState(state, INPUTS[i], CONTEXTS[i]);
+            blackhole.consume(LegacySwitchTransitions.determineOutputs(state, nextState, INPUTS[i]));
+            state = nextState;
+        }
+        return state;
+    }
+}
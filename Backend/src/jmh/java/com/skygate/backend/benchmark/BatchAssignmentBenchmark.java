@@ -0,0 +1,99 @@
+package com.skygate.backend.benchmark;
+
+import com.skygate.backend.model.entity.Flight;
+import com.skygate.backend.model.entity.Gate;
+import com.skygate.backend.model.enums.AircraftType;
+import com.skygate.backend.model.enums.GateType;
+import com.skygate.backend.service.assignment.AssignmentStrategyService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Coste de planificar una ola de llegadas completa con AssignmentStrategyService.planBatchAssignment
+// (emparejamiento de coste minimo) frente a la asignacion voraz vuelo a vuelo.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchAssignmentBenchmark {
+
+    private static final AircraftType[] WAVE_TYPES = {
+            AircraftType.NARROW_BODY, AircraftType.NARROW_BODY, AircraftType.WIDE_BODY, AircraftType.JUMBO
+    };
+
+    @Param({"100", "500"})
+    public int flightCount;
+
+    @Param({"200"})
+    public int gateCount;
+
+    private AssignmentStrategyService assignmentStrategyService;
+    private List<Flight> flights;
+    private List<Gate> gates;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkFixtures.quietLogging();
+        assignmentStrategyService = new AssignmentStrategyService(null);
+
+        flights = new ArrayList<>(flightCount);
+        for (int i = 0; i < flightCount; i++) {
+            AircraftType aircraftType = WAVE_TYPES[i % WAVE_TYPES.length];
+            flights.add(BenchmarkFixtures.flight(i + 1, BenchmarkFixtures.aircraft(i % WAVE_TYPES.length + 1, aircraftType)));
+        }
+        gates = BenchmarkFixtures.gates(gateCount, true);
+    }
+
+    @Benchmark
+    public Map<Long, Gate> minCostMatching() {
+        return assignmentStrategyService.planBatchAssignment(flights, gates);
+    }
+
+    // Referencia: lo que hace hoy el flujo vuelo a vuelo (tipo exacto primero, luego el mayor compatible)
+    @Benchmark
+    public Map<Long, Gate> greedyFirstFit() {
+        Map<Long, Gate> plan = new HashMap<>();
+        Set<Gate> taken = new HashSet<>();
+        for (Flight flight : flights) {
+            AircraftType aircraftType = flight.getAircraft().getAircraftType();
+            Gate chosen = firstFree(GateType.fromAircraftType(aircraftType), taken);
+            for (GateType gateType : new GateType[]{GateType.WIDE_BODY, GateType.JUMBO}) {
+                if (chosen == null && aircraftType.isCompatibleWith(gateType)) {
+                    chosen = firstFree(gateType, taken);
+                }
+            }
+            if (chosen != null) {
+                taken.add(chosen);
+                plan.put(flight.getId(), chosen);
+            }
+        }
+        return plan;
+    }
+
+    private Gate firstFree(GateType gateType, Set<Gate> taken) {
+        for (Gate gate : gates) {
+            if (gate.getGateType() == gateType && gate.isAvailable() && !taken.contains(gate)) {
+                return gate;
+            }
+        }
+        return null;
+    }
+}
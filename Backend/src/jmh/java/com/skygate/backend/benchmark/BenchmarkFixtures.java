@@ -0,0 +1,61 @@
+package com.skygate.backend.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.skygate.backend.model.entity.Aircraft;
+import com.skygate.backend.model.entity.Flight;
+import com.skygate.backend.model.entity.Gate;
+import com.skygate.backend.model.enums.AircraftType;
+import com.skygate.backend.model.enums.GateStatus;
+import com.skygate.backend.model.enums.GateType;
+import org.slf4j.LoggerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+final class BenchmarkFixtures {
+
+    private static final GateType[] GATE_TYPES = GateType.values();
+
+    private BenchmarkFixtures() {
+    }
+
+    // Los servicios registran cada operacion en INFO; se silencian para medir solo la logica
+    static void quietLogging() {
+        ((Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+        ((Logger) LoggerFactory.getLogger("com.skygate.backend")).setLevel(Level.WARN);
+    }
+
+    static Aircraft aircraft(long id, AircraftType aircraftType) {
+        Aircraft aircraft = new Aircraft();
+        aircraft.setId(id);
+        aircraft.setModel("Bench " + aircraftType.name());
+        aircraft.setManufacturer("SkyGate");
+        aircraft.setAircraftType(aircraftType);
+        aircraft.setMaxPassengers(200);
+        return aircraft;
+    }
+
+    static Flight flight(long id, Aircraft aircraft) {
+        Flight flight = new Flight("BM" + (1000 + id % 9000), aircraft, "Bogota", "Lima");
+        flight.setId(id);
+        flight.setAirline("SkyGate Bench");
+        flight.setScheduledArrival(LocalDateTime.now().plusMinutes(30));
+        flight.setScheduledDeparture(LocalDateTime.now().plusHours(2));
+        return flight;
+    }
+
+    static List<Gate> gates(int count, boolean withIds) {
+        List<Gate> gates = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            GateType gateType = GATE_TYPES[i % GATE_TYPES.length];
+            Gate gate = new Gate("X" + i, gateType, "X", "Benchmark gate " + i);
+            gate.setStatus(i % 4 == 0 ? GateStatus.OCCUPIED : GateStatus.FREE);
+            if (withIds) {
+                gate.setId((long) i + 1);
+            }
+            gates.add(gate);
+        }
+        return gates;
+    }
+}
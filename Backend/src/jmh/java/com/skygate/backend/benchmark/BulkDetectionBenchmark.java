@@ -0,0 +1,97 @@
+package com.skygate.backend.benchmark;
+
+import com.skygate.backend.BackendApplication;
+import com.skygate.backend.model.dto.request.FlightDetectionRequestDTO;
+import com.skygate.backend.model.dto.response.BulkDetectionResultDTO;
+import com.skygate.backend.model.entity.Gate;
+import com.skygate.backend.model.enums.AircraftType;
+import com.skygate.backend.model.enums.GateStatus;
+import com.skygate.backend.repository.GateRepository;
+import com.skygate.backend.service.flight.FlightDetectionService;
+import com.skygate.backend.service.gate.GateAvailabilityService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Escalado de FlightDetectionService.detectFlights con el numero de carriles: cada invocacion
+// detecta un lote de BATCH_SIZE vuelos nuevos contra H2 y el resultado es el tiempo medio por
+// deteccion, que deberia bajar con laneCount mientras la BD no sea el cuello de botella. Hay gates
+// libres de sobra para todas las invocaciones, asi cada deteccion recorre la ruta completa hasta S4.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 1, batchSize = 1)
+@Measurement(iterations = 5, batchSize = 1)
+@Fork(1)
+public class BulkDetectionBenchmark {
+
+    private static final int BATCH_SIZE = 500;
+    private static final int INVOCATIONS = 6;
+    private static final AircraftType[] AIRCRAFT_TYPES = AircraftType.values();
+
+    @Param({"1", "4", "16"})
+    public int laneCount;
+
+    private ConfigurableApplicationContext context;
+    private FlightDetectionService detectionService;
+    private int nextFlight;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkFixtures.quietLogging();
+        context = new SpringApplicationBuilder(BackendApplication.class)
+                .run("--spring.datasource.url=jdbc:h2:mem:bulkbench",
+                        "--spring.jpa.show-sql=false",
+                        "--server.port=0",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.skygate.backend=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--automata.lanes.count=" + laneCount,
+                        "--flight.detection.bulk.max-size=" + BATCH_SIZE);
+
+        List<Gate> gates = BenchmarkFixtures.gates(BATCH_SIZE * INVOCATIONS * 2, false);
+        gates.forEach(gate -> gate.setStatus(GateStatus.FREE));
+        context.getBean(GateRepository.class).saveAll(gates);
+        context.getBean(GateAvailabilityService.class).initializeIndex();
+        detectionService = context.getBean(FlightDetectionService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<BulkDetectionResultDTO> detectBatch() {
+        List<FlightDetectionRequestDTO> detections = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            int flight = nextFlight++;
+            FlightDetectionRequestDTO detection = new FlightDetectionRequestDTO();
+            detection.setFlightNumber("B" + (char) ('A' + flight / 10000) + String.format("%04d", flight % 10000));
+            detection.setAircraftType(AIRCRAFT_TYPES[flight % AIRCRAFT_TYPES.length]);
+            detection.setOrigin("BOG");
+            detection.setDestination("LIM");
+            detections.add(detection);
+        }
+        return detectionService.detectFlights(detections);
+    }
+}
@@ -0,0 +1,55 @@
+package com.skygate.backend.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skygate.backend.config.JacksonConfig;
+import com.skygate.backend.model.dto.response.FlightResponseDTO;
+import com.skygate.backend.model.entity.Flight;
+import com.skygate.backend.model.enums.AircraftType;
+import com.skygate.backend.model.enums.AutomataState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+// Conversion de Flight a FlightResponseDTO y su serializacion con el ObjectMapper de la aplicacion.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FlightSerializationBenchmark {
+
+    private Flight flight;
+    private ObjectMapper objectMapper;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = new JacksonConfig().objectMapper();
+        flight = BenchmarkFixtures.flight(1, BenchmarkFixtures.aircraft(1, AircraftType.WIDE_BODY));
+        flight.setAutomataState(AutomataState.S4);
+        flight.setDetectedAt(LocalDateTime.now());
+        flight.setCreatedAt(LocalDateTime.now());
+        flight.setUpdatedAt(LocalDateTime.now());
+    }
+
+    @Benchmark
+    public FlightResponseDTO fromEntity() {
+        return FlightResponseDTO.fromEntity(flight);
+    }
+
+    @Benchmark
+    public byte[] fromEntityToJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(FlightResponseDTO.fromEntity(flight));
+    }
+}
@@ -0,0 +1,92 @@
+package com.skygate.backend.benchmark;
+
+import com.skygate.backend.BackendApplication;
+import com.skygate.backend.model.entity.Gate;
+import com.skygate.backend.model.enums.AircraftType;
+import com.skygate.backend.model.enums.GateStatus;
+import com.skygate.backend.model.enums.GateType;
+import com.skygate.backend.repository.GateRepository;
+import com.skygate.backend.service.gate.GateAvailabilityService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// GateAvailabilityService.findAvailableGate contra H2 con distintos tamanos de flota,
+// con y sin el indice en memoria. Los gates NARROW_BODY quedan ocupados para que
+// la busqueda de un narrow body tenga que recurrir a un gate de mayor tamano.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GateAvailabilityBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int gateCount;
+
+    @Param({"true", "false"})
+    public boolean indexEnabled;
+
+    private ConfigurableApplicationContext context;
+    private GateAvailabilityService gateAvailabilityService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkFixtures.quietLogging();
+        context = new SpringApplicationBuilder(BackendApplication.class)
+                .run("--spring.datasource.url=jdbc:h2:mem:gatebench",
+                        "--spring.jpa.show-sql=false",
+                        "--server.port=0",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.skygate.backend=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--gate.availability.index-enabled=" + indexEnabled);
+
+        GateRepository gateRepository = context.getBean(GateRepository.class);
+        gateRepository.saveAll(BenchmarkFixtures.gates(gateCount, false));
+
+        List<Gate> gates = gateRepository.findAll();
+        for (Gate gate : gates) {
+            if (gate.getGateType() == GateType.NARROW_BODY) {
+                gate.setStatus(GateStatus.OCCUPIED);
+            }
+        }
+        gateRepository.saveAll(gates);
+
+        gateAvailabilityService = context.getBean(GateAvailabilityService.class);
+        gateAvailabilityService.initializeIndex();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public Optional<Gate> exactMatch() {
+        return gateAvailabilityService.findAvailableGate(AircraftType.WIDE_BODY);
+    }
+
+    @Benchmark
+    public Optional<Gate> fallbackToLargerGate() {
+        return gateAvailabilityService.findAvailableGate(AircraftType.NARROW_BODY);
+    }
+}
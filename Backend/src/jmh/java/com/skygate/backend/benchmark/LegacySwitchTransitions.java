@@ -0,0 +1,104 @@
+package com.skygate.backend.benchmark;
+
+import com.skygate.backend.model.enums.AircraftType;
+import com.skygate.backend.model.enums.AutomataInput;
+import com.skygate.backend.model.enums.AutomataOutput;
+import com.skygate.backend.model.enums.AutomataState;
+import java.util.ArrayList;
+import java.util.List;
+
+// Copia del motor basado en switch que usaba StateTransitionService antes de
+// TransitionTable; se conserva solo como linea base de los benchmarks.
+final class LegacySwitchTransitions {
+
+    private LegacySwitchTransitions() {
+    }
+
+    static boolean canTransition(AutomataState currentState, AutomataInput input) {
+        switch (currentState) {
+            case S0:
+                return input == AutomataInput.I1;
+            case S1:
+            case S2:
+            case S3:
+                return input == AutomataInput.I2
+                        || input == AutomataInput.I3
+                        || input == AutomataInput.I4
+                        || input == AutomataInput.OTHER;
+            case S4:
+                return input == AutomataInput.I5 || input == AutomataInput.OTHER;
+            case S5:
+                return input == AutomataInput.I6 || input == AutomataInput.OTHER;
+            case S6:
+                return input == AutomataInput.I1
+                        || input == AutomataInput.I3
+                        || input == AutomataInput.OTHER;
+            default:
+                return false;
+        }
+    }
+
+    static AutomataState determineNextState(AutomataState currentState, AutomataInput input, Object context) {
+        switch (currentState) {
+            case S0:
+                if (input == AutomataInput.I1) {
+                    return AutomataState.getDetectionState((AircraftType) context);
+                }
+                return AutomataState.S0;
+            case S1:
+            case S2:
+            case S3:
+                if (input == AutomataInput.I3) {
+                    return AutomataState.S4;
+                }
+                if (input == AutomataInput.I4) {
+                    return AutomataState.S6;
+                }
+                return currentState;
+            case S4:
+                return input == AutomataInput.I5 ? AutomataState.S5 : AutomataState.S4;
+            case S5:
+                return input == AutomataInput.I6 ? AutomataState.S0 : AutomataState.S5;
+            case S6:
+                if (input == AutomataInput.I1) {
+                    return AutomataState.S0;
+                }
+                if (input == AutomataInput.I3) {
+                    return AutomataState.S4;
+                }
+                return AutomataState.S6;
+            default:
+                throw new IllegalStateException("Unknown state: " + currentState);
+        }
+    }
+
+    static List<AutomataOutput> determineOutputs(AutomataState currentState, AutomataState nextState, AutomataInput input) {
+        List<AutomataOutput> outputs = new ArrayList<>();
+
+        if (currentState == AutomataState.S0 && nextState.isDetectionState()) {
+            outputs.add(AutomataOutput.O5);
+        }
+        if (currentState.isDetectionState() && nextState == AutomataState.S4 && input == AutomataInput.I3) {
+            outputs.add(AutomataOutput.O1);
+            outputs.add(AutomataOutput.O2);
+            outputs.add(AutomataOutput.O5);
+        }
+        if (currentState.isDetectionState() && nextState == AutomataState.S6 && input == AutomataInput.I4) {
+            outputs.add(AutomataOutput.O4);
+        }
+        if (currentState == AutomataState.S6 && nextState == AutomataState.S4 && input == AutomataInput.I3) {
+            outputs.add(AutomataOutput.O1);
+            outputs.add(AutomataOutput.O2);
+            outputs.add(AutomataOutput.O5);
+        }
+        if (currentState == AutomataState.S4 && nextState == AutomataState.S5) {
+            outputs.add(AutomataOutput.O3);
+            outputs.add(AutomataOutput.O5);
+        }
+        if (currentState == AutomataState.S5 && nextState == AutomataState.S0) {
+            outputs.add(AutomataOutput.O5);
+        }
+
+        return outputs;
+    }
+}
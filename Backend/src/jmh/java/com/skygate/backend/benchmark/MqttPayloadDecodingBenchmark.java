@@ -0,0 +1,64 @@
+package com.skygate.backend.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skygate.backend.config.JacksonConfig;
+import com.skygate.backend.model.dto.request.SensorDetectionMessageDTO;
+import com.skygate.backend.mqtt.MqttPayloadDecoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Decodificacion de un mensaje del topic de deteccion: String + Map (implementacion anterior)
+// frente a MqttPayloadDecoder. Ejecutar con "-prof gc" para ver los bytes asignados por mensaje.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MqttPayloadDecodingBenchmark {
+
+    private static final byte[] PAYLOAD = ("{\"action\":\"AIRCRAFT_DETECTED\",\"flightNumber\":\"AV1234\","
+            + "\"aircraftType\":\"WIDE_BODY\",\"origin\":\"Bogota\",\"destination\":\"Lima\","
+            + "\"airline\":\"Avianca\",\"sensorId\":\"RWY-01\",\"timestamp\":1760800000000}")
+            .getBytes(StandardCharsets.UTF_8);
+
+    private ObjectMapper objectMapper;
+    private MqttPayloadDecoder payloadDecoder;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = new JacksonConfig().objectMapper();
+        payloadDecoder = new MqttPayloadDecoder(objectMapper);
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public void stringToMap(Blackhole blackhole) throws Exception {
+        String payload = new String(PAYLOAD, StandardCharsets.UTF_8);
+        Map<String, Object> data = objectMapper.readValue(payload, Map.class);
+        blackhole.consume((String) data.get("action"));
+        blackhole.consume((String) data.get("flightNumber"));
+        blackhole.consume((String) data.get("aircraftType"));
+        blackhole.consume((String) data.getOrDefault("origin", "Unknown"));
+        blackhole.consume((String) data.getOrDefault("destination", "Unknown"));
+        blackhole.consume((String) data.getOrDefault("airline", "Unknown"));
+    }
+
+    @Benchmark
+    public SensorDetectionMessageDTO typedReader() {
+        return payloadDecoder.decodeSensorDetection(PAYLOAD);
+    }
+}
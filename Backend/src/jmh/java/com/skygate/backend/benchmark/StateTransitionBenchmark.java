@@ -0,0 +1,102 @@
+package com.skygate.backend.benchmark;
+
+import com.skygate.backend.model.entity.Flight;
+import com.skygate.backend.model.enums.AircraftType;
+import com.skygate.backend.model.enums.AutomataInput;
+import com.skygate.backend.service.automata.AutomataStateManager;
+import com.skygate.backend.service.automata.StateTransitionService;
+import com.skygate.backend.service.automata.TransitionJournal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import java.util.concurrent.TimeUnit;
+
+// Throughput de StateTransitionService.processInput recorriendo el ciclo completo
+// de un vuelo (deteccion, asignacion, llegada y salida) sobre un conjunto de vuelos activos.
+// Con journal=true cada transicion se encola en TransitionJournal, que escribe en H2 en memoria.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StateTransitionBenchmark {
+
+    private static final AutomataInput[] CYCLE = {
+            AutomataInput.I1, AutomataInput.I2, AutomataInput.I3, AutomataInput.I5, AutomataInput.I6
+    };
+
+    private static final AircraftType[] DETECTED_TYPES = {
+            AircraftType.WIDE_BODY, AircraftType.JUMBO, AircraftType.NARROW_BODY
+    };
+
+    @Param({"100", "10000"})
+    public int activeFlights;
+
+    @Param({"false", "true"})
+    public boolean journal;
+
+    private StateTransitionService stateTransitionService;
+    private TransitionJournal transitionJournal;
+    private Flight[] flights;
+    private AircraftType[] aircraftTypes;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkFixtures.quietLogging();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        JdbcTemplate jdbcTemplate = null;
+        if (journal) {
+            jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource("jdbc:h2:mem:journal;DB_CLOSE_DELAY=-1", "sa", "", true));
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS automata_transitions (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                    + "flight_id BIGINT NOT NULL, flight_number VARCHAR(10), from_state VARCHAR(5) NOT NULL, "
+                    + "input VARCHAR(10) NOT NULL, to_state VARCHAR(5) NOT NULL, outputs VARCHAR(255), "
+                    + "occurred_at TIMESTAMP NOT NULL)");
+        }
+        transitionJournal = new TransitionJournal(jdbcTemplate, registry, journal, 10000, 200, 20, 5, 500);
+        transitionJournal.start();
+        stateTransitionService = new StateTransitionService(new AutomataStateManager(), transitionJournal, registry);
+
+        AircraftType[] types = DETECTED_TYPES;
+        flights = new Flight[activeFlights];
+        aircraftTypes = new AircraftType[activeFlights];
+        for (int i = 0; i < activeFlights; i++) {
+            aircraftTypes[i] = types[i % types.length];
+            flights[i] = BenchmarkFixtures.flight(i + 1, BenchmarkFixtures.aircraft(i % types.length + 1, aircraftTypes[i]));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        transitionJournal.stop();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(5)
+    public void processInputCycle(Blackhole blackhole) {
+        int index = cursor;
+        cursor = index + 1 == flights.length ? 0 : index + 1;
+
+        Flight flight = flights[index];
+        for (AutomataInput input : CYCLE) {
+            Object context = input == AutomataInput.I1 ? aircraftTypes[index] : null;
+            blackhole.consume(stateTransitionService.processInput(flight, input, context));
+        }
+    }
+}
@@ -1,25 +1,75 @@
 package com.skygate.backend.config;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.system.JavaVersion;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Configuration
 @EnableAsync
 public class AsyncConfig {
 
+    private static final Logger logger = LoggerFactory.getLogger(AsyncConfig.class);
+
+    private static final String THREAD_NAME_PREFIX = "skygate-async-";
+    private static final int AWAIT_TERMINATION_SECONDS = 60;
+
+    // spring.threads.virtual.enabled es la misma propiedad con la que Spring Boot pasa Tomcat y el
+    // scheduler a hilos virtuales; aqui se aplica tambien a @Async y a la ingesta MQTT
     @Bean(name = "taskExecutor")
-    public Executor taskExecutor() {
+    public Executor taskExecutor(
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+            @Value("${async.executor.core-size:5}") int coreSize,
+            @Value("${async.executor.max-size:10}") int maxSize,
+            @Value("${async.executor.queue-capacity:100}") int queueCapacity,
+            @Value("${async.executor.virtual-concurrency-limit:1000}") int concurrencyLimit) {
+        if (useVirtualThreads(virtualThreads)) {
+            logger.info("@Async executor using virtual threads (concurrency limit {})", concurrencyLimit);
+            return virtualThreadExecutor(concurrencyLimit);
+        }
+        if (virtualThreads) {
+            logger.warn("Virtual threads require Java 21+, running on Java {}. Falling back to thread pool",
+                    JavaVersion.getJavaVersion());
+        }
+        return threadPoolExecutor(coreSize, maxSize, queueCapacity);
+    }
+
+    // Los hilos virtuales solo existen desde Java 21; en versiones anteriores se mantiene el pool
+    public static boolean useVirtualThreads(boolean enabled) {
+        return enabled && JavaVersion.getJavaVersion().isEqualOrNewerThan(JavaVersion.TWENTY_ONE);
+    }
+
+    public static ThreadPoolTaskExecutor threadPoolExecutor(int coreSize, int maxSize, int queueCapacity) {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(5);
-        executor.setMaxPoolSize(10);
-        executor.setQueueCapacity(100);
-        executor.setThreadNamePrefix("skygate-async-");
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(Math.max(coreSize, maxSize));
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix(THREAD_NAME_PREFIX);
+        // Con el pool y la cola llenos la tarea se ejecuta en el hilo que la envia: frena al productor
+        // (Tomcat, MQTT) en vez de perder la deteccion con un TaskRejectedException
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
         executor.setWaitForTasksToCompleteOnShutdown(true);
-        executor.setAwaitTerminationSeconds(60);
+        executor.setAwaitTerminationSeconds(AWAIT_TERMINATION_SECONDS);
         executor.initialize();
         return executor;
     }
+
+    // Un hilo virtual por tarea. Al superar el limite el llamador espera en vez de recibir un
+    // rechazo; el limite protege el pool de conexiones de la BD
+    public static SimpleAsyncTaskExecutor virtualThreadExecutor(int concurrencyLimit) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(THREAD_NAME_PREFIX);
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(concurrencyLimit > 0
+                ? concurrencyLimit
+                : SimpleAsyncTaskExecutor.UNBOUNDED_CONCURRENCY);
+        executor.setTaskTerminationTimeout(AWAIT_TERMINATION_SECONDS * 1000L);
+        return executor;
+    }
 }
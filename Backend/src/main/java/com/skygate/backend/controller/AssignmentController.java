@@ -3,16 +3,19 @@ package com.skygate.backend.controller;
 import com.skygate.backend.model.dto.request.GateAssignmentRequestDTO;
 import com.skygate.backend.model.dto.response.ApiResponseDTO;
 import com.skygate.backend.model.dto.response.AssignmentResponseDTO;
+import com.skygate.backend.model.dto.response.CursorPageDTO;
 import com.skygate.backend.model.entity.Assignment;
 import com.skygate.backend.service.assignment.AssignmentService;
 import com.skygate.backend.util.Constants;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -68,6 +71,30 @@ public class AssignmentController {
         return ResponseEntity.ok(ApiResponseDTO.success(response));
     }
 
+    // Paginacion por cursor: pasar nextCursor de la respuesta como "after" para la siguiente pagina
+    @GetMapping("/page")
+    public ResponseEntity<ApiResponseDTO<CursorPageDTO<AssignmentResponseDTO>>> getAssignmentPage(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) Boolean activeOnly) {
+        logger.info("Fetching assignments page after {} (size: {}, activeOnly: {})", after, size, activeOnly);
+        CursorPageDTO<AssignmentResponseDTO> page = assignmentService.getAssignmentPage(after, CursorPageDTO.limit(size),
+                activeOnly != null && activeOnly);
+        return ResponseEntity.ok(ApiResponseDTO.success(page));
+    }
+
+    // Historico completo (tabla caliente + archivo) ordenado por assignedAt
+    @GetMapping("/history")
+    public ResponseEntity<ApiResponseDTO<List<AssignmentResponseDTO>>> getAssignmentHistory(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String gate,
+            @RequestParam(required = false) String flight) {
+        logger.info("Fetching assignment history (from: {}, to: {}, gate: {}, flight: {})", from, to, gate, flight);
+        List<AssignmentResponseDTO> response = assignmentService.getAssignmentHistory(from, to, gate, flight);
+        return ResponseEntity.ok(ApiResponseDTO.success(response));
+    }
+
     @GetMapping("/flight/{flightId}")
     public ResponseEntity<ApiResponseDTO<AssignmentResponseDTO>> getActiveAssignmentByFlight(
             @PathVariable Long flightId) {
@@ -0,0 +1,92 @@
+package com.skygate.backend.controller;
+
+import com.skygate.backend.model.enums.ExportFormat;
+import com.skygate.backend.service.export.HistoryExportService;
+import com.skygate.backend.util.Constants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPOutputStream;
+
+// Descarga del historico en NDJSON o CSV. La respuesta se escribe mientras se lee la BD;
+// si el cliente acepta gzip se comprime al vuelo.
+@RestController
+@RequestMapping(Constants.ApiConstants.EXPORT_ENDPOINT)
+public class ExportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportController.class);
+
+    private final HistoryExportService exportService;
+
+    public ExportController(HistoryExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    @GetMapping("/assignments")
+    public ResponseEntity<StreamingResponseBody> exportAssignments(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String gate,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        validateRange(from, to);
+        logger.info("Exporting assignments as {} (from: {}, to: {}, gate: {})", format, from, to, gate);
+        boolean gzip = acceptsGzip(acceptEncoding);
+        return stream("assignments", format, gzip,
+                output -> exportService.exportAssignments(from, to, gate, format, output));
+    }
+
+    @GetMapping("/flights")
+    public ResponseEntity<StreamingResponseBody> exportFlights(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        validateRange(from, to);
+        logger.info("Exporting flights as {} (from: {}, to: {})", format, from, to);
+        boolean gzip = acceptsGzip(acceptEncoding);
+        return stream("flights", format, gzip, output -> exportService.exportFlights(from, to, format, output));
+    }
+
+    private ResponseEntity<StreamingResponseBody> stream(String name, ExportFormat format, boolean gzip,
+                                                         StreamingResponseBody body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType(format.getContentType() + ";charset=UTF-8"));
+        headers.setContentDisposition(ContentDisposition.attachment()
+                .filename(name + "." + format.getExtension())
+                .build());
+        headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (!gzip) {
+            return ResponseEntity.ok().headers(headers).body(body);
+        }
+
+        headers.add(HttpHeaders.CONTENT_ENCODING, "gzip");
+        StreamingResponseBody compressed = output -> {
+            GZIPOutputStream gzipOutput = new GZIPOutputStream(output, 8192);
+            body.writeTo(gzipOutput);
+            gzipOutput.finish();
+        };
+        return ResponseEntity.ok().headers(headers).body(compressed);
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+    }
+
+    private static void validateRange(LocalDateTime from, LocalDateTime to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+    }
+}
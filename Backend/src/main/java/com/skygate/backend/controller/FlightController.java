@@ -1,10 +1,14 @@
 package com.skygate.backend.controller;
 
+import com.skygate.backend.model.dto.request.BulkFlightDetectionRequestDTO;
 import com.skygate.backend.model.dto.request.FlightDetectionRequestDTO;
 import com.skygate.backend.model.dto.request.FlightRequestDTO;
 import com.skygate.backend.model.dto.request.FlightStatusUpdateRequestDTO;
 import com.skygate.backend.model.dto.response.ApiResponseDTO;
+import com.skygate.backend.model.dto.response.BulkDetectionResultDTO;
+import com.skygate.backend.model.dto.response.CursorPageDTO;
 import com.skygate.backend.model.dto.response.FlightResponseDTO;
+import com.skygate.backend.model.dto.response.TransitionRecordResponseDTO;
 import com.skygate.backend.model.entity.Aircraft;
 import com.skygate.backend.model.entity.Flight;
 import com.skygate.backend.model.enums.AutomataState;
@@ -12,14 +16,17 @@ import com.skygate.backend.model.enums.FlightStatus;
 import com.skygate.backend.repository.AircraftRepository;
 import com.skygate.backend.service.flight.FlightDetectionService;
 import com.skygate.backend.service.flight.FlightService;
+import com.skygate.backend.service.automata.TransitionHistoryService;
 import com.skygate.backend.util.Constants;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -31,14 +38,17 @@ public class FlightController {
     private final FlightService flightService;
     private final FlightDetectionService flightDetectionService;
     private final AircraftRepository aircraftRepository;
+    private final TransitionHistoryService transitionHistoryService;
 
     public FlightController(
             FlightService flightService,
             FlightDetectionService flightDetectionService,
-            AircraftRepository aircraftRepository) {
+            AircraftRepository aircraftRepository,
+            TransitionHistoryService transitionHistoryService) {
         this.flightService = flightService;
         this.flightDetectionService = flightDetectionService;
         this.aircraftRepository = aircraftRepository;
+        this.transitionHistoryService = transitionHistoryService;
     }
 
     @PostMapping
@@ -77,6 +87,16 @@ public class FlightController {
         );
     }
 
+    @PostMapping("/detect/bulk")
+    public ResponseEntity<ApiResponseDTO<List<BulkDetectionResultDTO>>> detectFlights(
+            @Valid @RequestBody BulkFlightDetectionRequestDTO request) {
+        logger.info("Detecting {} flights in bulk", request.getDetections().size());
+        List<BulkDetectionResultDTO> results = flightDetectionService.detectFlights(request.getDetections());
+        long detected = results.stream().filter(BulkDetectionResultDTO::isSuccess).count();
+        return ResponseEntity.ok(ApiResponseDTO.success(
+                detected + " of " + results.size() + " flights detected", results));
+    }
+
     @PostMapping("/simulate")
     public ResponseEntity<ApiResponseDTO<FlightResponseDTO>> simulateFlight() {
         logger.info("Simulating random flight detection");
@@ -118,6 +138,26 @@ public class FlightController {
         return ResponseEntity.ok(ApiResponseDTO.success(response));
     }
 
+    @GetMapping("/{id}/transitions")
+    public ResponseEntity<ApiResponseDTO<List<TransitionRecordResponseDTO>>> getTransitionHistory(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        logger.info("Fetching transition history for flight ID: {}", id);
+        List<TransitionRecordResponseDTO> response = transitionHistoryService.getHistory(id, from, to).stream()
+                .map(TransitionRecordResponseDTO::fromEntity)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(ApiResponseDTO.success(response));
+    }
+
+    @GetMapping("/{id}/state-at")
+    public ResponseEntity<ApiResponseDTO<AutomataState>> getStateAt(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        logger.info("Fetching automata state of flight ID: {} at {}", id, at);
+        return ResponseEntity.ok(ApiResponseDTO.success(transitionHistoryService.getStateAt(id, at)));
+    }
+
     @GetMapping
     public ResponseEntity<ApiResponseDTO<List<FlightResponseDTO>>> getAllFlights(
             @RequestParam(required = false) Boolean activeOnly) {
@@ -131,6 +171,27 @@ public class FlightController {
         return ResponseEntity.ok(ApiResponseDTO.success(response));
     }
 
+    // Paginacion por cursor: pasar nextCursor de la respuesta como "after" para la siguiente pagina
+    @GetMapping("/page")
+    public ResponseEntity<ApiResponseDTO<CursorPageDTO<FlightResponseDTO>>> getFlightPage(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) Boolean activeOnly) {
+        logger.info("Fetching flights page after {} (size: {}, activeOnly: {})", after, size, activeOnly);
+        CursorPageDTO<FlightResponseDTO> page = flightService.getFlightPage(after, CursorPageDTO.limit(size),
+                activeOnly != null && activeOnly);
+        return ResponseEntity.ok(ApiResponseDTO.success(page));
+    }
+
+    // Historico por fecha de deteccion, incluidos los vuelos archivados
+    @GetMapping("/history")
+    public ResponseEntity<ApiResponseDTO<List<FlightResponseDTO>>> getFlightHistory(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        logger.info("Fetching flight history (from: {}, to: {})", from, to);
+        return ResponseEntity.ok(ApiResponseDTO.success(flightService.getFlightsByDateRange(from, to)));
+    }
+
     @GetMapping("/number/{flightNumber}")
     public ResponseEntity<ApiResponseDTO<FlightResponseDTO>> getFlightByNumber(@PathVariable String flightNumber) {
         logger.info("Fetching flight by number: {}", flightNumber);
@@ -3,16 +3,22 @@ package com.skygate.backend.controller;
 import com.skygate.backend.model.dto.request.GateRequestDTO;
 import com.skygate.backend.model.dto.request.GateStatusUpdateRequestDTO;
 import com.skygate.backend.model.dto.response.ApiResponseDTO;
+import com.skygate.backend.model.dto.response.CursorPageDTO;
+import com.skygate.backend.model.dto.response.GateReservationResponseDTO;
 import com.skygate.backend.model.dto.response.GateResponseDTO;
 import com.skygate.backend.model.entity.Gate;
+import com.skygate.backend.model.entity.GateReservation;
+import com.skygate.backend.model.enums.AircraftType;
 import com.skygate.backend.model.enums.GateStatus;
 import com.skygate.backend.model.enums.GateType;
 import com.skygate.backend.service.gate.GateService;
 import com.skygate.backend.service.gate.GateAvailabilityService;
+import com.skygate.backend.service.gate.GateSchedulingService;
 import com.skygate.backend.util.Constants;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -24,6 +30,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -35,10 +42,13 @@ public class GateController {
 
     private final GateService gateService;
     private final GateAvailabilityService gateAvailabilityService;
+    private final GateSchedulingService gateSchedulingService;
 
-    public GateController(GateService gateService, GateAvailabilityService gateAvailabilityService) {
+    public GateController(GateService gateService, GateAvailabilityService gateAvailabilityService,
+                          GateSchedulingService gateSchedulingService) {
         this.gateService = gateService;
         this.gateAvailabilityService = gateAvailabilityService;
+        this.gateSchedulingService = gateSchedulingService;
     }
 
     @PostMapping
@@ -95,6 +105,18 @@ public class GateController {
         return ResponseEntity.ok(ApiResponseDTO.success(response));
     }
 
+    // Paginacion por cursor: pasar nextCursor de la respuesta como "after" para la siguiente pagina
+    @GetMapping("/page")
+    public ResponseEntity<ApiResponseDTO<CursorPageDTO<GateResponseDTO>>> getGatePage(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) Boolean activeOnly) {
+        logger.info("Fetching gates page after {} (size: {}, activeOnly: {})", after, size, activeOnly);
+        CursorPageDTO<GateResponseDTO> page = gateService.getGatePage(after, CursorPageDTO.limit(size),
+                activeOnly != null && activeOnly);
+        return ResponseEntity.ok(ApiResponseDTO.success(page));
+    }
+
     @GetMapping("/status/{status}")
     public ResponseEntity<ApiResponseDTO<List<GateResponseDTO>>> getGatesByStatus(@PathVariable GateStatus status) {
         logger.info("Fetching gates by status: {}", status);
@@ -143,6 +165,41 @@ public class GateController {
         return ResponseEntity.ok(ApiResponseDTO.success(response));
     }
 
+    @GetMapping("/schedule/free")
+    public ResponseEntity<ApiResponseDTO<List<GateResponseDTO>>> getFreeGatesInWindow(
+            @RequestParam AircraftType aircraftType,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        logger.info("Fetching gates free for {} between {} and {}", aircraftType, from, to);
+
+        List<GateResponseDTO> response = gateSchedulingService.findFreeGates(aircraftType, from, to).stream()
+                .map(GateResponseDTO::fromEntity)
+                .collect(Collectors.toList());
+
+        return ResponseEntity.ok(ApiResponseDTO.success(response));
+    }
+
+    @GetMapping("/schedule/reservations")
+    public ResponseEntity<ApiResponseDTO<List<GateReservationResponseDTO>>> getActiveReservations() {
+        logger.info("Fetching active gate reservations");
+
+        List<GateReservationResponseDTO> response = gateSchedulingService.getActiveReservations().stream()
+                .map(GateReservationResponseDTO::fromEntity)
+                .collect(Collectors.toList());
+
+        return ResponseEntity.ok(ApiResponseDTO.success(response));
+    }
+
+    @PostMapping("/schedule/preassign/{flightId}")
+    public ResponseEntity<ApiResponseDTO<GateReservationResponseDTO>> preassignGate(@PathVariable Long flightId) {
+        logger.info("Pre-assigning gate for scheduled flight ID: {}", flightId);
+
+        GateReservation reservation = gateSchedulingService.preassignGate(flightId);
+
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponseDTO.success("Gate reserved successfully", GateReservationResponseDTO.fromEntity(reservation)));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponseDTO<GateResponseDTO>> updateGate(
             @PathVariable Long id,
@@ -4,10 +4,8 @@ import com.skygate.backend.model.dto.response.ApiResponseDTO;
 import com.skygate.backend.model.enums.AutomataState;
 import com.skygate.backend.model.enums.FlightStatus;
 import com.skygate.backend.model.enums.GateStatus;
-import com.skygate.backend.service.assignment.AssignmentService;
-import com.skygate.backend.service.flight.FlightService;
-import com.skygate.backend.service.gate.GateService;
 import com.skygate.backend.service.hardware.LedControlService;
+import com.skygate.backend.service.monitoring.DashboardStatsService;
 import com.skygate.backend.util.Constants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -24,19 +22,13 @@ public class MonitoringController {
 
     private static final Logger logger = LoggerFactory.getLogger(MonitoringController.class);
 
-    private final GateService gateService;
-    private final FlightService flightService;
-    private final AssignmentService assignmentService;
+    private final DashboardStatsService dashboardStatsService;
     private final LedControlService ledControlService;
 
     public MonitoringController(
-            GateService gateService,
-            FlightService flightService,
-            AssignmentService assignmentService,
+            DashboardStatsService dashboardStatsService,
             LedControlService ledControlService) {
-        this.gateService = gateService;
-        this.flightService = flightService;
-        this.assignmentService = assignmentService;
+        this.dashboardStatsService = dashboardStatsService;
         this.ledControlService = ledControlService;
     }
 
@@ -47,32 +39,32 @@ public class MonitoringController {
         Map<String, Object> stats = new HashMap<>();
 
         Map<String, Long> gateStats = new HashMap<>();
-        gateStats.put("total", (long) gateService.getAllGates().size());
-        gateStats.put("free", gateService.countGatesByStatus(GateStatus.FREE));
-        gateStats.put("occupied", gateService.countGatesByStatus(GateStatus.OCCUPIED));
-        gateStats.put("assigned", gateService.countGatesByStatus(GateStatus.ASSIGNED));
-        gateStats.put("maintenance", gateService.countGatesByStatus(GateStatus.MAINTENANCE));
+        gateStats.put("total", dashboardStatsService.getTotalGates());
+        gateStats.put("free", dashboardStatsService.countGatesByStatus(GateStatus.FREE));
+        gateStats.put("occupied", dashboardStatsService.countGatesByStatus(GateStatus.OCCUPIED));
+        gateStats.put("assigned", dashboardStatsService.countGatesByStatus(GateStatus.ASSIGNED));
+        gateStats.put("maintenance", dashboardStatsService.countGatesByStatus(GateStatus.MAINTENANCE));
 
         Map<String, Long> flightStats = new HashMap<>();
-        flightStats.put("total", (long) flightService.getAllFlights().size());
-        flightStats.put("active", (long) flightService.getActiveFlights().size());
-        flightStats.put("detected", flightService.countFlightsByStatus(FlightStatus.DETECTED));
-        flightStats.put("gateAssigned", flightService.countFlightsByStatus(FlightStatus.GATE_ASSIGNED));
-        flightStats.put("parked", flightService.countFlightsByStatus(FlightStatus.PARKED));
-        flightStats.put("departed", flightService.countFlightsByStatus(FlightStatus.DEPARTED));
+        flightStats.put("total", dashboardStatsService.getTotalFlights());
+        flightStats.put("active", dashboardStatsService.getActiveFlights());
+        flightStats.put("detected", dashboardStatsService.countFlightsByStatus(FlightStatus.DETECTED));
+        flightStats.put("gateAssigned", dashboardStatsService.countFlightsByStatus(FlightStatus.GATE_ASSIGNED));
+        flightStats.put("parked", dashboardStatsService.countFlightsByStatus(FlightStatus.PARKED));
+        flightStats.put("departed", dashboardStatsService.countFlightsByStatus(FlightStatus.DEPARTED));
 
         Map<String, Long> automataStats = new HashMap<>();
-        automataStats.put("s0", flightService.countFlightsByAutomataState(AutomataState.S0));
-        automataStats.put("s1", flightService.countFlightsByAutomataState(AutomataState.S1));
-        automataStats.put("s2", flightService.countFlightsByAutomataState(AutomataState.S2));
-        automataStats.put("s3", flightService.countFlightsByAutomataState(AutomataState.S3));
-        automataStats.put("s4", flightService.countFlightsByAutomataState(AutomataState.S4));
-        automataStats.put("s5", flightService.countFlightsByAutomataState(AutomataState.S5));
-        automataStats.put("s6", flightService.countFlightsByAutomataState(AutomataState.S6));
+        automataStats.put("s0", dashboardStatsService.countFlightsByAutomataState(AutomataState.S0));
+        automataStats.put("s1", dashboardStatsService.countFlightsByAutomataState(AutomataState.S1));
+        automataStats.put("s2", dashboardStatsService.countFlightsByAutomataState(AutomataState.S2));
+        automataStats.put("s3", dashboardStatsService.countFlightsByAutomataState(AutomataState.S3));
+        automataStats.put("s4", dashboardStatsService.countFlightsByAutomataState(AutomataState.S4));
+        automataStats.put("s5", dashboardStatsService.countFlightsByAutomataState(AutomataState.S5));
+        automataStats.put("s6", dashboardStatsService.countFlightsByAutomataState(AutomataState.S6));
 
         Map<String, Long> assignmentStats = new HashMap<>();
-        assignmentStats.put("active", assignmentService.countActiveAssignments());
-        assignmentStats.put("ledsActivated", assignmentService.countActiveAssignmentsWithLedsOn());
+        assignmentStats.put("active", dashboardStatsService.getActiveAssignments());
+        assignmentStats.put("ledsActivated", dashboardStatsService.getActiveAssignmentsWithLedsOn());
 
         stats.put("gates", gateStats);
         stats.put("flights", flightStats);
@@ -98,9 +90,9 @@ public class MonitoringController {
         Map<String, Object> health = new HashMap<>();
         health.put("status", "UP");
         health.put("timestamp", System.currentTimeMillis());
-        health.put("gatesOnline", gateService.getActiveGates().size());
-        health.put("activeFlights", flightService.getActiveFlights().size());
-        health.put("activeAssignments", assignmentService.countActiveAssignments());
+        health.put("gatesOnline", dashboardStatsService.getOnlineGates());
+        health.put("activeFlights", dashboardStatsService.getActiveFlights());
+        health.put("activeAssignments", dashboardStatsService.getActiveAssignments());
 
         return ResponseEntity.ok(ApiResponseDTO.success(health));
     }
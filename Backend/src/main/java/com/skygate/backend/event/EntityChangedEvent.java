@@ -0,0 +1,32 @@
+package com.skygate.backend.event;
+
+import org.springframework.context.ApplicationEvent;
+
+// Publicado por EntityChangeListener cada vez que Hibernate persiste, actualiza o borra
+// un Gate, Flight, Assignment o Aircraft. Los consumidores lo escuchan tras el commit.
+public class EntityChangedEvent extends ApplicationEvent {
+
+    private final Object entity;
+    private final boolean removed;
+
+    public EntityChangedEvent(Object source, Object entity, boolean removed) {
+        super(source);
+        this.entity = entity;
+        this.removed = removed;
+    }
+
+    public Object getEntity() {
+        return entity;
+    }
+
+    public boolean isRemoved() {
+        return removed;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("EntityChangedEvent[entity=%s, removed=%s]",
+                entity != null ? entity.getClass().getSimpleName() : "null",
+                removed);
+    }
+}
@@ -0,0 +1,24 @@
+package com.skygate.backend.exception;
+
+public class InvalidMqttPayloadException extends RuntimeException {
+
+    private String topic;
+
+    public InvalidMqttPayloadException(String message) {
+        super(message);
+    }
+
+    public InvalidMqttPayloadException(String topic, String message) {
+        super(String.format("Invalid payload on topic %s: %s", topic, message));
+        this.topic = topic;
+    }
+
+    public InvalidMqttPayloadException(String topic, String message, Throwable cause) {
+        super(String.format("Invalid payload on topic %s: %s", topic, message), cause);
+        this.topic = topic;
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+}
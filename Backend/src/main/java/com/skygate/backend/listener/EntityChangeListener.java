@@ -0,0 +1,30 @@
+package com.skygate.backend.listener;
+
+import com.skygate.backend.event.EntityChangedEvent;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+
+// Listener JPA de Gate, Flight, Assignment y Aircraft. Hibernate lo instancia a traves del contenedor de
+// Spring. Solo publica el evento: quien lo consuma decide si esperar al commit.
+// Los UPDATE masivos (@Modifying) no pasan por aqui.
+public class EntityChangeListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public EntityChangeListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSaved(Object entity) {
+        eventPublisher.publishEvent(new EntityChangedEvent(this, entity, false));
+    }
+
+    @PostRemove
+    public void onRemoved(Object entity) {
+        eventPublisher.publishEvent(new EntityChangedEvent(this, entity, true));
+    }
+}
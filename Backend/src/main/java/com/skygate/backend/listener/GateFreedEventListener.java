@@ -3,19 +3,20 @@ package com.skygate.backend.listener;
 import com.skygate.backend.event.GateFreedEvent;
 import com.skygate.backend.model.entity.Flight;
 import com.skygate.backend.model.entity.Gate;
-import com.skygate.backend.model.enums.AircraftType;
 import com.skygate.backend.model.enums.AutomataState;
 import com.skygate.backend.model.enums.FlightStatus;
 import com.skygate.backend.repository.FlightRepository;
+import com.skygate.backend.service.automata.FlightLaneExecutor;
 import com.skygate.backend.service.automata.WaitingFlightProcessor;
+import com.skygate.backend.service.automata.WaitingFlightQueue;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
-import java.util.List;
+import java.util.Optional;
 
 @Component
 public class GateFreedEventListener {
@@ -24,58 +25,60 @@ public class GateFreedEventListener {
 
     private final FlightRepository flightRepository;
     private final WaitingFlightProcessor waitingFlightProcessor;
+    private final WaitingFlightQueue waitingFlightQueue;
+    private final FlightLaneExecutor flightLanes;
 
     public GateFreedEventListener(
             FlightRepository flightRepository,
-            WaitingFlightProcessor waitingFlightProcessor) {
+            WaitingFlightProcessor waitingFlightProcessor,
+            WaitingFlightQueue waitingFlightQueue,
+            FlightLaneExecutor flightLanes) {
         this.flightRepository = flightRepository;
         this.waitingFlightProcessor = waitingFlightProcessor;
+        this.waitingFlightQueue = waitingFlightQueue;
+        this.flightLanes = flightLanes;
     }
 
-    @EventListener
+    // Sin transaccion propia: la reasignacion corre en el carril del vuelo con la suya, asi no
+    // se cruza con una llegada o salida del mismo vuelo que entre por MQTT o REST. Se atiende tras el
+    // commit que libera el gate: antes el indice de disponibilidad aun no lo tiene y el reclamo fallaria
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
     @Async
-    @Transactional
     public void handleGateFreed(GateFreedEvent event) {
         Gate freedGate = event.getGate();
         logger.info("Gate freed event received: {} - Reason: {}",
                 freedGate.getGateNumber(), event.getReason());
 
-        List<Flight> waitingFlights = flightRepository
-                .findByAutomataStateAndStatus(AutomataState.S6, FlightStatus.WAITING);
+        // El candidato sale de la cola mientras se procesa para que otro evento no lo tome a la vez
+        Optional<WaitingFlightQueue.WaitingFlight> candidate;
+        while ((candidate = waitingFlightQueue.pollBestFor(freedGate.getGateType())).isPresent()) {
+            WaitingFlightQueue.WaitingFlight waitingFlight = candidate.get();
+            Flight flight = flightRepository.findById(waitingFlight.getFlightId()).orElse(null);
 
-        if (waitingFlights.isEmpty()) {
-            logger.info("No waiting flights found. Gate {} will remain free.",
-                    freedGate.getGateNumber());
-            return;
-        }
-
-        logger.info("Found {} waiting flights. Attempting automatic reassignment.",
-                waitingFlights.size());
+            if (flight == null || flight.getAutomataState() != AutomataState.S6
+                    || flight.getStatus() != FlightStatus.WAITING) {
+                logger.debug("Discarding stale waiting flight entry {}", waitingFlight);
+                continue;
+            }
 
-        Flight compatibleFlight = findCompatibleWaitingFlight(waitingFlights, freedGate);
-
-        if (compatibleFlight != null) {
             logger.info("Compatible flight found: {} for gate {}",
-                    compatibleFlight.getFlightNumber(),
+                    flight.getFlightNumber(),
                     freedGate.getGateNumber());
 
-            waitingFlightProcessor.retryGateAssignment(compatibleFlight);
-        } else {
-            logger.info("No compatible waiting flights found for gate type: {}",
-                    freedGate.getGateType());
+            // Al volver del carril la reasignacion ya esta confirmada o descartada
+            boolean reassigned = false;
+            try {
+                reassigned = flightLanes.execute(flight.getId(),
+                        () -> waitingFlightProcessor.retryGateAssignment(flight.getId()));
+            } finally {
+                if (!reassigned) {
+                    waitingFlightQueue.requeue(waitingFlight);
+                }
+            }
+            return;
         }
-    }
-
-    private Flight findCompatibleWaitingFlight(List<Flight> waitingFlights, Gate gate) {
-        AircraftType gateCompatibleType = AircraftType.fromGateType(gate.getGateType());
 
-        return waitingFlights.stream()
-                .filter(flight -> {
-                    AircraftType flightType = flight.getAircraft().getAircraftType();
-                    return flightType == gateCompatibleType ||
-                            flightType.isCompatibleWith(gate.getGateType());
-                })
-                .findFirst()
-                .orElse(null);
+        logger.info("No compatible waiting flights found. Gate {} ({}) will remain free.",
+                freedGate.getGateNumber(), freedGate.getGateType());
     }
 }
@@ -0,0 +1,34 @@
+package com.skygate.backend.model.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
+
+public class BulkFlightDetectionRequestDTO {
+
+    @NotEmpty(message = "At least one detection is required")
+    @Valid
+    private List<FlightDetectionRequestDTO> detections;
+
+    public BulkFlightDetectionRequestDTO() {
+    }
+
+    public BulkFlightDetectionRequestDTO(List<FlightDetectionRequestDTO> detections) {
+        this.detections = detections;
+    }
+
+    public List<FlightDetectionRequestDTO> getDetections() {
+        return detections;
+    }
+
+    public void setDetections(List<FlightDetectionRequestDTO> detections) {
+        this.detections = detections;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkFlightDetectionRequestDTO{" +
+                "detections=" + (detections != null ? detections.size() : 0) +
+                '}';
+    }
+}
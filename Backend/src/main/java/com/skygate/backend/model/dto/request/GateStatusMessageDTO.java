@@ -0,0 +1,50 @@
+package com.skygate.backend.model.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class GateStatusMessageDTO {
+
+    public static final String ACTION_STATUS_REQUEST = "STATUS_REQUEST";
+    public static final String ACTION_MANUAL_OVERRIDE = "MANUAL_OVERRIDE";
+
+    private String action;
+    private Long gateId;
+    private String status;
+
+    public GateStatusMessageDTO() {
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public void setAction(String action) {
+        this.action = action;
+    }
+
+    public Long getGateId() {
+        return gateId;
+    }
+
+    public void setGateId(Long gateId) {
+        this.gateId = gateId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    @Override
+    public String toString() {
+        return "GateStatusMessageDTO{" +
+                "action='" + action + '\'' +
+                ", gateId=" + gateId +
+                ", status='" + status + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,104 @@
+package com.skygate.backend.model.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import java.util.List;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class SensorDetectionMessageDTO {
+
+    public static final String ACTION_AIRCRAFT_DETECTED = "AIRCRAFT_DETECTED";
+    public static final String ACTION_ARRIVAL_DETECTED = "ARRIVAL_DETECTED";
+    public static final String ACTION_DEPARTURE_DETECTED = "DEPARTURE_DETECTED";
+    // Pasarelas que agrupan varias detecciones en un mensaje; cada elemento usa los campos de AIRCRAFT_DETECTED
+    public static final String ACTION_AIRCRAFT_DETECTED_BULK = "AIRCRAFT_DETECTED_BULK";
+
+    private String action;
+    private String flightNumber;
+    private String aircraftType;
+    private String origin;
+    private String destination;
+    private String airline;
+    private Long flightId;
+    private List<SensorDetectionMessageDTO> detections;
+
+    public SensorDetectionMessageDTO() {
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public void setAction(String action) {
+        this.action = action;
+    }
+
+    public String getFlightNumber() {
+        return flightNumber;
+    }
+
+    public void setFlightNumber(String flightNumber) {
+        this.flightNumber = flightNumber;
+    }
+
+    public String getAircraftType() {
+        return aircraftType;
+    }
+
+    public void setAircraftType(String aircraftType) {
+        this.aircraftType = aircraftType;
+    }
+
+    public String getOrigin() {
+        return origin;
+    }
+
+    public void setOrigin(String origin) {
+        this.origin = origin;
+    }
+
+    public String getDestination() {
+        return destination;
+    }
+
+    public void setDestination(String destination) {
+        this.destination = destination;
+    }
+
+    public String getAirline() {
+        return airline;
+    }
+
+    public void setAirline(String airline) {
+        this.airline = airline;
+    }
+
+    public Long getFlightId() {
+        return flightId;
+    }
+
+    public void setFlightId(Long flightId) {
+        this.flightId = flightId;
+    }
+
+    public List<SensorDetectionMessageDTO> getDetections() {
+        return detections;
+    }
+
+    public void setDetections(List<SensorDetectionMessageDTO> detections) {
+        this.detections = detections;
+    }
+
+    @Override
+    public String toString() {
+        return "SensorDetectionMessageDTO{" +
+                "action='" + action + '\'' +
+                ", flightNumber='" + flightNumber + '\'' +
+                ", aircraftType='" + aircraftType + '\'' +
+                ", origin='" + origin + '\'' +
+                ", destination='" + destination + '\'' +
+                ", airline='" + airline + '\'' +
+                ", flightId=" + flightId +
+                (detections != null ? ", detections=" + detections.size() : "") +
+                '}';
+    }
+}
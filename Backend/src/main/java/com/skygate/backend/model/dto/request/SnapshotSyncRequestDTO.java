@@ -0,0 +1,39 @@
+package com.skygate.backend.model.dto.request;
+
+public class SnapshotSyncRequestDTO {
+
+    private Long epoch;
+    private Long sinceRevision;
+
+    public SnapshotSyncRequestDTO() {
+    }
+
+    public SnapshotSyncRequestDTO(Long epoch, Long sinceRevision) {
+        this.epoch = epoch;
+        this.sinceRevision = sinceRevision;
+    }
+
+    public Long getEpoch() {
+        return epoch;
+    }
+
+    public void setEpoch(Long epoch) {
+        this.epoch = epoch;
+    }
+
+    public Long getSinceRevision() {
+        return sinceRevision;
+    }
+
+    public void setSinceRevision(Long sinceRevision) {
+        this.sinceRevision = sinceRevision;
+    }
+
+    @Override
+    public String toString() {
+        return "SnapshotSyncRequestDTO{" +
+                "epoch=" + epoch +
+                ", sinceRevision=" + sinceRevision +
+                '}';
+    }
+}
@@ -20,6 +20,13 @@ public class AircraftSimpleDTO {
         this.manufacturer = aircraft.getManufacturer();
     }
 
+    public AircraftSimpleDTO(Long id, String model, AircraftType aircraftType, String manufacturer) {
+        this.id = id;
+        this.model = model;
+        this.aircraftType = aircraftType;
+        this.manufacturer = manufacturer;
+    }
+
     public Long getId() {
         return id;
     }
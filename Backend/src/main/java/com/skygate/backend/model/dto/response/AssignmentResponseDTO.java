@@ -1,6 +1,11 @@
 package com.skygate.backend.model.dto.response;
 
 import com.skygate.backend.model.entity.Assignment;
+import com.skygate.backend.model.enums.AircraftType;
+import com.skygate.backend.model.enums.AutomataState;
+import com.skygate.backend.model.enums.FlightStatus;
+import com.skygate.backend.model.enums.GateStatus;
+import com.skygate.backend.model.enums.GateType;
 import java.time.LocalDateTime;
 
 public class AssignmentResponseDTO {
@@ -36,6 +41,29 @@ public class AssignmentResponseDTO {
         this.updatedAt = assignment.getUpdatedAt();
     }
 
+    // Proyeccion JPQL: asignacion, vuelo, tipo de aeronave y gate en una sola fila, sin cargar entidades
+    public AssignmentResponseDTO(Long id, Long flightId, String flightNumber, FlightStatus flightStatus,
+                                 AutomataState automataState, String origin, String destination,
+                                 AircraftType aircraftType, Long gateId, String gateNumber, GateType gateType,
+                                 GateStatus gateStatus, String terminal, LocalDateTime assignedAt,
+                                 LocalDateTime expectedArrival, LocalDateTime actualArrival,
+                                 LocalDateTime departureTime, Boolean isActive, Boolean ledActivated, String notes,
+                                 LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.flight = new FlightSimpleDTO(flightId, flightNumber, flightStatus, automataState, origin, destination,
+                aircraftType);
+        this.gate = new GateSimpleDTO(gateId, gateNumber, gateType, gateStatus, terminal);
+        this.assignedAt = assignedAt;
+        this.expectedArrival = expectedArrival;
+        this.actualArrival = actualArrival;
+        this.departureTime = departureTime;
+        this.isActive = isActive;
+        this.ledActivated = ledActivated;
+        this.notes = notes;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
     public static AssignmentResponseDTO fromEntity(Assignment assignment) {
         return new AssignmentResponseDTO(assignment);
     }
@@ -0,0 +1,96 @@
+package com.skygate.backend.model.dto.response;
+
+import com.skygate.backend.model.entity.Flight;
+import com.skygate.backend.model.enums.AutomataState;
+import com.skygate.backend.model.enums.FlightStatus;
+
+public class BulkDetectionResultDTO {
+
+    private int index;
+    private String flightNumber;
+    private boolean success;
+    private Long flightId;
+    private AutomataState automataState;
+    private FlightStatus status;
+    private String message;
+
+    public BulkDetectionResultDTO() {
+    }
+
+    public static BulkDetectionResultDTO detected(int index, Flight flight) {
+        BulkDetectionResultDTO result = new BulkDetectionResultDTO();
+        result.index = index;
+        result.flightNumber = flight.getFlightNumber();
+        result.success = true;
+        result.flightId = flight.getId();
+        result.automataState = flight.getAutomataState();
+        result.status = flight.getStatus();
+        result.message = "Flight detected successfully";
+        return result;
+    }
+
+    public static BulkDetectionResultDTO failed(int index, String flightNumber, String message) {
+        BulkDetectionResultDTO result = new BulkDetectionResultDTO();
+        result.index = index;
+        result.flightNumber = flightNumber;
+        result.success = false;
+        result.message = message;
+        return result;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getFlightNumber() {
+        return flightNumber;
+    }
+
+    public void setFlightNumber(String flightNumber) {
+        this.flightNumber = flightNumber;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+
+    public Long getFlightId() {
+        return flightId;
+    }
+
+    public void setFlightId(Long flightId) {
+        this.flightId = flightId;
+    }
+
+    public AutomataState getAutomataState() {
+        return automataState;
+    }
+
+    public void setAutomataState(AutomataState automataState) {
+        this.automataState = automataState;
+    }
+
+    public FlightStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(FlightStatus status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
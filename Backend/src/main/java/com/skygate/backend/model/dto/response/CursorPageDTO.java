@@ -0,0 +1,63 @@
+package com.skygate.backend.model.dto.response;
+
+import com.skygate.backend.util.Constants;
+import java.util.List;
+import java.util.function.Function;
+
+// Pagina por cursor (keyset): nextCursor es el id del ultimo elemento y se pasa como "after"
+// en la siguiente peticion; es null cuando no quedan mas elementos
+public class CursorPageDTO<T> {
+
+    private List<T> items;
+    private Long nextCursor;
+    private int size;
+
+    public CursorPageDTO() {
+    }
+
+    public CursorPageDTO(List<T> items, Long nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.size = items.size();
+    }
+
+    public static int limit(Integer requestedSize) {
+        if (requestedSize == null || requestedSize <= 0) {
+            return Constants.ApiConstants.DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(requestedSize, Constants.ApiConstants.MAX_PAGE_SIZE);
+    }
+
+    // rows trae hasta limit + 1 filas; la fila extra solo indica que hay otra pagina
+    public static <T> CursorPageDTO<T> of(List<T> rows, int limit, Function<T, Long> idExtractor) {
+        if (rows.size() <= limit) {
+            return new CursorPageDTO<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new CursorPageDTO<>(items, idExtractor.apply(items.get(limit - 1)));
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(Long nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+}
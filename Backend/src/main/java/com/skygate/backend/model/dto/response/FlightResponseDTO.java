@@ -1,6 +1,7 @@
 package com.skygate.backend.model.dto.response;
 
 import com.skygate.backend.model.entity.Flight;
+import com.skygate.backend.model.enums.AircraftType;
 import com.skygate.backend.model.enums.AutomataState;
 import com.skygate.backend.model.enums.FlightStatus;
 import java.time.LocalDateTime;
@@ -44,6 +45,32 @@ public class FlightResponseDTO {
         this.updatedAt = flight.getUpdatedAt();
     }
 
+    // Proyeccion JPQL: columnas del vuelo y de su aeronave en una sola fila, sin cargar entidades
+    public FlightResponseDTO(Long id, String flightNumber, Long aircraftId, String aircraftModel,
+                             AircraftType aircraftType, String aircraftManufacturer, FlightStatus status,
+                             AutomataState automataState, String origin, String destination, String airline,
+                             LocalDateTime scheduledArrival, LocalDateTime actualArrival,
+                             LocalDateTime scheduledDeparture, LocalDateTime actualDeparture,
+                             LocalDateTime detectedAt, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.flightNumber = flightNumber;
+        this.aircraft = aircraftId != null
+                ? new AircraftSimpleDTO(aircraftId, aircraftModel, aircraftType, aircraftManufacturer)
+                : null;
+        this.status = status;
+        this.automataState = automataState;
+        this.origin = origin;
+        this.destination = destination;
+        this.airline = airline;
+        this.scheduledArrival = scheduledArrival;
+        this.actualArrival = actualArrival;
+        this.scheduledDeparture = scheduledDeparture;
+        this.actualDeparture = actualDeparture;
+        this.detectedAt = detectedAt;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
     public static FlightResponseDTO fromEntity(Flight flight) {
         return new FlightResponseDTO(flight);
     }
@@ -1,6 +1,7 @@
 package com.skygate.backend.model.dto.response;
 
 import com.skygate.backend.model.entity.Flight;
+import com.skygate.backend.model.enums.AircraftType;
 import com.skygate.backend.model.enums.AutomataState;
 import com.skygate.backend.model.enums.FlightStatus;
 
@@ -29,6 +30,17 @@ public class FlightSimpleDTO {
         }
     }
 
+    public FlightSimpleDTO(Long id, String flightNumber, FlightStatus status, AutomataState automataState,
+                           String origin, String destination, AircraftType aircraftType) {
+        this.id = id;
+        this.flightNumber = flightNumber;
+        this.status = status;
+        this.automataState = automataState;
+        this.origin = origin;
+        this.destination = destination;
+        this.aircraftType = aircraftType != null ? aircraftType.name() : null;
+    }
+
     public Long getId() {
         return id;
     }
@@ -0,0 +1,88 @@
+package com.skygate.backend.model.dto.response;
+
+import com.skygate.backend.model.entity.GateReservation;
+import java.time.LocalDateTime;
+
+public class GateReservationResponseDTO {
+
+    private Long id;
+    private FlightSimpleDTO flight;
+    private GateSimpleDTO gate;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private Boolean isActive;
+    private LocalDateTime createdAt;
+
+    public GateReservationResponseDTO() {
+    }
+
+    public GateReservationResponseDTO(GateReservation reservation) {
+        this.id = reservation.getId();
+        this.flight = new FlightSimpleDTO(reservation.getFlight());
+        this.gate = new GateSimpleDTO(reservation.getGate());
+        this.startTime = reservation.getStartTime();
+        this.endTime = reservation.getEndTime();
+        this.isActive = reservation.getIsActive();
+        this.createdAt = reservation.getCreatedAt();
+    }
+
+    public static GateReservationResponseDTO fromEntity(GateReservation reservation) {
+        return new GateReservationResponseDTO(reservation);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public FlightSimpleDTO getFlight() {
+        return flight;
+    }
+
+    public void setFlight(FlightSimpleDTO flight) {
+        this.flight = flight;
+    }
+
+    public GateSimpleDTO getGate() {
+        return gate;
+    }
+
+    public void setGate(GateSimpleDTO gate) {
+        this.gate = gate;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(LocalDateTime startTime) {
+        this.startTime = startTime;
+    }
+
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(LocalDateTime endTime) {
+        this.endTime = endTime;
+    }
+
+    public Boolean getIsActive() {
+        return isActive;
+    }
+
+    public void setIsActive(Boolean isActive) {
+        this.isActive = isActive;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -34,6 +34,22 @@ public class GateResponseDTO {
         this.updatedAt = gate.getUpdatedAt();
     }
 
+    // Proyeccion JPQL: solo las columnas del DTO, sin cargar la entidad
+    public GateResponseDTO(Long id, String gateNumber, GateType gateType, GateStatus status, String location,
+                           String terminal, String ledPath, Boolean isActive, LocalDateTime createdAt,
+                           LocalDateTime updatedAt) {
+        this.id = id;
+        this.gateNumber = gateNumber;
+        this.gateType = gateType;
+        this.status = status;
+        this.location = location;
+        this.terminal = terminal;
+        this.ledPath = ledPath;
+        this.isActive = isActive;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
     public static GateResponseDTO fromEntity(Gate gate) {
         return new GateResponseDTO(gate);
     }
@@ -23,6 +23,14 @@ public class GateSimpleDTO {
         this.terminal = gate.getTerminal();
     }
 
+    public GateSimpleDTO(Long id, String gateNumber, GateType gateType, GateStatus status, String terminal) {
+        this.id = id;
+        this.gateNumber = gateNumber;
+        this.gateType = gateType;
+        this.status = status;
+        this.terminal = terminal;
+    }
+
     public Long getId() {
         return id;
     }
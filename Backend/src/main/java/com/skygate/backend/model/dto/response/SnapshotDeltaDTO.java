@@ -0,0 +1,85 @@
+package com.skygate.backend.model.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.Map;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SnapshotDeltaDTO {
+
+    private String entityType;
+    private Long id;
+    private long revision;
+    private Boolean removed;
+    private Map<String, Object> changes;
+
+    public SnapshotDeltaDTO() {
+    }
+
+    public SnapshotDeltaDTO(String entityType, Long id, long revision, Map<String, Object> changes) {
+        this.entityType = entityType;
+        this.id = id;
+        this.revision = revision;
+        this.changes = changes;
+    }
+
+    public static SnapshotDeltaDTO removal(String entityType, Long id, long revision) {
+        SnapshotDeltaDTO delta = new SnapshotDeltaDTO(entityType, id, revision, null);
+        delta.setRemoved(true);
+        return delta;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(String entityType) {
+        this.entityType = entityType;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public long getRevision() {
+        return revision;
+    }
+
+    public void setRevision(long revision) {
+        this.revision = revision;
+    }
+
+    public Boolean getRemoved() {
+        return removed;
+    }
+
+    public void setRemoved(Boolean removed) {
+        this.removed = removed;
+    }
+
+    public Map<String, Object> getChanges() {
+        return changes;
+    }
+
+    public void setChanges(Map<String, Object> changes) {
+        this.changes = changes;
+    }
+
+    public boolean isRemoval() {
+        return Boolean.TRUE.equals(removed);
+    }
+
+    @Override
+    public String toString() {
+        return "SnapshotDeltaDTO{" +
+                "entityType='" + entityType + '\'' +
+                ", id=" + id +
+                ", revision=" + revision +
+                ", removed=" + removed +
+                ", changes=" + changes +
+                '}';
+    }
+}
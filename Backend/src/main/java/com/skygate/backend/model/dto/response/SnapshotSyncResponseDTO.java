@@ -0,0 +1,66 @@
+package com.skygate.backend.model.dto.response;
+
+import java.util.List;
+
+public class SnapshotSyncResponseDTO {
+
+    public static final String MODE_FULL = "FULL";
+    public static final String MODE_DELTA = "DELTA";
+
+    private String entityType;
+    private String mode;
+    private long epoch;
+    private long revision;
+    private List<SnapshotDeltaDTO> items;
+
+    public SnapshotSyncResponseDTO() {
+    }
+
+    public SnapshotSyncResponseDTO(String entityType, String mode, long epoch, long revision, List<SnapshotDeltaDTO> items) {
+        this.entityType = entityType;
+        this.mode = mode;
+        this.epoch = epoch;
+        this.revision = revision;
+        this.items = items;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(String entityType) {
+        this.entityType = entityType;
+    }
+
+    public String getMode() {
+        return mode;
+    }
+
+    public void setMode(String mode) {
+        this.mode = mode;
+    }
+
+    public long getEpoch() {
+        return epoch;
+    }
+
+    public void setEpoch(long epoch) {
+        this.epoch = epoch;
+    }
+
+    public long getRevision() {
+        return revision;
+    }
+
+    public void setRevision(long revision) {
+        this.revision = revision;
+    }
+
+    public List<SnapshotDeltaDTO> getItems() {
+        return items;
+    }
+
+    public void setItems(List<SnapshotDeltaDTO> items) {
+        this.items = items;
+    }
+}
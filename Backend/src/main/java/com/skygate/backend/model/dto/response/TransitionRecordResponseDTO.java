@@ -0,0 +1,100 @@
+package com.skygate.backend.model.dto.response;
+
+import com.skygate.backend.model.entity.AutomataTransitionRecord;
+import com.skygate.backend.model.enums.AutomataInput;
+import com.skygate.backend.model.enums.AutomataState;
+import java.time.LocalDateTime;
+
+public class TransitionRecordResponseDTO {
+
+    private Long id;
+    private Long flightId;
+    private String flightNumber;
+    private AutomataState fromState;
+    private AutomataInput input;
+    private AutomataState toState;
+    private String outputs;
+    private LocalDateTime occurredAt;
+
+    public TransitionRecordResponseDTO() {
+    }
+
+    public TransitionRecordResponseDTO(AutomataTransitionRecord record) {
+        this.id = record.getId();
+        this.flightId = record.getFlightId();
+        this.flightNumber = record.getFlightNumber();
+        this.fromState = record.getFromState();
+        this.input = record.getInput();
+        this.toState = record.getToState();
+        this.outputs = record.getOutputs();
+        this.occurredAt = record.getOccurredAt();
+    }
+
+    public static TransitionRecordResponseDTO fromEntity(AutomataTransitionRecord record) {
+        return new TransitionRecordResponseDTO(record);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getFlightId() {
+        return flightId;
+    }
+
+    public void setFlightId(Long flightId) {
+        this.flightId = flightId;
+    }
+
+    public String getFlightNumber() {
+        return flightNumber;
+    }
+
+    public void setFlightNumber(String flightNumber) {
+        this.flightNumber = flightNumber;
+    }
+
+    public AutomataState getFromState() {
+        return fromState;
+    }
+
+    public void setFromState(AutomataState fromState) {
+        this.fromState = fromState;
+    }
+
+    public AutomataInput getInput() {
+        return input;
+    }
+
+    public void setInput(AutomataInput input) {
+        this.input = input;
+    }
+
+    public AutomataState getToState() {
+        return toState;
+    }
+
+    public void setToState(AutomataState toState) {
+        this.toState = toState;
+    }
+
+    public String getOutputs() {
+        return outputs;
+    }
+
+    public void setOutputs(String outputs) {
+        this.outputs = outputs;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public void setOccurredAt(LocalDateTime occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+}
@@ -1,9 +1,11 @@
 package com.skygate.backend.model.entity;
 
+import com.skygate.backend.listener.EntityChangeListener;
 import com.skygate.backend.model.enums.AircraftType;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
@@ -20,6 +22,7 @@ import java.util.List;
 
 @Entity
 @Table(name = "aircraft")
+@EntityListeners(EntityChangeListener.class)
 public class Aircraft {
 
     @Id
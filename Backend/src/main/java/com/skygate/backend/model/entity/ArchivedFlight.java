@@ -0,0 +1,199 @@
+package com.skygate.backend.model.entity;
+
+import com.skygate.backend.model.enums.AutomataState;
+import com.skygate.backend.model.enums.FlightStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+
+// Copia de un vuelo DEPARTED movido fuera de la tabla caliente por ArchiveService. Conserva el id
+// original y no tiene relaciones: aircraft_id no es FK y flight_number puede repetirse entre dias.
+@Entity
+@Table(name = "flights_archive")
+public class ArchivedFlight {
+
+    @Id
+    private Long id;
+
+    @Column(name = "flight_number", nullable = false, length = 20)
+    private String flightNumber;
+
+    @Column(name = "aircraft_id", nullable = false)
+    private Long aircraftId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private FlightStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "automata_state", nullable = false, length = 10)
+    private AutomataState automataState;
+
+    @Column(name = "origin", length = 100)
+    private String origin;
+
+    @Column(name = "destination", length = 100)
+    private String destination;
+
+    @Column(name = "airline", length = 50)
+    private String airline;
+
+    @Column(name = "scheduled_arrival")
+    private LocalDateTime scheduledArrival;
+
+    @Column(name = "actual_arrival")
+    private LocalDateTime actualArrival;
+
+    @Column(name = "scheduled_departure")
+    private LocalDateTime scheduledDeparture;
+
+    @Column(name = "actual_departure")
+    private LocalDateTime actualDeparture;
+
+    @Column(name = "detected_at")
+    private LocalDateTime detectedAt;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    public ArchivedFlight() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getFlightNumber() {
+        return flightNumber;
+    }
+
+    public void setFlightNumber(String flightNumber) {
+        this.flightNumber = flightNumber;
+    }
+
+    public Long getAircraftId() {
+        return aircraftId;
+    }
+
+    public void setAircraftId(Long aircraftId) {
+        this.aircraftId = aircraftId;
+    }
+
+    public FlightStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(FlightStatus status) {
+        this.status = status;
+    }
+
+    public AutomataState getAutomataState() {
+        return automataState;
+    }
+
+    public void setAutomataState(AutomataState automataState) {
+        this.automataState = automataState;
+    }
+
+    public String getOrigin() {
+        return origin;
+    }
+
+    public void setOrigin(String origin) {
+        this.origin = origin;
+    }
+
+    public String getDestination() {
+        return destination;
+    }
+
+    public void setDestination(String destination) {
+        this.destination = destination;
+    }
+
+    public String getAirline() {
+        return airline;
+    }
+
+    public void setAirline(String airline) {
+        this.airline = airline;
+    }
+
+    public LocalDateTime getScheduledArrival() {
+        return scheduledArrival;
+    }
+
+    public void setScheduledArrival(LocalDateTime scheduledArrival) {
+        this.scheduledArrival = scheduledArrival;
+    }
+
+    public LocalDateTime getActualArrival() {
+        return actualArrival;
+    }
+
+    public void setActualArrival(LocalDateTime actualArrival) {
+        this.actualArrival = actualArrival;
+    }
+
+    public LocalDateTime getScheduledDeparture() {
+        return scheduledDeparture;
+    }
+
+    public void setScheduledDeparture(LocalDateTime scheduledDeparture) {
+        this.scheduledDeparture = scheduledDeparture;
+    }
+
+    public LocalDateTime getActualDeparture() {
+        return actualDeparture;
+    }
+
+    public void setActualDeparture(LocalDateTime actualDeparture) {
+        this.actualDeparture = actualDeparture;
+    }
+
+    public LocalDateTime getDetectedAt() {
+        return detectedAt;
+    }
+
+    public void setDetectedAt(LocalDateTime detectedAt) {
+        this.detectedAt = detectedAt;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+
+    public void setArchivedAt(LocalDateTime archivedAt) {
+        this.archivedAt = archivedAt;
+    }
+}
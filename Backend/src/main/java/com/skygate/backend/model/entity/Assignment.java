@@ -1,32 +1,58 @@
 package com.skygate.backend.model.entity;
 
+import com.skygate.backend.listener.EntityChangeListener;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedEntityGraphs;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotNull;
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(EntityChangeListener.class)
 @Table(name = "assignments")
+@NamedEntityGraphs({
+        @NamedEntityGraph(name = Assignment.GRAPH_DETAIL,
+                attributeNodes = {
+                        @NamedAttributeNode(value = "flight", subgraph = "flight-aircraft"),
+                        @NamedAttributeNode("gate")
+                },
+                subgraphs = @NamedSubgraph(name = "flight-aircraft", attributeNodes = @NamedAttributeNode("aircraft"))),
+        @NamedEntityGraph(name = Assignment.GRAPH_DASHBOARD,
+                attributeNodes = {@NamedAttributeNode("flight"), @NamedAttributeNode("gate")}),
+        @NamedEntityGraph(name = Assignment.GRAPH_AUTOMATA, attributeNodes = @NamedAttributeNode("gate"))
+})
 public class Assignment {
 
+    // Planes de carga por caso de uso; sin plan, vuelo y gate quedan como proxies sin consultar.
+    // Detalle: vuelo con su aeronave y gate, lo que necesita AssignmentResponseDTO
+    public static final String GRAPH_DETAIL = "Assignment.detail";
+    // Tablero de asignaciones activas y reconstruccion de la agenda: vuelo y gate
+    public static final String GRAPH_DASHBOARD = "Assignment.dashboard";
+    // Automata: solo el gate, para liberarlo en la salida o el timeout
+    public static final String GRAPH_AUTOMATA = "Assignment.automata";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     @NotNull(message = "Flight is required")
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "flight_id", nullable = false)
     private Flight flight;
 
     @NotNull(message = "Gate is required")
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "gate_id", nullable = false)
     private Gate gate;
 
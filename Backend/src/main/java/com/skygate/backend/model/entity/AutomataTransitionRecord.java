@@ -0,0 +1,131 @@
+package com.skygate.backend.model.entity;
+
+import com.skygate.backend.model.enums.AutomataInput;
+import com.skygate.backend.model.enums.AutomataState;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+
+// Registro append-only de una transicion del automata. Lo escribe TransitionJournal por lotes
+// con JDBC; la entidad solo se usa para leer el historial. flight_id no es FK para que el
+// historial sobreviva al borrado del vuelo.
+@Entity
+@Table(name = "automata_transitions", indexes = {
+        @Index(name = "idx_automata_transitions_flight", columnList = "flight_id, occurred_at")
+})
+public class AutomataTransitionRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "flight_id", nullable = false)
+    private Long flightId;
+
+    @Column(name = "flight_number", length = 10)
+    private String flightNumber;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "from_state", nullable = false, length = 5)
+    private AutomataState fromState;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "input", nullable = false, length = 10)
+    private AutomataInput input;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "to_state", nullable = false, length = 5)
+    private AutomataState toState;
+
+    @Column(name = "outputs", length = 255)
+    private String outputs;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    public AutomataTransitionRecord() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getFlightId() {
+        return flightId;
+    }
+
+    public void setFlightId(Long flightId) {
+        this.flightId = flightId;
+    }
+
+    public String getFlightNumber() {
+        return flightNumber;
+    }
+
+    public void setFlightNumber(String flightNumber) {
+        this.flightNumber = flightNumber;
+    }
+
+    public AutomataState getFromState() {
+        return fromState;
+    }
+
+    public void setFromState(AutomataState fromState) {
+        this.fromState = fromState;
+    }
+
+    public AutomataInput getInput() {
+        return input;
+    }
+
+    public void setInput(AutomataInput input) {
+        this.input = input;
+    }
+
+    public AutomataState getToState() {
+        return toState;
+    }
+
+    public void setToState(AutomataState toState) {
+        this.toState = toState;
+    }
+
+    public String getOutputs() {
+        return outputs;
+    }
+
+    public void setOutputs(String outputs) {
+        this.outputs = outputs;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public void setOccurredAt(LocalDateTime occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+
+    @Override
+    public String toString() {
+        return "AutomataTransitionRecord{" +
+                "id=" + id +
+                ", flightId=" + flightId +
+                ", fromState=" + fromState +
+                ", input=" + input +
+                ", toState=" + toState +
+                ", occurredAt=" + occurredAt +
+                '}';
+    }
+}
@@ -2,9 +2,11 @@ package com.skygate.backend.model.entity;
 
 import com.skygate.backend.model.enums.AutomataState;
 import com.skygate.backend.model.enums.FlightStatus;
+import com.skygate.backend.listener.EntityChangeListener;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
@@ -13,6 +15,8 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
@@ -22,9 +26,14 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@EntityListeners(EntityChangeListener.class)
 @Table(name = "flights")
+@NamedEntityGraph(name = Flight.GRAPH_AIRCRAFT, attributeNodes = @NamedAttributeNode("aircraft"))
 public class Flight {
 
+    // Vuelo con su aeronave: procesamiento del automata (compatibilidad de gate) y respuestas de la API
+    public static final String GRAPH_AIRCRAFT = "Flight.aircraft";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -34,7 +43,7 @@ public class Flight {
     private String flightNumber;
 
     @NotNull(message = "Aircraft is required")
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "aircraft_id", nullable = false)
     private Aircraft aircraft;
 
@@ -238,6 +247,13 @@ public class Flight {
         return this.status.isActive();
     }
 
+    // Dado de alta con antelacion y aun sin volar; un vuelo que ya salio tambien vuelve a S0 (S5 + I6)
+    public boolean isScheduled() {
+        return this.automataState == AutomataState.S0
+                && this.status != FlightStatus.DEPARTED
+                && this.actualDeparture == null;
+    }
+
     @Override
     public String toString() {
         return "Flight{" +
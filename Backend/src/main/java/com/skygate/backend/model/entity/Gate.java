@@ -2,9 +2,11 @@ package com.skygate.backend.model.entity;
 
 import com.skygate.backend.model.enums.GateStatus;
 import com.skygate.backend.model.enums.GateType;
+import com.skygate.backend.listener.EntityChangeListener;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
@@ -20,6 +22,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@EntityListeners(EntityChangeListener.class)
 @Table(name = "gates")
 public class Gate {
 
@@ -187,6 +190,11 @@ public class Gate {
         this.updatedAt = LocalDateTime.now();
     }
 
+    public void reserve() {
+        this.status = GateStatus.RESERVED;
+        this.updatedAt = LocalDateTime.now();
+    }
+
     @Override
     public String toString() {
         return "Gate{" +
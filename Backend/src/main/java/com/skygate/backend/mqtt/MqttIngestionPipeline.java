@@ -0,0 +1,277 @@
+package com.skygate.backend.mqtt;
+
+import com.skygate.backend.config.AsyncConfig;
+import com.skygate.backend.exception.InvalidMqttPayloadException;
+import com.skygate.backend.util.Constants;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.eclipse.paho.client.mqttv3.IMqttClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Component;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Etapa de ingesta entre el callback de Paho y MqttMessageHandler. El hilo de Paho solo
+// encola los bytes recibidos; la decodificacion y el procesamiento ocurren en hilos propios que
+// drenan la cola en micro-lotes. Con la cola llena se aplica la politica configurada.
+@Component
+@ConditionalOnBean(IMqttClient.class)
+public class MqttIngestionPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(MqttIngestionPipeline.class);
+
+    private static final long POLL_TIMEOUT_MS = 100L;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10L;
+    private static final String THREAD_NAME_PREFIX = "skygate-mqtt-ingest-";
+
+    public enum OverflowPolicy {
+        // Bloquea el hilo de Paho hasta offer-timeout-ms y despues descarta el mensaje
+        BLOCK,
+        // Descarta el mensaje entrante
+        DROP_NEWEST,
+        // Descarta el mensaje mas antiguo de la cola para hacer sitio al nuevo
+        DROP_OLDEST
+    }
+
+    private final MqttMessageHandler messageHandler;
+    private final MqttPayloadDecoder payloadDecoder;
+    private final BlockingQueue<InboundMessage> queue;
+    private final int workers;
+    private final int batchSize;
+    private final OverflowPolicy overflowPolicy;
+    private final long offerTimeoutMs;
+    private final boolean virtualThreads;
+
+    private final Counter acceptedCounter;
+    private final Counter droppedCounter;
+    private final Counter rejectedCounter;
+    private final Counter failedCounter;
+    private final Timer latencyTimer;
+    private final DistributionSummary batchSizeSummary;
+
+    private ExecutorService executor;
+    private volatile boolean running;
+
+    public MqttIngestionPipeline(
+            MqttMessageHandler messageHandler,
+            MqttPayloadDecoder payloadDecoder,
+            MeterRegistry meterRegistry,
+            @Value("${mqtt.ingestion.queue-capacity:1000}") int queueCapacity,
+            @Value("${mqtt.ingestion.workers:1}") int workers,
+            @Value("${mqtt.ingestion.batch-size:50}") int batchSize,
+            @Value("${mqtt.ingestion.overflow-policy:BLOCK}") OverflowPolicy overflowPolicy,
+            @Value("${mqtt.ingestion.offer-timeout-ms:50}") long offerTimeoutMs,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.messageHandler = messageHandler;
+        this.payloadDecoder = payloadDecoder;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.workers = Math.max(1, workers);
+        this.batchSize = Math.max(1, batchSize);
+        this.overflowPolicy = overflowPolicy;
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.virtualThreads = AsyncConfig.useVirtualThreads(virtualThreads);
+
+        Gauge.builder("skygate.mqtt.ingestion.queue.depth", queue, BlockingQueue::size)
+                .description("Mensajes MQTT pendientes de procesar")
+                .register(meterRegistry);
+        Gauge.builder("skygate.mqtt.ingestion.queue.capacity", queue, q -> q.size() + q.remainingCapacity())
+                .register(meterRegistry);
+        this.acceptedCounter = Counter.builder("skygate.mqtt.ingestion.messages")
+                .tag("outcome", "accepted")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("skygate.mqtt.ingestion.messages")
+                .tag("outcome", "dropped")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("skygate.mqtt.ingestion.messages")
+                .tag("outcome", "rejected")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("skygate.mqtt.ingestion.messages")
+                .tag("outcome", "failed")
+                .register(meterRegistry);
+        this.latencyTimer = Timer.builder("skygate.mqtt.ingestion.latency")
+                .description("Tiempo desde la recepcion del mensaje hasta el fin de su procesamiento")
+                .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("skygate.mqtt.ingestion.batch.size")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        // Con hilos virtuales un worker bloqueado en la BD no ocupa un hilo de plataforma, asi
+        // mqtt.ingestion.workers puede subir sin coste de memoria
+        ThreadFactory threadFactory = virtualThreads
+                ? new VirtualThreadTaskExecutor(THREAD_NAME_PREFIX).getVirtualThreadFactory()
+                : new IngestionThreadFactory();
+        executor = Executors.newFixedThreadPool(workers, threadFactory);
+        for (int i = 0; i < workers; i++) {
+            executor.submit(this::drainLoop);
+        }
+        logger.info("MQTT ingestion pipeline started: capacity={}, workers={}, batchSize={}, policy={}, virtualThreads={}",
+                queue.remainingCapacity(), workers, batchSize, overflowPolicy, virtualThreads);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.warn("MQTT ingestion workers did not finish in time, {} messages discarded", queue.size());
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Llamado desde el hilo de callback de Paho: no debe parsear ni tocar la BD
+    public boolean submit(String topic, byte[] payload) {
+        InboundMessage message = new InboundMessage(topic, payload, System.nanoTime());
+        boolean accepted;
+
+        switch (overflowPolicy) {
+            case DROP_NEWEST:
+                accepted = queue.offer(message);
+                break;
+            case DROP_OLDEST:
+                accepted = offerEvictingOldest(message);
+                break;
+            case BLOCK:
+            default:
+                accepted = offerBlocking(message);
+                break;
+        }
+
+        if (accepted) {
+            acceptedCounter.increment();
+        } else {
+            droppedCounter.increment();
+            logger.warn("MQTT ingestion queue full, dropped message from topic {}", topic);
+        }
+        return accepted;
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public long getDroppedCount() {
+        return (long) droppedCounter.count();
+    }
+
+    private boolean offerBlocking(InboundMessage message) {
+        try {
+            return queue.offer(message, offerTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private boolean offerEvictingOldest(InboundMessage message) {
+        while (!queue.offer(message)) {
+            InboundMessage evicted = queue.poll();
+            if (evicted != null) {
+                droppedCounter.increment();
+                logger.warn("MQTT ingestion queue full, evicted oldest message from topic {}", evicted.topic);
+            }
+        }
+        return true;
+    }
+
+    private void drainLoop() {
+        List<InboundMessage> batch = new ArrayList<>(batchSize);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                InboundMessage first = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                processBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.error("Unexpected error in MQTT ingestion worker: {}", e.getMessage(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void processBatch(List<InboundMessage> batch) {
+        batchSizeSummary.record(batch.size());
+        logger.debug("Processing MQTT batch of {} messages", batch.size());
+
+        for (InboundMessage message : batch) {
+            try {
+                dispatch(message);
+            } catch (InvalidMqttPayloadException e) {
+                rejectedCounter.increment();
+                logger.warn("Rejected MQTT message: {}", e.getMessage());
+            } catch (Exception e) {
+                failedCounter.increment();
+                logger.error("Error processing MQTT message from topic {}: {}", message.topic, e.getMessage(), e);
+            } finally {
+                latencyTimer.record(System.nanoTime() - message.receivedAtNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private void dispatch(InboundMessage message) {
+        if (Constants.MqttConstants.TOPIC_SENSOR_DETECTION.equals(message.topic)) {
+            messageHandler.handleSensorDetection(payloadDecoder.decodeSensorDetection(message.payload));
+        } else if (Constants.MqttConstants.TOPIC_GATE_STATUS.equals(message.topic)) {
+            messageHandler.handleGateStatus(payloadDecoder.decodeGateStatus(message.payload));
+        } else {
+            logger.warn("No handler for MQTT topic {}", message.topic);
+        }
+    }
+
+    private static final class InboundMessage {
+        private final String topic;
+        private final byte[] payload;
+        private final long receivedAtNanos;
+
+        private InboundMessage(String topic, byte[] payload, long receivedAtNanos) {
+            this.topic = topic;
+            this.payload = payload;
+            this.receivedAtNanos = receivedAtNanos;
+        }
+    }
+
+    private static final class IngestionThreadFactory implements ThreadFactory {
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, THREAD_NAME_PREFIX + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -1,9 +1,14 @@
 package com.skygate.backend.mqtt;
 
+import com.skygate.backend.model.dto.request.FlightDetectionRequestDTO;
+import com.skygate.backend.model.dto.request.GateStatusMessageDTO;
+import com.skygate.backend.model.dto.request.SensorDetectionMessageDTO;
+import com.skygate.backend.model.dto.response.BulkDetectionResultDTO;
 import com.skygate.backend.model.entity.Flight;
 import com.skygate.backend.model.entity.Gate;
 import com.skygate.backend.model.enums.AircraftType;
 import com.skygate.backend.service.automata.AutomataService;
+import com.skygate.backend.service.automata.FlightLaneExecutor;
 import com.skygate.backend.service.flight.FlightDetectionService;
 import com.skygate.backend.service.gate.GateService;
 import org.slf4j.Logger;
@@ -12,7 +17,8 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 import org.eclipse.paho.client.mqttv3.IMqttClient;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
 
 @Component
 @ConditionalOnBean(IMqttClient.class)
@@ -23,28 +29,33 @@ public class MqttMessageHandler {
     private final FlightDetectionService flightDetectionService;
     private final GateService gateService;
     private final AutomataService automataService;
+    private final FlightLaneExecutor flightLanes;
 
     public MqttMessageHandler(
             @Lazy FlightDetectionService flightDetectionService,
             GateService gateService,
-            @Lazy AutomataService automataService) {
+            @Lazy AutomataService automataService,
+            FlightLaneExecutor flightLanes) {
         this.flightDetectionService = flightDetectionService;
         this.gateService = gateService;
         this.automataService = automataService;
+        this.flightLanes = flightLanes;
     }
 
-    public void handleSensorDetection(Map<String, Object> data) {
-        logger.info("Processing sensor detection: {}", data);
+    public void handleSensorDetection(SensorDetectionMessageDTO message) {
+        logger.info("Processing sensor detection: {}", message);
 
         try {
-            String action = (String) data.get("action");
-
-            if ("AIRCRAFT_DETECTED".equals(action)) {
-                handleAircraftDetection(data);
-            } else if ("ARRIVAL_DETECTED".equals(action)) {
-                handleArrivalDetection(data);
-            } else if ("DEPARTURE_DETECTED".equals(action)) {
-                handleDepartureDetection(data);
+            String action = message.getAction();
+
+            if (SensorDetectionMessageDTO.ACTION_AIRCRAFT_DETECTED.equals(action)) {
+                handleAircraftDetection(message);
+            } else if (SensorDetectionMessageDTO.ACTION_AIRCRAFT_DETECTED_BULK.equals(action)) {
+                handleBulkAircraftDetection(message);
+            } else if (SensorDetectionMessageDTO.ACTION_ARRIVAL_DETECTED.equals(action)) {
+                handleArrivalDetection(message);
+            } else if (SensorDetectionMessageDTO.ACTION_DEPARTURE_DETECTED.equals(action)) {
+                handleDepartureDetection(message);
             } else {
                 logger.warn("Unknown sensor action: {}", action);
             }
@@ -54,14 +65,13 @@ public class MqttMessageHandler {
         }
     }
 
-    private void handleAircraftDetection(Map<String, Object> data) {
-        String flightNumber = (String) data.get("flightNumber");
-        String aircraftTypeStr = (String) data.get("aircraftType");
-        String origin = (String) data.getOrDefault("origin", "Unknown");
-        String destination = (String) data.getOrDefault("destination", "Unknown");
-        String airline = (String) data.getOrDefault("airline", "Unknown");
+    private void handleAircraftDetection(SensorDetectionMessageDTO message) {
+        String flightNumber = message.getFlightNumber();
+        String origin = valueOrUnknown(message.getOrigin());
+        String destination = valueOrUnknown(message.getDestination());
+        String airline = valueOrUnknown(message.getAirline());
 
-        AircraftType aircraftType = AircraftType.fromString(aircraftTypeStr);
+        AircraftType aircraftType = AircraftType.fromString(message.getAircraftType());
 
         logger.info("Aircraft detected: Flight {} - Type {}", flightNumber, aircraftType);
 
@@ -71,58 +81,78 @@ public class MqttMessageHandler {
         logger.info("Flight detection processed successfully: {}", detectedFlight.getFlightNumber());
     }
 
-    private void handleArrivalDetection(Map<String, Object> data) {
-        Object flightIdObj = data.get("flightId");
+    private void handleBulkAircraftDetection(SensorDetectionMessageDTO message) {
+        List<FlightDetectionRequestDTO> detections = new ArrayList<>(message.getDetections().size());
+        for (SensorDetectionMessageDTO item : message.getDetections()) {
+            FlightDetectionRequestDTO detection = new FlightDetectionRequestDTO();
+            detection.setFlightNumber(item.getFlightNumber());
+            detection.setAircraftType(AircraftType.fromString(item.getAircraftType()));
+            detection.setOrigin(valueOrUnknown(item.getOrigin()));
+            detection.setDestination(valueOrUnknown(item.getDestination()));
+            detection.setAirline(valueOrUnknown(item.getAirline()));
+            detections.add(detection);
+        }
+
+        logger.info("Bulk aircraft detection received with {} detections", detections.size());
+
+        List<BulkDetectionResultDTO> results = flightDetectionService.detectFlights(detections);
+        long detected = results.stream().filter(BulkDetectionResultDTO::isSuccess).count();
+        for (BulkDetectionResultDTO result : results) {
+            if (!result.isSuccess()) {
+                logger.warn("Bulk detection item {} ({}) rejected: {}",
+                        result.getIndex(), result.getFlightNumber(), result.getMessage());
+            }
+        }
+
+        logger.info("Bulk detection processed: {} of {} flights detected", detected, results.size());
+    }
 
-        if (flightIdObj == null) {
+    private void handleArrivalDetection(SensorDetectionMessageDTO message) {
+        Long flightId = message.getFlightId();
+
+        if (flightId == null) {
             logger.warn("Flight ID not provided in arrival detection");
             return;
         }
 
-        Long flightId = Long.valueOf(flightIdObj.toString());
-
         logger.info("Aircraft arrival detected for flight ID: {}", flightId);
 
         try {
-            Flight flight = automataService.getFlightById(flightId);
-            automataService.processAircraftArrival(flight);
-            logger.info("Arrival processed successfully for flight: {}", flight.getFlightNumber());
+            flightLanes.execute(flightId, () -> automataService.processAircraftArrival(flightId));
+            logger.info("Arrival processed successfully for flight ID: {}", flightId);
         } catch (Exception e) {
             logger.error("Error processing arrival for flight ID {}: {}", flightId, e.getMessage(), e);
         }
     }
 
-    private void handleDepartureDetection(Map<String, Object> data) {
-        Object flightIdObj = data.get("flightId");
+    private void handleDepartureDetection(SensorDetectionMessageDTO message) {
+        Long flightId = message.getFlightId();
 
-        if (flightIdObj == null) {
+        if (flightId == null) {
             logger.warn("Flight ID not provided in departure detection");
             return;
         }
 
-        Long flightId = Long.valueOf(flightIdObj.toString());
-
         logger.info("Aircraft departure detected for flight ID: {}", flightId);
 
         try {
-            Flight flight = automataService.getFlightById(flightId);
-            automataService.processAircraftDeparture(flight);
-            logger.info("Departure processed successfully for flight: {}", flight.getFlightNumber());
+            flightLanes.execute(flightId, () -> automataService.processAircraftDeparture(flightId));
+            logger.info("Departure processed successfully for flight ID: {}", flightId);
         } catch (Exception e) {
             logger.error("Error processing departure for flight ID {}: {}", flightId, e.getMessage(), e);
         }
     }
 
-    public void handleGateStatus(Map<String, Object> data) {
-        logger.info("Processing gate status update: {}", data);
+    public void handleGateStatus(GateStatusMessageDTO message) {
+        logger.info("Processing gate status update: {}", message);
 
         try {
-            String action = (String) data.get("action");
+            String action = message.getAction();
 
-            if ("STATUS_REQUEST".equals(action)) {
-                handleStatusRequest(data);
-            } else if ("MANUAL_OVERRIDE".equals(action)) {
-                handleManualOverride(data);
+            if (GateStatusMessageDTO.ACTION_STATUS_REQUEST.equals(action)) {
+                handleStatusRequest(message);
+            } else if (GateStatusMessageDTO.ACTION_MANUAL_OVERRIDE.equals(action)) {
+                handleManualOverride(message);
             } else {
                 logger.warn("Unknown gate status action: {}", action);
             }
@@ -132,16 +162,14 @@ public class MqttMessageHandler {
         }
     }
 
-    private void handleStatusRequest(Map<String, Object> data) {
-        Object gateIdObj = data.get("gateId");
+    private void handleStatusRequest(GateStatusMessageDTO message) {
+        Long gateId = message.getGateId();
 
-        if (gateIdObj == null) {
+        if (gateId == null) {
             logger.warn("Gate ID not provided in status request");
             return;
         }
 
-        Long gateId = Long.valueOf(gateIdObj.toString());
-
         logger.info("Gate status requested for gate ID: {}", gateId);
 
         try {
@@ -152,17 +180,15 @@ public class MqttMessageHandler {
         }
     }
 
-    private void handleManualOverride(Map<String, Object> data) {
-        Object gateIdObj = data.get("gateId");
-        String statusStr = (String) data.get("status");
+    private void handleManualOverride(GateStatusMessageDTO message) {
+        Long gateId = message.getGateId();
+        String statusStr = message.getStatus();
 
-        if (gateIdObj == null || statusStr == null) {
+        if (gateId == null || statusStr == null) {
             logger.warn("Gate ID or status not provided in manual override");
             return;
         }
 
-        Long gateId = Long.valueOf(gateIdObj.toString());
-
         logger.info("Manual override requested for gate ID {}: New status {}", gateId, statusStr);
 
         try {
@@ -171,4 +197,8 @@ public class MqttMessageHandler {
             logger.error("Error processing manual override for gate ID {}: {}", gateId, e.getMessage(), e);
         }
     }
+
+    private String valueOrUnknown(String value) {
+        return value != null ? value : "Unknown";
+    }
 }
@@ -0,0 +1,89 @@
+package com.skygate.backend.mqtt;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.skygate.backend.exception.InvalidMqttPayloadException;
+import com.skygate.backend.model.dto.request.GateStatusMessageDTO;
+import com.skygate.backend.model.dto.request.SensorDetectionMessageDTO;
+import com.skygate.backend.util.Constants;
+import org.springframework.stereotype.Component;
+import java.io.IOException;
+
+// Decodifica los payloads MQTT directamente desde el byte[] recibido a DTOs tipados,
+// con ObjectReader precompilados (sin String intermedio ni Map). Los mensajes
+// malformados o sin los campos que exige su accion se rechazan aqui.
+@Component
+public class MqttPayloadDecoder {
+
+    private final ObjectReader sensorDetectionReader;
+    private final ObjectReader gateStatusReader;
+
+    public MqttPayloadDecoder(ObjectMapper objectMapper) {
+        this.sensorDetectionReader = objectMapper.readerFor(SensorDetectionMessageDTO.class)
+                .with(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+        this.gateStatusReader = objectMapper.readerFor(GateStatusMessageDTO.class)
+                .with(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+    }
+
+    public SensorDetectionMessageDTO decodeSensorDetection(byte[] payload) {
+        String topic = Constants.MqttConstants.TOPIC_SENSOR_DETECTION;
+        SensorDetectionMessageDTO message = read(sensorDetectionReader, topic, payload);
+
+        String action = requireAction(topic, message.getAction());
+        if (SensorDetectionMessageDTO.ACTION_AIRCRAFT_DETECTED.equals(action)) {
+            if (message.getFlightNumber() == null || message.getFlightNumber().isBlank()) {
+                throw new InvalidMqttPayloadException(topic, "flightNumber is required for " + action);
+            }
+        } else if (SensorDetectionMessageDTO.ACTION_AIRCRAFT_DETECTED_BULK.equals(action)) {
+            if (message.getDetections() == null || message.getDetections().isEmpty()) {
+                throw new InvalidMqttPayloadException(topic, "detections are required for " + action);
+            }
+        } else if (SensorDetectionMessageDTO.ACTION_ARRIVAL_DETECTED.equals(action)
+                || SensorDetectionMessageDTO.ACTION_DEPARTURE_DETECTED.equals(action)) {
+            if (message.getFlightId() == null) {
+                throw new InvalidMqttPayloadException(topic, "flightId is required for " + action);
+            }
+        }
+        return message;
+    }
+
+    public GateStatusMessageDTO decodeGateStatus(byte[] payload) {
+        String topic = Constants.MqttConstants.TOPIC_GATE_STATUS;
+        GateStatusMessageDTO message = read(gateStatusReader, topic, payload);
+
+        String action = requireAction(topic, message.getAction());
+        if (GateStatusMessageDTO.ACTION_STATUS_REQUEST.equals(action)
+                || GateStatusMessageDTO.ACTION_MANUAL_OVERRIDE.equals(action)) {
+            if (message.getGateId() == null) {
+                throw new InvalidMqttPayloadException(topic, "gateId is required for " + action);
+            }
+        }
+        if (GateStatusMessageDTO.ACTION_MANUAL_OVERRIDE.equals(action) && message.getStatus() == null) {
+            throw new InvalidMqttPayloadException(topic, "status is required for " + action);
+        }
+        return message;
+    }
+
+    private <T> T read(ObjectReader reader, String topic, byte[] payload) {
+        if (payload == null || payload.length == 0) {
+            throw new InvalidMqttPayloadException(topic, "empty payload");
+        }
+        try {
+            T message = reader.readValue(payload);
+            if (message == null) {
+                throw new InvalidMqttPayloadException(topic, "null payload");
+            }
+            return message;
+        } catch (IOException e) {
+            throw new InvalidMqttPayloadException(topic, e.getMessage(), e);
+        }
+    }
+
+    private String requireAction(String topic, String action) {
+        if (action == null || action.isBlank()) {
+            throw new InvalidMqttPayloadException(topic, "action is required");
+        }
+        return action;
+    }
+}
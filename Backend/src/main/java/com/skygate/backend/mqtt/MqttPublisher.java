@@ -3,6 +3,9 @@ package com.skygate.backend.mqtt;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.skygate.backend.util.Constants;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.eclipse.paho.client.mqttv3.IMqttClient;
 import org.eclipse.paho.client.mqttv3.MqttException;
 import org.eclipse.paho.client.mqttv3.MqttMessage;
@@ -12,6 +15,7 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.stereotype.Component;
 import java.nio.charset.StandardCharsets;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @Component
 @ConditionalOnBean(IMqttClient.class)
@@ -21,29 +25,38 @@ public class MqttPublisher {
 
     private final IMqttClient mqttClient;
     private final ObjectMapper objectMapper;
+    private final Meter.MeterProvider<Timer> publishTimer;
 
-    public MqttPublisher(IMqttClient mqttClient, ObjectMapper objectMapper) {
+    public MqttPublisher(IMqttClient mqttClient, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
         this.mqttClient = mqttClient;
         this.objectMapper = objectMapper;
+        this.publishTimer = Timer.builder("skygate.mqtt.publish")
+                .description("Latencia de publicacion MQTT (serializacion incluida) por topic")
+                .publishPercentileHistogram()
+                .withRegistry(meterRegistry);
     }
 
-    public void publishGateAssignment(Map<String, Object> payload) {
-        publishMessage(Constants.MqttConstants.TOPIC_GATE_ASSIGNMENT, payload);
+    public boolean publishGateAssignment(Map<String, Object> payload) {
+        return publishMessage(Constants.MqttConstants.TOPIC_GATE_ASSIGNMENT, payload);
     }
 
-    public void publishLedControl(Map<String, Object> payload) {
-        publishMessage(Constants.MqttConstants.TOPIC_LED_CONTROL, payload);
+    public boolean publishLedControl(Map<String, Object> payload) {
+        return publishMessage(Constants.MqttConstants.TOPIC_LED_CONTROL, payload);
     }
 
-    public void publishGateStatus(Map<String, Object> payload) {
-        publishMessage(Constants.MqttConstants.TOPIC_GATE_STATUS, payload);
+    public boolean publishGateStatus(Map<String, Object> payload) {
+        return publishMessage(Constants.MqttConstants.TOPIC_GATE_STATUS, payload);
     }
 
-    public void publishSensorDetection(Map<String, Object> payload) {
-        publishMessage(Constants.MqttConstants.TOPIC_SENSOR_DETECTION, payload);
+    public boolean publishSensorDetection(Map<String, Object> payload) {
+        return publishMessage(Constants.MqttConstants.TOPIC_SENSOR_DETECTION, payload);
     }
 
-    public void publishMessage(String topic, Map<String, Object> payload) {
+    // Devuelve false si el mensaje no llego al broker, para que el llamador pueda reintentar. Un
+    // payload que no se puede serializar nunca llegara: se lanza IllegalArgumentException
+    public boolean publishMessage(String topic, Map<String, Object> payload) {
+        long start = System.nanoTime();
+        String outcome = "error";
         try {
             if (!mqttClient.isConnected()) {
                 logger.warn("MQTT client is not connected. Attempting to reconnect...");
@@ -58,13 +71,18 @@ public class MqttPublisher {
 
             mqttClient.publish(topic, message);
 
+            outcome = "success";
             logger.info("Published message to topic {}: {}", topic, jsonPayload);
 
         } catch (MqttException e) {
             logger.error("Error publishing MQTT message to topic {}: {}", topic, e.getMessage(), e);
         } catch (JsonProcessingException e) {
-            logger.error("Error serializing payload to JSON: {}", e.getMessage(), e);
+            throw new IllegalArgumentException("Payload for topic " + topic + " is not serializable", e);
+        } finally {
+            publishTimer.withTags("topic", topic, "outcome", outcome)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
+        return "success".equals(outcome);
     }
 
     public void publishRawMessage(String topic, String payload) {
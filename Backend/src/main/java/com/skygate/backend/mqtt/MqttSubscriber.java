@@ -1,6 +1,5 @@
 package com.skygate.backend.mqtt;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.skygate.backend.util.Constants;
 import org.eclipse.paho.client.mqttv3.IMqttClient;
 import org.eclipse.paho.client.mqttv3.IMqttMessageListener;
@@ -12,8 +11,6 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.stereotype.Component;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
-import java.nio.charset.StandardCharsets;
-import java.util.Map;
 
 @Component
 @ConditionalOnBean(IMqttClient.class)
@@ -22,13 +19,11 @@ public class MqttSubscriber {
     private static final Logger logger = LoggerFactory.getLogger(MqttSubscriber.class);
 
     private final IMqttClient mqttClient;
-    private final ObjectMapper objectMapper;
-    private final MqttMessageHandler messageHandler;
+    private final MqttIngestionPipeline ingestionPipeline;
 
-    public MqttSubscriber(IMqttClient mqttClient, ObjectMapper objectMapper, MqttMessageHandler messageHandler) {
+    public MqttSubscriber(IMqttClient mqttClient, MqttIngestionPipeline ingestionPipeline) {
         this.mqttClient = mqttClient;
-        this.objectMapper = objectMapper;
-        this.messageHandler = messageHandler;
+        this.ingestionPipeline = ingestionPipeline;
     }
 
     @PostConstruct
@@ -58,30 +53,15 @@ public class MqttSubscriber {
         logger.info("Subscribed to MQTT topic: {}", topic);
     }
 
+    // Se ejecuta en el hilo de callback de Paho: solo encola, el procesamiento es asincrono
     private void handleSensorDetection(String topic, MqttMessage message) {
-        try {
-            String payload = new String(message.getPayload(), StandardCharsets.UTF_8);
-            logger.info("Received sensor detection message from topic {}: {}", topic, payload);
-
-            Map<String, Object> data = objectMapper.readValue(payload, Map.class);
-            messageHandler.handleSensorDetection(data);
-
-        } catch (Exception e) {
-            logger.error("Error processing sensor detection message: {}", e.getMessage(), e);
-        }
+        logger.debug("Received sensor detection message from topic {} ({} bytes)", topic, message.getPayload().length);
+        ingestionPipeline.submit(topic, message.getPayload());
     }
 
     private void handleGateStatus(String topic, MqttMessage message) {
-        try {
-            String payload = new String(message.getPayload(), StandardCharsets.UTF_8);
-            logger.info("Received gate status message from topic {}: {}", topic, payload);
-
-            Map<String, Object> data = objectMapper.readValue(payload, Map.class);
-            messageHandler.handleGateStatus(data);
-
-        } catch (Exception e) {
-            logger.error("Error processing gate status message: {}", e.getMessage(), e);
-        }
+        logger.debug("Received gate status message from topic {} ({} bytes)", topic, message.getPayload().length);
+        ingestionPipeline.submit(topic, message.getPayload());
     }
 
     public void unsubscribeFromTopic(String topic) {
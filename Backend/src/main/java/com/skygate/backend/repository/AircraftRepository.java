@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,6 +17,10 @@ public interface AircraftRepository extends JpaRepository<Aircraft, Long> {
 
     List<Aircraft> findByAircraftType(AircraftType aircraftType);
 
+    Optional<Aircraft> findFirstByAircraftTypeOrderByIdAsc(AircraftType aircraftType);
+
+    List<Aircraft> findByAircraftTypeInOrderByIdAsc(Collection<AircraftType> aircraftTypes);
+
     List<Aircraft> findByManufacturer(String manufacturer);
 
     List<Aircraft> findByAircraftTypeAndManufacturer(AircraftType aircraftType, String manufacturer);
@@ -0,0 +1,59 @@
+package com.skygate.backend.repository;
+
+import com.skygate.backend.model.dto.response.AssignmentResponseDTO;
+import com.skygate.backend.model.entity.ArchivedAssignment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.stream.Stream;
+
+@Repository
+public interface ArchivedAssignmentRepository extends JpaRepository<ArchivedAssignment, Long> {
+
+    // El vuelo puede seguir en flights (asignacion reasignada) o estar ya en flights_archive
+    String HISTORY_PROJECTION = "SELECT new com.skygate.backend.model.dto.response.AssignmentResponseDTO(a.id, " +
+            "a.flightId, COALESCE(f.flightNumber, af.flightNumber), COALESCE(f.status, af.status), " +
+            "COALESCE(f.automataState, af.automataState), COALESCE(f.origin, af.origin), " +
+            "COALESCE(f.destination, af.destination), ac.aircraftType, g.id, g.gateNumber, g.gateType, g.status, " +
+            "g.terminal, a.assignedAt, a.expectedArrival, a.actualArrival, a.departureTime, a.isActive, " +
+            "a.ledActivated, a.notes, a.createdAt, a.updatedAt) " +
+            "FROM ArchivedAssignment a LEFT JOIN Flight f ON f.id = a.flightId " +
+            "LEFT JOIN ArchivedFlight af ON af.id = a.flightId " +
+            "LEFT JOIN Aircraft ac ON ac.id = COALESCE(f.aircraft.id, af.aircraftId) " +
+            "LEFT JOIN Gate g ON g.id = a.gateId ";
+
+    @Modifying
+    @Query("INSERT INTO ArchivedAssignment (id, flightId, gateId, assignedAt, expectedArrival, actualArrival, " +
+            "departureTime, isActive, ledActivated, notes, createdAt, updatedAt, archivedAt) " +
+            "SELECT a.id, a.flight.id, a.gate.id, a.assignedAt, a.expectedArrival, a.actualArrival, a.departureTime, " +
+            "a.isActive, a.ledActivated, a.notes, a.createdAt, a.updatedAt, :archivedAt " +
+            "FROM Assignment a WHERE a.id IN :ids AND a.isActive = false")
+    int archiveByIds(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(HISTORY_PROJECTION + "WHERE a.assignedAt >= :startDate AND a.assignedAt <= :endDate " +
+            "ORDER BY a.assignedAt, a.id")
+    Stream<AssignmentResponseDTO> streamHistory(@Param("startDate") LocalDateTime startDate,
+                                                @Param("endDate") LocalDateTime endDate);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(HISTORY_PROJECTION + "WHERE a.gateId = :gateId AND a.assignedAt >= :startDate AND a.assignedAt <= :endDate " +
+            "ORDER BY a.assignedAt, a.id")
+    Stream<AssignmentResponseDTO> streamHistoryByGate(@Param("gateId") Long gateId,
+                                                      @Param("startDate") LocalDateTime startDate,
+                                                      @Param("endDate") LocalDateTime endDate);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(HISTORY_PROJECTION + "WHERE a.flightId IN :flightIds AND a.assignedAt >= :startDate " +
+            "AND a.assignedAt <= :endDate ORDER BY a.assignedAt, a.id")
+    Stream<AssignmentResponseDTO> streamHistoryByFlights(@Param("flightIds") Collection<Long> flightIds,
+                                                         @Param("startDate") LocalDateTime startDate,
+                                                         @Param("endDate") LocalDateTime endDate);
+}
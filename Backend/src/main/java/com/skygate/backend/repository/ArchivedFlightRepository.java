@@ -0,0 +1,46 @@
+package com.skygate.backend.repository;
+
+import com.skygate.backend.model.dto.response.FlightResponseDTO;
+import com.skygate.backend.model.entity.ArchivedFlight;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface ArchivedFlightRepository extends JpaRepository<ArchivedFlight, Long> {
+
+    String HISTORY_PROJECTION = "SELECT new com.skygate.backend.model.dto.response.FlightResponseDTO(f.id, " +
+            "f.flightNumber, a.id, a.model, a.aircraftType, a.manufacturer, f.status, f.automataState, f.origin, " +
+            "f.destination, f.airline, f.scheduledArrival, f.actualArrival, f.scheduledDeparture, f.actualDeparture, " +
+            "f.detectedAt, f.createdAt, f.updatedAt) FROM ArchivedFlight f LEFT JOIN Aircraft a ON a.id = f.aircraftId ";
+
+    // Copia en la BD sin pasar las filas por la aplicacion; el borrado de flights va en la misma transaccion
+    @Modifying
+    @Query("INSERT INTO ArchivedFlight (id, flightNumber, aircraftId, status, automataState, origin, destination, " +
+            "airline, scheduledArrival, actualArrival, scheduledDeparture, actualDeparture, detectedAt, createdAt, " +
+            "updatedAt, archivedAt) " +
+            "SELECT f.id, f.flightNumber, f.aircraft.id, f.status, f.automataState, f.origin, f.destination, " +
+            "f.airline, f.scheduledArrival, f.actualArrival, f.scheduledDeparture, f.actualDeparture, f.detectedAt, " +
+            "f.createdAt, f.updatedAt, :archivedAt FROM Flight f WHERE f.id IN :ids")
+    int archiveByIds(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+    @Query("SELECT f.id FROM ArchivedFlight f WHERE f.flightNumber = :flightNumber")
+    List<Long> findIdsByFlightNumber(@Param("flightNumber") String flightNumber);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(HISTORY_PROJECTION + "ORDER BY f.id")
+    Stream<FlightResponseDTO> streamAllHistory();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(HISTORY_PROJECTION + "WHERE f.detectedAt >= :startDate AND f.detectedAt <= :endDate ORDER BY f.id")
+    Stream<FlightResponseDTO> streamByDetectionDateRange(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+}
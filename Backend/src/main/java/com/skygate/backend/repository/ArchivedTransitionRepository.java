@@ -0,0 +1,33 @@
+package com.skygate.backend.repository;
+
+import com.skygate.backend.model.entity.ArchivedTransitionRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ArchivedTransitionRepository extends JpaRepository<ArchivedTransitionRecord, Long> {
+
+    // Copia en la BD el diario de los vuelos que se archivan; el borrado de automata_transitions va en la misma transaccion
+    @Modifying
+    @Query("INSERT INTO ArchivedTransitionRecord (id, flightId, flightNumber, fromState, input, toState, outputs, " +
+            "occurredAt, archivedAt) " +
+            "SELECT t.id, t.flightId, t.flightNumber, t.fromState, t.input, t.toState, t.outputs, t.occurredAt, " +
+            ":archivedAt FROM AutomataTransitionRecord t WHERE t.flightId IN :flightIds")
+    int archiveByFlightIds(@Param("flightIds") Collection<Long> flightIds, @Param("archivedAt") LocalDateTime archivedAt);
+
+    List<ArchivedTransitionRecord> findByFlightIdOrderByIdAsc(Long flightId);
+
+    @Query("SELECT t FROM ArchivedTransitionRecord t WHERE t.flightId = :flightId AND t.occurredAt >= :from AND t.occurredAt <= :to ORDER BY t.id")
+    List<ArchivedTransitionRecord> findByFlightIdBetween(@Param("flightId") Long flightId,
+                                                         @Param("from") LocalDateTime from,
+                                                         @Param("to") LocalDateTime to);
+
+    Optional<ArchivedTransitionRecord> findFirstByFlightIdAndOccurredAtLessThanEqualOrderByIdDesc(Long flightId, LocalDateTime at);
+}
@@ -1,20 +1,34 @@
 package com.skygate.backend.repository;
 
+import com.skygate.backend.model.dto.response.AssignmentResponseDTO;
 import com.skygate.backend.model.entity.Assignment;
 import com.skygate.backend.model.entity.Flight;
 import com.skygate.backend.model.entity.Gate;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface AssignmentRepository extends JpaRepository<Assignment, Long> {
 
+    String HISTORY_PROJECTION = "SELECT new com.skygate.backend.model.dto.response.AssignmentResponseDTO(a.id, f.id, " +
+            "f.flightNumber, f.status, f.automataState, f.origin, f.destination, ac.aircraftType, g.id, g.gateNumber, " +
+            "g.gateType, g.status, g.terminal, a.assignedAt, a.expectedArrival, a.actualArrival, a.departureTime, " +
+            "a.isActive, a.ledActivated, a.notes, a.createdAt, a.updatedAt) " +
+            "FROM Assignment a JOIN a.flight f LEFT JOIN f.aircraft ac JOIN a.gate g ";
+
     Optional<Assignment> findByFlightAndIsActiveTrue(Flight flight);
 
     Optional<Assignment> findByGateAndIsActiveTrue(Gate gate);
@@ -23,30 +37,70 @@ public interface AssignmentRepository extends JpaRepository<Assignment, Long> {
 
     List<Assignment> findByGate(Gate gate);
 
+    @Override
+    @EntityGraph(Assignment.GRAPH_DETAIL)
+    List<Assignment> findAll();
+
+    @Override
+    @EntityGraph(Assignment.GRAPH_DETAIL)
+    Optional<Assignment> findById(Long id);
+
+    @EntityGraph(Assignment.GRAPH_DETAIL)
     List<Assignment> findByIsActiveTrue();
 
     List<Assignment> findByIsActiveFalse();
 
+    String PAGE_PROJECTION = "SELECT new com.skygate.backend.model.dto.response.AssignmentResponseDTO(a.id, f.id, " +
+            "f.flightNumber, f.status, f.automataState, f.origin, f.destination, ac.aircraftType, g.id, g.gateNumber, " +
+            "g.gateType, g.status, g.terminal, a.assignedAt, a.expectedArrival, a.actualArrival, a.departureTime, " +
+            "a.isActive, a.ledActivated, a.notes, a.createdAt, a.updatedAt) " +
+            "FROM Assignment a JOIN a.flight f LEFT JOIN f.aircraft ac JOIN a.gate g ";
+
+    // Paginacion keyset sin filtros opcionales: todas las filas por la clave primaria, las activas
+    // por idx_assignments_active_id (H2) o idx_assignments_active (PostgreSQL)
+    @Query(PAGE_PROJECTION + "WHERE a.id > :afterId ORDER BY a.id")
+    List<AssignmentResponseDTO> findPageAfter(@Param("afterId") long afterId, Limit limit);
+
+    @Query(PAGE_PROJECTION + "WHERE a.isActive = true AND a.id > :afterId ORDER BY a.id")
+    List<AssignmentResponseDTO> findActivePageAfter(@Param("afterId") long afterId, Limit limit);
+
+    @EntityGraph(Assignment.GRAPH_AUTOMATA)
     @Query("SELECT a FROM Assignment a WHERE a.flight.id = :flightId AND a.isActive = true")
     Optional<Assignment> findActiveAssignmentByFlightId(@Param("flightId") Long flightId);
 
+    @EntityGraph(Assignment.GRAPH_AUTOMATA)
     @Query("SELECT a FROM Assignment a WHERE a.gate.id = :gateId AND a.isActive = true")
     Optional<Assignment> findActiveAssignmentByGateId(@Param("gateId") Long gateId);
 
-    @Query("SELECT a FROM Assignment a JOIN FETCH a.flight JOIN FETCH a.gate WHERE a.id = :assignmentId")
+    @EntityGraph(Assignment.GRAPH_DETAIL)
+    @Query("SELECT a FROM Assignment a WHERE a.id = :assignmentId")
     Optional<Assignment> findByIdWithFlightAndGate(@Param("assignmentId") Long assignmentId);
 
-    @Query("SELECT a FROM Assignment a JOIN FETCH a.flight f JOIN FETCH a.gate g WHERE a.isActive = true")
+    @EntityGraph(Assignment.GRAPH_DASHBOARD)
+    @Query("SELECT a FROM Assignment a WHERE a.isActive = true")
     List<Assignment> findAllActiveWithFlightAndGate();
 
-    @Query("SELECT a FROM Assignment a WHERE a.assignedAt >= :startDate AND a.assignedAt <= :endDate")
-    List<Assignment> findAssignmentsByDateRange(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
-
-    @Query("SELECT a FROM Assignment a WHERE a.gate.gateNumber = :gateNumber ORDER BY a.assignedAt DESC")
-    List<Assignment> findAssignmentHistoryByGateNumber(@Param("gateNumber") String gateNumber);
-
-    @Query("SELECT a FROM Assignment a WHERE a.flight.flightNumber = :flightNumber ORDER BY a.assignedAt DESC")
-    List<Assignment> findAssignmentHistoryByFlightNumber(@Param("flightNumber") String flightNumber);
+    // Historico en streaming. Cada variante filtra por un predicado con indice propio (assigned_at,
+    // gate_id + assigned_at, flight_id + assigned_at); los rangos abiertos los cierra ArchiveService
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(HISTORY_PROJECTION + "WHERE a.assignedAt >= :startDate AND a.assignedAt <= :endDate " +
+            "ORDER BY a.assignedAt, a.id")
+    Stream<AssignmentResponseDTO> streamHistory(@Param("startDate") LocalDateTime startDate,
+                                                @Param("endDate") LocalDateTime endDate);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(HISTORY_PROJECTION + "WHERE a.gate.id = :gateId AND a.assignedAt >= :startDate AND a.assignedAt <= :endDate " +
+            "ORDER BY a.assignedAt, a.id")
+    Stream<AssignmentResponseDTO> streamHistoryByGate(@Param("gateId") Long gateId,
+                                                      @Param("startDate") LocalDateTime startDate,
+                                                      @Param("endDate") LocalDateTime endDate);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(HISTORY_PROJECTION + "WHERE a.flight.id IN :flightIds AND a.assignedAt >= :startDate " +
+            "AND a.assignedAt <= :endDate ORDER BY a.assignedAt, a.id")
+    Stream<AssignmentResponseDTO> streamHistoryByFlights(@Param("flightIds") Collection<Long> flightIds,
+                                                         @Param("startDate") LocalDateTime startDate,
+                                                         @Param("endDate") LocalDateTime endDate);
 
     @Modifying
     @Query("UPDATE Assignment a SET a.isActive = false, a.departureTime = CURRENT_TIMESTAMP, a.updatedAt = CURRENT_TIMESTAMP WHERE a.id = :assignmentId")
@@ -69,9 +123,21 @@ public interface AssignmentRepository extends JpaRepository<Assignment, Long> {
     @Query("SELECT COUNT(a) FROM Assignment a WHERE a.ledActivated = true AND a.isActive = true")
     long countActiveAssignmentsWithLedsOn();
 
+    @Query("SELECT a.id, a.ledActivated FROM Assignment a WHERE a.isActive = true")
+    List<Object[]> findActiveLedRows();
+
+    @EntityGraph(Assignment.GRAPH_DETAIL)
     @Query("SELECT a FROM Assignment a WHERE a.gate.terminal = :terminal AND a.isActive = true")
     List<Assignment> findActiveAssignmentsByTerminal(@Param("terminal") String terminal);
 
+    // Archivado: asignaciones cerradas antes del corte, en bloques por id
+    @Query("SELECT a.id FROM Assignment a WHERE a.isActive = false AND a.departureTime < :cutoff ORDER BY a.id")
+    List<Long> findArchivableIds(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM Assignment a WHERE a.id IN :ids AND a.isActive = false")
+    int deleteClosedByIds(@Param("ids") Collection<Long> ids);
+
     boolean existsByFlightAndIsActiveTrue(Flight flight);
 
     boolean existsByGateAndIsActiveTrue(Gate gate);
@@ -0,0 +1,34 @@
+package com.skygate.backend.repository;
+
+import com.skygate.backend.model.entity.AutomataTransitionRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AutomataTransitionRepository extends JpaRepository<AutomataTransitionRecord, Long> {
+
+    List<AutomataTransitionRecord> findByFlightIdOrderByIdAsc(Long flightId);
+
+    @Query("SELECT t FROM AutomataTransitionRecord t WHERE t.flightId = :flightId AND t.occurredAt >= :from AND t.occurredAt <= :to ORDER BY t.id")
+    List<AutomataTransitionRecord> findByFlightIdBetween(@Param("flightId") Long flightId,
+                                                         @Param("from") LocalDateTime from,
+                                                         @Param("to") LocalDateTime to);
+
+    Optional<AutomataTransitionRecord> findFirstByFlightIdAndOccurredAtLessThanEqualOrderByIdDesc(Long flightId, LocalDateTime at);
+
+    // Ultima transicion de cada uno de los vuelos indicados: flight_id, to_state, occurred_at
+    @Query("SELECT t.flightId, t.toState, t.occurredAt FROM AutomataTransitionRecord t " +
+            "WHERE t.id IN (SELECT MAX(l.id) FROM AutomataTransitionRecord l WHERE l.flightId IN :flightIds GROUP BY l.flightId)")
+    List<Object[]> findLatestStateRowsByFlightIds(@Param("flightIds") Collection<Long> flightIds);
+
+    @Modifying
+    @Query("DELETE FROM AutomataTransitionRecord t WHERE t.flightId IN :flightIds")
+    int deleteByFlightIds(@Param("flightIds") Collection<Long> flightIds);
+}
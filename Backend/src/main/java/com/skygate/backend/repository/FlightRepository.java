@@ -1,54 +1,110 @@
 package com.skygate.backend.repository;
 
+import com.skygate.backend.model.dto.response.FlightResponseDTO;
 import com.skygate.backend.model.entity.Flight;
 import com.skygate.backend.model.enums.AutomataState;
 import com.skygate.backend.model.enums.FlightStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface FlightRepository extends JpaRepository<Flight, Long> {
 
+    String HISTORY_PROJECTION = "SELECT new com.skygate.backend.model.dto.response.FlightResponseDTO(f.id, " +
+            "f.flightNumber, a.id, a.model, a.aircraftType, a.manufacturer, f.status, f.automataState, f.origin, " +
+            "f.destination, f.airline, f.scheduledArrival, f.actualArrival, f.scheduledDeparture, f.actualDeparture, " +
+            "f.detectedAt, f.createdAt, f.updatedAt) FROM Flight f LEFT JOIN f.aircraft a ";
+
+    @Override
+    @EntityGraph(Flight.GRAPH_AIRCRAFT)
+    List<Flight> findAll();
+
+    @Override
+    @EntityGraph(Flight.GRAPH_AIRCRAFT)
+    List<Flight> findAllById(Iterable<Long> ids);
+
+    @EntityGraph(Flight.GRAPH_AIRCRAFT)
     Optional<Flight> findByFlightNumber(String flightNumber);
 
+    List<Flight> findByFlightNumberIn(Collection<String> flightNumbers);
+
+    @EntityGraph(Flight.GRAPH_AIRCRAFT)
     List<Flight> findByStatus(FlightStatus status);
 
+    @EntityGraph(Flight.GRAPH_AIRCRAFT)
     List<Flight> findByAutomataState(AutomataState automataState);
 
+    List<Flight> findByAutomataStateNot(AutomataState automataState);
+
+    @EntityGraph(Flight.GRAPH_AIRCRAFT)
     List<Flight> findByAirline(String airline);
 
     List<Flight> findByOrigin(String origin);
 
     List<Flight> findByDestination(String destination);
 
+    String PAGE_PROJECTION = "SELECT new com.skygate.backend.model.dto.response.FlightResponseDTO(f.id, f.flightNumber, " +
+            "a.id, a.model, a.aircraftType, a.manufacturer, f.status, f.automataState, f.origin, f.destination, " +
+            "f.airline, f.scheduledArrival, f.actualArrival, f.scheduledDeparture, f.actualDeparture, f.detectedAt, " +
+            "f.createdAt, f.updatedAt) FROM Flight f LEFT JOIN f.aircraft a ";
+
+    // Paginacion keyset: id > cursor con ORDER BY id no depende de la profundidad. Sin filtros
+    // opcionales: todas las filas por la clave primaria, las activas por idx_flights_active_id
+    @Query(PAGE_PROJECTION + "WHERE f.id > :afterId ORDER BY f.id")
+    List<FlightResponseDTO> findPageAfter(@Param("afterId") long afterId, Limit limit);
+
+    @Query(PAGE_PROJECTION + "WHERE f.automataState IN ('S1', 'S2', 'S3', 'S4', 'S5') AND f.id > :afterId ORDER BY f.id")
+    List<FlightResponseDTO> findActivePageAfter(@Param("afterId") long afterId, Limit limit);
+
+    @EntityGraph(Flight.GRAPH_AIRCRAFT)
     @Query("SELECT f FROM Flight f WHERE f.status IN :statuses")
     List<Flight> findByStatusIn(@Param("statuses") List<FlightStatus> statuses);
 
+    @EntityGraph(Flight.GRAPH_AIRCRAFT)
     @Query("SELECT f FROM Flight f WHERE f.automataState IN ('S1', 'S2', 'S3', 'S4', 'S5')")
     List<Flight> findAllActiveFlights();
 
     @Query("SELECT f FROM Flight f WHERE f.automataState = 'S0' OR f.automataState = 'S6'")
     List<Flight> findAllInactiveFlights();
 
-    @Query("SELECT f FROM Flight f WHERE f.detectedAt >= :startDate AND f.detectedAt <= :endDate")
-    List<Flight> findFlightsByDetectionDateRange(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+    @Query("SELECT f.id FROM Flight f WHERE f.flightNumber = :flightNumber")
+    List<Long> findIdsByFlightNumber(@Param("flightNumber") String flightNumber);
 
+    // Exportacion en streaming: filas proyectadas (sin entidades gestionadas) leidas por bloques de fetch size
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(HISTORY_PROJECTION + "ORDER BY f.id")
+    Stream<FlightResponseDTO> streamAllHistory();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(HISTORY_PROJECTION + "WHERE f.detectedAt >= :startDate AND f.detectedAt <= :endDate ORDER BY f.id")
+    Stream<FlightResponseDTO> streamByDetectionDateRange(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+
+    @EntityGraph(Flight.GRAPH_AIRCRAFT)
     @Query("SELECT f FROM Flight f WHERE f.scheduledArrival >= :startDate AND f.scheduledArrival <= :endDate")
     List<Flight> findFlightsByScheduledArrivalRange(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
 
-    @Query("SELECT f FROM Flight f JOIN FETCH f.aircraft WHERE f.id = :flightId")
+    @EntityGraph(Flight.GRAPH_AIRCRAFT)
+    @Query("SELECT f FROM Flight f WHERE f.id = :flightId")
     Optional<Flight> findByIdWithAircraft(@Param("flightId") Long flightId);
 
     @Query("SELECT f FROM Flight f LEFT JOIN FETCH f.assignments WHERE f.id = :flightId")
     Optional<Flight> findByIdWithAssignments(@Param("flightId") Long flightId);
 
-    @Query("SELECT f FROM Flight f JOIN FETCH f.aircraft a WHERE f.flightNumber = :flightNumber")
+    @EntityGraph(Flight.GRAPH_AIRCRAFT)
+    @Query("SELECT f FROM Flight f WHERE f.flightNumber = :flightNumber")
     Optional<Flight> findByFlightNumberWithAircraft(@Param("flightNumber") String flightNumber);
 
     @Modifying
@@ -73,11 +129,29 @@ public interface FlightRepository extends JpaRepository<Flight, Long> {
     @Query("SELECT COUNT(f) FROM Flight f WHERE f.automataState = :state")
     long countByAutomataState(@Param("state") AutomataState state);
 
+    @Query("SELECT f.id, f.status, f.automataState FROM Flight f")
+    List<Object[]> findAllStatusRows();
+
+    @Query("SELECT f.id, f.automataState FROM Flight f WHERE f.automataState IN :states")
+    List<Object[]> findStateRowsByAutomataStateIn(@Param("states") Collection<AutomataState> states);
+
     boolean existsByFlightNumber(String flightNumber);
 
+    // Archivado: vuelos DEPARTED antes del corte cuyas asignaciones ya se archivaron y sin reserva activa
+    @Query("SELECT f FROM Flight f WHERE f.status = 'DEPARTED' AND f.actualDeparture < :cutoff " +
+            "AND NOT EXISTS (SELECT a.id FROM Assignment a WHERE a.flight = f) " +
+            "AND NOT EXISTS (SELECT r.id FROM GateReservation r WHERE r.flight = f AND r.isActive = true) ORDER BY f.id")
+    List<Flight> findArchivable(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM Flight f WHERE f.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    @EntityGraph(Flight.GRAPH_AIRCRAFT)
     @Query("SELECT f FROM Flight f WHERE f.aircraft.aircraftType = :aircraftType AND f.status IN ('DETECTED', 'CONFIRMED', 'GATE_ASSIGNED')")
     List<Flight> findActiveFlightsByAircraftType(@Param("aircraftType") String aircraftType);
 
+    @EntityGraph(Flight.GRAPH_AIRCRAFT)
     @Query("SELECT f FROM Flight f WHERE f.automataState = :state AND f.status = :status ORDER BY f.detectedAt ASC")
     List<Flight> findByAutomataStateAndStatus(
             @Param("state") AutomataState state,
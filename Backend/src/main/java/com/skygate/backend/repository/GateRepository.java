@@ -1,8 +1,10 @@
 package com.skygate.backend.repository;
 
+import com.skygate.backend.model.dto.response.GateResponseDTO;
 import com.skygate.backend.model.entity.Gate;
 import com.skygate.backend.model.enums.GateStatus;
 import com.skygate.backend.model.enums.GateType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -24,6 +26,17 @@ public interface GateRepository extends JpaRepository<Gate, Long> {
 
     List<Gate> findByStatusAndIsActiveTrue(GateStatus status);
 
+    String PAGE_PROJECTION = "SELECT new com.skygate.backend.model.dto.response.GateResponseDTO(g.id, g.gateNumber, " +
+            "g.gateType, g.status, g.location, g.terminal, g.ledPath, g.isActive, g.createdAt, g.updatedAt) FROM Gate g ";
+
+    // Paginacion keyset sin filtros opcionales: todas las filas por la clave primaria, las activas
+    // por idx_gates_active_id
+    @Query(PAGE_PROJECTION + "WHERE g.id > :afterId ORDER BY g.id")
+    List<GateResponseDTO> findPageAfter(@Param("afterId") long afterId, Limit limit);
+
+    @Query(PAGE_PROJECTION + "WHERE g.isActive = true AND g.id > :afterId ORDER BY g.id")
+    List<GateResponseDTO> findActivePageAfter(@Param("afterId") long afterId, Limit limit);
+
     List<Gate> findByGateTypeAndStatusAndIsActiveTrue(GateType gateType, GateStatus status);
 
     @Query("SELECT g FROM Gate g WHERE g.gateType = :gateType AND g.status = 'FREE' AND g.isActive = true")
@@ -41,6 +54,9 @@ public interface GateRepository extends JpaRepository<Gate, Long> {
     @Query("SELECT COUNT(g) FROM Gate g WHERE g.status = :status AND g.isActive = true")
     long countByStatus(@Param("status") GateStatus status);
 
+    @Query("SELECT g.id, g.status, g.isActive FROM Gate g")
+    List<Object[]> findAllStatusRows();
+
     @Query("SELECT COUNT(g) FROM Gate g WHERE g.gateType = :gateType AND g.status = 'FREE' AND g.isActive = true")
     long countAvailableByType(@Param("gateType") GateType gateType);
 
@@ -48,6 +64,12 @@ public interface GateRepository extends JpaRepository<Gate, Long> {
     @Query("UPDATE Gate g SET g.status = :status, g.updatedAt = CURRENT_TIMESTAMP WHERE g.id = :gateId")
     int updateGateStatus(@Param("gateId") Long gateId, @Param("status") GateStatus status);
 
+    @Modifying
+    @Query("UPDATE Gate g SET g.status = :newStatus, g.updatedAt = CURRENT_TIMESTAMP WHERE g.id = :gateId AND g.status = :expectedStatus AND g.isActive = true")
+    int compareAndSetStatus(@Param("gateId") Long gateId,
+                            @Param("expectedStatus") GateStatus expectedStatus,
+                            @Param("newStatus") GateStatus newStatus);
+
     @Modifying
     @Query("UPDATE Gate g SET g.isActive = :isActive, g.updatedAt = CURRENT_TIMESTAMP WHERE g.id = :gateId")
     int updateGateActiveStatus(@Param("gateId") Long gateId, @Param("isActive") Boolean isActive);
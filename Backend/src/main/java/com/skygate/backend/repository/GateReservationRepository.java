@@ -0,0 +1,31 @@
+package com.skygate.backend.repository;
+
+import com.skygate.backend.model.entity.GateReservation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface GateReservationRepository extends JpaRepository<GateReservation, Long> {
+
+    List<GateReservation> findByIsActiveTrue();
+
+    @Query("SELECT r FROM GateReservation r WHERE r.flight.id = :flightId AND r.isActive = true")
+    Optional<GateReservation> findActiveByFlightId(@Param("flightId") Long flightId);
+
+    @Query("SELECT r FROM GateReservation r WHERE r.gate.id = :gateId AND r.isActive = true ORDER BY r.startTime")
+    List<GateReservation> findActiveByGateId(@Param("gateId") Long gateId);
+
+    @Query("SELECT r FROM GateReservation r WHERE r.isActive = true AND r.startTime <= :limit ORDER BY r.startTime")
+    List<GateReservation> findActiveStartingBefore(@Param("limit") LocalDateTime limit);
+
+    @Modifying
+    @Query("DELETE FROM GateReservation r WHERE r.flight.id IN :flightIds AND r.isActive = false")
+    int deleteInactiveByFlightIds(@Param("flightIds") Collection<Long> flightIds);
+}
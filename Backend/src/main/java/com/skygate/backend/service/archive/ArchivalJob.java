@@ -0,0 +1,67 @@
+package com.skygate.backend.service.archive;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+// Lanza el archivado periodicamente. Cada bloque es una transaccion corta de ArchiveService, asi
+// que el job nunca bloquea las tablas calientes durante todo el recorrido.
+@Component
+public class ArchivalJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArchivalJob.class);
+
+    private final ArchiveService archiveService;
+    private final boolean enabled;
+    private final long retentionHours;
+    private final int batchSize;
+
+    public ArchivalJob(
+            ArchiveService archiveService,
+            @Value("${archive.enabled:true}") boolean enabled,
+            @Value("${archive.retention-hours:24}") long retentionHours,
+            @Value("${archive.batch-size:500}") int batchSize) {
+        this.archiveService = archiveService;
+        this.enabled = enabled;
+        this.retentionHours = Math.max(0, retentionHours);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @Scheduled(
+            fixedDelayString = "${archive.interval-ms:3600000}",
+            initialDelayString = "${archive.interval-ms:3600000}")
+    public void run() {
+        if (!enabled) {
+            return;
+        }
+        archiveOlderThan(LocalDateTime.now().minusHours(retentionHours));
+    }
+
+    public int archiveOlderThan(LocalDateTime cutoff) {
+        long start = System.nanoTime();
+
+        // Primero las asignaciones: un vuelo solo se archiva cuando ya no le quedan en la tabla caliente
+        int assignments = 0;
+        int moved;
+        do {
+            moved = archiveService.archiveAssignmentChunk(cutoff, batchSize);
+            assignments += moved;
+        } while (moved == batchSize);
+
+        int flights = 0;
+        do {
+            moved = archiveService.archiveFlightChunk(cutoff, batchSize);
+            flights += moved;
+        } while (moved == batchSize);
+
+        if (assignments > 0 || flights > 0) {
+            logger.info("Archived {} assignments and {} flights older than {} in {} ms",
+                    assignments, flights, cutoff, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+        return assignments + flights;
+    }
+}
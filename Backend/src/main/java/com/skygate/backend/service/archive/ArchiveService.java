@@ -0,0 +1,259 @@
+package com.skygate.backend.service.archive;
+
+import com.skygate.backend.event.EntityChangedEvent;
+import com.skygate.backend.model.dto.response.AssignmentResponseDTO;
+import com.skygate.backend.model.dto.response.FlightResponseDTO;
+import com.skygate.backend.model.entity.Flight;
+import com.skygate.backend.model.entity.Gate;
+import com.skygate.backend.repository.ArchivedAssignmentRepository;
+import com.skygate.backend.repository.ArchivedFlightRepository;
+import com.skygate.backend.repository.ArchivedTransitionRepository;
+import com.skygate.backend.repository.AssignmentRepository;
+import com.skygate.backend.repository.AutomataTransitionRepository;
+import com.skygate.backend.repository.FlightRepository;
+import com.skygate.backend.repository.GateRepository;
+import com.skygate.backend.repository.GateReservationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// Separacion caliente/frio: mueve las asignaciones cerradas y los vuelos DEPARTED antiguos (con su
+// diario de transiciones) a assignments_archive, flights_archive y automata_transitions_archive, un
+// bloque por transaccion, y une ambas tablas en las lecturas de historico para que el archivado sea transparente.
+@Service
+public class ArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArchiveService.class);
+
+    private static final Comparator<AssignmentResponseDTO> ASSIGNMENT_HISTORY_ORDER =
+            Comparator.comparing(AssignmentResponseDTO::getAssignedAt, Comparator.nullsLast(Comparator.naturalOrder()))
+                    .thenComparing(AssignmentResponseDTO::getId);
+    private static final Comparator<FlightResponseDTO> FLIGHT_HISTORY_ORDER =
+            Comparator.comparing(FlightResponseDTO::getId);
+    // Cotas para los rangos abiertos: las consultas de historico siempre filtran por rango y usan el indice
+    private static final LocalDateTime MIN_DATE = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime MAX_DATE = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    private final AssignmentRepository assignmentRepository;
+    private final FlightRepository flightRepository;
+    private final GateRepository gateRepository;
+    private final GateReservationRepository reservationRepository;
+    private final ArchivedAssignmentRepository archivedAssignmentRepository;
+    private final ArchivedFlightRepository archivedFlightRepository;
+    private final AutomataTransitionRepository transitionRepository;
+    private final ArchivedTransitionRepository archivedTransitionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Meter.MeterProvider<Counter> archivedCounter;
+
+    public ArchiveService(
+            AssignmentRepository assignmentRepository,
+            FlightRepository flightRepository,
+            GateRepository gateRepository,
+            GateReservationRepository reservationRepository,
+            ArchivedAssignmentRepository archivedAssignmentRepository,
+            ArchivedFlightRepository archivedFlightRepository,
+            AutomataTransitionRepository transitionRepository,
+            ArchivedTransitionRepository archivedTransitionRepository,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry) {
+        this.assignmentRepository = assignmentRepository;
+        this.flightRepository = flightRepository;
+        this.gateRepository = gateRepository;
+        this.reservationRepository = reservationRepository;
+        this.archivedAssignmentRepository = archivedAssignmentRepository;
+        this.archivedFlightRepository = archivedFlightRepository;
+        this.transitionRepository = transitionRepository;
+        this.archivedTransitionRepository = archivedTransitionRepository;
+        this.eventPublisher = eventPublisher;
+        this.archivedCounter = Counter.builder("skygate.archive.rows")
+                .description("Filas movidas de las tablas calientes al archivo")
+                .withRegistry(meterRegistry);
+    }
+
+    // Las asignaciones cerradas ya salieron de los contadores, el snapshot y el timeline cuando se
+    // desactivaron: no se publica EntityChangedEvent, que liberaria la ocupacion actual del vuelo
+    @Transactional
+    public int archiveAssignmentChunk(LocalDateTime cutoff, int batchSize) {
+        List<Long> ids = assignmentRepository.findArchivableIds(cutoff, Limit.of(batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        archivedAssignmentRepository.archiveByIds(ids, LocalDateTime.now());
+        int moved = assignmentRepository.deleteClosedByIds(ids);
+        archivedCounter.withTags("table", "assignments").increment(moved);
+        logger.debug("Archived {} assignments closed before {}", moved, cutoff);
+        return moved;
+    }
+
+    // Solo vuelos sin asignaciones en la tabla caliente: archiveAssignmentChunk va siempre antes.
+    // El borrado es masivo, asi que el evento de borrado se publica a mano para los contadores
+    // del dashboard y el snapshot WebSocket
+    @Transactional
+    public int archiveFlightChunk(LocalDateTime cutoff, int batchSize) {
+        List<Flight> flights = flightRepository.findArchivable(cutoff, Limit.of(batchSize));
+        if (flights.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = flights.stream().map(Flight::getId).collect(Collectors.toList());
+
+        reservationRepository.deleteInactiveByFlightIds(ids);
+        LocalDateTime archivedAt = LocalDateTime.now();
+        archivedFlightRepository.archiveByIds(ids, archivedAt);
+        int transitions = archivedTransitionRepository.archiveByFlightIds(ids, archivedAt);
+        transitionRepository.deleteByFlightIds(ids);
+        int moved = flightRepository.deleteByIds(ids);
+
+        for (Flight flight : flights) {
+            eventPublisher.publishEvent(new EntityChangedEvent(this, flight, true));
+        }
+        archivedCounter.withTags("table", "flights").increment(moved);
+        archivedCounter.withTags("table", "automata_transitions").increment(transitions);
+        logger.debug("Archived {} flights departed before {}", moved, cutoff);
+        return moved;
+    }
+
+    // Ambas consultas ordenan igual y se mezclan sin cargar el resultado en memoria. La caliente se
+    // lanza primero: una fila archivada entre las dos aparece dos veces y la mezcla descarta la copia.
+    // Como los Stream de Spring Data, exige una transaccion abierta por el llamador y cerrar el Stream
+    public Stream<AssignmentResponseDTO> streamAssignmentHistory(LocalDateTime from, LocalDateTime to,
+                                                                 String gateNumber, String flightNumber) {
+        validateRange(from, to);
+        LocalDateTime start = from != null ? from : MIN_DATE;
+        LocalDateTime end = to != null ? to : MAX_DATE;
+
+        if (flightNumber != null) {
+            // El id del vuelo puede estar en flights o, si ya se archivo, en flights_archive
+            List<Long> flightIds = new ArrayList<>(flightRepository.findIdsByFlightNumber(flightNumber));
+            flightIds.addAll(archivedFlightRepository.findIdsByFlightNumber(flightNumber));
+            if (flightIds.isEmpty()) {
+                return Stream.empty();
+            }
+            Stream<AssignmentResponseDTO> merged = mergeSorted(
+                    assignmentRepository.streamHistoryByFlights(flightIds, start, end),
+                    archivedAssignmentRepository.streamHistoryByFlights(flightIds, start, end),
+                    ASSIGNMENT_HISTORY_ORDER);
+            if (gateNumber == null) {
+                return merged;
+            }
+            return merged.filter(row -> row.getGate() != null && gateNumber.equals(row.getGate().getGateNumber()));
+        }
+        if (gateNumber != null) {
+            Optional<Long> gateId = gateRepository.findByGateNumber(gateNumber).map(Gate::getId);
+            if (gateId.isEmpty()) {
+                return Stream.empty();
+            }
+            return mergeSorted(
+                    assignmentRepository.streamHistoryByGate(gateId.get(), start, end),
+                    archivedAssignmentRepository.streamHistoryByGate(gateId.get(), start, end),
+                    ASSIGNMENT_HISTORY_ORDER);
+        }
+        return mergeSorted(
+                assignmentRepository.streamHistory(start, end),
+                archivedAssignmentRepository.streamHistory(start, end),
+                ASSIGNMENT_HISTORY_ORDER);
+    }
+
+    // Sin fechas se recorre todo el historico (tambien los vuelos sin detectedAt); con alguna cota
+    // la consulta usa el indice de detected_at
+    public Stream<FlightResponseDTO> streamFlightHistory(LocalDateTime from, LocalDateTime to) {
+        validateRange(from, to);
+        if (from == null && to == null) {
+            return mergeSorted(flightRepository.streamAllHistory(), archivedFlightRepository.streamAllHistory(),
+                    FLIGHT_HISTORY_ORDER);
+        }
+        LocalDateTime start = from != null ? from : MIN_DATE;
+        LocalDateTime end = to != null ? to : MAX_DATE;
+        Stream<FlightResponseDTO> hot = flightRepository.streamByDetectionDateRange(start, end);
+        Stream<FlightResponseDTO> archived = archivedFlightRepository.streamByDetectionDateRange(start, end);
+        return mergeSorted(hot, archived, FLIGHT_HISTORY_ORDER);
+    }
+
+    private static void validateRange(LocalDateTime from, LocalDateTime to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+    }
+
+    static <T> Stream<T> mergeSorted(Stream<T> first, Stream<T> second, Comparator<? super T> order) {
+        Iterator<T> merged = new MergingIterator<>(first.iterator(), second.iterator(), order);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(merged, Spliterator.ORDERED), false)
+                .onClose(() -> {
+                    try {
+                        first.close();
+                    } finally {
+                        second.close();
+                    }
+                });
+    }
+
+    private static final class MergingIterator<T> implements Iterator<T> {
+        private final Iterator<T> first;
+        private final Iterator<T> second;
+        private final Comparator<? super T> order;
+        private T nextFirst;
+        private T nextSecond;
+
+        private MergingIterator(Iterator<T> first, Iterator<T> second, Comparator<? super T> order) {
+            this.first = first;
+            this.second = second;
+            this.order = order;
+            this.nextFirst = first.hasNext() ? first.next() : null;
+            this.nextSecond = second.hasNext() ? second.next() : null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextFirst != null || nextSecond != null;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (nextSecond == null) {
+                return advanceFirst();
+            }
+            if (nextFirst == null) {
+                return advanceSecond();
+            }
+            int comparison = order.compare(nextFirst, nextSecond);
+            if (comparison == 0) {
+                advanceSecond();
+                return advanceFirst();
+            }
+            return comparison < 0 ? advanceFirst() : advanceSecond();
+        }
+
+        private T advanceFirst() {
+            T current = nextFirst;
+            nextFirst = first.hasNext() ? first.next() : null;
+            return current;
+        }
+
+        private T advanceSecond() {
+            T current = nextSecond;
+            nextSecond = second.hasNext() ? second.next() : null;
+            return current;
+        }
+    }
+}
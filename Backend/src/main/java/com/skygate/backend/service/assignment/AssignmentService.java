@@ -1,5 +1,7 @@
 package com.skygate.backend.service.assignment;
 
+import com.skygate.backend.model.dto.response.AssignmentResponseDTO;
+import com.skygate.backend.model.dto.response.CursorPageDTO;
 import com.skygate.backend.model.entity.Assignment;
 import com.skygate.backend.model.entity.Flight;
 import com.skygate.backend.model.entity.Gate;
@@ -10,13 +12,21 @@ import com.skygate.backend.exception.AssignmentNotFoundException;
 import com.skygate.backend.exception.FlightNotFoundException;
 import com.skygate.backend.exception.GateNotFoundException;
 import com.skygate.backend.exception.GateAlreadyOccupiedException;
+import com.skygate.backend.service.archive.ArchiveService;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class AssignmentService {
@@ -26,18 +36,41 @@ public class AssignmentService {
     private final AssignmentRepository assignmentRepository;
     private final FlightRepository flightRepository;
     private final GateRepository gateRepository;
+    private final ArchiveService archiveService;
+    private final MeterRegistry meterRegistry;
+    private final Meter.MeterProvider<Timer> createTimer;
 
     public AssignmentService(
             AssignmentRepository assignmentRepository,
             FlightRepository flightRepository,
-            GateRepository gateRepository) {
+            GateRepository gateRepository,
+            ArchiveService archiveService,
+            MeterRegistry meterRegistry) {
         this.assignmentRepository = assignmentRepository;
         this.flightRepository = flightRepository;
         this.gateRepository = gateRepository;
+        this.archiveService = archiveService;
+        this.meterRegistry = meterRegistry;
+        this.createTimer = Timer.builder("skygate.assignment.create")
+                .description("Duracion de la creacion de asignaciones (sin incluir el commit)")
+                .publishPercentileHistogram()
+                .withRegistry(meterRegistry);
     }
 
     @Transactional
     public Assignment createAssignment(Flight flight, Gate gate) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            Assignment assignment = insertAssignment(flight, gate);
+            outcome = "success";
+            return assignment;
+        } finally {
+            sample.stop(createTimer.withTags("outcome", outcome));
+        }
+    }
+
+    private Assignment insertAssignment(Flight flight, Gate gate) {
         logger.info("Creating assignment for flight {} to gate {}",
                 flight.getFlightNumber(), gate.getGateNumber());
 
@@ -68,7 +101,7 @@ public class AssignmentService {
 
     @Transactional
     public Assignment createAssignment(Long flightId, Long gateId) {
-        Flight flight = flightRepository.findById(flightId)
+        Flight flight = flightRepository.findByIdWithAircraft(flightId)
                 .orElseThrow(() -> new FlightNotFoundException(flightId));
 
         Gate gate = gateRepository.findById(gateId)
@@ -120,28 +153,50 @@ public class AssignmentService {
         return assignmentRepository.findByIsActiveTrue();
     }
 
+    @Transactional(readOnly = true)
+    public CursorPageDTO<AssignmentResponseDTO> getAssignmentPage(Long afterId, int limit, boolean activeOnly) {
+        long cursor = afterId != null ? afterId : 0L;
+        List<AssignmentResponseDTO> rows = activeOnly
+                ? assignmentRepository.findActivePageAfter(cursor, Limit.of(limit + 1))
+                : assignmentRepository.findPageAfter(cursor, Limit.of(limit + 1));
+        return CursorPageDTO.of(rows, limit, AssignmentResponseDTO::getId);
+    }
+
     @Transactional(readOnly = true)
     public List<Assignment> getActiveAssignmentsWithDetails() {
         logger.debug("Fetching all active assignments with flight and gate details");
         return assignmentRepository.findAllActiveWithFlightAndGate();
     }
 
+    // Historico: incluye las asignaciones ya movidas a assignments_archive, ordenado por assignedAt
+    @Transactional(readOnly = true)
+    public List<AssignmentResponseDTO> getAssignmentHistory(LocalDateTime startDate, LocalDateTime endDate,
+                                                            String gateNumber, String flightNumber) {
+        logger.debug("Fetching assignment history between {} and {} (gate: {}, flight: {})",
+                startDate, endDate, gateNumber, flightNumber);
+        try (Stream<AssignmentResponseDTO> rows = archiveService.streamAssignmentHistory(startDate, endDate, gateNumber, flightNumber)) {
+            return rows.collect(Collectors.toList());
+        }
+    }
+
     @Transactional(readOnly = true)
-    public List<Assignment> getAssignmentsByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
-        logger.debug("Fetching assignments between {} and {}", startDate, endDate);
-        return assignmentRepository.findAssignmentsByDateRange(startDate, endDate);
+    public List<AssignmentResponseDTO> getAssignmentsByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
+        return getAssignmentHistory(startDate, endDate, null, null);
     }
 
+    // Mas recientes primero
     @Transactional(readOnly = true)
-    public List<Assignment> getAssignmentHistoryByGate(String gateNumber) {
-        logger.debug("Fetching assignment history for gate: {}", gateNumber);
-        return assignmentRepository.findAssignmentHistoryByGateNumber(gateNumber);
+    public List<AssignmentResponseDTO> getAssignmentHistoryByGate(String gateNumber) {
+        List<AssignmentResponseDTO> history = getAssignmentHistory(null, null, gateNumber, null);
+        Collections.reverse(history);
+        return history;
     }
 
     @Transactional(readOnly = true)
-    public List<Assignment> getAssignmentHistoryByFlight(String flightNumber) {
-        logger.debug("Fetching assignment history for flight: {}", flightNumber);
-        return assignmentRepository.findAssignmentHistoryByFlightNumber(flightNumber);
+    public List<AssignmentResponseDTO> getAssignmentHistoryByFlight(String flightNumber) {
+        List<AssignmentResponseDTO> history = getAssignmentHistory(null, null, null, flightNumber);
+        Collections.reverse(history);
+        return history;
     }
 
     @Transactional
@@ -3,13 +3,16 @@ package com.skygate.backend.service.assignment;
 import com.skygate.backend.model.entity.Flight;
 import com.skygate.backend.model.entity.Gate;
 import com.skygate.backend.model.enums.AircraftType;
+import com.skygate.backend.model.enums.GateStatus;
 import com.skygate.backend.model.enums.GateType;
 import com.skygate.backend.service.gate.GateAvailabilityService;
 import com.skygate.backend.exception.NoAvailableGateException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -17,6 +20,9 @@ public class AssignmentStrategyService {
 
     private static final Logger logger = LoggerFactory.getLogger(AssignmentStrategyService.class);
 
+    // Puntuacion maxima de scoreGateForFlight; el coste de una pareja es MAX_SCORE - puntuacion
+    private static final int MAX_SCORE = 150;
+
     private final GateAvailabilityService gateAvailabilityService;
 
     public AssignmentStrategyService(GateAvailabilityService gateAvailabilityService) {
@@ -79,39 +85,80 @@ public class AssignmentStrategyService {
         logger.debug("Scoring gate {} for flight {}",
                 gate.getGateNumber(), flight.getFlightNumber());
 
-        int score = 0;
-        StringBuilder reasoning = new StringBuilder();
-
         if (!gate.isAvailable()) {
             return new AssignmentScore(0, "Gate not available");
         }
 
-        AircraftType aircraftType = flight.getAircraft().getAircraftType();
-        GateType gateType = gate.getGateType();
-
-        if (!aircraftType.isCompatibleWith(gateType)) {
+        if (!flight.getAircraft().getAircraftType().isCompatibleWith(gate.getGateType())) {
             return new AssignmentScore(0, "Incompatible aircraft and gate types");
         }
 
-        if (GateType.fromAircraftType(aircraftType) == gateType) {
+        StringBuilder reasoning = new StringBuilder();
+        int score = scorePoints(flight, gate, reasoning);
+        return new AssignmentScore(score, reasoning.toString().trim());
+    }
+
+    // Asignacion conjunta de una ola de llegadas: emparejamiento de coste minimo sobre las
+    // mismas puntuaciones que scoreGateForFlight. Primero maximiza el numero de vuelos con gate
+    // y despues la puntuacion total. Devuelve flightId -> gate solo para parejas compatibles.
+    public Map<Long, Gate> planBatchAssignment(List<Flight> flights, List<Gate> gates) {
+        Map<Long, Gate> plan = new HashMap<>();
+        if (flights.isEmpty() || gates.isEmpty()) {
+            return plan;
+        }
+
+        long[][] cost = new long[flights.size()][gates.size()];
+        for (int i = 0; i < flights.size(); i++) {
+            Flight flight = flights.get(i);
+            AircraftType aircraftType = flight.getAircraft().getAircraftType();
+            for (int j = 0; j < gates.size(); j++) {
+                Gate gate = gates.get(j);
+                boolean feasible = gate.isAvailable() && aircraftType.isCompatibleWith(gate.getGateType());
+                cost[i][j] = feasible ? MAX_SCORE - scorePoints(flight, gate, null) : MinCostAssignment.FORBIDDEN;
+            }
+        }
+
+        int[] match = MinCostAssignment.solve(cost);
+        for (int i = 0; i < match.length; i++) {
+            if (match[i] >= 0) {
+                plan.put(flights.get(i).getId(), gates.get(match[i]));
+            }
+        }
+
+        logger.info("Batch assignment planned {} of {} flights over {} available gates",
+                plan.size(), flights.size(), gates.size());
+        return plan;
+    }
+
+    // Puntos de una pareja ya comprobada como compatible; reasoning puede ser null
+    private static int scorePoints(Flight flight, Gate gate, StringBuilder reasoning) {
+        int score = 0;
+
+        if (GateType.fromAircraftType(flight.getAircraft().getAircraftType()) == gate.getGateType()) {
             score += 100;
-            reasoning.append("Perfect match. ");
+            append(reasoning, "Perfect match. ");
         } else {
             score += 50;
-            reasoning.append("Compatible but oversized gate. ");
+            append(reasoning, "Compatible but oversized gate. ");
         }
 
         if (flight.getDestination() != null && gate.getTerminal() != null) {
             score += 20;
-            reasoning.append("Terminal available. ");
+            append(reasoning, "Terminal available. ");
         }
 
-        if (gate.getStatus().name().equals("FREE")) {
+        if (gate.getStatus() == GateStatus.FREE) {
             score += 30;
-            reasoning.append("Gate completely free. ");
+            append(reasoning, "Gate completely free. ");
         }
 
-        return new AssignmentScore(score, reasoning.toString().trim());
+        return score;
+    }
+
+    private static void append(StringBuilder reasoning, String text) {
+        if (reasoning != null) {
+            reasoning.append(text);
+        }
     }
 
     public List<Gate> getAllCompatibleGates(Flight flight) {
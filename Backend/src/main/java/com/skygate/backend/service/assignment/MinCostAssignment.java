@@ -0,0 +1,109 @@
+package com.skygate.backend.service.assignment;
+
+import java.util.Arrays;
+
+// Algoritmo hungaro (caminos de aumento mas cortos con potenciales) para matrices
+// rectangulares: O(n^2 * m) con n = min(filas, columnas). Las parejas con coste FORBIDDEN
+// solo se eligen si no queda otra opcion y se devuelven como no asignadas.
+final class MinCostAssignment {
+
+    // Mayor que la suma de cualquier conjunto de costes validos (<= 150 por pareja)
+    static final long FORBIDDEN = 1_000_000_000L;
+
+    private static final long INFINITY = Long.MAX_VALUE / 4;
+
+    private MinCostAssignment() {
+    }
+
+    // Devuelve para cada fila la columna asignada, o -1 si no tiene pareja valida
+    static int[] solve(long[][] cost) {
+        int rows = cost.length;
+        int columns = rows == 0 ? 0 : cost[0].length;
+        int[] result = new int[rows];
+        Arrays.fill(result, -1);
+        if (rows == 0 || columns == 0) {
+            return result;
+        }
+
+        if (rows <= columns) {
+            int[] rowToColumn = solveRowsAtMostColumns(cost, rows, columns, false);
+            for (int i = 0; i < rows; i++) {
+                result[i] = rowToColumn[i];
+            }
+        } else {
+            // Se resuelve la traspuesta para que el bucle exterior recorra el lado pequeno
+            int[] columnToRow = solveRowsAtMostColumns(cost, columns, rows, true);
+            for (int j = 0; j < columns; j++) {
+                result[columnToRow[j]] = j;
+            }
+        }
+
+        for (int i = 0; i < rows; i++) {
+            if (result[i] >= 0 && cost[i][result[i]] >= FORBIDDEN) {
+                result[i] = -1;
+            }
+        }
+        return result;
+    }
+
+    private static int[] solveRowsAtMostColumns(long[][] cost, int n, int m, boolean transposed) {
+        long[] u = new long[n + 1];
+        long[] v = new long[m + 1];
+        int[] p = new int[m + 1];
+        int[] way = new int[m + 1];
+        long[] minv = new long[m + 1];
+        boolean[] used = new boolean[m + 1];
+
+        for (int i = 1; i <= n; i++) {
+            p[0] = i;
+            int j0 = 0;
+            Arrays.fill(minv, INFINITY);
+            Arrays.fill(used, false);
+
+            do {
+                used[j0] = true;
+                int i0 = p[j0];
+                long delta = INFINITY;
+                int j1 = 0;
+                for (int j = 1; j <= m; j++) {
+                    if (used[j]) {
+                        continue;
+                    }
+                    long entry = transposed ? cost[j - 1][i0 - 1] : cost[i0 - 1][j - 1];
+                    long reduced = entry - u[i0] - v[j];
+                    if (reduced < minv[j]) {
+                        minv[j] = reduced;
+                        way[j] = j0;
+                    }
+                    if (minv[j] < delta) {
+                        delta = minv[j];
+                        j1 = j;
+                    }
+                }
+                for (int j = 0; j <= m; j++) {
+                    if (used[j]) {
+                        u[p[j]] += delta;
+                        v[j] -= delta;
+                    } else {
+                        minv[j] -= delta;
+                    }
+                }
+                j0 = j1;
+            } while (p[j0] != 0);
+
+            do {
+                int j1 = way[j0];
+                p[j0] = p[j1];
+                j0 = j1;
+            } while (j0 != 0);
+        }
+
+        int[] assignment = new int[n];
+        for (int j = 1; j <= m; j++) {
+            if (p[j] != 0) {
+                assignment[p[j] - 1] = j - 1;
+            }
+        }
+        return assignment;
+    }
+}
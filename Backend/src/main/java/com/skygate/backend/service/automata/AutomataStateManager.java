@@ -49,39 +49,31 @@ public class AutomataStateManager {
         stateTransitionTimestamps.put(flightId, System.currentTimeMillis());
     }
 
-    // Permite I3 e I4 en S1/S2/S3
-    public boolean canTransition(AutomataState currentState, AutomataInput input) {
-        if (currentState == null || input == null) {
-            return false;
+    // Reconstruccion desde el diario de transiciones: no pisa un estado ya presente (cargado de
+    // la BD o producido por una transicion en vivo); solo recupera su instante si coincide
+    public void restoreState(Long flightId, AutomataState state, long transitionTimestamp) {
+        if (flightId == null || state == null) {
+            throw new IllegalArgumentException("Flight ID and state cannot be null");
         }
+        AutomataState current = flightStateMap.putIfAbsent(flightId, state);
+        if (current == null || current == state) {
+            stateTransitionTimestamps.putIfAbsent(flightId, transitionTimestamp);
+        }
+    }
 
-        switch (currentState) {
-            case S0:
-                return input == AutomataInput.I1;
-
-            case S1:
-            case S2:
-            case S3:
-                // Ahora acepta I2, I3, I4 y OTHER
-                return input == AutomataInput.I2
-                        || input == AutomataInput.I3
-                        || input == AutomataInput.I4
-                        || input == AutomataInput.OTHER;
-
-            case S4:
-                return input == AutomataInput.I5 || input == AutomataInput.OTHER;
-
-            case S5:
-                return input == AutomataInput.I6 || input == AutomataInput.OTHER;
-
-            case S6:
-                return input == AutomataInput.I1
-                        || input == AutomataInput.I3  //Permite reasignación cuando gate se libera
-                        || input == AutomataInput.OTHER;
+    // Precarga al arrancar; las transiciones ocurridas mientras tanto tienen prioridad
+    public boolean warmUp(Long flightId, AutomataState state) {
+        if (flightId == null || state == null) {
+            return false;
+        }
+        return flightStateMap.putIfAbsent(flightId, state) == null;
+    }
 
-            default:
-                return false;
+    public boolean canTransition(AutomataState currentState, AutomataInput input) {
+        if (currentState == null || input == null) {
+            return false;
         }
+        return TransitionTable.isDefined(currentState, input);
     }
 
     public void validateTransition(AutomataState currentState, AutomataInput input, AutomataState nextState) {
@@ -95,50 +87,8 @@ public class AutomataStateManager {
         }
     }
 
-    // Maneja I3 e I4 correctamente
     private AutomataState getExpectedNextState(AutomataState currentState, AutomataInput input) {
-        switch (currentState) {
-            case S0:
-                if (input == AutomataInput.I1) {
-                    return null; // Depende del tipo de aeronave
-                }
-                return AutomataState.S0;
-
-            case S1:
-            case S2:
-            case S3:
-                if (input == AutomataInput.I2) {
-                    return currentState; // Se mantiene en el mismo estado después de confirmación
-                }
-                if (input == AutomataInput.I3) {
-                    return AutomataState.S4; // AGREGADO: Gate disponible
-                }
-                if (input == AutomataInput.I4) {
-                    return AutomataState.S6; // AGREGADO: Sin gates
-                }
-                return currentState;
-
-            case S4:
-                if (input == AutomataInput.I5) {
-                    return AutomataState.S5;
-                }
-                return AutomataState.S4;
-
-            case S5:
-                if (input == AutomataInput.I6) {
-                    return AutomataState.S0;
-                }
-                return AutomataState.S5;
-
-            case S6:
-                if (input == AutomataInput.I3) {
-                    return AutomataState.S4;  // Cuando gate se libera, va a S4
-                }
-                return AutomataState.S6;
-
-            default:
-                return currentState;
-        }
+        return TransitionTable.expectedNextState(currentState, input);
     }
 
     public void removeFlight(Long flightId) {
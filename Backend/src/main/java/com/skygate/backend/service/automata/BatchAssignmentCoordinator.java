@@ -0,0 +1,127 @@
+package com.skygate.backend.service.automata;
+
+import com.skygate.backend.model.enums.AutomataState;
+import com.skygate.backend.repository.FlightRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+// Acumula los vuelos confirmados (S1-S3) durante assignment.batch.window-ms y los entrega a
+// AutomataService.processBatchGateAssignment, que reparte los gates libres de forma conjunta
+// en lugar de vuelo a vuelo. Desactivado por defecto. La cola solo vive en memoria: al arrancar
+// se reconstruye con los vuelos que quedaron en S1-S3 para que no se queden sin gate.
+@Component
+public class BatchAssignmentCoordinator {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchAssignmentCoordinator.class);
+
+    private final AutomataService automataService;
+    private final FlightRepository flightRepository;
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final Set<Long> pending = new LinkedHashSet<>();
+
+    public BatchAssignmentCoordinator(
+            @Lazy AutomataService automataService,
+            FlightRepository flightRepository,
+            @Value("${assignment.batch.enabled:false}") boolean enabled,
+            @Value("${assignment.batch.max-size:500}") int maxBatchSize) {
+        this.automataService = automataService;
+        this.flightRepository = flightRepository;
+        this.enabled = enabled;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // El vuelo se encola tras el commit de la deteccion, cuando ya es visible para el lote
+    public void submit(Long flightId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(flightId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enqueue(flightId);
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public int recoverPending() {
+        if (!enabled) {
+            return 0;
+        }
+        List<Object[]> rows = flightRepository.findStateRowsByAutomataStateIn(
+                List.of(AutomataState.S1, AutomataState.S2, AutomataState.S3));
+        synchronized (this) {
+            for (Object[] row : rows) {
+                pending.add((Long) row[0]);
+            }
+        }
+        logger.info("Batch assignment recovered {} flights pending in S1-S3", rows.size());
+        return rows.size();
+    }
+
+    public synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    @Scheduled(fixedDelayString = "${assignment.batch.window-ms:500}")
+    public void flush() {
+        if (!enabled) {
+            return;
+        }
+
+        List<Long> batch;
+        while (!(batch = drain()).isEmpty()) {
+            try {
+                automataService.processBatchGateAssignment(batch);
+            } catch (Exception e) {
+                // Si el lote completo falla se asigna vuelo a vuelo para no dejar ninguno en S1-S3
+                logger.error("Batch gate assignment of {} flights failed, falling back to single assignments: {}",
+                        batch.size(), e.getMessage(), e);
+                assignIndividually(batch);
+            }
+        }
+    }
+
+    private void assignIndividually(List<Long> batch) {
+        for (Long flightId : batch) {
+            try {
+                automataService.processBatchGateAssignment(List.of(flightId));
+            } catch (Exception e) {
+                logger.error("Gate assignment failed for flight {}: {}", flightId, e.getMessage(), e);
+            }
+        }
+    }
+
+    private synchronized void enqueue(Long flightId) {
+        pending.add(flightId);
+    }
+
+    private synchronized List<Long> drain() {
+        List<Long> batch = new ArrayList<>(Math.min(pending.size(), maxBatchSize));
+        Iterator<Long> iterator = pending.iterator();
+        while (iterator.hasNext() && batch.size() < maxBatchSize) {
+            batch.add(iterator.next());
+            iterator.remove();
+        }
+        return batch;
+    }
+}
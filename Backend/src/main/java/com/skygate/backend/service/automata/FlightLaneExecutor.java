@@ -0,0 +1,177 @@
+package com.skygate.backend.service.automata;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Supplier;
+
+// Buzon por vuelo: las entradas del automata se reparten por ID de vuelo entre carriles de un
+// solo hilo. Las de un mismo vuelo se ejecutan en orden de llegada, una detras de otra y con su
+// transaccion completa; vuelos de carriles distintos avanzan en paralelo sin bloqueo global.
+@Component
+public class FlightLaneExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightLaneExecutor.class);
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30L;
+    private static final ThreadLocal<Integer> CURRENT_LANE = new ThreadLocal<>();
+    private static final int NOT_WAITING = -1;
+
+    private final boolean enabled;
+    private final ExecutorService[] lanes;
+    // Carril al que espera cada carril (NOT_WAITING si ninguno)
+    private final AtomicIntegerArray waitingOn;
+    private final Timer waitTimer;
+
+    public FlightLaneExecutor(
+            MeterRegistry meterRegistry,
+            @Value("${automata.lanes.enabled:true}") boolean enabled,
+            @Value("${automata.lanes.count:16}") int laneCount) {
+        this.enabled = enabled;
+        this.lanes = new ExecutorService[enabled ? Math.max(1, laneCount) : 0];
+        this.waitingOn = new AtomicIntegerArray(lanes.length);
+        for (int i = 0; i < lanes.length; i++) {
+            waitingOn.set(i, NOT_WAITING);
+            int lane = i;
+            // Cola sin limite: quien encola espera el resultado, asi la profundidad queda acotada
+            // por los hilos productores (Tomcat, MQTT, @Async)
+            lanes[i] = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(() -> {
+                    CURRENT_LANE.set(lane);
+                    runnable.run();
+                }, "skygate-flight-lane-" + lane);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        this.waitTimer = Timer.builder("skygate.automata.lane.wait")
+                .description("Tiempo que una entrada espera en el carril de su vuelo")
+                .register(meterRegistry);
+
+        if (enabled) {
+            logger.info("Flight lane executor started with {} lanes", lanes.length);
+        } else {
+            logger.info("Flight lane executor disabled, automata inputs run on the caller thread");
+        }
+    }
+
+    public <T> T execute(Long flightId, Supplier<T> task) {
+        if (!enabled || flightId == null) {
+            return task.get();
+        }
+
+        int lane = laneFor(flightId);
+        Integer currentLane = CURRENT_LANE.get();
+        if (currentLane == null) {
+            return await(flightId, submit(flightId, task));
+        }
+
+        // En el carril del propio vuelo se ejecuta en linea para no esperarse a si mismo
+        if (currentLane == lane) {
+            return task.get();
+        }
+
+        // Desde otro carril la entrada pasa al carril de su vuelo. Solo si ese carril ya espera
+        // (directa o indirectamente) a este se ejecuta en linea, para no cerrar un ciclo de esperas
+        int previous = waitingOn.getAndSet(currentLane, lane);
+        try {
+            if (waitsFor(lane, currentLane)) {
+                logger.debug("Lane {} already waits on lane {}, running input of flight {} inline",
+                        lane, currentLane, flightId);
+                return task.get();
+            }
+            return await(flightId, submit(flightId, task));
+        } finally {
+            waitingOn.set(currentLane, previous);
+        }
+    }
+
+    private boolean waitsFor(int fromLane, int targetLane) {
+        int lane = fromLane;
+        for (int i = 0; i < lanes.length; i++) {
+            lane = waitingOn.get(lane);
+            if (lane == NOT_WAITING) {
+                return false;
+            }
+            if (lane == targetLane) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private <T> T await(Long flightId, Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for flight lane of flight " + flightId, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("Automata input failed for flight " + flightId, cause);
+        }
+    }
+
+    // Encola sin esperar: quien reparte muchos vuelos los encola todos y despues recoge los
+    // resultados, asi los carriles trabajan en paralelo. Sin carriles se ejecuta en linea
+    public <T> CompletableFuture<T> submit(Long flightId, Supplier<T> task) {
+        if (!enabled || flightId == null) {
+            try {
+                return CompletableFuture.completedFuture(task.get());
+            } catch (RuntimeException | Error e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        long enqueuedAt = System.nanoTime();
+        return CompletableFuture.supplyAsync(() -> {
+            waitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+            return task.get();
+        }, lanes[laneFor(flightId)]);
+    }
+
+    public int laneFor(Long flightId) {
+        return (int) Math.floorMod(flightId, (long) Math.max(1, lanes.length));
+    }
+
+    public int getLaneCount() {
+        return lanes.length;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ExecutorService lane : lanes) {
+            lane.shutdown();
+        }
+        for (ExecutorService lane : lanes) {
+            try {
+                if (!lane.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    lane.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                lane.shutdownNow();
+            }
+        }
+    }
+}
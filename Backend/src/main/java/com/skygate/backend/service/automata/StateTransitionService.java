@@ -1,27 +1,60 @@
 package com.skygate.backend.service.automata;
 
 import com.skygate.backend.model.entity.Flight;
-import com.skygate.backend.model.entity.Gate;
-import com.skygate.backend.model.enums.AircraftType;
 import com.skygate.backend.model.enums.AutomataInput;
 import com.skygate.backend.model.enums.AutomataOutput;
 import com.skygate.backend.model.enums.AutomataState;
 import com.skygate.backend.exception.InvalidStateTransitionException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
-import java.util.ArrayList;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 @Service
 public class StateTransitionService {
 
     private static final Logger logger = LoggerFactory.getLogger(StateTransitionService.class);
+    private static final int STATES = AutomataState.values().length;
+    private static final int INPUTS = AutomataInput.values().length;
 
     private final AutomataStateManager stateManager;
-
-    public StateTransitionService(AutomataStateManager stateManager) {
+    private final TransitionJournal journal;
+    private final Meter.MeterProvider<Timer> transitionTimer;
+    private final Meter.MeterProvider<Timer> waitTimer;
+    // withTags construye Tags y busca en el registro en cada llamada: cada combinacion se resuelve
+    // una sola vez y luego es una lectura por indice. El ultimo destino de cada fila es el rechazo
+    private final AtomicReferenceArray<Timer> transitionTimers = new AtomicReferenceArray<>(STATES * INPUTS * (STATES + 1));
+    private final AtomicReferenceArray<Timer> waitTimers = new AtomicReferenceArray<>(STATES);
+    // Instante (nanoTime) en que cada vuelo entro en S6; las autotransiciones de S6 no lo reinician.
+    // Se actualiza tras el commit y AutomataStateLoader lo siembra al arrancar con los vuelos ya en S6
+    private final Map<Long, Long> waitingSince = new ConcurrentHashMap<>();
+
+    public StateTransitionService(AutomataStateManager stateManager, TransitionJournal journal, MeterRegistry meterRegistry) {
         this.stateManager = stateManager;
+        this.journal = journal;
+        this.transitionTimer = Timer.builder("skygate.automata.transition")
+                .description("Duracion de processInput por estado origen, entrada y estado destino")
+                .publishPercentileHistogram()
+                .withRegistry(meterRegistry);
+        this.waitTimer = Timer.builder("skygate.automata.s6.wait")
+                .description("Tiempo que un vuelo pasa en S6 esperando gate")
+                .publishPercentileHistogram()
+                .withRegistry(meterRegistry);
+        Gauge.builder("skygate.automata.s6.waiting", waitingSince, Map::size)
+                .description("Vuelos esperando gate en S6")
+                .register(meterRegistry);
     }
 
     public TransitionResult processInput(Flight flight, AutomataInput input, Object context) {
@@ -30,145 +63,87 @@ public class StateTransitionService {
         logger.info("Processing input {} for flight {} in state {}",
                 input.getCode(), flight.getFlightNumber(), currentState.getCode());
 
-        stateManager.validateTransition(currentState, input, currentState);
-
-        AutomataState nextState = determineNextState(currentState, input, context);
-        List<AutomataOutput> outputs = determineOutputs(currentState, nextState, input);
+        long start = System.nanoTime();
+        TransitionTable.Transition transition;
+        try {
+            transition = TransitionTable.resolve(currentState, input, context);
+        } catch (InvalidStateTransitionException e) {
+            recordTransition(currentState, input, null, start);
+            throw e;
+        }
+        AutomataState nextState = transition.getNextState();
 
         stateManager.setState(flight, nextState);
+        recordTransition(currentState, input, nextState, start);
+        recordWait(flight.getId(), currentState, nextState);
 
         logger.info("Transitioned flight {} from {} to {} with outputs: {}",
-                flight.getFlightNumber(), currentState.getCode(), nextState.getCode(), outputs);
-
-        return new TransitionResult(currentState, nextState, input, outputs);
-    }
-
-    private AutomataState determineNextState(AutomataState currentState, AutomataInput input, Object context) {
-        switch (currentState) {
-            case S0:
-                return handleS0Transition(input, context);
-
-            case S1:
-            case S2:
-            case S3:
-                return handleDetectionStateTransition(currentState, input, context);
+                flight.getFlightNumber(), currentState.getCode(), nextState.getCode(), transition.getOutputs());
 
-            case S4:
-                return handleS4Transition(input);
-
-            case S5:
-                return handleS5Transition(input);
-
-            case S6:
-                return handleS6Transition(input);
-
-            default:
-                throw new InvalidStateTransitionException("Unknown state: " + currentState);
-        }
+        TransitionResult result = new TransitionResult(currentState, nextState, input, transition.getOutputs());
+        journal.append(flight, result);
+        return result;
     }
 
-    private AutomataState handleS0Transition(AutomataInput input, Object context) {
-        if (input == AutomataInput.I1) {
-            if (context instanceof AircraftType) {
-                AircraftType type = (AircraftType) context;
-                return AutomataState.getDetectionState(type);
-            }
-            throw new IllegalArgumentException("Context must be AircraftType for I1 input");
-        }
-        return AutomataState.S0;
+    private void recordTransition(AutomataState from, AutomataInput input, AutomataState to, long start) {
+        long elapsed = System.nanoTime() - start;
+        int index = (from.ordinal() * INPUTS + input.ordinal()) * (STATES + 1) + (to != null ? to.ordinal() : STATES);
+        Timer timer = transitionTimers.get(index);
+        if (timer == null) {
+            timer = transitionTimer.withTags(
+                    "from", from.getCode(),
+                    "input", input.getCode(),
+                    "to", to != null ? to.getCode() : "none",
+                    "outcome", to != null ? "success" : "rejected");
+            transitionTimers.set(index, timer);
+        }
+        timer.record(elapsed, TimeUnit.NANOSECONDS);
     }
 
-    private AutomataState handleDetectionStateTransition(AutomataState currentState, AutomataInput input, Object context) {
-        // I2: Solo confirma el tipo de aeronave, no cambia el estado
-        if (input == AutomataInput.I2) {
-            logger.info("Aircraft type confirmed, maintaining state {}", currentState.getCode());
-            return currentState; // Mantiene S1, S2 o S3
-        }
-        
-        // I3: Gate disponible encontrado → Transición a S4
-        if (input == AutomataInput.I3) {
-            logger.info("Gate available, transitioning from {} to S4", currentState.getCode());
-            return AutomataState.S4;
+    private Timer waitTimer(AutomataState exit) {
+        Timer timer = waitTimers.get(exit.ordinal());
+        if (timer == null) {
+            timer = waitTimer.withTags("exit", exit.getCode());
+            waitTimers.set(exit.ordinal(), timer);
         }
-        
-        // I4: No hay gates disponibles → Transición a S6
-        if (input == AutomataInput.I4) {
-            logger.info("No gates available, transitioning from {} to S6", currentState.getCode());
-            return AutomataState.S6;
-        }
-        
-        return currentState;
+        return timer;
     }
 
-    private AutomataState handleS4Transition(AutomataInput input) {
-        if (input == AutomataInput.I5) {
-            return AutomataState.S5;
+    private void recordWait(Long flightId, AutomataState from, AutomataState to) {
+        if (flightId == null) {
+            return;
+        }
+        if (to == AutomataState.S6) {
+            long enteredAt = System.nanoTime();
+            afterCommit(() -> waitingSince.putIfAbsent(flightId, enteredAt));
+        } else if (from == AutomataState.S6) {
+            long exitedAt = System.nanoTime();
+            afterCommit(() -> {
+                Long since = waitingSince.remove(flightId);
+                if (since != null) {
+                    waitTimer(to).record(exitedAt - since, TimeUnit.NANOSECONDS);
+                }
+            });
         }
-        return AutomataState.S4;
     }
 
-    private AutomataState handleS5Transition(AutomataInput input) {
-        if (input == AutomataInput.I6) {
-            return AutomataState.S0;
-        }
-        return AutomataState.S5;
+    // Vuelo que ya estaba en S6 al arrancar: la espera cuenta desde su instante de entrada persistido
+    public void resumeWaiting(Long flightId, LocalDateTime since) {
+        long elapsed = since != null ? Math.max(0, Duration.between(since, LocalDateTime.now()).toNanos()) : 0;
+        waitingSince.putIfAbsent(flightId, System.nanoTime() - elapsed);
     }
 
-    private AutomataState handleS6Transition(AutomataInput input) {
-        if (input == AutomataInput.I1) {
-            return AutomataState.S0;  // Reset del sistema
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
         }
-        if (input == AutomataInput.I3) {
-            return AutomataState.S4;  // Gate se liberó, asignar vuelo
-        }
-        return AutomataState.S6;  // Se mantiene en espera
-    }
-
-    private List<AutomataOutput> determineOutputs(AutomataState currentState, AutomataState nextState, AutomataInput input) {
-        List<AutomataOutput> outputs = new ArrayList<>();
-
-        // S0 -> S1/S2/S3 (I1: Detección inicial)
-        if (currentState == AutomataState.S0 && (nextState == AutomataState.S1 || nextState == AutomataState.S2 || nextState == AutomataState.S3)) {
-            outputs.add(AutomataOutput.O5); // Actualizar BD
-        }
-
-        // S1/S2/S3 -> S4 (I3: Gate disponible)
-        if ((currentState == AutomataState.S1 || currentState == AutomataState.S2 || currentState == AutomataState.S3)
-                && nextState == AutomataState.S4
-                && input == AutomataInput.I3) {
-            outputs.add(AutomataOutput.O1); // LEDs ruta
-            outputs.add(AutomataOutput.O2); // LED verde gate
-            outputs.add(AutomataOutput.O5); // Actualizar BD
-        }
-
-        // S1/S2/S3 -> S6 (I4: Sin gates disponibles)
-        if ((currentState == AutomataState.S1 || currentState == AutomataState.S2 || currentState == AutomataState.S3)
-                && nextState == AutomataState.S6
-                && input == AutomataInput.I4) {
-            outputs.add(AutomataOutput.O4); // Display "ESPERAR"
-        }
-
-        // S6 -> S4 (I3: Gate se liberó para vuelo en espera)
-        if (currentState == AutomataState.S6
-                && nextState == AutomataState.S4
-                && input == AutomataInput.I3) {
-            outputs.add(AutomataOutput.O1); // LEDs ruta
-            outputs.add(AutomataOutput.O2); // LED verde gate
-            outputs.add(AutomataOutput.O5); // Actualizar BD
-        }
-
-        // S4 -> S5 (I5: Aeronave llegó)
-        if (currentState == AutomataState.S4 && nextState == AutomataState.S5) {
-            outputs.add(AutomataOutput.O3); // LED rojo ocupado
-            outputs.add(AutomataOutput.O5); // Actualizar BD
-        }
-
-        // S5 -> S0 (I6: Aeronave partió)
-        if (currentState == AutomataState.S5 && nextState == AutomataState.S0) {
-            outputs.add(AutomataOutput.O5); // Actualizar BD
-        }
-
-        return outputs;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 
     public boolean isValidTransition(AutomataState from, AutomataInput input, AutomataState to) {
@@ -0,0 +1,186 @@
+package com.skygate.backend.service.automata;
+
+import com.skygate.backend.exception.FlightNotFoundException;
+import com.skygate.backend.model.entity.ArchivedTransitionRecord;
+import com.skygate.backend.model.entity.AutomataTransitionRecord;
+import com.skygate.backend.model.enums.AutomataState;
+import com.skygate.backend.repository.ArchivedFlightRepository;
+import com.skygate.backend.repository.ArchivedTransitionRepository;
+import com.skygate.backend.repository.AutomataTransitionRepository;
+import com.skygate.backend.repository.FlightRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+// Lectura del diario de transiciones: historial por vuelo, estado en un instante dado
+// y reconstruccion de AutomataStateManager al arrancar. El diario de un vuelo archivado esta en
+// automata_transitions_archive, mas las filas que el escritor asincrono dejara despues en la tabla caliente
+@Service
+public class TransitionHistoryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransitionHistoryService.class);
+
+    private static final LocalDateTime JOURNAL_EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final Set<AutomataState> IN_PROGRESS_STATES = EnumSet.range(AutomataState.S1, AutomataState.S6);
+    private static final int REPLAY_CHUNK_SIZE = 1000;
+
+    private final AutomataTransitionRepository transitionRepository;
+    private final FlightRepository flightRepository;
+    private final ArchivedFlightRepository archivedFlightRepository;
+    private final ArchivedTransitionRepository archivedTransitionRepository;
+    private final AutomataStateManager stateManager;
+    private final TransitionJournal journal;
+    private final boolean replayOnStartup;
+
+    public TransitionHistoryService(
+            AutomataTransitionRepository transitionRepository,
+            FlightRepository flightRepository,
+            ArchivedFlightRepository archivedFlightRepository,
+            ArchivedTransitionRepository archivedTransitionRepository,
+            AutomataStateManager stateManager,
+            TransitionJournal journal,
+            @Value("${automata.journal.replay-on-startup:true}") boolean replayOnStartup) {
+        this.transitionRepository = transitionRepository;
+        this.flightRepository = flightRepository;
+        this.archivedFlightRepository = archivedFlightRepository;
+        this.archivedTransitionRepository = archivedTransitionRepository;
+        this.stateManager = stateManager;
+        this.journal = journal;
+        this.replayOnStartup = replayOnStartup;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void replayOnStartup() {
+        if (replayOnStartup && journal.isEnabled()) {
+            replay();
+        }
+    }
+
+    // Solo los vuelos en curso (S1-S6). El estado de la fila en flights manda: el diario solo aporta el
+    // instante de la ultima transicion, y si su ultimo estado no coincide (transicion sin escribir o
+    // perdida) el vuelo se deja como lo precargo AutomataStateLoader
+    @Transactional(readOnly = true)
+    public int replay() {
+        Map<Long, AutomataState> storedStates = new HashMap<>();
+        for (Object[] row : flightRepository.findStateRowsByAutomataStateIn(IN_PROGRESS_STATES)) {
+            storedStates.put((Long) row[0], (AutomataState) row[1]);
+        }
+
+        List<Long> flightIds = List.copyOf(storedStates.keySet());
+        int restored = 0;
+        int mismatched = 0;
+        for (int from = 0; from < flightIds.size(); from += REPLAY_CHUNK_SIZE) {
+            List<Long> chunk = flightIds.subList(from, Math.min(from + REPLAY_CHUNK_SIZE, flightIds.size()));
+            for (Object[] row : transitionRepository.findLatestStateRowsByFlightIds(chunk)) {
+                Long flightId = (Long) row[0];
+                AutomataState state = (AutomataState) row[1];
+                LocalDateTime occurredAt = (LocalDateTime) row[2];
+
+                AutomataState stored = storedStates.get(flightId);
+                if (stored != state) {
+                    mismatched++;
+                    logger.debug("Journal state {} differs from stored state {} for flight {}, skipping",
+                            state, stored, flightId);
+                    continue;
+                }
+                stateManager.restoreState(flightId, stored, occurredAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+                restored++;
+            }
+        }
+
+        if (mismatched > 0) {
+            logger.warn("Automata replay: {} flights differ from the stored automata state and were skipped", mismatched);
+        }
+        logger.info("Automata state rebuilt from transition journal: {} of {} in-progress flights restored",
+                restored, storedStates.size());
+        return restored;
+    }
+
+    @Transactional(readOnly = true)
+    public List<AutomataTransitionRecord> getHistory(Long flightId) {
+        boolean archived = requireFlight(flightId);
+        journal.flush();
+        List<AutomataTransitionRecord> history = transitionRepository.findByFlightIdOrderByIdAsc(flightId);
+        if (!archived) {
+            return history;
+        }
+        return withArchived(archivedTransitionRepository.findByFlightIdOrderByIdAsc(flightId), history);
+    }
+
+    // Limites opcionales: sin from desde el inicio del diario, sin to hasta ahora
+    @Transactional(readOnly = true)
+    public List<AutomataTransitionRecord> getHistory(Long flightId, LocalDateTime from, LocalDateTime to) {
+        if (from == null && to == null) {
+            return getHistory(flightId);
+        }
+        boolean archived = requireFlight(flightId);
+        journal.flush();
+        LocalDateTime start = from != null ? from : JOURNAL_EPOCH;
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        List<AutomataTransitionRecord> history = transitionRepository.findByFlightIdBetween(flightId, start, end);
+        if (!archived) {
+            return history;
+        }
+        return withArchived(archivedTransitionRepository.findByFlightIdBetween(flightId, start, end), history);
+    }
+
+    // Estado del vuelo en el instante indicado (S0 si aun no habia transiciones)
+    @Transactional(readOnly = true)
+    public AutomataState getStateAt(Long flightId, LocalDateTime at) {
+        boolean archived = requireFlight(flightId);
+        journal.flush();
+        // Las filas calientes de un vuelo archivado son siempre posteriores a las archivadas
+        return transitionRepository.findFirstByFlightIdAndOccurredAtLessThanEqualOrderByIdDesc(flightId, at)
+                .map(AutomataTransitionRecord::getToState)
+                .or(() -> archived
+                        ? archivedTransitionRepository.findFirstByFlightIdAndOccurredAtLessThanEqualOrderByIdDesc(flightId, at)
+                                .map(ArchivedTransitionRecord::getToState)
+                        : Optional.empty())
+                .orElse(AutomataState.S0);
+    }
+
+    // Los vuelos archivados conservan su historial; devuelve si el vuelo esta en flights_archive
+    private boolean requireFlight(Long flightId) {
+        if (flightRepository.existsById(flightId)) {
+            return false;
+        }
+        if (!archivedFlightRepository.existsById(flightId)) {
+            throw new FlightNotFoundException(flightId);
+        }
+        return true;
+    }
+
+    private static List<AutomataTransitionRecord> withArchived(List<ArchivedTransitionRecord> archived,
+                                                               List<AutomataTransitionRecord> hot) {
+        return Stream.concat(archived.stream().map(TransitionHistoryService::toRecord), hot.stream())
+                .sorted(Comparator.comparing(AutomataTransitionRecord::getId))
+                .toList();
+    }
+
+    private static AutomataTransitionRecord toRecord(ArchivedTransitionRecord archived) {
+        AutomataTransitionRecord record = new AutomataTransitionRecord();
+        record.setId(archived.getId());
+        record.setFlightId(archived.getFlightId());
+        record.setFlightNumber(archived.getFlightNumber());
+        record.setFromState(archived.getFromState());
+        record.setInput(archived.getInput());
+        record.setToState(archived.getToState());
+        record.setOutputs(archived.getOutputs());
+        record.setOccurredAt(archived.getOccurredAt());
+        return record;
+    }
+}
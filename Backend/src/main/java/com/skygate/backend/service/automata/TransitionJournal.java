@@ -0,0 +1,345 @@
+package com.skygate.backend.service.automata;
+
+import com.skygate.backend.model.entity.Flight;
+import com.skygate.backend.model.enums.AutomataOutput;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+// Diario append-only de transiciones del automata. processInput solo encola el registro; un
+// hilo propio lo escribe en automata_transitions con INSERT por lotes. Dentro de una transaccion
+// el registro se encola tras el commit, asi el diario nunca contiene transiciones revertidas.
+// Un lote que falla no se descarta: se reintenta hasta que la BD vuelve (ver writeWithRetry).
+@Component
+public class TransitionJournal {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransitionJournal.class);
+
+    private static final String INSERT_SQL = "INSERT INTO automata_transitions "
+            + "(flight_id, flight_number, from_state, input, to_state, outputs, occurred_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final long POLL_TIMEOUT_MS = 100L;
+    private static final long SHUTDOWN_TIMEOUT_MS = 10000L;
+    private static final long MAX_RETRY_BACKOFF_MS = 30000L;
+    private static final long FLUSH_TIMEOUT_MS = 5000L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final BlockingQueue<Entry> queue;
+    private final int batchSize;
+    private final long offerTimeoutMs;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+    private final Object writeLock = new Object();
+
+    private final Counter writtenCounter;
+    private final Counter failedCounter;
+    private final Counter retriedCounter;
+    private final Counter inlineCounter;
+    private final Counter blockedCounter;
+    private final DistributionSummary batchSizeSummary;
+
+    // Registros aceptados y aun sin escribir (en cola o en el lote en curso): se descuentan despues del
+    // insert, asi flush no ve un hueco entre que el escritor saca el registro de la cola y lo escribe
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private Thread writer;
+    private volatile boolean running;
+
+    public TransitionJournal(
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${automata.journal.enabled:true}") boolean enabled,
+            @Value("${automata.journal.queue-capacity:10000}") int queueCapacity,
+            @Value("${automata.journal.batch-size:200}") int batchSize,
+            @Value("${automata.journal.offer-timeout-ms:20}") long offerTimeoutMs,
+            @Value("${automata.journal.max-attempts:5}") int maxAttempts,
+            @Value("${automata.journal.retry-backoff-ms:500}") long retryBackoffMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        this.batchSize = Math.max(1, batchSize);
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoffMs = Math.max(0L, retryBackoffMs);
+
+        Gauge.builder("skygate.automata.journal.queue.depth", queue, BlockingQueue::size)
+                .description("Transiciones pendientes de escribir en el diario")
+                .register(meterRegistry);
+        this.writtenCounter = Counter.builder("skygate.automata.journal.records")
+                .tag("outcome", "written")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("skygate.automata.journal.records")
+                .tag("outcome", "failed")
+                .register(meterRegistry);
+        this.retriedCounter = Counter.builder("skygate.automata.journal.records")
+                .tag("outcome", "retried")
+                .register(meterRegistry);
+        this.inlineCounter = Counter.builder("skygate.automata.journal.records")
+                .tag("outcome", "inline")
+                .register(meterRegistry);
+        this.blockedCounter = Counter.builder("skygate.automata.journal.backpressure")
+                .description("Transiciones que esperaron sitio en la cola del diario")
+                .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("skygate.automata.journal.batch.size")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            logger.info("Automata transition journal disabled");
+            return;
+        }
+        running = true;
+        writer = new Thread(this::drainLoop, "skygate-transition-journal");
+        writer.setDaemon(true);
+        writer.start();
+        logger.info("Automata transition journal started: capacity={}, batchSize={}",
+                queue.remainingCapacity(), batchSize);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.join(SHUTDOWN_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            logger.warn("Automata transition journal stopped with {} records pending", queue.size());
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void append(Flight flight, StateTransitionService.TransitionResult result) {
+        if (!enabled || flight == null || flight.getId() == null) {
+            return;
+        }
+        Entry entry = new Entry(flight.getId(), flight.getFlightNumber(), result);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(entry);
+                }
+            });
+        } else {
+            enqueue(entry);
+        }
+    }
+
+    // Espera a que el escritor vacie la cola; las consultas de historial lo usan para leer sus propias
+    // transiciones. Sin escritor activo se escribe en el hilo llamador
+    public void flush() {
+        if (!enabled) {
+            return;
+        }
+        if (!running) {
+            List<Entry> batch = new ArrayList<>(batchSize);
+            synchronized (writeLock) {
+                while (queue.drainTo(batch, batchSize) > 0) {
+                    try {
+                        writeWithRetry(batch);
+                    } finally {
+                        pending.addAndGet(-batch.size());
+                        batch.clear();
+                    }
+                }
+            }
+            return;
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(FLUSH_TIMEOUT_MS);
+        try {
+            while (pending.get() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public int getPendingCount() {
+        return queue.size();
+    }
+
+    // Con la cola llena el llamador espera a que el escritor libere sitio: el diario no pierde
+    // registros y la presion vuelve al llamador. Sin escritor activo se escribe en linea.
+    private void enqueue(Entry entry) {
+        pending.incrementAndGet();
+        try {
+            if (queue.offer(entry, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+            if (running) {
+                blockedCounter.increment();
+                queue.put(entry);
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        inlineCounter.increment();
+        synchronized (writeLock) {
+            try {
+                writeWithRetry(List.of(entry));
+            } finally {
+                pending.decrementAndGet();
+            }
+        }
+    }
+
+    private void drainLoop() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                Entry first = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                synchronized (writeLock) {
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    writeWithRetry(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.error("Unexpected error in transition journal writer: {}", e.getMessage(), e);
+            } finally {
+                pending.addAndGet(-batch.size());
+                batch.clear();
+            }
+        }
+    }
+
+    // Los fallos de datos (DataIntegrityViolationException) no se arreglan reintentando: el lote se
+    // escribe fila a fila y solo se descartan las filas invalidas. Cualquier otro fallo (BD caida,
+    // timeout) se reintenta con espera creciente sin soltar el lote; mientras tanto la cola se llena y
+    // la presion llega a los llamadores. Al parar se desiste tras max-attempts y los registros quedan en el log
+    private void writeWithRetry(List<Entry> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                insert(batch);
+                return;
+            } catch (DataIntegrityViolationException e) {
+                if (batch.size() > 1) {
+                    for (Entry entry : batch) {
+                        writeWithRetry(List.of(entry));
+                    }
+                } else {
+                    abandon(batch, e);
+                }
+                return;
+            } catch (DataAccessException e) {
+                if (attempt >= maxAttempts && (!running || Thread.currentThread() != writer)) {
+                    abandon(batch, e);
+                    return;
+                }
+                retriedCounter.increment(batch.size());
+                logger.warn("Failed to write {} automata transitions to journal (attempt {}), retrying: {}",
+                        batch.size(), attempt, e.getMessage());
+                if (!sleep(Math.min(retryBackoffMs * attempt, MAX_RETRY_BACKOFF_MS))) {
+                    abandon(batch, e);
+                    return;
+                }
+            }
+        }
+    }
+
+    private void insert(List<Entry> batch) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (statement, entry) -> {
+            statement.setLong(1, entry.flightId);
+            statement.setString(2, entry.flightNumber);
+            statement.setString(3, entry.fromState);
+            statement.setString(4, entry.input);
+            statement.setString(5, entry.toState);
+            statement.setString(6, entry.outputs);
+            statement.setTimestamp(7, Timestamp.valueOf(entry.occurredAt));
+        });
+        writtenCounter.increment(batch.size());
+        batchSizeSummary.record(batch.size());
+    }
+
+    private void abandon(List<Entry> batch, Exception cause) {
+        failedCounter.increment(batch.size());
+        logger.error("Dropping {} automata transitions after journal write failure: {}", batch.size(), cause.getMessage());
+        for (Entry entry : batch) {
+            logger.error("Unjournaled transition: {}", entry);
+        }
+    }
+
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static final class Entry {
+        private final long flightId;
+        private final String flightNumber;
+        private final String fromState;
+        private final String input;
+        private final String toState;
+        private final String outputs;
+        private final LocalDateTime occurredAt;
+
+        private Entry(Long flightId, String flightNumber, StateTransitionService.TransitionResult result) {
+            this.flightId = flightId;
+            this.flightNumber = flightNumber;
+            this.fromState = result.getPreviousState().name();
+            this.input = result.getInput().name();
+            this.toState = result.getNewState().name();
+            this.outputs = result.getOutputs().stream()
+                    .map(AutomataOutput::name)
+                    .collect(Collectors.joining(","));
+            this.occurredAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(result.getTimestamp()), ZoneId.systemDefault());
+        }
+
+        @Override
+        public String toString() {
+            return "flight=" + flightId + " (" + flightNumber + ") " + fromState + " --" + input + "--> " + toState
+                    + " outputs=[" + outputs + "] at " + occurredAt;
+        }
+    }
+}
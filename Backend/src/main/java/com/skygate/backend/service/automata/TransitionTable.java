@@ -0,0 +1,117 @@
+package com.skygate.backend.service.automata;
+
+import com.skygate.backend.exception.InvalidStateTransitionException;
+import com.skygate.backend.model.enums.AircraftType;
+import com.skygate.backend.model.enums.AutomataInput;
+import com.skygate.backend.model.enums.AutomataOutput;
+import com.skygate.backend.model.enums.AutomataState;
+import java.util.List;
+
+// Tabla de transiciones del DFA precalculada: [estado.ordinal()][input.ordinal()].
+// Las listas de salidas son inmutables y compartidas entre todas las transiciones.
+public final class TransitionTable {
+
+    private static final List<AutomataOutput> NO_OUTPUTS = List.of();
+    private static final List<AutomataOutput> DB_UPDATE = List.of(AutomataOutput.O5);
+    private static final List<AutomataOutput> GATE_ASSIGNED = List.of(AutomataOutput.O1, AutomataOutput.O2, AutomataOutput.O5);
+    private static final List<AutomataOutput> WAIT_DISPLAY = List.of(AutomataOutput.O4);
+    private static final List<AutomataOutput> GATE_OCCUPIED = List.of(AutomataOutput.O3, AutomataOutput.O5);
+
+    // Marca la transicion S0 + I1, cuyo destino depende del tipo de aeronave
+    private static final Transition DETECTION = new Transition(null, NO_OUTPUTS);
+
+    private static final Transition[][] TABLE = buildTable();
+    private static final Transition[] DETECTION_TRANSITIONS = buildDetectionTransitions();
+
+    private TransitionTable() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    public static Transition resolve(AutomataState currentState, AutomataInput input, Object context) {
+        Transition transition = TABLE[currentState.ordinal()][input.ordinal()];
+
+        if (transition == null) {
+            throw new InvalidStateTransitionException(currentState, input);
+        }
+
+        if (transition == DETECTION) {
+            if (context instanceof AircraftType) {
+                return DETECTION_TRANSITIONS[((AircraftType) context).ordinal()];
+            }
+            throw new IllegalArgumentException("Context must be AircraftType for I1 input");
+        }
+
+        return transition;
+    }
+
+    public static boolean isDefined(AutomataState currentState, AutomataInput input) {
+        return TABLE[currentState.ordinal()][input.ordinal()] != null;
+    }
+
+    // Devuelve null cuando el destino depende del contexto (S0 + I1)
+    public static AutomataState expectedNextState(AutomataState currentState, AutomataInput input) {
+        Transition transition = TABLE[currentState.ordinal()][input.ordinal()];
+        if (transition == null) {
+            return currentState;
+        }
+        return transition.getNextState();
+    }
+
+    private static Transition[][] buildTable() {
+        Transition[][] table = new Transition[AutomataState.values().length][AutomataInput.values().length];
+
+        define(table, AutomataState.S0, AutomataInput.I1, DETECTION);
+
+        for (AutomataState detectionState : new AutomataState[]{AutomataState.S1, AutomataState.S2, AutomataState.S3}) {
+            define(table, detectionState, AutomataInput.I2, new Transition(detectionState, NO_OUTPUTS));
+            define(table, detectionState, AutomataInput.I3, new Transition(AutomataState.S4, GATE_ASSIGNED));
+            define(table, detectionState, AutomataInput.I4, new Transition(AutomataState.S6, WAIT_DISPLAY));
+            define(table, detectionState, AutomataInput.OTHER, new Transition(detectionState, NO_OUTPUTS));
+        }
+
+        define(table, AutomataState.S4, AutomataInput.I5, new Transition(AutomataState.S5, GATE_OCCUPIED));
+        define(table, AutomataState.S4, AutomataInput.OTHER, new Transition(AutomataState.S4, NO_OUTPUTS));
+
+        define(table, AutomataState.S5, AutomataInput.I6, new Transition(AutomataState.S0, DB_UPDATE));
+        define(table, AutomataState.S5, AutomataInput.OTHER, new Transition(AutomataState.S5, NO_OUTPUTS));
+
+        define(table, AutomataState.S6, AutomataInput.I1, new Transition(AutomataState.S0, NO_OUTPUTS));
+        define(table, AutomataState.S6, AutomataInput.I3, new Transition(AutomataState.S4, GATE_ASSIGNED));
+        define(table, AutomataState.S6, AutomataInput.OTHER, new Transition(AutomataState.S6, NO_OUTPUTS));
+
+        return table;
+    }
+
+    private static Transition[] buildDetectionTransitions() {
+        Transition[] transitions = new Transition[AircraftType.values().length];
+        for (AircraftType aircraftType : AircraftType.values()) {
+            AutomataState detectionState = AutomataState.getDetectionState(aircraftType);
+            transitions[aircraftType.ordinal()] = detectionState.isDetectionState()
+                    ? new Transition(detectionState, DB_UPDATE)
+                    : new Transition(AutomataState.S0, NO_OUTPUTS);
+        }
+        return transitions;
+    }
+
+    private static void define(Transition[][] table, AutomataState state, AutomataInput input, Transition transition) {
+        table[state.ordinal()][input.ordinal()] = transition;
+    }
+
+    public static final class Transition {
+        private final AutomataState nextState;
+        private final List<AutomataOutput> outputs;
+
+        private Transition(AutomataState nextState, List<AutomataOutput> outputs) {
+            this.nextState = nextState;
+            this.outputs = outputs;
+        }
+
+        public AutomataState getNextState() {
+            return nextState;
+        }
+
+        public List<AutomataOutput> getOutputs() {
+            return outputs;
+        }
+    }
+}
@@ -6,15 +6,14 @@ import com.skygate.backend.model.entity.Gate;
 import com.skygate.backend.model.enums.AutomataInput;
 import com.skygate.backend.model.enums.AutomataState;
 import com.skygate.backend.model.enums.FlightStatus;
-import com.skygate.backend.model.enums.GateStatus;
 import com.skygate.backend.repository.FlightRepository;
 import com.skygate.backend.service.assignment.AssignmentService;
 import com.skygate.backend.service.gate.GateAvailabilityService;
-import com.skygate.backend.service.gate.GateService;
+import com.skygate.backend.service.outbox.SideEffectOutbox;
+import com.skygate.backend.websocket.WebSocketBroadcastBuffer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Lazy;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -31,23 +30,33 @@ public class WaitingFlightProcessor {
     private final StateTransitionService transitionService;
     private final FlightRepository flightRepository;
     private final GateAvailabilityService gateAvailabilityService;
-    private final GateService gateService;
     private final AssignmentService assignmentService;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final WebSocketBroadcastBuffer broadcastBuffer;
+    private final SideEffectOutbox outbox;
 
     public WaitingFlightProcessor(
             StateTransitionService transitionService,
             FlightRepository flightRepository,
             GateAvailabilityService gateAvailabilityService,
-            GateService gateService,
             @Lazy AssignmentService assignmentService,
-            SimpMessagingTemplate messagingTemplate) {
+            WebSocketBroadcastBuffer broadcastBuffer,
+            SideEffectOutbox outbox) {
         this.transitionService = transitionService;
         this.flightRepository = flightRepository;
         this.gateAvailabilityService = gateAvailabilityService;
-        this.gateService = gateService;
         this.assignmentService = assignmentService;
-        this.messagingTemplate = messagingTemplate;
+        this.broadcastBuffer = broadcastBuffer;
+        this.outbox = outbox;
+    }
+
+    @Transactional
+    public boolean retryGateAssignment(Long flightId) {
+        Flight flight = flightRepository.findByIdWithAircraft(flightId).orElse(null);
+        if (flight == null || flight.getStatus() != FlightStatus.WAITING) {
+            logger.debug("Flight {} is no longer waiting for a gate", flightId);
+            return false;
+        }
+        return retryGateAssignment(flight);
     }
 
     @Transactional
@@ -61,7 +70,7 @@ public class WaitingFlightProcessor {
         }
 
         Optional<Gate> availableGate = gateAvailabilityService
-                .findAvailableGate(flight.getAircraft().getAircraftType());
+                .claimAvailableGate(flight.getAircraft().getAircraftType());
 
         if (!availableGate.isPresent()) {
             logger.info("Still no available gate for flight {}. Remaining in S6.",
@@ -80,9 +89,6 @@ public class WaitingFlightProcessor {
         flight.setStatus(FlightStatus.GATE_ASSIGNED);
         flightRepository.save(flight);
 
-        assignedGate.setStatus(GateStatus.ASSIGNED);
-        gateService.updateGateStatus(assignedGate.getId(), GateStatus.ASSIGNED);
-
         Assignment assignment = assignmentService.createAssignment(flight, assignedGate);
 
         notifyGateReassignment(flight, assignedGate);
@@ -103,9 +109,12 @@ public class WaitingFlightProcessor {
         notification.put("event", "WAITING_FLIGHT_REASSIGNED");
         notification.put("timestamp", LocalDateTime.now());
 
-        messagingTemplate.convertAndSend("/topic/automata/transitions", notification);
+        outbox.record(SideEffectOutbox.Channel.WEBSOCKET, "websocket", () -> {
+            broadcastBuffer.publishEvent("/topic/automata/transitions", notification);
+            return true;
+        });
 
-        logger.info("WebSocket notification sent: Flight {} reassigned from S6 to S4 with gate {}",
+        logger.info("WebSocket notification recorded: Flight {} reassigned from S6 to S4 with gate {}",
                 flight.getFlightNumber(), gate.getGateNumber());
     }
 }
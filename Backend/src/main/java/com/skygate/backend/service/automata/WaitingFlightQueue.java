@@ -0,0 +1,230 @@
+package com.skygate.backend.service.automata;
+
+import com.skygate.backend.event.EntityChangedEvent;
+import com.skygate.backend.model.entity.Flight;
+import com.skygate.backend.model.enums.AircraftType;
+import com.skygate.backend.model.enums.AutomataState;
+import com.skygate.backend.model.enums.FlightStatus;
+import com.skygate.backend.model.enums.GateType;
+import com.skygate.backend.repository.FlightRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeSet;
+
+// Cola de prioridad en memoria de los vuelos en S6 (WAITING), una por tipo de aeronave.
+// Se mantiene con los EntityChangedEvent confirmados y se reconstruye desde la BD al arrancar,
+// de modo que un gate liberado se empareja sin consultar la BD.
+@Component
+public class WaitingFlightQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(WaitingFlightQueue.class);
+
+    public enum Order {
+        // Primero el que lleva mas tiempo esperando
+        WAIT_TIME,
+        // Primero el de llegada programada mas temprana
+        SCHEDULED_ARRIVAL,
+        // Primero las aerolineas de automata.waiting-queue.priority-airlines, luego por espera
+        PRIORITY
+    }
+
+    private final FlightRepository flightRepository;
+    private final Map<AircraftType, NavigableSet<WaitingFlight>> queues = new EnumMap<>(AircraftType.class);
+    private final Map<Long, WaitingFlight> byFlightId = new HashMap<>();
+    private final List<String> priorityAirlines;
+
+    public WaitingFlightQueue(
+            @Lazy FlightRepository flightRepository,
+            @Value("${automata.waiting-queue.order:WAIT_TIME}") Order order,
+            @Value("${automata.waiting-queue.priority-airlines:}") List<String> priorityAirlines) {
+        this.flightRepository = flightRepository;
+        this.priorityAirlines = priorityAirlines;
+        Comparator<WaitingFlight> comparator = comparatorFor(order);
+        for (AircraftType aircraftType : AircraftType.values()) {
+            queues.put(aircraftType, new TreeSet<>(comparator));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void initializeQueue() {
+        List<Flight> waitingFlights = flightRepository.findByAutomataStateAndStatus(AutomataState.S6, FlightStatus.WAITING);
+        synchronized (this) {
+            queues.values().forEach(NavigableSet::clear);
+            byFlightId.clear();
+            for (Flight flight : waitingFlights) {
+                LocalDateTime since = flight.getUpdatedAt() != null ? flight.getUpdatedAt() : flight.getDetectedAt();
+                add(toWaitingFlight(flight, since));
+            }
+        }
+        logger.info("Waiting flight queue initialized with {} flights", waitingFlights.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (!(event.getEntity() instanceof Flight)) {
+            return;
+        }
+        Flight flight = (Flight) event.getEntity();
+        if (flight.getId() == null) {
+            return;
+        }
+        if (!event.isRemoved() && isWaiting(flight)) {
+            enqueue(flight);
+        } else {
+            remove(flight.getId());
+        }
+    }
+
+    // Conserva el instante de entrada si el vuelo ya estaba en la cola
+    public synchronized void enqueue(Flight flight) {
+        if (flight.getAircraft() == null || byFlightId.containsKey(flight.getId())) {
+            return;
+        }
+        add(toWaitingFlight(flight, LocalDateTime.now()));
+    }
+
+    public synchronized void requeue(WaitingFlight waitingFlight) {
+        if (!byFlightId.containsKey(waitingFlight.getFlightId())) {
+            add(waitingFlight);
+        }
+    }
+
+    public synchronized boolean remove(Long flightId) {
+        WaitingFlight removed = byFlightId.remove(flightId);
+        if (removed == null) {
+            return false;
+        }
+        queues.get(removed.getAircraftType()).remove(removed);
+        return true;
+    }
+
+    // Saca el mejor vuelo que cabe en un gate del tipo dado. Prefiere el tipo exacto del gate
+    // y solo despues aeronaves mas pequenas, igual que la busqueda de gates.
+    public synchronized Optional<WaitingFlight> pollBestFor(GateType gateType) {
+        AircraftType exactType = AircraftType.fromGateType(gateType);
+        NavigableSet<WaitingFlight> exact = queues.get(exactType);
+        if (!exact.isEmpty()) {
+            return Optional.of(pollFrom(exact));
+        }
+
+        NavigableSet<WaitingFlight> best = null;
+        for (Map.Entry<AircraftType, NavigableSet<WaitingFlight>> entry : queues.entrySet()) {
+            NavigableSet<WaitingFlight> queue = entry.getValue();
+            if (queue.isEmpty() || !entry.getKey().isCompatibleWith(gateType)) {
+                continue;
+            }
+            if (best == null || queue.comparator().compare(queue.first(), best.first()) < 0) {
+                best = queue;
+            }
+        }
+        return best != null ? Optional.of(pollFrom(best)) : Optional.empty();
+    }
+
+    public synchronized int size() {
+        return byFlightId.size();
+    }
+
+    public synchronized int size(AircraftType aircraftType) {
+        return queues.get(aircraftType).size();
+    }
+
+    private WaitingFlight pollFrom(NavigableSet<WaitingFlight> queue) {
+        WaitingFlight waitingFlight = queue.pollFirst();
+        byFlightId.remove(waitingFlight.getFlightId());
+        return waitingFlight;
+    }
+
+    private void add(WaitingFlight waitingFlight) {
+        byFlightId.put(waitingFlight.getFlightId(), waitingFlight);
+        queues.get(waitingFlight.getAircraftType()).add(waitingFlight);
+    }
+
+    private WaitingFlight toWaitingFlight(Flight flight, LocalDateTime since) {
+        String airline = flight.getAirline();
+        int index = airline != null ? priorityAirlines.indexOf(airline) : -1;
+        int priority = index >= 0 ? index : priorityAirlines.size();
+        return new WaitingFlight(flight.getId(), flight.getAircraft().getAircraftType(),
+                since != null ? since : LocalDateTime.now(), flight.getScheduledArrival(), priority);
+    }
+
+    private static boolean isWaiting(Flight flight) {
+        return flight.getAutomataState() == AutomataState.S6 && flight.getStatus() == FlightStatus.WAITING;
+    }
+
+    private static Comparator<WaitingFlight> comparatorFor(Order order) {
+        Comparator<WaitingFlight> byWaitTime = Comparator.comparing(WaitingFlight::getWaitingSince);
+        Comparator<WaitingFlight> primary;
+        switch (order) {
+            case SCHEDULED_ARRIVAL:
+                primary = Comparator.comparing(WaitingFlight::getScheduledArrival,
+                        Comparator.nullsLast(Comparator.naturalOrder())).thenComparing(byWaitTime);
+                break;
+            case PRIORITY:
+                primary = Comparator.comparingInt(WaitingFlight::getPriority).thenComparing(byWaitTime);
+                break;
+            case WAIT_TIME:
+            default:
+                primary = byWaitTime;
+                break;
+        }
+        return primary.thenComparing(WaitingFlight::getFlightId);
+    }
+
+    public static final class WaitingFlight {
+        private final Long flightId;
+        private final AircraftType aircraftType;
+        private final LocalDateTime waitingSince;
+        private final LocalDateTime scheduledArrival;
+        private final int priority;
+
+        private WaitingFlight(Long flightId, AircraftType aircraftType, LocalDateTime waitingSince,
+                              LocalDateTime scheduledArrival, int priority) {
+            this.flightId = flightId;
+            this.aircraftType = aircraftType;
+            this.waitingSince = waitingSince;
+            this.scheduledArrival = scheduledArrival;
+            this.priority = priority;
+        }
+
+        public Long getFlightId() {
+            return flightId;
+        }
+
+        public AircraftType getAircraftType() {
+            return aircraftType;
+        }
+
+        public LocalDateTime getWaitingSince() {
+            return waitingSince;
+        }
+
+        public LocalDateTime getScheduledArrival() {
+            return scheduledArrival;
+        }
+
+        public int getPriority() {
+            return priority;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("WaitingFlight[flightId=%d, type=%s, since=%s]", flightId, aircraftType, waitingSince);
+        }
+    }
+}
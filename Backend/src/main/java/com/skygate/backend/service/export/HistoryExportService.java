@@ -0,0 +1,154 @@
+package com.skygate.backend.service.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.skygate.backend.model.dto.response.AircraftSimpleDTO;
+import com.skygate.backend.model.dto.response.AssignmentResponseDTO;
+import com.skygate.backend.model.dto.response.FlightResponseDTO;
+import com.skygate.backend.model.enums.ExportFormat;
+import com.skygate.backend.service.archive.ArchiveService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+// Exporta el historico fila a fila directamente al stream de salida. Las consultas proyectan DTOs,
+// asi que Hibernate no acumula entidades en el contexto de persistencia y la memoria no depende
+// del tamano del rango. Incluye las filas movidas al archivo.
+@Service
+public class HistoryExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(HistoryExportService.class);
+
+    private static final int FLUSH_EVERY_ROWS = 1000;
+
+    private static final List<String> ASSIGNMENT_COLUMNS = Arrays.asList(
+            "id", "flightId", "flightNumber", "flightStatus", "automataState", "origin", "destination",
+            "aircraftType", "gateId", "gateNumber", "gateType", "gateStatus", "terminal", "assignedAt",
+            "expectedArrival", "actualArrival", "departureTime", "isActive", "ledActivated", "notes",
+            "createdAt", "updatedAt");
+
+    private static final List<String> FLIGHT_COLUMNS = Arrays.asList(
+            "id", "flightNumber", "aircraftId", "aircraftModel", "aircraftType", "status", "automataState",
+            "origin", "destination", "airline", "scheduledArrival", "actualArrival", "scheduledDeparture",
+            "actualDeparture", "detectedAt", "createdAt", "updatedAt");
+
+    private final ArchiveService archiveService;
+    private final ObjectWriter jsonLineWriter;
+
+    public HistoryExportService(
+            ArchiveService archiveService,
+            ObjectMapper objectMapper) {
+        this.archiveService = archiveService;
+        this.jsonLineWriter = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    @Transactional(readOnly = true)
+    public long exportAssignments(LocalDateTime from, LocalDateTime to, String gateNumber,
+                                  ExportFormat format, OutputStream output) {
+        try (Stream<AssignmentResponseDTO> rows = archiveService.streamAssignmentHistory(from, to, gateNumber, null)) {
+            long written = write(rows, format, ASSIGNMENT_COLUMNS, HistoryExportService::assignmentRow, output);
+            logger.info("Exported {} assignments as {} (from: {}, to: {}, gate: {})", written, format, from, to, gateNumber);
+            return written;
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long exportFlights(LocalDateTime from, LocalDateTime to, ExportFormat format, OutputStream output) {
+        try (Stream<FlightResponseDTO> rows = archiveService.streamFlightHistory(from, to)) {
+            long written = write(rows, format, FLIGHT_COLUMNS, HistoryExportService::flightRow, output);
+            logger.info("Exported {} flights as {} (from: {}, to: {})", written, format, from, to);
+            return written;
+        }
+    }
+
+    private <T> long write(Stream<T> rows, ExportFormat format, List<String> columns,
+                           Function<T, List<Object>> csvRow, OutputStream output) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        long written = 0;
+        try {
+            if (format == ExportFormat.CSV) {
+                writeCsvLine(writer, columns);
+            }
+            Iterator<T> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                T row = iterator.next();
+                if (format == ExportFormat.CSV) {
+                    writeCsvLine(writer, csvRow.apply(row));
+                } else {
+                    writer.write(jsonLineWriter.writeValueAsString(row));
+                    writer.write('\n');
+                }
+                if (++written % FLUSH_EVERY_ROWS == 0) {
+                    writer.flush();
+                }
+            }
+            writer.flush();
+            return written;
+        } catch (IOException e) {
+            // Normalmente el cliente cerro la conexion; se corta la lectura y se libera el cursor
+            throw new UncheckedIOException("Export aborted after " + written + " rows", e);
+        }
+    }
+
+    private static void writeCsvLine(Writer writer, List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(csvValue(values.get(i)));
+        }
+        writer.write('\n');
+    }
+
+    static String csvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    private static List<Object> assignmentRow(AssignmentResponseDTO assignment) {
+        return Arrays.asList(
+                assignment.getId(), assignment.getFlight().getId(), assignment.getFlight().getFlightNumber(),
+                assignment.getFlight().getStatus(), assignment.getFlight().getAutomataState(),
+                assignment.getFlight().getOrigin(), assignment.getFlight().getDestination(),
+                assignment.getFlight().getAircraftType(), assignment.getGate().getId(),
+                assignment.getGate().getGateNumber(), assignment.getGate().getGateType(),
+                assignment.getGate().getStatus(), assignment.getGate().getTerminal(), assignment.getAssignedAt(),
+                assignment.getExpectedArrival(), assignment.getActualArrival(), assignment.getDepartureTime(),
+                assignment.getIsActive(), assignment.getLedActivated(), assignment.getNotes(),
+                assignment.getCreatedAt(), assignment.getUpdatedAt());
+    }
+
+    private static List<Object> flightRow(FlightResponseDTO flight) {
+        AircraftSimpleDTO aircraft = flight.getAircraft();
+        return Arrays.asList(
+                flight.getId(), flight.getFlightNumber(),
+                aircraft != null ? aircraft.getId() : null,
+                aircraft != null ? aircraft.getModel() : null,
+                aircraft != null ? aircraft.getAircraftType() : null,
+                flight.getStatus(), flight.getAutomataState(), flight.getOrigin(), flight.getDestination(),
+                flight.getAirline(), flight.getScheduledArrival(), flight.getActualArrival(),
+                flight.getScheduledDeparture(), flight.getActualDeparture(), flight.getDetectedAt(),
+                flight.getCreatedAt(), flight.getUpdatedAt());
+    }
+}
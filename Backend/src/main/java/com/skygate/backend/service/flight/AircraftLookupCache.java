@@ -0,0 +1,195 @@
+package com.skygate.backend.service.flight;
+
+import com.skygate.backend.event.EntityChangedEvent;
+import com.skygate.backend.model.entity.Aircraft;
+import com.skygate.backend.model.enums.AircraftType;
+import com.skygate.backend.repository.AircraftRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import jakarta.annotation.PostConstruct;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// Cache read-through de aeronaves por modelo y por tipo para la ruta de deteccion. Las aeronaves
+// son datos de referencia: se guardan desacopladas (solo se usan para asociar el vuelo) en un LRU
+// acotado y se vacia entera tras el commit de cualquier alta, cambio o baja de una aeronave.
+// Con Redis activo la invalidacion se propaga al resto de instancias por un canal pub/sub.
+@Component
+public class AircraftLookupCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(AircraftLookupCache.class);
+
+    private static final String INVALIDATION_CHANNEL = "skygate:aircraft-cache:invalidate";
+
+    private final AircraftRepository aircraftRepository;
+    private final ObjectProvider<StringRedisTemplate> redisTemplate;
+    private final ObjectProvider<RedisMessageListenerContainer> redisListeners;
+    private final boolean enabled;
+
+    private final Map<String, Aircraft> byModel;
+    private final Map<AircraftType, Aircraft> byType;
+    private final Meter.MeterProvider<Counter> lookupCounter;
+
+    // Evita que una carga iniciada antes de una invalidacion deje en cache un valor antiguo
+    private long generation;
+
+    public AircraftLookupCache(
+            AircraftRepository aircraftRepository,
+            MeterRegistry meterRegistry,
+            ObjectProvider<StringRedisTemplate> redisTemplate,
+            ObjectProvider<RedisMessageListenerContainer> redisListeners,
+            @Value("${aircraft.cache.enabled:true}") boolean enabled,
+            @Value("${aircraft.cache.max-size:500}") int maxSize) {
+        this.aircraftRepository = aircraftRepository;
+        this.redisTemplate = redisTemplate;
+        this.redisListeners = redisListeners;
+        this.enabled = enabled;
+        this.byModel = lruMap(Math.max(1, maxSize));
+        this.byType = new EnumMap<>(AircraftType.class);
+        this.lookupCounter = Counter.builder("skygate.aircraft.cache")
+                .description("Consultas de aeronaves por cache y resultado")
+                .withRegistry(meterRegistry);
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        RedisMessageListenerContainer container = redisListeners.getIfAvailable();
+        if (container != null) {
+            container.addMessageListener((message, pattern) -> clear(), new ChannelTopic(INVALIDATION_CHANNEL));
+        }
+    }
+
+    public Optional<Aircraft> findByModel(String model) {
+        if (!enabled || model == null) {
+            return aircraftRepository.findByModel(model);
+        }
+        return lookup("model", () -> byModel.get(model), () -> aircraftRepository.findByModel(model),
+                aircraft -> byModel.put(model, aircraft));
+    }
+
+    // Primera aeronave del tipo por id, la misma que usa la deteccion por lotes
+    public Optional<Aircraft> findFirstByType(AircraftType aircraftType) {
+        if (!enabled || aircraftType == null) {
+            return aircraftRepository.findFirstByAircraftTypeOrderByIdAsc(aircraftType);
+        }
+        return lookup("type", () -> byType.get(aircraftType),
+                () -> aircraftRepository.findFirstByAircraftTypeOrderByIdAsc(aircraftType),
+                aircraft -> byType.put(aircraftType, aircraft));
+    }
+
+    // Los tipos que no estan en cache se cargan con una sola consulta
+    public Map<AircraftType, Aircraft> findFirstByTypes(Collection<AircraftType> aircraftTypes) {
+        Map<AircraftType, Aircraft> result = new EnumMap<>(AircraftType.class);
+        EnumSet<AircraftType> missing = EnumSet.noneOf(AircraftType.class);
+        long loadGeneration;
+
+        synchronized (this) {
+            loadGeneration = generation;
+            for (AircraftType type : aircraftTypes) {
+                Aircraft cached = enabled ? byType.get(type) : null;
+                if (cached != null) {
+                    result.put(type, cached);
+                    lookupCounter.withTags("cache", "type", "result", "hit").increment();
+                } else {
+                    missing.add(type);
+                }
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        Map<AircraftType, Aircraft> loaded = new EnumMap<>(AircraftType.class);
+        for (Aircraft aircraft : aircraftRepository.findByAircraftTypeInOrderByIdAsc(missing)) {
+            loaded.putIfAbsent(aircraft.getAircraftType(), aircraft);
+        }
+        lookupCounter.withTags("cache", "type", "result", "miss").increment(missing.size());
+        result.putAll(loaded);
+
+        if (enabled) {
+            synchronized (this) {
+                if (loadGeneration == generation) {
+                    byType.putAll(loaded);
+                }
+            }
+        }
+        return result;
+    }
+
+    public synchronized int size() {
+        return byModel.size() + byType.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (!(event.getEntity() instanceof Aircraft)) {
+            return;
+        }
+        clear();
+        StringRedisTemplate redis = redisTemplate.getIfAvailable();
+        if (redis != null) {
+            try {
+                redis.convertAndSend(INVALIDATION_CHANNEL, "aircraft");
+            } catch (Exception e) {
+                logger.warn("Could not publish aircraft cache invalidation: {}", e.getMessage());
+            }
+        }
+    }
+
+    // Se vacia todo: cambiar una aeronave puede cambiar cual es la primera de su tipo
+    public synchronized void clear() {
+        generation++;
+        byModel.clear();
+        byType.clear();
+        logger.debug("Aircraft lookup cache cleared");
+    }
+
+    private Optional<Aircraft> lookup(String cache, Supplier<Aircraft> cached, Supplier<Optional<Aircraft>> loader,
+                                      Consumer<Aircraft> store) {
+        long loadGeneration;
+        synchronized (this) {
+            Aircraft hit = cached.get();
+            if (hit != null) {
+                lookupCounter.withTags("cache", cache, "result", "hit").increment();
+                return Optional.of(hit);
+            }
+            loadGeneration = generation;
+        }
+
+        lookupCounter.withTags("cache", cache, "result", "miss").increment();
+        Optional<Aircraft> loaded = loader.get();
+        loaded.ifPresent(aircraft -> {
+            synchronized (this) {
+                if (loadGeneration == generation) {
+                    store.accept(aircraft);
+                }
+            }
+        });
+        return loaded;
+    }
+
+    private static <K> Map<K, Aircraft> lruMap(int maxSize) {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Aircraft> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+}
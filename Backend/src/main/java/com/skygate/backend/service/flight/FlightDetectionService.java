@@ -1,20 +1,34 @@
 package com.skygate.backend.service.flight;
 
+import com.skygate.backend.model.dto.request.FlightDetectionRequestDTO;
+import com.skygate.backend.model.dto.response.BulkDetectionResultDTO;
 import com.skygate.backend.model.entity.Aircraft;
 import com.skygate.backend.model.entity.Flight;
 import com.skygate.backend.model.enums.AircraftType;
-import com.skygate.backend.repository.AircraftRepository;
 import com.skygate.backend.service.automata.AutomataService;
+import com.skygate.backend.service.automata.FlightLaneExecutor;
 import com.skygate.backend.exception.AircraftNotFoundException;
+import com.skygate.backend.exception.InvalidFlightDataException;
+import com.skygate.backend.util.ValidationUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Random;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Service
 public class FlightDetectionService {
@@ -22,17 +36,23 @@ public class FlightDetectionService {
     private static final Logger logger = LoggerFactory.getLogger(FlightDetectionService.class);
 
     private final FlightService flightService;
-    private final AircraftRepository aircraftRepository;
+    private final AircraftLookupCache aircraftCache;
     private final AutomataService automataService;
+    private final FlightLaneExecutor flightLanes;
+    private final int bulkMaxSize;
     private final Random random;
 
     public FlightDetectionService(
             FlightService flightService,
-            AircraftRepository aircraftRepository,
-            @Lazy AutomataService automataService) {
+            AircraftLookupCache aircraftCache,
+            @Lazy AutomataService automataService,
+            FlightLaneExecutor flightLanes,
+            @Value("${flight.detection.bulk.max-size:500}") int bulkMaxSize) {
         this.flightService = flightService;
-        this.aircraftRepository = aircraftRepository;
+        this.aircraftCache = aircraftCache;
         this.automataService = automataService;
+        this.flightLanes = flightLanes;
+        this.bulkMaxSize = bulkMaxSize;
         this.random = new Random();
     }
 
@@ -40,19 +60,43 @@ public class FlightDetectionService {
     public Flight detectFlight(String flightNumber, String aircraftModel, String origin, String destination, String airline) {
         logger.info("Detecting new flight: {} with aircraft model: {}", flightNumber, aircraftModel);
 
-        Aircraft aircraft = aircraftRepository.findByModel(aircraftModel)
+        Aircraft aircraft = aircraftCache.findByModel(aircraftModel)
                 .orElseThrow(() -> new AircraftNotFoundException(aircraftModel, true));
 
-        Flight flight = new Flight();
-        flight.setFlightNumber(flightNumber);
-        flight.setAircraft(aircraft);
-        flight.setOrigin(origin);
-        flight.setDestination(destination);
-        flight.setAirline(airline);
-        flight.setScheduledArrival(LocalDateTime.now().plusMinutes(30));
-        flight.setScheduledDeparture(LocalDateTime.now().plusHours(2));
+        return detect(flightNumber, aircraft, origin, destination, airline);
+    }
+
+    @Transactional
+    public Flight detectFlightByAircraftType(String flightNumber, AircraftType aircraftType, String origin, String destination, String airline) {
+        logger.info("Detecting flight: {} with aircraft type: {}", flightNumber, aircraftType);
 
-        Flight createdFlight = flightService.createFlight(flight);
+        Aircraft aircraft = aircraftCache.findFirstByType(aircraftType)
+                .orElseThrow(() -> new AircraftNotFoundException("No aircraft found for type: " + aircraftType));
+
+        return detect(flightNumber, aircraft, origin, destination, airline);
+    }
+
+    private Flight detect(String flightNumber, Aircraft aircraft, String origin, String destination, String airline) {
+        // Un vuelo programado (con posible gate reservado) se detecta sobre su propio registro
+        Optional<Flight> scheduledFlight = flightService.findScheduledFlight(flightNumber);
+        Flight createdFlight;
+        if (scheduledFlight.isPresent()) {
+            createdFlight = scheduledFlight.get();
+            createdFlight.setAircraft(aircraft);
+            createdFlight.setDetectedAt(LocalDateTime.now());
+            logger.info("Flight {} was scheduled, detecting it on the existing record", flightNumber);
+        } else {
+            Flight flight = new Flight();
+            flight.setFlightNumber(flightNumber);
+            flight.setAircraft(aircraft);
+            flight.setOrigin(origin);
+            flight.setDestination(destination);
+            flight.setAirline(airline);
+            flight.setScheduledArrival(LocalDateTime.now().plusMinutes(30));
+            flight.setScheduledDeparture(LocalDateTime.now().plusHours(2));
+
+            createdFlight = flightService.createFlight(flight);
+        }
 
         automataService.processFlightDetection(createdFlight);
 
@@ -60,15 +104,96 @@ public class FlightDetectionService {
         return createdFlight;
     }
 
-    @Transactional
-    public Flight detectFlightByAircraftType(String flightNumber, AircraftType aircraftType, String origin, String destination, String airline) {
-        logger.info("Detecting flight: {} with aircraft type: {}", flightNumber, aircraftType);
+    // Deteccion por lotes: aeronaves y vuelos existentes se resuelven con una consulta cada uno y
+    // los vuelos nuevos se insertan por lotes. El automata corre despues por vuelo, en su carril y
+    // con su propia transaccion, asi un fallo solo afecta a su elemento del lote.
+    public List<BulkDetectionResultDTO> detectFlights(List<FlightDetectionRequestDTO> detections) {
+        if (detections.size() > bulkMaxSize) {
+            throw new InvalidFlightDataException(
+                    "Bulk detection accepts at most " + bulkMaxSize + " detections", "detections");
+        }
+        logger.info("Detecting {} flights in bulk", detections.size());
 
-        Aircraft aircraft = aircraftRepository.findByAircraftType(aircraftType).stream()
-                .findFirst()
-                .orElseThrow(() -> new AircraftNotFoundException("No aircraft found for type: " + aircraftType));
+        BulkDetectionResultDTO[] results = new BulkDetectionResultDTO[detections.size()];
+        Map<AircraftType, Aircraft> aircraftByType = resolveAircraft(detections);
+        Map<String, Flight> existingFlights = new HashMap<>();
+        for (Flight flight : flightService.getFlightsByNumbers(collectFlightNumbers(detections))) {
+            existingFlights.put(flight.getFlightNumber(), flight);
+        }
+
+        List<PendingDetection> pending = new ArrayList<>();
+        List<Flight> newFlights = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+
+        for (int i = 0; i < detections.size(); i++) {
+            FlightDetectionRequestDTO detection = detections.get(i);
+            String flightNumber = detection.getFlightNumber();
+            Aircraft aircraft = detection.getAircraftType() != null ? aircraftByType.get(detection.getAircraftType()) : null;
+            Flight existing = existingFlights.get(flightNumber);
+
+            if (!ValidationUtil.isValidFlightNumber(flightNumber)) {
+                results[i] = BulkDetectionResultDTO.failed(i, flightNumber, "Invalid flight number format");
+            } else if (!seen.add(flightNumber)) {
+                results[i] = BulkDetectionResultDTO.failed(i, flightNumber, "Duplicate flight number in batch");
+            } else if (aircraft == null) {
+                results[i] = BulkDetectionResultDTO.failed(i, flightNumber,
+                        "No aircraft found for type: " + detection.getAircraftType());
+            } else if (existing != null && !existing.isScheduled()) {
+                results[i] = BulkDetectionResultDTO.failed(i, flightNumber,
+                        "Flight with number " + flightNumber + " already exists");
+            } else if (existing != null) {
+                // Vuelo programado: se detecta sobre su propio registro
+                pending.add(new PendingDetection(i, existing, aircraft));
+            } else {
+                Flight flight = new Flight();
+                flight.setFlightNumber(flightNumber);
+                flight.setAircraft(aircraft);
+                flight.setOrigin(detection.getOrigin());
+                flight.setDestination(detection.getDestination());
+                flight.setAirline(detection.getAirline() != null ? detection.getAirline() : "Unknown Airline");
+                flight.setScheduledArrival(LocalDateTime.now().plusMinutes(30));
+                flight.setScheduledDeparture(LocalDateTime.now().plusHours(2));
+                newFlights.add(flight);
+                pending.add(new PendingDetection(i, flight, null));
+            }
+        }
 
-        return detectFlight(flightNumber, aircraft.getModel(), origin, destination, airline);
+        if (!newFlights.isEmpty()) {
+            try {
+                flightService.createFlightsBatch(newFlights);
+            } catch (RuntimeException e) {
+                logger.error("Bulk insert of {} flights failed: {}", newFlights.size(), e.getMessage());
+                for (PendingDetection detection : pending) {
+                    if (detection.aircraft == null) {
+                        results[detection.index] = BulkDetectionResultDTO.failed(detection.index,
+                                detection.flight.getFlightNumber(), "Flight could not be created: " + e.getMessage());
+                    }
+                }
+                pending.removeIf(detection -> detection.aircraft == null);
+            }
+        }
+
+        // Todos los vuelos se encolan en su carril antes de esperar a ninguno: los carriles procesan
+        // el lote en paralelo y el orden de los resultados lo fija el indice de cada elemento
+        List<CompletableFuture<Flight>> futures = new ArrayList<>(pending.size());
+        for (PendingDetection detection : pending) {
+            Long flightId = detection.flight.getId();
+            futures.add(flightLanes.submit(flightId,
+                    () -> automataService.processFlightDetection(flightId, detection.aircraft)));
+        }
+        for (int i = 0; i < pending.size(); i++) {
+            PendingDetection detection = pending.get(i);
+            try {
+                results[detection.index] = BulkDetectionResultDTO.detected(detection.index, futures.get(i).join());
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                logger.warn("Bulk detection of flight {} failed: {}", detection.flight.getFlightNumber(), cause.getMessage());
+                results[detection.index] = BulkDetectionResultDTO.failed(detection.index,
+                        detection.flight.getFlightNumber(), cause.getMessage());
+            }
+        }
+
+        return Arrays.asList(results);
     }
 
     @Transactional
@@ -92,18 +217,37 @@ public class FlightDetectionService {
         return CompletableFuture.completedFuture(flight);
     }
 
-    @Transactional
+    // Llegada y salida se ejecutan en el carril del vuelo, cada una con su propia transaccion
     public void simulateFlightArrival(Long flightId) {
         logger.info("Simulating arrival for flight ID: {}", flightId);
-        Flight flight = flightService.getFlightById(flightId);
-        automataService.processAircraftArrival(flight);
+        flightLanes.execute(flightId, () -> automataService.processAircraftArrival(flightId));
     }
 
-    @Transactional
     public void simulateFlightDeparture(Long flightId) {
         logger.info("Simulating departure for flight ID: {}", flightId);
-        Flight flight = flightService.getFlightById(flightId);
-        automataService.processAircraftDeparture(flight);
+        flightLanes.execute(flightId, () -> automataService.processAircraftDeparture(flightId));
+    }
+
+    // Los tipos que no esten en cache se resuelven con una consulta; por tipo se usa la primera aeronave, como en la deteccion individual
+    private Map<AircraftType, Aircraft> resolveAircraft(List<FlightDetectionRequestDTO> detections) {
+        Set<AircraftType> types = new HashSet<>();
+        for (FlightDetectionRequestDTO detection : detections) {
+            if (detection.getAircraftType() != null) {
+                types.add(detection.getAircraftType());
+            }
+        }
+
+        return aircraftCache.findFirstByTypes(types);
+    }
+
+    private Set<String> collectFlightNumbers(List<FlightDetectionRequestDTO> detections) {
+        Set<String> flightNumbers = new HashSet<>();
+        for (FlightDetectionRequestDTO detection : detections) {
+            if (detection.getFlightNumber() != null) {
+                flightNumbers.add(detection.getFlightNumber());
+            }
+        }
+        return flightNumbers;
     }
 
     private String generateRandomFlightNumber() {
@@ -146,4 +290,17 @@ public class FlightDetectionService {
                 "Delta", "United", "Iberia", "Aeromexico"};
         return airlines[random.nextInt(airlines.length)];
     }
+
+    private static final class PendingDetection {
+        private final int index;
+        private final Flight flight;
+        // Solo en vuelos programados: la aeronave detectada sustituye a la registrada
+        private final Aircraft aircraft;
+
+        private PendingDetection(int index, Flight flight, Aircraft aircraft) {
+            this.index = index;
+            this.flight = flight;
+            this.aircraft = aircraft;
+        }
+    }
 }
@@ -1,5 +1,8 @@
 package com.skygate.backend.service.flight;
 
+import com.skygate.backend.event.EntityChangedEvent;
+import com.skygate.backend.model.dto.response.CursorPageDTO;
+import com.skygate.backend.model.dto.response.FlightResponseDTO;
 import com.skygate.backend.model.entity.Aircraft;
 import com.skygate.backend.model.entity.Flight;
 import com.skygate.backend.model.enums.AutomataState;
@@ -9,25 +12,51 @@ import com.skygate.backend.repository.FlightRepository;
 import com.skygate.backend.exception.AircraftNotFoundException;
 import com.skygate.backend.exception.FlightNotFoundException;
 import com.skygate.backend.exception.InvalidFlightDataException;
+import com.skygate.backend.service.archive.ArchiveService;
 import com.skygate.backend.util.ValidationUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class FlightService {
 
     private static final Logger logger = LoggerFactory.getLogger(FlightService.class);
 
+    private static final String INSERT_FLIGHT_SQL = "INSERT INTO flights "
+            + "(flight_number, aircraft_id, status, automata_state, origin, destination, airline, "
+            + "scheduled_arrival, scheduled_departure, detected_at, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int INSERT_BATCH_SIZE = 100;
+
     private final FlightRepository flightRepository;
     private final AircraftRepository aircraftRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ArchiveService archiveService;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public FlightService(FlightRepository flightRepository, AircraftRepository aircraftRepository) {
+    public FlightService(FlightRepository flightRepository, AircraftRepository aircraftRepository,
+                         JdbcTemplate jdbcTemplate, ArchiveService archiveService,
+                         ApplicationEventPublisher eventPublisher) {
         this.flightRepository = flightRepository;
         this.aircraftRepository = aircraftRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.archiveService = archiveService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -58,10 +87,40 @@ public class FlightService {
         return savedFlight;
     }
 
+    // Alta de vuelos detectados por lotes: INSERT por lotes JDBC (la clave IDENTITY impide que
+    // Hibernate agrupe los INSERT). Los datos ya vienen validados y sin numeros repetidos.
+    // EntityChangeListener no ve estos INSERT, asi que el evento de alta se publica a mano
+    // (contadores del dashboard, snapshot WebSocket, cola de espera)
+    @Transactional
+    public List<Flight> createFlightsBatch(List<Flight> flights) {
+        LocalDateTime now = LocalDateTime.now();
+        for (Flight flight : flights) {
+            flight.setStatus(FlightStatus.DETECTED);
+            flight.setAutomataState(AutomataState.S0);
+            flight.setDetectedAt(now);
+            flight.setCreatedAt(now);
+            flight.setUpdatedAt(now);
+        }
+
+        for (int from = 0; from < flights.size(); from += INSERT_BATCH_SIZE) {
+            insertBatch(flights.subList(from, Math.min(from + INSERT_BATCH_SIZE, flights.size())));
+        }
+        for (Flight flight : flights) {
+            eventPublisher.publishEvent(new EntityChangedEvent(this, flight, false));
+        }
+        logger.info("Created {} flights in batch", flights.size());
+        return flights;
+    }
+
+    @Transactional(readOnly = true)
+    public List<Flight> getFlightsByNumbers(Collection<String> flightNumbers) {
+        return flightRepository.findByFlightNumberIn(flightNumbers);
+    }
+
     @Transactional(readOnly = true)
     public Flight getFlightById(Long flightId) {
         logger.debug("Fetching flight by ID: {}", flightId);
-        return flightRepository.findById(flightId)
+        return flightRepository.findByIdWithAircraft(flightId)
                 .orElseThrow(() -> new FlightNotFoundException(flightId));
     }
 
@@ -72,6 +131,13 @@ public class FlightService {
                 .orElseThrow(() -> new FlightNotFoundException(flightNumber, true));
     }
 
+    // Vuelo dado de alta con antelacion (programado) que el automata aun no ha procesado. Un vuelo
+    // ya salido no cuenta: volver a detectar su numero falla como duplicado hasta que se archive
+    @Transactional(readOnly = true)
+    public Optional<Flight> findScheduledFlight(String flightNumber) {
+        return flightRepository.findByFlightNumber(flightNumber).filter(Flight::isScheduled);
+    }
+
     @Transactional(readOnly = true)
     public List<Flight> getAllFlights() {
         logger.debug("Fetching all flights");
@@ -84,6 +150,15 @@ public class FlightService {
         return flightRepository.findAllActiveFlights();
     }
 
+    @Transactional(readOnly = true)
+    public CursorPageDTO<FlightResponseDTO> getFlightPage(Long afterId, int limit, boolean activeOnly) {
+        long cursor = afterId != null ? afterId : 0L;
+        List<FlightResponseDTO> rows = activeOnly
+                ? flightRepository.findActivePageAfter(cursor, Limit.of(limit + 1))
+                : flightRepository.findPageAfter(cursor, Limit.of(limit + 1));
+        return CursorPageDTO.of(rows, limit, FlightResponseDTO::getId);
+    }
+
     @Transactional(readOnly = true)
     public List<Flight> getFlightsByStatus(FlightStatus status) {
         logger.debug("Fetching flights by status: {}", status);
@@ -102,10 +177,13 @@ public class FlightService {
         return flightRepository.findByAirline(airline);
     }
 
+    // Historico: incluye los vuelos ya movidos a flights_archive
     @Transactional(readOnly = true)
-    public List<Flight> getFlightsByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
-        logger.debug("Fetching flights between {} and {}", startDate, endDate);
-        return flightRepository.findFlightsByDetectionDateRange(startDate, endDate);
+    public List<FlightResponseDTO> getFlightsByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
+        logger.debug("Fetching flight history between {} and {}", startDate, endDate);
+        try (Stream<FlightResponseDTO> rows = archiveService.streamFlightHistory(startDate, endDate)) {
+            return rows.collect(Collectors.toList());
+        }
     }
 
     @Transactional
@@ -228,6 +306,44 @@ public class FlightService {
                 .orElseThrow(() -> new FlightNotFoundException(flightId));
     }
 
+    private void insertBatch(List<Flight> flights) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_FLIGHT_SQL, new String[]{"id"})) {
+                for (Flight flight : flights) {
+                    statement.setString(1, flight.getFlightNumber());
+                    statement.setLong(2, flight.getAircraft().getId());
+                    statement.setString(3, flight.getStatus().name());
+                    statement.setString(4, flight.getAutomataState().name());
+                    statement.setString(5, flight.getOrigin());
+                    statement.setString(6, flight.getDestination());
+                    statement.setString(7, flight.getAirline());
+                    statement.setTimestamp(8, toTimestamp(flight.getScheduledArrival()));
+                    statement.setTimestamp(9, toTimestamp(flight.getScheduledDeparture()));
+                    statement.setTimestamp(10, toTimestamp(flight.getDetectedAt()));
+                    statement.setTimestamp(11, toTimestamp(flight.getCreatedAt()));
+                    statement.setTimestamp(12, toTimestamp(flight.getUpdatedAt()));
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    int index = 0;
+                    while (keys.next() && index < flights.size()) {
+                        flights.get(index++).setId(keys.getLong(1));
+                    }
+                    if (index != flights.size()) {
+                        throw new IllegalStateException("Expected " + flights.size() + " generated flight ids, got " + index);
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    private static Timestamp toTimestamp(LocalDateTime value) {
+        return value != null ? Timestamp.valueOf(value) : null;
+    }
+
     private void validateFlightData(Flight flight) {
         if (flight == null) {
             throw new InvalidFlightDataException("Flight data cannot be null");
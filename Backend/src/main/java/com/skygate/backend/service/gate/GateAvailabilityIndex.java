@@ -0,0 +1,173 @@
+package com.skygate.backend.service.gate;
+
+import com.skygate.backend.model.entity.Gate;
+import com.skygate.backend.model.enums.GateStatus;
+import com.skygate.backend.model.enums.GateType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+// Indice en memoria de gates libres/reservados por tipo. Los ids se mantienen
+// ordenados para conservar el mismo orden que devolvian las consultas JPQL.
+@Component
+public class GateAvailabilityIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(GateAvailabilityIndex.class);
+
+    private final Map<GateType, NavigableSet<Long>> freeGates;
+    private final Map<GateType, NavigableSet<Long>> reservedGates;
+    private volatile boolean initialized;
+
+    public GateAvailabilityIndex() {
+        this.freeGates = new EnumMap<>(GateType.class);
+        this.reservedGates = new EnumMap<>(GateType.class);
+        for (GateType gateType : GateType.values()) {
+            freeGates.put(gateType, new ConcurrentSkipListSet<>());
+            reservedGates.put(gateType, new ConcurrentSkipListSet<>());
+        }
+    }
+
+    public boolean isInitialized() {
+        return initialized;
+    }
+
+    public void update(Gate gate) {
+        if (gate == null || gate.getId() == null) {
+            return;
+        }
+
+        remove(gate.getId());
+
+        if (!Boolean.TRUE.equals(gate.getIsActive()) || gate.getGateType() == null) {
+            return;
+        }
+
+        if (gate.getStatus() == GateStatus.FREE) {
+            freeGates.get(gate.getGateType()).add(gate.getId());
+        } else if (gate.getStatus() == GateStatus.RESERVED) {
+            reservedGates.get(gate.getGateType()).add(gate.getId());
+        }
+    }
+
+    public void remove(Long gateId) {
+        if (gateId == null) {
+            return;
+        }
+        for (GateType gateType : GateType.values()) {
+            freeGates.get(gateType).remove(gateId);
+            reservedGates.get(gateType).remove(gateId);
+        }
+    }
+
+    // Reclamo atomico: ConcurrentSkipListSet.remove es un CAS sobre la pertenencia,
+    // por lo que solo un hilo obtiene true para un mismo gate.
+    public boolean claim(GateType gateType, Long gateId, boolean reserved) {
+        NavigableSet<Long> gates = reserved ? reservedGates.get(gateType) : freeGates.get(gateType);
+        return gates.remove(gateId);
+    }
+
+    public void release(GateType gateType, Long gateId, boolean reserved) {
+        NavigableSet<Long> gates = reserved ? reservedGates.get(gateType) : freeGates.get(gateType);
+        gates.add(gateId);
+    }
+
+    public Optional<Long> firstFreeGate(GateType gateType) {
+        return nextFreeGate(gateType, null);
+    }
+
+    public Optional<Long> nextFreeGate(GateType gateType, Long afterGateId) {
+        return next(freeGates.get(gateType), afterGateId);
+    }
+
+    public Optional<Long> nextReservedGate(GateType gateType, Long afterGateId) {
+        return next(reservedGates.get(gateType), afterGateId);
+    }
+
+    public boolean hasFreeGate(GateType gateType) {
+        return !freeGates.get(gateType).isEmpty();
+    }
+
+    public boolean hasReservedGate(GateType gateType) {
+        return !reservedGates.get(gateType).isEmpty();
+    }
+
+    public int countFreeGates(GateType gateType) {
+        return freeGates.get(gateType).size();
+    }
+
+    public int countFreeGates() {
+        int total = 0;
+        for (GateType gateType : GateType.values()) {
+            total += freeGates.get(gateType).size();
+        }
+        return total;
+    }
+
+    // Reemplaza el contenido del indice con el estado de la BD y devuelve cuantas
+    // entradas estaban desalineadas (drift) respecto a ese estado.
+    public int rebuild(List<Gate> gates) {
+        Map<GateType, Set<Long>> expectedFree = new EnumMap<>(GateType.class);
+        Map<GateType, Set<Long>> expectedReserved = new EnumMap<>(GateType.class);
+        for (GateType gateType : GateType.values()) {
+            expectedFree.put(gateType, new TreeSet<>());
+            expectedReserved.put(gateType, new TreeSet<>());
+        }
+
+        for (Gate gate : gates) {
+            if (gate.getId() == null || gate.getGateType() == null || !Boolean.TRUE.equals(gate.getIsActive())) {
+                continue;
+            }
+            if (gate.getStatus() == GateStatus.FREE) {
+                expectedFree.get(gate.getGateType()).add(gate.getId());
+            } else if (gate.getStatus() == GateStatus.RESERVED) {
+                expectedReserved.get(gate.getGateType()).add(gate.getId());
+            }
+        }
+
+        int drift = 0;
+        for (GateType gateType : GateType.values()) {
+            drift += sync(freeGates.get(gateType), expectedFree.get(gateType));
+            drift += sync(reservedGates.get(gateType), expectedReserved.get(gateType));
+        }
+
+        initialized = true;
+        logger.debug("Gate availability index rebuilt: {} free gates, drift {}", countFreeGates(), drift);
+        return drift;
+    }
+
+    public void clear() {
+        for (GateType gateType : GateType.values()) {
+            freeGates.get(gateType).clear();
+            reservedGates.get(gateType).clear();
+        }
+        initialized = false;
+    }
+
+    private int sync(NavigableSet<Long> current, Set<Long> expected) {
+        int drift = 0;
+        for (Long gateId : current) {
+            if (!expected.contains(gateId) && current.remove(gateId)) {
+                drift++;
+            }
+        }
+        for (Long gateId : expected) {
+            if (current.add(gateId)) {
+                drift++;
+            }
+        }
+        return drift;
+    }
+
+    private Optional<Long> next(NavigableSet<Long> gates, Long afterGateId) {
+        Long gateId = afterGateId == null ? gates.ceiling(Long.MIN_VALUE) : gates.higher(afterGateId);
+        return Optional.ofNullable(gateId);
+    }
+}
@@ -5,30 +5,115 @@ import com.skygate.backend.model.enums.AircraftType;
 import com.skygate.backend.model.enums.GateStatus;
 import com.skygate.backend.model.enums.GateType;
 import com.skygate.backend.repository.GateRepository;
+import com.skygate.backend.exception.GateNotFoundException;
 import com.skygate.backend.exception.NoAvailableGateException;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class GateAvailabilityService {
 
     private static final Logger logger = LoggerFactory.getLogger(GateAvailabilityService.class);
 
+    // Mismo orden que "ORDER BY g.gateType DESC" sobre la columna STRING
+    private static final List<GateType> FALLBACK_GATE_TYPE_ORDER = Arrays.stream(GateType.values())
+            .sorted(Comparator.comparing(GateType::name).reversed())
+            .toList();
+
     private final GateRepository gateRepository;
+    private final GateAvailabilityIndex gateIndex;
+    private final boolean indexEnabled;
+    private final Meter.MeterProvider<Timer> searchTimer;
 
-    public GateAvailabilityService(GateRepository gateRepository) {
+    public GateAvailabilityService(
+            GateRepository gateRepository,
+            GateAvailabilityIndex gateIndex,
+            MeterRegistry meterRegistry,
+            @Value("${gate.availability.index-enabled:true}") boolean indexEnabled) {
         this.gateRepository = gateRepository;
+        this.gateIndex = gateIndex;
+        this.indexEnabled = indexEnabled;
+        this.searchTimer = Timer.builder("skygate.gate.search")
+                .description("Busqueda de gate disponible por tipo de aeronave y resultado (hit/miss)")
+                .publishPercentileHistogram()
+                .withRegistry(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void initializeIndex() {
+        if (!indexEnabled) {
+            logger.info("Gate availability index disabled, using database queries");
+            return;
+        }
+        gateIndex.rebuild(gateRepository.findAll());
+        logger.info("Gate availability index initialized with {} free gates", gateIndex.countFreeGates());
+    }
+
+    @Scheduled(
+            fixedDelayString = "${gate.availability.reconciliation-interval-ms:60000}",
+            initialDelayString = "${gate.availability.reconciliation-interval-ms:60000}")
+    @Transactional(readOnly = true)
+    public void reconcileIndex() {
+        if (!indexEnabled) {
+            return;
+        }
+        int drift = gateIndex.rebuild(gateRepository.findAll());
+        if (drift > 0) {
+            logger.warn("Gate availability index reconciled with database: {} entries corrected", drift);
+        }
+    }
+
+    // El indice refleja solo estados confirmados: un gate liberado dentro de una transaccion no se
+    // ofrece a otros hilos hasta el commit, y si hay rollback el indice no cambia
+    public void refreshGate(Gate gate) {
+        if (indexEnabled) {
+            afterCommit(() -> gateIndex.update(gate));
+        }
+    }
+
+    public void evictGate(Long gateId) {
+        if (indexEnabled) {
+            afterCommit(() -> gateIndex.remove(gateId));
+        }
+    }
+
+    public boolean isIndexActive() {
+        return indexEnabled && gateIndex.isInitialized();
     }
 
     @Transactional(readOnly = true)
     public Optional<Gate> findAvailableGate(AircraftType aircraftType) {
+        long start = System.nanoTime();
+        Optional<Gate> gate = searchAvailableGate(aircraftType);
+        searchTimer.withTags("aircraftType", String.valueOf(aircraftType), "result", gate.isPresent() ? "hit" : "miss")
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return gate;
+    }
+
+    private Optional<Gate> searchAvailableGate(AircraftType aircraftType) {
         logger.info("Searching for available gate for aircraft type: {}", aircraftType);
 
+        if (isIndexActive()) {
+            return findAvailableGateFromIndex(aircraftType);
+        }
+
         GateType primaryGateType = GateType.fromAircraftType(aircraftType);
         List<Gate> availableGates = gateRepository.findAvailableGatesByType(primaryGateType);
 
@@ -47,6 +132,101 @@ public class GateAvailabilityService {
         return Optional.empty();
     }
 
+    // Busca y marca como ASSIGNED un gate compatible en una sola operacion atomica:
+    // CAS en el indice en memoria + UPDATE condicional (status esperado) en la BD.
+    @Transactional
+    public Optional<Gate> claimAvailableGate(AircraftType aircraftType) {
+        logger.info("Claiming available gate for aircraft type: {}", aircraftType);
+
+        Optional<Gate> claimedGate = isIndexActive()
+                ? claimGateFromIndex(aircraftType)
+                : claimGateFromDatabase(aircraftType);
+
+        if (claimedGate.isPresent()) {
+            logger.info("Claimed gate: {} for aircraft type: {}", claimedGate.get().getGateNumber(), aircraftType);
+        } else {
+            logger.warn("No gate could be claimed for aircraft type: {}", aircraftType);
+        }
+
+        return claimedGate;
+    }
+
+    // Reclama un gate FREE concreto (elegido por el planificador por lotes) con el mismo CAS
+    // en indice y BD que claimAvailableGate
+    @Transactional
+    public Optional<Gate> claimGate(Gate gate) {
+        return claimGate(gate, false);
+    }
+
+    // reserved=true reclama un gate RESERVED (lo usa el vuelo titular de la reserva)
+    @Transactional
+    public Optional<Gate> claimGate(Gate gate, boolean reserved) {
+        GateType gateType = gate.getGateType();
+        GateStatus expectedStatus = reserved ? GateStatus.RESERVED : GateStatus.FREE;
+
+        if (!isIndexActive()) {
+            return claimGateInDatabase(gate.getId(), expectedStatus);
+        }
+
+        if (!gateIndex.claim(gateType, gate.getId(), reserved)) {
+            return Optional.empty();
+        }
+        Optional<Gate> claimedGate = claimGateInDatabase(gate.getId(), expectedStatus);
+        if (claimedGate.isPresent()) {
+            releaseOnRollback(gateType, gate.getId(), reserved);
+        }
+        return claimedGate;
+    }
+
+    // Pasa un gate FREE a RESERVED (reserva proxima de un vuelo programado) o lo devuelve
+    // a FREE, con el mismo CAS en indice y BD que los reclamos
+    @Transactional
+    public Optional<Gate> holdGate(Gate gate) {
+        return moveAvailability(gate, false);
+    }
+
+    @Transactional
+    public Optional<Gate> releaseHold(Gate gate) {
+        return moveAvailability(gate, true);
+    }
+
+    private Optional<Gate> moveAvailability(Gate gate, boolean fromReserved) {
+        GateType gateType = gate.getGateType();
+        Long gateId = gate.getId();
+        GateStatus expectedStatus = fromReserved ? GateStatus.RESERVED : GateStatus.FREE;
+        GateStatus newStatus = fromReserved ? GateStatus.FREE : GateStatus.RESERVED;
+        boolean indexed = isIndexActive();
+
+        if (indexed && !gateIndex.claim(gateType, gateId, fromReserved)) {
+            return Optional.empty();
+        }
+        if (gateRepository.compareAndSetStatus(gateId, expectedStatus, newStatus) == 0) {
+            return Optional.empty();
+        }
+
+        Gate movedGate = gateRepository.findById(gateId)
+                .orElseThrow(() -> new GateNotFoundException(gateId));
+        if (fromReserved) {
+            movedGate.free();
+        } else {
+            movedGate.reserve();
+        }
+
+        if (indexed) {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        gateIndex.release(gateType, gateId, status == STATUS_ROLLED_BACK ? fromReserved : !fromReserved);
+                    }
+                });
+            } else {
+                gateIndex.release(gateType, gateId, !fromReserved);
+            }
+        }
+        return Optional.of(movedGate);
+    }
+
     @Transactional(readOnly = true)
     public Optional<Gate> findAvailableGateWithFallback(AircraftType aircraftType) {
         Optional<Gate> gate = findAvailableGate(aircraftType);
@@ -56,6 +236,187 @@ public class GateAvailabilityService {
         throw new NoAvailableGateException(aircraftType);
     }
 
+    private Optional<Gate> findAvailableGateFromIndex(AircraftType aircraftType) {
+        GateType primaryGateType = GateType.fromAircraftType(aircraftType);
+        Optional<Gate> selectedGate = findIndexedGate(primaryGateType, false);
+
+        if (selectedGate.isPresent()) {
+            logger.info("Found available gate: {} for aircraft type: {}",
+                    selectedGate.get().getGateNumber(), aircraftType);
+            return selectedGate;
+        }
+
+        if (aircraftType == AircraftType.NARROW_BODY || aircraftType == AircraftType.WIDE_BODY) {
+            logger.info("No exact match found, searching for larger compatible gates");
+            for (GateType gateType : FALLBACK_GATE_TYPE_ORDER) {
+                if (!aircraftType.isCompatibleWith(gateType)) {
+                    continue;
+                }
+                Optional<Gate> compatibleGate = findIndexedGate(gateType, false)
+                        .or(() -> findIndexedGate(gateType, true));
+                if (compatibleGate.isPresent()) {
+                    logger.info("Found compatible larger gate: {} for aircraft type: {}",
+                            compatibleGate.get().getGateNumber(), aircraftType);
+                    return compatibleGate;
+                }
+            }
+        }
+
+        logger.warn("No available gate found for aircraft type: {}", aircraftType);
+        return Optional.empty();
+    }
+
+    // El indice solo entrega candidatos; la entidad se carga por PK y se descarta
+    // (corrigiendo el indice) si su estado ya no coincide.
+    private Optional<Gate> findIndexedGate(GateType gateType, boolean reserved) {
+        GateStatus expectedStatus = reserved ? GateStatus.RESERVED : GateStatus.FREE;
+        Optional<Long> candidateId = reserved
+                ? gateIndex.nextReservedGate(gateType, null)
+                : gateIndex.firstFreeGate(gateType);
+
+        while (candidateId.isPresent()) {
+            Long gateId = candidateId.get();
+            Optional<Gate> gate = gateRepository.findById(gateId);
+
+            if (gate.isPresent()
+                    && gate.get().getStatus() == expectedStatus
+                    && gate.get().getGateType() == gateType
+                    && Boolean.TRUE.equals(gate.get().getIsActive())) {
+                return gate;
+            }
+
+            logger.debug("Discarding stale gate {} from availability index", gateId);
+            if (gate.isPresent()) {
+                Gate staleGate = gate.get();
+                afterCommit(() -> gateIndex.update(staleGate));
+            } else {
+                afterCommit(() -> gateIndex.remove(gateId));
+            }
+
+            candidateId = reserved
+                    ? gateIndex.nextReservedGate(gateType, gateId)
+                    : gateIndex.nextFreeGate(gateType, gateId);
+        }
+
+        return Optional.empty();
+    }
+
+    private Optional<Gate> claimGateFromIndex(AircraftType aircraftType) {
+        GateType primaryGateType = GateType.fromAircraftType(aircraftType);
+        Optional<Gate> claimedGate = claimIndexedGate(primaryGateType, false);
+
+        if (claimedGate.isPresent()
+                || (aircraftType != AircraftType.NARROW_BODY && aircraftType != AircraftType.WIDE_BODY)) {
+            return claimedGate;
+        }
+
+        for (GateType gateType : FALLBACK_GATE_TYPE_ORDER) {
+            if (!aircraftType.isCompatibleWith(gateType)) {
+                continue;
+            }
+            claimedGate = claimIndexedGate(gateType, false).or(() -> claimIndexedGate(gateType, true));
+            if (claimedGate.isPresent()) {
+                return claimedGate;
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    private Optional<Gate> claimIndexedGate(GateType gateType, boolean reserved) {
+        GateStatus expectedStatus = reserved ? GateStatus.RESERVED : GateStatus.FREE;
+        Optional<Long> candidateId = reserved
+                ? gateIndex.nextReservedGate(gateType, null)
+                : gateIndex.firstFreeGate(gateType);
+
+        while (candidateId.isPresent()) {
+            Long gateId = candidateId.get();
+
+            // Si otro hilo gano el CAS se pasa al siguiente candidato, sin reintentos
+            if (gateIndex.claim(gateType, gateId, reserved)) {
+                Optional<Gate> claimedGate = claimGateInDatabase(gateId, expectedStatus);
+                if (claimedGate.isPresent()) {
+                    releaseOnRollback(gateType, gateId, reserved);
+                    return claimedGate;
+                }
+                logger.debug("Gate {} was no longer {} in database, dropped from index", gateId, expectedStatus);
+            }
+
+            candidateId = reserved
+                    ? gateIndex.nextReservedGate(gateType, gateId)
+                    : gateIndex.nextFreeGate(gateType, gateId);
+        }
+
+        return Optional.empty();
+    }
+
+    private Optional<Gate> claimGateFromDatabase(AircraftType aircraftType) {
+        GateType primaryGateType = GateType.fromAircraftType(aircraftType);
+
+        for (Gate gate : gateRepository.findAvailableGatesByType(primaryGateType)) {
+            Optional<Gate> claimedGate = claimGateInDatabase(gate.getId(), GateStatus.FREE);
+            if (claimedGate.isPresent()) {
+                return claimedGate;
+            }
+        }
+
+        if (aircraftType != AircraftType.NARROW_BODY && aircraftType != AircraftType.WIDE_BODY) {
+            return Optional.empty();
+        }
+
+        for (Gate gate : gateRepository.findAllAvailableGatesOrderByTypeDesc()) {
+            if (aircraftType.isCompatibleWith(gate.getGateType())) {
+                Optional<Gate> claimedGate = claimGateInDatabase(gate.getId(), gate.getStatus());
+                if (claimedGate.isPresent()) {
+                    return claimedGate;
+                }
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    private Optional<Gate> claimGateInDatabase(Long gateId, GateStatus expectedStatus) {
+        int updated = gateRepository.compareAndSetStatus(gateId, expectedStatus, GateStatus.ASSIGNED);
+        if (updated == 0) {
+            return Optional.empty();
+        }
+
+        Gate gate = gateRepository.findById(gateId)
+                .orElseThrow(() -> new GateNotFoundException(gateId));
+        // El UPDATE masivo no toca el contexto de persistencia; se alinea la entidad cargada
+        gate.assign();
+        return Optional.of(gate);
+    }
+
+    private void releaseOnRollback(GateType gateType, Long gateId, boolean reserved) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    gateIndex.release(gateType, gateId, reserved);
+                    logger.info("Gate {} claim rolled back, returned to availability index", gateId);
+                }
+            }
+        });
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
     private Optional<Gate> findLargerCompatibleGate(AircraftType aircraftType) {
         List<Gate> allAvailableGates = gateRepository.findAllAvailableGatesOrderByTypeDesc();
 
@@ -85,6 +446,18 @@ public class GateAvailabilityService {
     @Transactional(readOnly = true)
     public boolean hasAvailableGate(AircraftType aircraftType) {
         GateType gateType = GateType.fromAircraftType(aircraftType);
+
+        if (isIndexActive()) {
+            boolean available = gateIndex.hasFreeGate(gateType);
+            if (!available && (aircraftType == AircraftType.NARROW_BODY || aircraftType == AircraftType.WIDE_BODY)) {
+                available = FALLBACK_GATE_TYPE_ORDER.stream()
+                        .filter(aircraftType::isCompatibleWith)
+                        .anyMatch(type -> gateIndex.hasFreeGate(type) || gateIndex.hasReservedGate(type));
+            }
+            logger.debug("Gate availability for {}: {}", aircraftType, available);
+            return available;
+        }
+
         boolean available = gateRepository.existsAvailableGateByType(gateType);
 
         if (!available && (aircraftType == AircraftType.NARROW_BODY || aircraftType == AircraftType.WIDE_BODY)) {
@@ -97,11 +470,17 @@ public class GateAvailabilityService {
 
     @Transactional(readOnly = true)
     public int getAvailableGatesCount() {
+        if (isIndexActive()) {
+            return gateIndex.countFreeGates();
+        }
         return (int) gateRepository.countByStatus(GateStatus.FREE);
     }
 
     @Transactional(readOnly = true)
     public int getAvailableGatesCountByType(GateType gateType) {
+        if (isIndexActive()) {
+            return gateIndex.countFreeGates(gateType);
+        }
         return (int) gateRepository.countAvailableByType(gateType);
     }
 
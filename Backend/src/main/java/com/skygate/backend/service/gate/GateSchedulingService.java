@@ -0,0 +1,367 @@
+package com.skygate.backend.service.gate;
+
+import com.skygate.backend.event.EntityChangedEvent;
+import com.skygate.backend.exception.FlightNotFoundException;
+import com.skygate.backend.exception.InvalidFlightDataException;
+import com.skygate.backend.exception.NoAvailableGateException;
+import com.skygate.backend.model.entity.Assignment;
+import com.skygate.backend.model.entity.Flight;
+import com.skygate.backend.model.entity.Gate;
+import com.skygate.backend.model.entity.GateReservation;
+import com.skygate.backend.model.enums.AircraftType;
+import com.skygate.backend.model.enums.GateStatus;
+import com.skygate.backend.model.enums.GateType;
+import com.skygate.backend.repository.AssignmentRepository;
+import com.skygate.backend.repository.FlightRepository;
+import com.skygate.backend.repository.GateRepository;
+import com.skygate.backend.repository.GateReservationRepository;
+import com.skygate.backend.util.Constants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+// Planificacion de gates por franjas horarias: cada vuelo programado reserva un gate desde su
+// llegada prevista hasta su salida (con los buffers de FlightConstants). Las reservas se guardan
+// en gate_reservations y en GateTimeline; el gate pasa a RESERVED cuando la reserva se acerca.
+@Service
+public class GateSchedulingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GateSchedulingService.class);
+
+    // Tamanos de gate de menor a mayor, independiente del orden de declaracion de GateType
+    private static final List<GateType> GATE_SIZES = List.of(GateType.NARROW_BODY, GateType.WIDE_BODY, GateType.JUMBO);
+
+    private final GateTimeline timeline;
+    private final GateReservationRepository reservationRepository;
+    private final GateRepository gateRepository;
+    private final FlightRepository flightRepository;
+    private final AssignmentRepository assignmentRepository;
+    private final GateAvailabilityService gateAvailabilityService;
+    private final long defaultTurnaroundMinutes;
+    private final long reserveHorizonMinutes;
+
+    public GateSchedulingService(
+            GateTimeline timeline,
+            GateReservationRepository reservationRepository,
+            GateRepository gateRepository,
+            FlightRepository flightRepository,
+            AssignmentRepository assignmentRepository,
+            GateAvailabilityService gateAvailabilityService,
+            @Value("${gate.scheduling.default-turnaround-minutes:90}") long defaultTurnaroundMinutes,
+            @Value("${gate.scheduling.reserve-horizon-minutes:60}") long reserveHorizonMinutes) {
+        this.timeline = timeline;
+        this.reservationRepository = reservationRepository;
+        this.gateRepository = gateRepository;
+        this.flightRepository = flightRepository;
+        this.assignmentRepository = assignmentRepository;
+        this.gateAvailabilityService = gateAvailabilityService;
+        this.defaultTurnaroundMinutes = defaultTurnaroundMinutes;
+        this.reserveHorizonMinutes = reserveHorizonMinutes;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void initializeTimeline() {
+        timeline.clear();
+        for (GateReservation reservation : reservationRepository.findByIsActiveTrue()) {
+            timeline.occupy(reservation.getGate().getId(), reservation.getFlight().getId(),
+                    reservation.getStartTime(), reservation.getEndTime());
+        }
+        for (Assignment assignment : assignmentRepository.findAllActiveWithFlightAndGate()) {
+            recordOccupancy(assignment);
+        }
+        logger.info("Gate timeline initialized with {} bookings", timeline.size());
+    }
+
+    // Las asignaciones reales ocupan el gate desde que se crean hasta la salida del vuelo
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (!(event.getEntity() instanceof Assignment)) {
+            return;
+        }
+        Assignment assignment = (Assignment) event.getEntity();
+        if (assignment.getFlight() == null || assignment.getFlight().getId() == null) {
+            return;
+        }
+        if (event.isRemoved() || !Boolean.TRUE.equals(assignment.getIsActive())) {
+            timeline.release(assignment.getFlight().getId());
+        } else {
+            recordOccupancy(assignment);
+        }
+    }
+
+    @Transactional
+    public GateReservation preassignGate(Long flightId) {
+        Flight flight = flightRepository.findByIdWithAircraft(flightId)
+                .orElseThrow(() -> new FlightNotFoundException(flightId));
+
+        if (!flight.isScheduled()) {
+            throw new IllegalArgumentException("Flight " + flight.getFlightNumber() + " is not a scheduled flight");
+        }
+        if (flight.getScheduledArrival() == null) {
+            throw new InvalidFlightDataException("Scheduled arrival is required to pre-assign a gate", "scheduledArrival");
+        }
+        if (assignmentRepository.findActiveAssignmentByFlightId(flightId).isPresent()) {
+            throw new IllegalArgumentException("Flight " + flight.getFlightNumber() + " already has an active assignment");
+        }
+
+        Optional<GateReservation> existing = reservationRepository.findActiveByFlightId(flightId);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+
+        AircraftType aircraftType = flight.getAircraft().getAircraftType();
+        LocalDateTime start = reservationStart(flight);
+        LocalDateTime end = reservationEnd(flight, flight.getScheduledArrival());
+        boolean imminent = isWithinHorizon(start);
+
+        // Si la reserva empieza dentro del horizonte el gate tiene que estar FREE ya
+        Optional<Gate> gate = bookFirstFreeGate(flight, aircraftType, start, end,
+                candidate -> !imminent || candidate.getStatus() == GateStatus.FREE);
+        if (gate.isEmpty()) {
+            throw new NoAvailableGateException(aircraftType, flight.getFlightNumber());
+        }
+
+        GateReservation reservation = reservationRepository.save(new GateReservation(flight, gate.get(), start, end));
+        if (imminent) {
+            gateAvailabilityService.holdGate(gate.get());
+        }
+
+        logger.info("Flight {} pre-assigned to gate {} for [{}, {})",
+                flight.getFlightNumber(), gate.get().getGateNumber(), start, end);
+        return reservation;
+    }
+
+    @Transactional(readOnly = true)
+    public List<Gate> findFreeGates(AircraftType aircraftType, LocalDateTime from, LocalDateTime to) {
+        if (!to.isAfter(from)) {
+            throw new IllegalArgumentException("Window end must be after its start");
+        }
+        List<Gate> candidates = findCandidateGates(aircraftType);
+        Map<Long, Gate> byId = candidates.stream()
+                .collect(Collectors.toMap(Gate::getId, Function.identity()));
+        return timeline.findFreeGates(candidates.stream().map(Gate::getId).toList(), from, to).stream()
+                .map(byId::get)
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<GateReservation> getActiveReservations() {
+        return reservationRepository.findByIsActiveTrue();
+    }
+
+    // Usado en la confirmacion de tipo (I2): el vuelo titular reclama su gate reservado.
+    // La reserva se consume siempre; si el gate ya no se puede reclamar se sigue con la busqueda normal.
+    @Transactional
+    public Optional<Gate> claimReservedGate(Flight flight) {
+        Optional<GateReservation> reservationOpt = reservationRepository.findActiveByFlightId(flight.getId());
+        if (reservationOpt.isEmpty()) {
+            return Optional.empty();
+        }
+
+        GateReservation reservation = reservationOpt.get();
+        reservation.complete();
+        reservationRepository.save(reservation);
+
+        Gate gate = reservation.getGate();
+        Optional<Gate> claimedGate = Optional.empty();
+        if (flight.getAircraft().getAircraftType().isCompatibleWith(gate.getGateType())) {
+            claimedGate = gateAvailabilityService.claimGate(gate, true)
+                    .or(() -> gateAvailabilityService.claimGate(gate, false));
+        }
+
+        if (claimedGate.isPresent()) {
+            logger.info("Flight {} claimed its reserved gate {}", flight.getFlightNumber(), gate.getGateNumber());
+        } else {
+            logger.warn("Reserved gate {} for flight {} could not be claimed", gate.getGateNumber(), flight.getFlightNumber());
+            releaseReservationBooking(reservation);
+        }
+        return claimedGate;
+    }
+
+    // Pasa a RESERVED los gates cuya reserva entra en el horizonte, reubica las reservas cuyo
+    // gate sigue ocupado y caduca las que ya terminaron sin que el vuelo llegara
+    @Scheduled(
+            fixedDelayString = "${gate.scheduling.promotion-interval-ms:60000}",
+            initialDelayString = "${gate.scheduling.promotion-interval-ms:60000}")
+    @Transactional
+    public void promoteUpcomingReservations() {
+        LocalDateTime now = LocalDateTime.now();
+
+        for (GateReservation reservation : reservationRepository.findActiveStartingBefore(now.plusMinutes(reserveHorizonMinutes))) {
+            Gate gate = reservation.getGate();
+            Flight flight = reservation.getFlight();
+
+            if (!reservation.getEndTime().isAfter(now)) {
+                expireReservation(reservation);
+                continue;
+            }
+
+            if (gate.getStatus() == GateStatus.RESERVED) {
+                continue;
+            }
+            if (gate.getStatus() == GateStatus.FREE && Boolean.TRUE.equals(gate.getIsActive())
+                    && gateAvailabilityService.holdGate(gate).isPresent()) {
+                logger.info("Gate {} reserved for upcoming flight {}", gate.getGateNumber(), flight.getFlightNumber());
+                continue;
+            }
+
+            relocateReservation(reservation, now);
+        }
+    }
+
+    private void relocateReservation(GateReservation reservation, LocalDateTime now) {
+        Flight flight = reservation.getFlight();
+        Gate previousGate = reservation.getGate();
+        LocalDateTime start = reservation.getStartTime().isBefore(now) ? now : reservation.getStartTime();
+
+        Optional<Gate> newGate = bookFirstFreeGate(flight, flight.getAircraft().getAircraftType(), start,
+                reservation.getEndTime(),
+                candidate -> candidate.getStatus() == GateStatus.FREE && !candidate.getId().equals(previousGate.getId()));
+
+        if (newGate.isPresent() && gateAvailabilityService.holdGate(newGate.get()).isPresent()) {
+            reservation.setGate(newGate.get());
+            reservation.setUpdatedAt(LocalDateTime.now());
+            reservationRepository.save(reservation);
+            logger.info("Reservation of flight {} moved from gate {} to gate {}",
+                    flight.getFlightNumber(), previousGate.getGateNumber(), newGate.get().getGateNumber());
+            return;
+        }
+
+        reservation.complete();
+        reservationRepository.save(reservation);
+        releaseAfterCommit(flight.getId());
+        logger.warn("Reservation of flight {} dropped: gate {} is {} and no other gate is free",
+                flight.getFlightNumber(), previousGate.getGateNumber(), previousGate.getStatus());
+    }
+
+    private void expireReservation(GateReservation reservation) {
+        Gate gate = reservation.getGate();
+        reservation.complete();
+        reservationRepository.save(reservation);
+        releaseAfterCommit(reservation.getFlight().getId());
+
+        if (gate.getStatus() == GateStatus.RESERVED) {
+            gateAvailabilityService.releaseHold(gate);
+        }
+        logger.info("Reservation of flight {} on gate {} expired",
+                reservation.getFlight().getFlightNumber(), gate.getGateNumber());
+    }
+
+    // Reserva en el timeline el primer gate compatible libre en la ventana; si la transaccion
+    // se revierte la reserva se retira del timeline
+    private Optional<Gate> bookFirstFreeGate(Flight flight, AircraftType aircraftType,
+                                             LocalDateTime start, LocalDateTime end, Predicate<Gate> eligible) {
+        for (Gate gate : findCandidateGates(aircraftType)) {
+            if (!eligible.test(gate) || !timeline.reserve(gate.getId(), flight.getId(), start, end)) {
+                continue;
+            }
+            releaseOnRollback(flight.getId());
+            return Optional.of(gate);
+        }
+        return Optional.empty();
+    }
+
+    // Gates activos compatibles: primero el tipo exacto y despues los mas pequenos de los mayores
+    private List<Gate> findCandidateGates(AircraftType aircraftType) {
+        return gateRepository.findByIsActiveTrue().stream()
+                .filter(gate -> gate.getStatus() != GateStatus.MAINTENANCE)
+                .filter(gate -> aircraftType.isCompatibleWith(gate.getGateType()))
+                .sorted(candidateOrder(aircraftType))
+                .toList();
+    }
+
+    private static Comparator<Gate> candidateOrder(AircraftType aircraftType) {
+        GateType exactType = GateType.fromAircraftType(aircraftType);
+        return Comparator.comparing((Gate gate) -> gate.getGateType() != exactType)
+                .thenComparing(gate -> GATE_SIZES.indexOf(gate.getGateType()))
+                .thenComparing(Gate::getId);
+    }
+
+    private void recordOccupancy(Assignment assignment) {
+        Flight flight = assignment.getFlight();
+        LocalDateTime start = assignment.getAssignedAt() != null ? assignment.getAssignedAt() : LocalDateTime.now();
+        timeline.occupy(assignment.getGate().getId(), flight.getId(), start, reservationEnd(flight, start));
+    }
+
+    private LocalDateTime reservationStart(Flight flight) {
+        return flight.getScheduledArrival().minusMinutes(Constants.FlightConstants.DEFAULT_ARRIVAL_BUFFER_MINUTES);
+    }
+
+    // Salida programada + buffer; sin salida programada (o anterior a la llegada) se usa el turnaround por defecto
+    private LocalDateTime reservationEnd(Flight flight, LocalDateTime arrival) {
+        LocalDateTime departure = flight.getScheduledDeparture();
+        if (departure == null || !departure.isAfter(arrival)) {
+            departure = arrival.plusMinutes(defaultTurnaroundMinutes);
+        }
+        return departure.plusMinutes(Constants.FlightConstants.DEFAULT_DEPARTURE_BUFFER_MINUTES);
+    }
+
+    private boolean isWithinHorizon(LocalDateTime start) {
+        return !start.isAfter(LocalDateTime.now().plusMinutes(reserveHorizonMinutes));
+    }
+
+    private void releaseOnRollback(Long flightId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    timeline.release(flightId);
+                }
+            }
+        });
+    }
+
+    // Se libera ya (no tras el commit) para no pisar la ocupacion que registre la asignacion
+    // alternativa del mismo vuelo; si la transaccion se revierte la reserva vuelve al timeline
+    private void releaseReservationBooking(GateReservation reservation) {
+        Long flightId = reservation.getFlight().getId();
+        Long gateId = reservation.getGate().getId();
+        LocalDateTime start = reservation.getStartTime();
+        LocalDateTime end = reservation.getEndTime();
+        timeline.release(flightId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    timeline.occupy(gateId, flightId, start, end);
+                }
+            }
+        });
+    }
+
+    private void releaseAfterCommit(Long flightId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            timeline.release(flightId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                timeline.release(flightId);
+            }
+        });
+    }
+}
@@ -1,6 +1,8 @@
 package com.skygate.backend.service.gate;
 
 import com.skygate.backend.event.GateFreedEvent;
+import com.skygate.backend.model.dto.response.CursorPageDTO;
+import com.skygate.backend.model.dto.response.GateResponseDTO;
 import com.skygate.backend.model.entity.Gate;
 import com.skygate.backend.model.enums.GateStatus;
 import com.skygate.backend.model.enums.GateType;
@@ -10,6 +12,7 @@ import com.skygate.backend.exception.GateAlreadyOccupiedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
@@ -22,10 +25,15 @@ public class GateService {
 
     private final GateRepository gateRepository;
     private final ApplicationEventPublisher eventPublisher;
+    private final GateAvailabilityService gateAvailabilityService;
 
-    public GateService(GateRepository gateRepository, ApplicationEventPublisher eventPublisher) {
+    public GateService(
+            GateRepository gateRepository,
+            ApplicationEventPublisher eventPublisher,
+            GateAvailabilityService gateAvailabilityService) {
         this.gateRepository = gateRepository;
         this.eventPublisher = eventPublisher;
+        this.gateAvailabilityService = gateAvailabilityService;
     }
 
     @Transactional
@@ -42,6 +50,7 @@ public class GateService {
         gate.setUpdatedAt(LocalDateTime.now());
 
         Gate savedGate = gateRepository.save(gate);
+        gateAvailabilityService.refreshGate(savedGate);
         logger.info("Gate created successfully: {}", savedGate.getGateNumber());
 
         return savedGate;
@@ -73,6 +82,15 @@ public class GateService {
         return gateRepository.findByIsActiveTrue();
     }
 
+    @Transactional(readOnly = true)
+    public CursorPageDTO<GateResponseDTO> getGatePage(Long afterId, int limit, boolean activeOnly) {
+        long cursor = afterId != null ? afterId : 0L;
+        List<GateResponseDTO> rows = activeOnly
+                ? gateRepository.findActivePageAfter(cursor, Limit.of(limit + 1))
+                : gateRepository.findPageAfter(cursor, Limit.of(limit + 1));
+        return CursorPageDTO.of(rows, limit, GateResponseDTO::getId);
+    }
+
     @Transactional(readOnly = true)
     public List<Gate> getGatesByStatus(GateStatus status) {
         logger.debug("Fetching gates by status: {}", status);
@@ -123,6 +141,7 @@ public class GateService {
         gate.setUpdatedAt(LocalDateTime.now());
 
         Gate updatedGate = gateRepository.save(gate);
+        gateAvailabilityService.refreshGate(updatedGate);
         logger.info("Gate updated successfully: {}", updatedGate.getGateNumber());
 
         return updatedGate;
@@ -143,6 +162,7 @@ public class GateService {
         gate.setUpdatedAt(LocalDateTime.now());
 
         Gate updatedGate = gateRepository.save(gate);
+        gateAvailabilityService.refreshGate(updatedGate);
         logger.info("Gate status updated: {} -> {}", gate.getGateNumber(), newStatus);
 
         if (newStatus == GateStatus.FREE && previousStatus != GateStatus.FREE) {
@@ -203,6 +223,7 @@ public class GateService {
         gate.setUpdatedAt(LocalDateTime.now());
 
         gateRepository.save(gate);
+        gateAvailabilityService.refreshGate(gate);
         logger.info("Gate deactivated: {}", gate.getGateNumber());
     }
 
@@ -215,6 +236,7 @@ public class GateService {
         gate.setUpdatedAt(LocalDateTime.now());
 
         gateRepository.save(gate);
+        gateAvailabilityService.refreshGate(gate);
         logger.info("Gate activated: {}", gate.getGateNumber());
     }
 
@@ -229,6 +251,7 @@ public class GateService {
         }
 
         gateRepository.delete(gate);
+        gateAvailabilityService.evictGate(gateId);
         logger.info("Gate deleted: {}", gate.getGateNumber());
     }
 
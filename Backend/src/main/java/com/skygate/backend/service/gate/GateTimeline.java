@@ -0,0 +1,132 @@
+package com.skygate.backend.service.gate;
+
+import org.springframework.stereotype.Component;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Linea de tiempo de cada gate: un IntervalTree por gate con las ventanas [inicio, fin) ocupadas
+// por vuelo (reservas de vuelos programados y asignaciones en curso). Cada vuelo tiene como
+// mucho una ventana. Los instantes se comparan como segundos de LocalDateTime.
+@Component
+public class GateTimeline {
+
+    private final Map<Long, IntervalTree> gateTrees = new HashMap<>();
+    private final Map<Long, Booking> bookingsByFlight = new HashMap<>();
+
+    public synchronized boolean isFree(Long gateId, LocalDateTime start, LocalDateTime end) {
+        IntervalTree tree = gateTrees.get(gateId);
+        return tree == null || !tree.overlapsAny(seconds(start), seconds(end));
+    }
+
+    // Conserva el orden de gateIds, que ya viene priorizado por el llamador
+    public synchronized List<Long> findFreeGates(Collection<Long> gateIds, LocalDateTime start, LocalDateTime end) {
+        long from = seconds(start);
+        long to = seconds(end);
+        List<Long> free = new ArrayList<>();
+        for (Long gateId : gateIds) {
+            IntervalTree tree = gateTrees.get(gateId);
+            if (tree == null || !tree.overlapsAny(from, to)) {
+                free.add(gateId);
+            }
+        }
+        return free;
+    }
+
+    // Reserva solo si la ventana esta libre; sustituye la ventana anterior del vuelo
+    public synchronized boolean reserve(Long gateId, Long flightId, LocalDateTime start, LocalDateTime end) {
+        Booking previous = bookingsByFlight.get(flightId);
+        if (previous != null) {
+            removeBooking(flightId, previous);
+        }
+        if (!isFree(gateId, start, end)) {
+            if (previous != null) {
+                addBooking(flightId, previous);
+            }
+            return false;
+        }
+        addBooking(flightId, new Booking(gateId, seconds(start), seconds(end)));
+        return true;
+    }
+
+    // Ocupacion real (vuelo ya asignado): se registra aunque pise reservas de otros vuelos,
+    // que quedan como conflictos para reubicarlas
+    public synchronized void occupy(Long gateId, Long flightId, LocalDateTime start, LocalDateTime end) {
+        Booking previous = bookingsByFlight.get(flightId);
+        if (previous != null) {
+            removeBooking(flightId, previous);
+        }
+        addBooking(flightId, new Booking(gateId, seconds(start), seconds(end)));
+    }
+
+    public synchronized boolean release(Long flightId) {
+        Booking booking = bookingsByFlight.get(flightId);
+        if (booking == null) {
+            return false;
+        }
+        removeBooking(flightId, booking);
+        return true;
+    }
+
+    // Vuelos cuya ventana en el gate solapa con [start, end), excluyendo al propio vuelo
+    public synchronized List<Long> findConflicts(Long gateId, Long flightId, LocalDateTime start, LocalDateTime end) {
+        IntervalTree tree = gateTrees.get(gateId);
+        List<Long> conflicts = new ArrayList<>();
+        if (tree == null) {
+            return conflicts;
+        }
+        for (long[] interval : tree.overlaps(seconds(start), seconds(end))) {
+            if (flightId == null || interval[0] != flightId) {
+                conflicts.add(interval[0]);
+            }
+        }
+        return conflicts;
+    }
+
+    public synchronized Long getBookedGate(Long flightId) {
+        Booking booking = bookingsByFlight.get(flightId);
+        return booking != null ? booking.gateId : null;
+    }
+
+    public synchronized int size() {
+        return bookingsByFlight.size();
+    }
+
+    public synchronized void clear() {
+        gateTrees.clear();
+        bookingsByFlight.clear();
+    }
+
+    private void addBooking(Long flightId, Booking booking) {
+        gateTrees.computeIfAbsent(booking.gateId, id -> new IntervalTree()).insert(flightId, booking.start, booking.end);
+        bookingsByFlight.put(flightId, booking);
+    }
+
+    private void removeBooking(Long flightId, Booking booking) {
+        IntervalTree tree = gateTrees.get(booking.gateId);
+        if (tree != null) {
+            tree.remove(flightId, booking.start);
+        }
+        bookingsByFlight.remove(flightId);
+    }
+
+    private static long seconds(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static final class Booking {
+        private final Long gateId;
+        private final long start;
+        private final long end;
+
+        private Booking(Long gateId, long start, long end) {
+            this.gateId = gateId;
+            this.start = start;
+            this.end = end;
+        }
+    }
+}
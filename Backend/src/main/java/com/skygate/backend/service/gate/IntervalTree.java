@@ -0,0 +1,187 @@
+package com.skygate.backend.service.gate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Arbol de intervalos semiabiertos [start, end) sobre un AVL ordenado por (start, id) y aumentado
+// con el maximo end de cada subarbol. Insertar, borrar y saber si algo solapa con [from, to)
+// cuesta O(log n); listar los k solapes cuesta O(log n + k). Admite intervalos solapados.
+final class IntervalTree {
+
+    private Node root;
+    private int size;
+
+    void insert(long id, long start, long end) {
+        root = insert(root, new Node(id, start, end));
+        size++;
+    }
+
+    boolean remove(long id, long start) {
+        int before = size;
+        root = remove(root, id, start);
+        return size < before;
+    }
+
+    boolean overlapsAny(long from, long to) {
+        Node node = root;
+        while (node != null) {
+            if (node.start < to && from < node.end) {
+                return true;
+            }
+            // Si el subarbol izquierdo puede contener un solape se baja por el: si no lo contiene,
+            // tampoco lo contiene el derecho (sus start son mayores y el izquierdo ya alcanzaba from)
+            if (node.left != null && node.left.maxEnd > from) {
+                node = node.left;
+            } else {
+                node = node.start < to ? node.right : null;
+            }
+        }
+        return false;
+    }
+
+    List<long[]> overlaps(long from, long to) {
+        List<long[]> result = new ArrayList<>();
+        collect(root, from, to, result);
+        return result;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private static void collect(Node node, long from, long to, List<long[]> result) {
+        if (node == null || node.maxEnd <= from) {
+            return;
+        }
+        collect(node.left, from, to, result);
+        if (node.start < to && from < node.end) {
+            result.add(new long[]{node.id, node.start, node.end});
+        }
+        if (node.start < to) {
+            collect(node.right, from, to, result);
+        }
+    }
+
+    private static int compare(long startA, long idA, long startB, long idB) {
+        int byStart = Long.compare(startA, startB);
+        return byStart != 0 ? byStart : Long.compare(idA, idB);
+    }
+
+    private static Node insert(Node node, Node inserted) {
+        if (node == null) {
+            return inserted;
+        }
+        if (compare(inserted.start, inserted.id, node.start, node.id) < 0) {
+            node.left = insert(node.left, inserted);
+        } else {
+            node.right = insert(node.right, inserted);
+        }
+        return rebalance(node);
+    }
+
+    private Node remove(Node node, long id, long start) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(start, id, node.start, node.id);
+        if (cmp < 0) {
+            node.left = remove(node.left, id, start);
+        } else if (cmp > 0) {
+            node.right = remove(node.right, id, start);
+        } else {
+            size--;
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            node.right = removeMin(node.right);
+            successor.right = node.right;
+            successor.left = node.left;
+            return rebalance(successor);
+        }
+        return rebalance(node);
+    }
+
+    private static Node removeMin(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = removeMin(node.left);
+        return rebalance(node);
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        long maxEnd = node.end;
+        if (node.left != null) {
+            maxEnd = Math.max(maxEnd, node.left.maxEnd);
+        }
+        if (node.right != null) {
+            maxEnd = Math.max(maxEnd, node.right.maxEnd);
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static Node rebalance(Node node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static final class Node {
+        private final long id;
+        private final long start;
+        private final long end;
+        private long maxEnd;
+        private int height = 1;
+        private Node left;
+        private Node right;
+
+        private Node(long id, long start, long end) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+            this.maxEnd = end;
+        }
+    }
+}
@@ -24,7 +24,7 @@ public class HardwareService {
         }
     }
 
-    public void activateLeds(Long gateId, String gateNumber, String color) {
+    public boolean activateLeds(Long gateId, String gateNumber, String color) {
         logger.info("Activating LEDs for gate {}: Color {}", gateNumber, color);
 
         if (mqttPublisher.isPresent()) {
@@ -35,14 +35,16 @@ public class HardwareService {
             payload.put("color", color);
             payload.put("timestamp", System.currentTimeMillis());
 
-            mqttPublisher.get().publishLedControl(payload);
+            boolean sent = mqttPublisher.get().publishLedControl(payload);
             logger.info("LED activation command sent via MQTT for gate {}", gateNumber);
+            return sent;
         } else {
             logger.info("MQTT not available - LED activation simulated for gate {}", gateNumber);
+            return true;
         }
     }
 
-    public void deactivateLeds(Long gateId, String gateNumber) {
+    public boolean deactivateLeds(Long gateId, String gateNumber) {
         logger.info("Deactivating LEDs for gate {}", gateNumber);
 
         if (mqttPublisher.isPresent()) {
@@ -52,14 +54,16 @@ public class HardwareService {
             payload.put("gateNumber", gateNumber);
             payload.put("timestamp", System.currentTimeMillis());
 
-            mqttPublisher.get().publishLedControl(payload);
+            boolean sent = mqttPublisher.get().publishLedControl(payload);
             logger.info("LED deactivation command sent via MQTT for gate {}", gateNumber);
+            return sent;
         } else {
             logger.info("MQTT not available - LED deactivation simulated for gate {}", gateNumber);
+            return true;
         }
     }
 
-    public void sendGateAssignmentNotification(Long gateId, String gateNumber, Long flightId, String flightNumber) {
+    public boolean sendGateAssignmentNotification(Long gateId, String gateNumber, Long flightId, String flightNumber) {
         logger.info("Sending gate assignment notification: Flight {} -> Gate {}", flightNumber, gateNumber);
 
         if (mqttPublisher.isPresent()) {
@@ -71,14 +75,16 @@ public class HardwareService {
             payload.put("flightNumber", flightNumber);
             payload.put("timestamp", System.currentTimeMillis());
 
-            mqttPublisher.get().publishGateAssignment(payload);
+            boolean sent = mqttPublisher.get().publishGateAssignment(payload);
             logger.info("Gate assignment notification sent via MQTT");
+            return sent;
         } else {
             logger.info("MQTT not available - Gate assignment notification simulated");
+            return true;
         }
     }
 
-    public void updateDisplayScreen(String gateNumber, String flightNumber, String status) {
+    public boolean updateDisplayScreen(String gateNumber, String flightNumber, String status) {
         logger.info("Updating display screen for gate {}: Flight {} - Status {}", gateNumber, flightNumber, status);
 
         if (mqttPublisher.isPresent()) {
@@ -89,14 +95,21 @@ public class HardwareService {
             payload.put("status", status);
             payload.put("timestamp", System.currentTimeMillis());
 
-            mqttPublisher.get().publishMessage("skygate/display/update", payload);
+            boolean sent = mqttPublisher.get().publishMessage("skygate/display/update", payload);
             logger.info("Display update command sent via MQTT");
+            return sent;
         } else {
             logger.info("MQTT not available - Display update simulated");
+            return true;
         }
     }
 
     public boolean isMqttAvailable() {
         return mqttPublisher.isPresent();
     }
+
+    // Sin MQTT los efectos se simulan, asi que el destino siempre esta disponible
+    public boolean isBrokerConnected() {
+        return mqttPublisher.map(MqttPublisher::isConnected).orElse(true);
+    }
 }
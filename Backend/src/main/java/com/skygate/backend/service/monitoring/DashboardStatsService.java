@@ -0,0 +1,206 @@
+package com.skygate.backend.service.monitoring;
+
+import com.skygate.backend.event.EntityChangedEvent;
+import com.skygate.backend.model.entity.Assignment;
+import com.skygate.backend.model.entity.Flight;
+import com.skygate.backend.model.entity.Gate;
+import com.skygate.backend.model.enums.AutomataState;
+import com.skygate.backend.model.enums.FlightStatus;
+import com.skygate.backend.model.enums.GateStatus;
+import com.skygate.backend.repository.AssignmentRepository;
+import com.skygate.backend.repository.FlightRepository;
+import com.skygate.backend.repository.GateRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Contadores del dashboard mantenidos en memoria. Se actualizan con cada EntityChangedEvent
+// confirmado y se reconcilian periodicamente contra la BD, de modo que las consultas de
+// monitorizacion no tocan la base de datos.
+@Service
+public class DashboardStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardStatsService.class);
+
+    private static final List<AutomataState> ACTIVE_STATES = List.of(
+            AutomataState.S1, AutomataState.S2, AutomataState.S3, AutomataState.S4, AutomataState.S5);
+
+    private final GateRepository gateRepository;
+    private final FlightRepository flightRepository;
+    private final AssignmentRepository assignmentRepository;
+
+    // Clave null para gates inactivos: cuentan en el total pero no por estado
+    private final StatusTally<GateStatus> gates = new StatusTally<>();
+    private final StatusTally<FlightStatus> flightStatuses = new StatusTally<>();
+    private final StatusTally<AutomataState> automataStates = new StatusTally<>();
+    // Solo asignaciones activas; la clave indica si el LED esta encendido
+    private final StatusTally<Boolean> activeAssignments = new StatusTally<>();
+
+    private final Counter driftCounter;
+
+    public DashboardStatsService(
+            @Lazy GateRepository gateRepository,
+            @Lazy FlightRepository flightRepository,
+            @Lazy AssignmentRepository assignmentRepository,
+            MeterRegistry meterRegistry) {
+        this.gateRepository = gateRepository;
+        this.flightRepository = flightRepository;
+        this.assignmentRepository = assignmentRepository;
+        this.driftCounter = Counter.builder("skygate.dashboard.stats.drift")
+                .description("Entradas corregidas por la reconciliacion de las estadisticas del dashboard")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void initializeStats() {
+        reconcileAll();
+        logger.info("Dashboard stats initialized: {} gates, {} flights, {} active assignments",
+                getTotalGates(), getTotalFlights(), getActiveAssignments());
+    }
+
+    @Scheduled(fixedDelayString = "${monitoring.stats.reconciliation-interval-ms:300000}",
+            initialDelayString = "${monitoring.stats.reconciliation-interval-ms:300000}")
+    @Transactional(readOnly = true)
+    public void reconcileStats() {
+        int drift = reconcileAll();
+        if (drift > 0) {
+            driftCounter.increment(drift);
+            logger.warn("Dashboard stats reconciliation corrected {} entries", drift);
+        } else {
+            logger.debug("Dashboard stats reconciliation found no drift");
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        Object entity = event.getEntity();
+        if (entity instanceof Gate) {
+            gateChanged((Gate) entity, event.isRemoved());
+        } else if (entity instanceof Flight) {
+            flightChanged((Flight) entity, event.isRemoved());
+        } else if (entity instanceof Assignment) {
+            assignmentChanged((Assignment) entity, event.isRemoved());
+        }
+    }
+
+    public long getTotalGates() {
+        return gates.size();
+    }
+
+    public long getOnlineGates() {
+        return gates.size() - gates.count(null);
+    }
+
+    public long countGatesByStatus(GateStatus status) {
+        return gates.count(status);
+    }
+
+    public long getTotalFlights() {
+        return flightStatuses.size();
+    }
+
+    public long getActiveFlights() {
+        long active = 0;
+        for (AutomataState state : ACTIVE_STATES) {
+            active += automataStates.count(state);
+        }
+        return active;
+    }
+
+    public long countFlightsByStatus(FlightStatus status) {
+        return flightStatuses.count(status);
+    }
+
+    public long countFlightsByAutomataState(AutomataState state) {
+        return automataStates.count(state);
+    }
+
+    public long getActiveAssignments() {
+        return activeAssignments.size();
+    }
+
+    public long getActiveAssignmentsWithLedsOn() {
+        return activeAssignments.count(Boolean.TRUE);
+    }
+
+    private void gateChanged(Gate gate, boolean removed) {
+        if (gate.getId() == null) {
+            return;
+        }
+        if (removed) {
+            gates.remove(gate.getId());
+        } else {
+            gates.put(gate.getId(), gateKey(gate.getStatus(), gate.getIsActive()));
+        }
+    }
+
+    private void flightChanged(Flight flight, boolean removed) {
+        if (flight.getId() == null) {
+            return;
+        }
+        if (removed) {
+            flightStatuses.remove(flight.getId());
+            automataStates.remove(flight.getId());
+        } else {
+            flightStatuses.put(flight.getId(), flight.getStatus());
+            automataStates.put(flight.getId(), flight.getAutomataState());
+        }
+    }
+
+    private void assignmentChanged(Assignment assignment, boolean removed) {
+        if (assignment.getId() == null) {
+            return;
+        }
+        if (removed || !Boolean.TRUE.equals(assignment.getIsActive())) {
+            activeAssignments.remove(assignment.getId());
+        } else {
+            activeAssignments.put(assignment.getId(), Boolean.TRUE.equals(assignment.getLedActivated()));
+        }
+    }
+
+    // Las marcas se toman antes de leer: los cambios aplicados mientras tanto no se pisan
+    private int reconcileAll() {
+        long gateMark = gates.mark();
+        long flightStatusMark = flightStatuses.mark();
+        long automataMark = automataStates.mark();
+        long assignmentMark = activeAssignments.mark();
+
+        Map<Long, GateStatus> gateRows = new HashMap<>();
+        for (Object[] row : gateRepository.findAllStatusRows()) {
+            gateRows.put((Long) row[0], gateKey((GateStatus) row[1], (Boolean) row[2]));
+        }
+
+        Map<Long, FlightStatus> flightStatusRows = new HashMap<>();
+        Map<Long, AutomataState> automataRows = new HashMap<>();
+        for (Object[] row : flightRepository.findAllStatusRows()) {
+            flightStatusRows.put((Long) row[0], (FlightStatus) row[1]);
+            automataRows.put((Long) row[0], (AutomataState) row[2]);
+        }
+
+        Map<Long, Boolean> assignmentRows = new HashMap<>();
+        for (Object[] row : assignmentRepository.findActiveLedRows()) {
+            assignmentRows.put((Long) row[0], Boolean.TRUE.equals(row[1]));
+        }
+
+        return gates.reconcile(gateRows, gateMark)
+                + flightStatuses.reconcile(flightStatusRows, flightStatusMark)
+                + automataStates.reconcile(automataRows, automataMark)
+                + activeAssignments.reconcile(assignmentRows, assignmentMark);
+    }
+
+    private static GateStatus gateKey(GateStatus status, Boolean active) {
+        return Boolean.TRUE.equals(active) ? status : null;
+    }
+}
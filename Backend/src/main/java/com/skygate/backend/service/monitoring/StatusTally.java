@@ -0,0 +1,101 @@
+package com.skygate.backend.service.monitoring;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+
+// Ultima clave conocida de cada entidad (estado, estado del automata...) mas el numero de
+// entidades por clave. Cada cambio recibe una secuencia creciente para que una reconciliacion
+// contra la BD no pise cambios aplicados despues de empezar a leer.
+final class StatusTally<K> {
+
+    private final Map<Long, Tracked<K>> entries = new HashMap<>();
+    private final Map<K, Long> counts = new HashMap<>();
+    // Borrados recientes, para no resucitar entidades que la lectura de la BD aun veia
+    private final Map<Long, Long> removals = new HashMap<>();
+    private long sequence;
+
+    synchronized void put(Long id, K key) {
+        Tracked<K> previous = entries.put(id, new Tracked<>(key, ++sequence));
+        if (previous != null) {
+            decrement(previous.key);
+        }
+        increment(key);
+        removals.remove(id);
+    }
+
+    synchronized void remove(Long id) {
+        Tracked<K> previous = entries.remove(id);
+        if (previous != null) {
+            decrement(previous.key);
+        }
+        removals.put(id, ++sequence);
+    }
+
+    synchronized long count(K key) {
+        return counts.getOrDefault(key, 0L);
+    }
+
+    synchronized long size() {
+        return entries.size();
+    }
+
+    // Marca a tomar antes de consultar la BD y pasar a reconcile
+    synchronized long mark() {
+        return sequence;
+    }
+
+    // Sustituye el estado por el leido de la BD salvo las entidades tocadas despues de la marca.
+    // Devuelve cuantas entradas estaban desalineadas.
+    synchronized int reconcile(Map<Long, K> actual, long mark) {
+        int drift = 0;
+
+        for (Map.Entry<Long, K> row : actual.entrySet()) {
+            Long id = row.getKey();
+            Tracked<K> current = entries.get(id);
+            if ((current != null && current.sequence > mark) || removals.getOrDefault(id, 0L) > mark) {
+                continue;
+            }
+            if (current == null || !Objects.equals(current.key, row.getValue())) {
+                entries.put(id, new Tracked<>(row.getValue(), current != null ? current.sequence : mark));
+                if (current != null) {
+                    decrement(current.key);
+                }
+                increment(row.getValue());
+                drift++;
+            }
+        }
+
+        Iterator<Map.Entry<Long, Tracked<K>>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Long, Tracked<K>> entry = iterator.next();
+            if (entry.getValue().sequence <= mark && !actual.containsKey(entry.getKey())) {
+                decrement(entry.getValue().key);
+                iterator.remove();
+                drift++;
+            }
+        }
+
+        removals.values().removeIf(removedAt -> removedAt <= mark);
+        return drift;
+    }
+
+    private void increment(K key) {
+        counts.merge(key, 1L, Long::sum);
+    }
+
+    private void decrement(K key) {
+        counts.computeIfPresent(key, (k, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private static final class Tracked<K> {
+        private final K key;
+        private final long sequence;
+
+        private Tracked(K key, long sequence) {
+            this.key = key;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package com.skygate.backend.service.outbox;
+
+import com.skygate.backend.service.hardware.HardwareService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+// Outbox en memoria para los efectos externos del automata (LEDs y pantallas por MQTT,
+// notificaciones WebSocket). Dentro de una transaccion los efectos se acumulan y solo se
+// entregan tras el commit; si la transaccion se revierte se descartan. Cada canal tiene su
+// propia cola y su propio relay, asi que una caida del broker MQTT no retrasa el WebSocket.
+// Encolar nunca bloquea: con la cola llena el efecto se descarta y se cuenta como dropped.
+@Component
+public class SideEffectOutbox {
+
+    private static final Logger logger = LoggerFactory.getLogger(SideEffectOutbox.class);
+
+    private static final long POLL_TIMEOUT_MS = 100L;
+    private static final long SHUTDOWN_TIMEOUT_MS = 10000L;
+
+    public enum Channel {
+        WEBSOCKET,
+        MQTT
+    }
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+    private final Map<Channel, Lane> lanes = new EnumMap<>(Channel.class);
+
+    private final Meter.MeterProvider<Counter> effectCounter;
+
+    private volatile boolean running;
+
+    @Autowired
+    public SideEffectOutbox(
+            MeterRegistry meterRegistry,
+            HardwareService hardwareService,
+            @Value("${outbox.enabled:true}") boolean enabled,
+            @Value("${outbox.queue-capacity:10000}") int queueCapacity,
+            @Value("${outbox.batch-size:100}") int batchSize,
+            @Value("${outbox.max-attempts:5}") int maxAttempts,
+            @Value("${outbox.retry-backoff-ms:500}") long retryBackoffMs) {
+        this(meterRegistry, hardwareService::isBrokerConnected, enabled, queueCapacity, batchSize, maxAttempts,
+                retryBackoffMs);
+    }
+
+    // brokerAvailable decide si merece la pena intentar un efecto MQTT; sin broker se falla al momento
+    SideEffectOutbox(
+            MeterRegistry meterRegistry,
+            BooleanSupplier brokerAvailable,
+            boolean enabled,
+            int queueCapacity,
+            int batchSize,
+            int maxAttempts,
+            long retryBackoffMs) {
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoffMs = Math.max(0, retryBackoffMs);
+        this.lanes.put(Channel.WEBSOCKET, new Lane(Channel.WEBSOCKET, queueCapacity, () -> true));
+        this.lanes.put(Channel.MQTT, new Lane(Channel.MQTT, queueCapacity, brokerAvailable));
+
+        for (Lane lane : lanes.values()) {
+            Gauge.builder("skygate.outbox.pending", lane.queue, BlockingQueue::size)
+                    .description("Efectos confirmados pendientes de despachar")
+                    .tag("channel", lane.channel.name().toLowerCase())
+                    .register(meterRegistry);
+        }
+        this.effectCounter = Counter.builder("skygate.outbox.effects")
+                .description("Efectos externos por tipo y resultado")
+                .withRegistry(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            logger.info("Side effect outbox disabled, effects run on the caller thread");
+            return;
+        }
+        running = true;
+        for (Lane lane : lanes.values()) {
+            lane.relay = new Thread(() -> relayLoop(lane), "skygate-outbox-" + lane.channel.name().toLowerCase());
+            lane.relay.setDaemon(true);
+            lane.relay.start();
+        }
+        logger.info("Side effect outbox started: capacity={} per channel, batchSize={}, maxAttempts={}",
+                lanes.get(Channel.MQTT).queue.remainingCapacity(), batchSize, maxAttempts);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        long deadline = System.currentTimeMillis() + SHUTDOWN_TIMEOUT_MS;
+        for (Lane lane : lanes.values()) {
+            if (lane.relay == null) {
+                continue;
+            }
+            try {
+                lane.relay.join(Math.max(1, deadline - System.currentTimeMillis()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (!lane.queue.isEmpty()) {
+                logger.warn("Side effect outbox stopped with {} {} effects pending", lane.queue.size(), lane.channel);
+            }
+        }
+    }
+
+    // La accion devuelve false si el efecto no llego a su destino y puede reintentarse; si lanza
+    // una excepcion el fallo es permanente (p. ej. un payload que no se puede serializar)
+    public void record(Channel channel, String type, BooleanSupplier action) {
+        SideEffect effect = new SideEffect(type, action);
+        Lane lane = lanes.get(channel);
+
+        if (!enabled) {
+            if (lane.available.getAsBoolean()) {
+                dispatch(effect);
+            } else {
+                countUnavailable(lane, effect);
+            }
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(lane, effect);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    enqueue(lane, effect);
+                } else {
+                    effectCounter.withTags("type", effect.type, "outcome", "discarded").increment();
+                    logger.debug("Transaction rolled back, discarded side effect {}", effect.type);
+                }
+            }
+        });
+    }
+
+    public int getPendingCount() {
+        return lanes.values().stream().mapToInt(lane -> lane.queue.size()).sum();
+    }
+
+    // Se ejecuta en afterCompletion del hilo que confirma: nunca debe bloquearlo
+    private void enqueue(Lane lane, SideEffect effect) {
+        if (!running) {
+            dispatch(effect);
+            return;
+        }
+        if (!lane.queue.offer(effect)) {
+            effectCounter.withTags("type", effect.type, "outcome", "dropped").increment();
+            logger.warn("Side effect outbox {} queue full, dropped {}", lane.channel, effect.type);
+        }
+    }
+
+    private void relayLoop(Lane lane) {
+        List<SideEffect> batch = new ArrayList<>(batchSize);
+
+        while (running || !lane.queue.isEmpty()) {
+            try {
+                SideEffect first = lane.queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                lane.queue.drainTo(batch, batchSize - 1);
+                for (SideEffect effect : batch) {
+                    dispatchWithRetry(lane, effect);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.error("Unexpected error in side effect outbox relay: {}", e.getMessage(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // El reintento bloquea solo a su canal: un LED rojo nunca adelanta al verde que le precede.
+    // Sin destino disponible no se intenta (ni se reconecta) y el efecto se da por perdido
+    private void dispatchWithRetry(Lane lane, SideEffect effect) throws InterruptedException {
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            if (!lane.available.getAsBoolean()) {
+                countUnavailable(lane, effect);
+                return;
+            }
+            Outcome outcome = dispatch(effect);
+            if (outcome != Outcome.RETRY) {
+                return;
+            }
+            if (attempt < maxAttempts) {
+                effectCounter.withTags("type", effect.type, "outcome", "retried").increment();
+                Thread.sleep(retryBackoffMs * attempt);
+            }
+        }
+        logger.error("Side effect {} failed after {} attempts, giving up", effect.type, maxAttempts);
+    }
+
+    private Outcome dispatch(SideEffect effect) {
+        Outcome outcome;
+        try {
+            outcome = effect.action.getAsBoolean() ? Outcome.DELIVERED : Outcome.RETRY;
+        } catch (Exception e) {
+            logger.error("Side effect {} failed permanently: {}", effect.type, e.getMessage(), e);
+            outcome = Outcome.REJECTED;
+        }
+        effectCounter.withTags("type", effect.type, "outcome", outcome.tag).increment();
+        return outcome;
+    }
+
+    private void countUnavailable(Lane lane, SideEffect effect) {
+        effectCounter.withTags("type", effect.type, "outcome", "unavailable").increment();
+        logger.debug("{} unavailable, skipped side effect {}", lane.channel, effect.type);
+    }
+
+    private enum Outcome {
+        DELIVERED("dispatched"),
+        RETRY("failed"),
+        REJECTED("rejected");
+
+        private final String tag;
+
+        Outcome(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private static final class Lane {
+        private final Channel channel;
+        private final BlockingQueue<SideEffect> queue;
+        private final BooleanSupplier available;
+        private Thread relay;
+
+        private Lane(Channel channel, int capacity, BooleanSupplier available) {
+            this.channel = channel;
+            this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+            this.available = available;
+        }
+    }
+
+    private static final class SideEffect {
+        private final String type;
+        private final BooleanSupplier action;
+
+        private SideEffect(String type, BooleanSupplier action) {
+            this.type = type;
+            this.action = action;
+        }
+    }
+}
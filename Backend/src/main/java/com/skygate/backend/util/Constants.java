@@ -76,6 +76,9 @@ public final class Constants {
         public static final String ASSIGNMENT_ENDPOINT = API_BASE_PATH + "/assignments";
         public static final String AIRCRAFT_ENDPOINT = API_BASE_PATH + "/aircraft";
         public static final String AUTOMATA_ENDPOINT = API_BASE_PATH + "/automata";
+        public static final String EXPORT_ENDPOINT = API_BASE_PATH + "/export";
+        public static final int DEFAULT_PAGE_SIZE = 50;
+        public static final int MAX_PAGE_SIZE = 200;
 
         private ApiConstants() {
             throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
@@ -0,0 +1,149 @@
+package com.skygate.backend.websocket;
+
+import com.skygate.backend.model.dto.response.SnapshotDeltaDTO;
+import com.skygate.backend.model.dto.response.SnapshotSyncResponseDTO;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+// Ultimo estado conocido de cada entidad (como mapa de campos del DTO) mas un historial
+// acotado de deltas. Cada cambio recibe una revision creciente; un cliente que conoce la
+// revision R recibe solo los campos cambiados despues de R mientras R siga en el historial.
+final class SnapshotStore {
+
+    private final String entityType;
+    private final long epoch;
+    private final int historySize;
+
+    private final Map<Long, EntityState> entities = new HashMap<>();
+    private final Deque<SnapshotDeltaDTO> history = new ArrayDeque<>();
+    private long revision;
+    // Revision a partir de la cual el historial esta completo
+    private long historyFloor;
+
+    SnapshotStore(String entityType, long epoch, int historySize) {
+        this.entityType = entityType;
+        this.epoch = epoch;
+        this.historySize = historySize;
+    }
+
+    synchronized void reset(Map<Long, Map<String, Object>> snapshot) {
+        revision++;
+        entities.clear();
+        history.clear();
+        snapshot.forEach((id, fields) -> entities.put(id, new EntityState(fields, revision)));
+        historyFloor = revision;
+    }
+
+    // Devuelve null si el estado no cambio
+    synchronized SnapshotDeltaDTO apply(Long id, Map<String, Object> fields) {
+        EntityState current = entities.get(id);
+        Map<String, Object> changes = current == null ? new LinkedHashMap<>(fields) : diff(current.fields, fields);
+        if (changes.isEmpty()) {
+            return null;
+        }
+
+        revision++;
+        entities.put(id, new EntityState(fields, revision));
+        return record(new SnapshotDeltaDTO(entityType, id, revision, changes));
+    }
+
+    synchronized SnapshotDeltaDTO remove(Long id) {
+        if (entities.remove(id) == null) {
+            return null;
+        }
+        revision++;
+        return record(SnapshotDeltaDTO.removal(entityType, id, revision));
+    }
+
+    synchronized SnapshotSyncResponseDTO sync(Long clientEpoch, Long sinceRevision) {
+        boolean resumable = clientEpoch != null && clientEpoch == epoch
+                && sinceRevision != null && sinceRevision >= historyFloor && sinceRevision <= revision;
+        if (!resumable) {
+            return fullSnapshot();
+        }
+
+        // Un solo delta por entidad con los cambios acumulados desde sinceRevision
+        Map<Long, SnapshotDeltaDTO> merged = new TreeMap<>();
+        for (SnapshotDeltaDTO delta : history) {
+            if (delta.getRevision() <= sinceRevision) {
+                continue;
+            }
+            SnapshotDeltaDTO previous = merged.get(delta.getId());
+            if (previous == null || delta.isRemoval() || previous.isRemoval()) {
+                merged.put(delta.getId(), copy(delta));
+            } else {
+                previous.getChanges().putAll(delta.getChanges());
+                previous.setRevision(delta.getRevision());
+            }
+        }
+
+        return new SnapshotSyncResponseDTO(entityType, SnapshotSyncResponseDTO.MODE_DELTA, epoch, revision,
+                new ArrayList<>(merged.values()));
+    }
+
+    synchronized SnapshotSyncResponseDTO fullSnapshot() {
+        List<SnapshotDeltaDTO> items = new ArrayList<>(entities.size());
+        new TreeMap<>(entities).forEach((id, state) ->
+                items.add(new SnapshotDeltaDTO(entityType, id, state.revision, new LinkedHashMap<>(state.fields))));
+        return new SnapshotSyncResponseDTO(entityType, SnapshotSyncResponseDTO.MODE_FULL, epoch, revision, items);
+    }
+
+    synchronized long getRevision() {
+        return revision;
+    }
+
+    synchronized int size() {
+        return entities.size();
+    }
+
+    private SnapshotDeltaDTO record(SnapshotDeltaDTO delta) {
+        history.addLast(delta);
+        while (history.size() > historySize) {
+            historyFloor = history.removeFirst().getRevision();
+        }
+        return delta;
+    }
+
+    private static Map<String, Object> diff(Map<String, Object> previous, Map<String, Object> current) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> entry : current.entrySet()) {
+            if (!Objects.equals(previous.get(entry.getKey()), entry.getValue())) {
+                changes.put(entry.getKey(), entry.getValue());
+            }
+        }
+        Iterator<String> removedKeys = previous.keySet().iterator();
+        while (removedKeys.hasNext()) {
+            String key = removedKeys.next();
+            if (!current.containsKey(key)) {
+                changes.put(key, null);
+            }
+        }
+        return changes;
+    }
+
+    private static SnapshotDeltaDTO copy(SnapshotDeltaDTO delta) {
+        if (delta.isRemoval()) {
+            return SnapshotDeltaDTO.removal(delta.getEntityType(), delta.getId(), delta.getRevision());
+        }
+        return new SnapshotDeltaDTO(delta.getEntityType(), delta.getId(), delta.getRevision(),
+                new LinkedHashMap<>(delta.getChanges()));
+    }
+
+    private static final class EntityState {
+        private final Map<String, Object> fields;
+        private final long revision;
+
+        private EntityState(Map<String, Object> fields, long revision) {
+            this.fields = fields;
+            this.revision = revision;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.skygate.backend.websocket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Agrupa los mensajes STOMP por topic durante una ventana (websocket.broadcast.window-ms)
+// y los envia como un unico frame con la lista de payloads. Los mensajes publicados con
+// clave de entidad se coalescen: dentro de la ventana solo se envia el ultimo estado.
+@Component
+public class WebSocketBroadcastBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(WebSocketBroadcastBuffer.class);
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final boolean enabled;
+    private final Map<String, TopicBuffer> buffers = new ConcurrentHashMap<>();
+
+    private final Counter eventsCounter;
+    private final Counter framesCounter;
+
+    public WebSocketBroadcastBuffer(
+            SimpMessagingTemplate messagingTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${websocket.broadcast.enabled:true}") boolean enabled) {
+        this.messagingTemplate = messagingTemplate;
+        this.enabled = enabled;
+        this.eventsCounter = Counter.builder("skygate.websocket.broadcast.events")
+                .description("Mensajes publicados hacia los topics STOMP")
+                .register(meterRegistry);
+        this.framesCounter = Counter.builder("skygate.websocket.broadcast.frames")
+                .description("Frames enviados realmente al broker STOMP")
+                .register(meterRegistry);
+    }
+
+    // Publica un estado de entidad: dentro de la ventana reemplaza al anterior con la misma clave
+    public void publish(String topic, Object entityKey, Object payload) {
+        eventsCounter.increment();
+
+        if (!enabled) {
+            send(topic, payload);
+            return;
+        }
+
+        buffers.computeIfAbsent(topic, t -> new TopicBuffer()).put(entityKey != null ? entityKey : new Object(), payload);
+    }
+
+    // Publica un evento que no debe coalescerse (transiciones, alertas de asignacion...)
+    public void publishEvent(String topic, Object payload) {
+        publish(topic, null, payload);
+    }
+
+    @Scheduled(fixedDelayString = "${websocket.broadcast.window-ms:100}")
+    public void flush() {
+        for (Map.Entry<String, TopicBuffer> entry : buffers.entrySet()) {
+            List<Object> batch = entry.getValue().drain();
+            if (!batch.isEmpty()) {
+                send(entry.getKey(), batch);
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    private void send(String topic, Object payload) {
+        try {
+            messagingTemplate.convertAndSend(topic, payload);
+            framesCounter.increment();
+        } catch (Exception e) {
+            logger.error("Error broadcasting to topic {}: {}", topic, e.getMessage(), e);
+        }
+    }
+
+    private static final class TopicBuffer {
+        // LinkedHashMap conserva el orden de la primera aparicion de cada clave
+        private Map<Object, Object> pending = new LinkedHashMap<>();
+
+        synchronized void put(Object key, Object payload) {
+            pending.put(key, payload);
+        }
+
+        synchronized List<Object> drain() {
+            if (pending.isEmpty()) {
+                return List.of();
+            }
+            List<Object> batch = new ArrayList<>(pending.values());
+            pending = new LinkedHashMap<>();
+            return batch;
+        }
+    }
+}
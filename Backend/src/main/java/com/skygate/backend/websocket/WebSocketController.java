@@ -1,8 +1,10 @@
 package com.skygate.backend.websocket;
 
+import com.skygate.backend.model.dto.request.SnapshotSyncRequestDTO;
 import com.skygate.backend.model.dto.response.AssignmentResponseDTO;
 import com.skygate.backend.model.dto.response.FlightResponseDTO;
 import com.skygate.backend.model.dto.response.GateResponseDTO;
+import com.skygate.backend.model.dto.response.SnapshotSyncResponseDTO;
 import com.skygate.backend.model.entity.Assignment;
 import com.skygate.backend.model.entity.Flight;
 import com.skygate.backend.model.entity.Gate;
@@ -12,6 +14,7 @@ import com.skygate.backend.service.gate.GateService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.messaging.handler.annotation.SendTo;
 import org.springframework.messaging.simp.annotation.SendToUser;
 import org.springframework.stereotype.Controller;
@@ -26,14 +29,17 @@ public class WebSocketController {
     private final GateService gateService;
     private final FlightService flightService;
     private final AssignmentService assignmentService;
+    private final WebSocketSnapshotService snapshotService;
 
     public WebSocketController(
             GateService gateService,
             FlightService flightService,
-            AssignmentService assignmentService) {
+            AssignmentService assignmentService,
+            WebSocketSnapshotService snapshotService) {
         this.gateService = gateService;
         this.flightService = flightService;
         this.assignmentService = assignmentService;
+        this.snapshotService = snapshotService;
     }
 
     @MessageMapping("/gates/subscribe")
@@ -66,6 +72,27 @@ public class WebSocketController {
                 .collect(Collectors.toList());
     }
 
+    // Sincronizacion versionada: sin epoch/revision (o si ya no estan en el historial) se
+    // responde con el snapshot completo; si no, solo con los cambios posteriores a sinceRevision.
+    // Despues el cliente aplica los deltas de /topic/gates/delta.
+    @MessageMapping("/gates/sync")
+    @SendToUser("/queue/gates/sync")
+    public SnapshotSyncResponseDTO syncGates(@Payload(required = false) SnapshotSyncRequestDTO request) {
+        logger.debug("Client requested gate sync: {}", request);
+        return request == null
+                ? snapshotService.syncGates(null, null)
+                : snapshotService.syncGates(request.getEpoch(), request.getSinceRevision());
+    }
+
+    @MessageMapping("/flights/sync")
+    @SendToUser("/queue/flights/sync")
+    public SnapshotSyncResponseDTO syncFlights(@Payload(required = false) SnapshotSyncRequestDTO request) {
+        logger.debug("Client requested flight sync: {}", request);
+        return request == null
+                ? snapshotService.syncFlights(null, null)
+                : snapshotService.syncFlights(request.getEpoch(), request.getSinceRevision());
+    }
+
     @MessageMapping("/dashboard/subscribe")
     @SendToUser("/queue/dashboard")
     public String subscribeToDashboard() {
@@ -2,15 +2,12 @@ package com.skygate.backend.websocket;
 
 import com.skygate.backend.model.dto.response.AssignmentResponseDTO;
 import com.skygate.backend.model.dto.response.AutomataTransitionResponseDTO;
-import com.skygate.backend.model.dto.response.FlightResponseDTO;
-import com.skygate.backend.model.dto.response.GateResponseDTO;
 import com.skygate.backend.model.entity.Assignment;
 import com.skygate.backend.model.entity.Flight;
 import com.skygate.backend.model.entity.Gate;
 import com.skygate.backend.service.automata.StateTransitionService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Component;
 import java.util.HashMap;
 import java.util.Map;
@@ -20,16 +17,19 @@ public class WebSocketEventPublisher {
 
     private static final Logger logger = LoggerFactory.getLogger(WebSocketEventPublisher.class);
 
-    private final SimpMessagingTemplate messagingTemplate;
+    private final WebSocketBroadcastBuffer broadcastBuffer;
+    private final WebSocketSnapshotService snapshotService;
 
-    public WebSocketEventPublisher(SimpMessagingTemplate messagingTemplate) {
-        this.messagingTemplate = messagingTemplate;
+    public WebSocketEventPublisher(WebSocketBroadcastBuffer broadcastBuffer, WebSocketSnapshotService snapshotService) {
+        this.broadcastBuffer = broadcastBuffer;
+        this.snapshotService = snapshotService;
     }
 
+    // Los cambios persistidos ya se publican como delta desde SnapshotEntityListener;
+    // esto solo fuerza el delta de una entidad que no paso por el EntityManager.
     public void publishGateUpdate(Gate gate) {
         logger.info("Publishing gate update via WebSocket: {}", gate.getGateNumber());
-        GateResponseDTO response = GateResponseDTO.fromEntity(gate);
-        messagingTemplate.convertAndSend("/topic/gates/update", response);
+        snapshotService.gateChanged(gate);
     }
 
     public void publishGateStatusChange(Gate gate) {
@@ -42,13 +42,12 @@ public class WebSocketEventPublisher {
         event.put("status", gate.getStatus());
         event.put("timestamp", System.currentTimeMillis());
 
-        messagingTemplate.convertAndSend("/topic/gates/status", event);
+        broadcastBuffer.publish("/topic/gates/status", gate.getId(), event);
     }
 
     public void publishFlightUpdate(Flight flight) {
         logger.info("Publishing flight update via WebSocket: {}", flight.getFlightNumber());
-        FlightResponseDTO response = FlightResponseDTO.fromEntity(flight);
-        messagingTemplate.convertAndSend("/topic/flights/update", response);
+        snapshotService.flightChanged(flight);
     }
 
     public void publishFlightDetection(Flight flight) {
@@ -62,7 +61,7 @@ public class WebSocketEventPublisher {
         event.put("automataState", flight.getAutomataState());
         event.put("timestamp", System.currentTimeMillis());
 
-        messagingTemplate.convertAndSend("/topic/flights/detection", event);
+        broadcastBuffer.publishEvent("/topic/flights/detection", event);
     }
 
     public void publishFlightStatusChange(Flight flight) {
@@ -76,7 +75,7 @@ public class WebSocketEventPublisher {
         event.put("automataState", flight.getAutomataState());
         event.put("timestamp", System.currentTimeMillis());
 
-        messagingTemplate.convertAndSend("/topic/flights/status", event);
+        broadcastBuffer.publish("/topic/flights/status", flight.getId(), event);
     }
 
     public void publishAssignmentCreated(Assignment assignment) {
@@ -85,7 +84,7 @@ public class WebSocketEventPublisher {
                 assignment.getGate().getGateNumber());
 
         AssignmentResponseDTO response = AssignmentResponseDTO.fromEntity(assignment);
-        messagingTemplate.convertAndSend("/topic/assignments/created", response);
+        broadcastBuffer.publishEvent("/topic/assignments/created", response);
     }
 
     public void publishAssignmentCompleted(Assignment assignment) {
@@ -98,7 +97,7 @@ public class WebSocketEventPublisher {
         event.put("gateNumber", assignment.getGate().getGateNumber());
         event.put("timestamp", System.currentTimeMillis());
 
-        messagingTemplate.convertAndSend("/topic/assignments/completed", event);
+        broadcastBuffer.publishEvent("/topic/assignments/completed", event);
     }
 
     public void publishAutomataTransition(StateTransitionService.TransitionResult result, Flight flight) {
@@ -117,7 +116,7 @@ public class WebSocketEventPublisher {
         event.put("outputs", result.getOutputs());
         event.put("timestamp", result.getTimestamp());
 
-        messagingTemplate.convertAndSend("/topic/automata/transitions", event);
+        broadcastBuffer.publishEvent("/topic/automata/transitions", event);
     }
 
     public void publishLedStatusChange(Long gateId, String gateNumber, String color, boolean active) {
@@ -131,7 +130,7 @@ public class WebSocketEventPublisher {
         event.put("active", active);
         event.put("timestamp", System.currentTimeMillis());
 
-        messagingTemplate.convertAndSend("/topic/leds/status", event);
+        broadcastBuffer.publish("/topic/leds/status", gateId, event);
     }
 
     public void publishSystemAlert(String severity, String message, String details) {
@@ -144,7 +143,7 @@ public class WebSocketEventPublisher {
         alert.put("details", details);
         alert.put("timestamp", System.currentTimeMillis());
 
-        messagingTemplate.convertAndSend("/topic/system/alerts", alert);
+        broadcastBuffer.publishEvent("/topic/system/alerts", alert);
     }
 
     public void publishDashboardUpdate(Map<String, Object> stats) {
@@ -155,7 +154,7 @@ public class WebSocketEventPublisher {
         event.put("stats", stats);
         event.put("timestamp", System.currentTimeMillis());
 
-        messagingTemplate.convertAndSend("/topic/dashboard/stats", event);
+        broadcastBuffer.publish("/topic/dashboard/stats", "stats", event);
     }
 
     public void publishNoGateAvailable(Flight flight) {
@@ -168,6 +167,6 @@ public class WebSocketEventPublisher {
         event.put("aircraftType", flight.getAircraft().getAircraftType());
         event.put("timestamp", System.currentTimeMillis());
 
-        messagingTemplate.convertAndSend("/topic/system/alerts", event);
+        broadcastBuffer.publishEvent("/topic/system/alerts", event);
     }
 }
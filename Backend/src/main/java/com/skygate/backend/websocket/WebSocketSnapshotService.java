@@ -0,0 +1,195 @@
+package com.skygate.backend.websocket;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skygate.backend.event.EntityChangedEvent;
+import com.skygate.backend.model.dto.response.FlightResponseDTO;
+import com.skygate.backend.model.dto.response.GateResponseDTO;
+import com.skygate.backend.model.dto.response.SnapshotDeltaDTO;
+import com.skygate.backend.model.dto.response.SnapshotSyncResponseDTO;
+import com.skygate.backend.model.entity.Flight;
+import com.skygate.backend.model.entity.Gate;
+import com.skygate.backend.model.enums.AutomataState;
+import com.skygate.backend.repository.FlightRepository;
+import com.skygate.backend.repository.GateRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Snapshots versionados de gates y vuelos para los suscriptores STOMP. Los cambios llegan
+// como EntityChangedEvent; el delta se calcula y publica solo tras el commit.
+@Component
+public class WebSocketSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WebSocketSnapshotService.class);
+
+    public static final String GATE = "GATE";
+    public static final String FLIGHT = "FLIGHT";
+    public static final String GATES_DELTA_TOPIC = "/topic/gates/delta";
+    public static final String FLIGHTS_DELTA_TOPIC = "/topic/flights/delta";
+
+    private static final TypeReference<LinkedHashMap<String, Object>> FIELDS_TYPE = new TypeReference<>() {
+    };
+
+    private final GateRepository gateRepository;
+    private final FlightRepository flightRepository;
+    private final WebSocketBroadcastBuffer broadcastBuffer;
+    private final ObjectMapper objectMapper;
+    private final SnapshotStore gateStore;
+    private final SnapshotStore flightStore;
+
+    public WebSocketSnapshotService(
+            @Lazy GateRepository gateRepository,
+            @Lazy FlightRepository flightRepository,
+            WebSocketBroadcastBuffer broadcastBuffer,
+            ObjectMapper objectMapper,
+            @Value("${websocket.snapshot.history-size:1000}") int historySize) {
+        this.gateRepository = gateRepository;
+        this.flightRepository = flightRepository;
+        this.broadcastBuffer = broadcastBuffer;
+        this.objectMapper = objectMapper;
+        long epoch = System.currentTimeMillis();
+        this.gateStore = new SnapshotStore(GATE, epoch, historySize);
+        this.flightStore = new SnapshotStore(FLIGHT, epoch, historySize);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void initializeSnapshots() {
+        Map<Long, Map<String, Object>> gates = new LinkedHashMap<>();
+        for (Gate gate : gateRepository.findAll()) {
+            gates.put(gate.getId(), gateFields(gate));
+        }
+        gateStore.reset(gates);
+
+        Map<Long, Map<String, Object>> flights = new LinkedHashMap<>();
+        for (Flight flight : flightRepository.findByAutomataStateNot(AutomataState.S0)) {
+            flights.put(flight.getId(), flightFields(flight));
+        }
+        flightStore.reset(flights);
+
+        logger.info("WebSocket snapshots initialized: {} gates, {} flights", gateStore.size(), flightStore.size());
+    }
+
+    public SnapshotSyncResponseDTO syncGates(Long epoch, Long sinceRevision) {
+        return gateStore.sync(epoch, sinceRevision);
+    }
+
+    public SnapshotSyncResponseDTO syncFlights(Long epoch, Long sinceRevision) {
+        return flightStore.sync(epoch, sinceRevision);
+    }
+
+    // La sesion sigue abierta en afterCommit, asi que el DTO se construye sin problemas
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        Object entity = event.getEntity();
+        if (entity instanceof Gate) {
+            Gate gate = (Gate) entity;
+            if (event.isRemoved()) {
+                applyGateRemoval(gate.getId());
+            } else {
+                applyGate(gate.getId(), gateFields(gate));
+            }
+        } else if (entity instanceof Flight) {
+            Flight flight = (Flight) entity;
+            if (event.isRemoved()) {
+                applyFlightRemoval(flight.getId());
+            } else {
+                applyFlight(flight.getId(), flightFields(flight));
+            }
+        }
+    }
+
+    public void gateChanged(Gate gate) {
+        if (gate.getId() == null) {
+            return;
+        }
+        Map<String, Object> fields = gateFields(gate);
+        afterCommit(() -> applyGate(gate.getId(), fields));
+    }
+
+    public void gateRemoved(Long gateId) {
+        afterCommit(() -> applyGateRemoval(gateId));
+    }
+
+    public void flightChanged(Flight flight) {
+        if (flight.getId() == null) {
+            return;
+        }
+        Map<String, Object> fields = flightFields(flight);
+        afterCommit(() -> applyFlight(flight.getId(), fields));
+    }
+
+    public void flightRemoved(Long flightId) {
+        afterCommit(() -> applyFlightRemoval(flightId));
+    }
+
+    private void applyGate(Long gateId, Map<String, Object> fields) {
+        if (gateId != null) {
+            publish(GATES_DELTA_TOPIC, gateStore.apply(gateId, fields));
+        }
+    }
+
+    private void applyGateRemoval(Long gateId) {
+        publish(GATES_DELTA_TOPIC, gateStore.remove(gateId));
+    }
+
+    // Solo se siguen los vuelos en curso (estado distinto de S0); fields es null para S0
+    private void applyFlight(Long flightId, Map<String, Object> fields) {
+        if (flightId == null) {
+            return;
+        }
+        if (fields == null) {
+            applyFlightRemoval(flightId);
+            return;
+        }
+        publish(FLIGHTS_DELTA_TOPIC, flightStore.apply(flightId, fields));
+    }
+
+    private void applyFlightRemoval(Long flightId) {
+        publish(FLIGHTS_DELTA_TOPIC, flightStore.remove(flightId));
+    }
+
+    private void publish(String topic, SnapshotDeltaDTO delta) {
+        if (delta != null) {
+            broadcastBuffer.publishEvent(topic, delta);
+        }
+    }
+
+    // Para llamadas explicitas dentro de una transaccion: el delta solo se aplica si hay commit
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private Map<String, Object> gateFields(Gate gate) {
+        return toFields(GateResponseDTO.fromEntity(gate));
+    }
+
+    private Map<String, Object> flightFields(Flight flight) {
+        return flight.getAutomataState() == AutomataState.S0 ? null : toFields(FlightResponseDTO.fromEntity(flight));
+    }
+
+    private Map<String, Object> toFields(Object dto) {
+        return objectMapper.convertValue(dto, FIELDS_TYPE);
+    }
+}
@@ -0,0 +1,77 @@
+-- Esquema base: las tablas que existian antes de las migraciones (vuelos, aeronaves, gates y asignaciones).
+-- Las bases de datos de produccion previas a Flyway se marcan en esta version (baseline-on-migrate)
+
+create table aircraft (
+    length float(53),
+    max_passengers integer,
+    wingspan float(53),
+    created_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    updated_at timestamp(6),
+    manufacturer varchar(50),
+    model varchar(50) not null,
+    description varchar(500),
+    aircraft_type enum ('JUMBO','NARROW_BODY','UNKNOWN','WIDE_BODY') not null,
+    primary key (id)
+);
+
+create table assignments (
+    is_active boolean not null,
+    led_activated boolean not null,
+    actual_arrival timestamp(6),
+    assigned_at timestamp(6) not null,
+    created_at timestamp(6) not null,
+    departure_time timestamp(6),
+    expected_arrival timestamp(6),
+    flight_id bigint not null,
+    gate_id bigint not null,
+    id bigint generated by default as identity,
+    updated_at timestamp(6),
+    notes varchar(500),
+    primary key (id)
+);
+
+create table flights (
+    actual_arrival timestamp(6),
+    actual_departure timestamp(6),
+    aircraft_id bigint not null,
+    created_at timestamp(6) not null,
+    detected_at timestamp(6),
+    id bigint generated by default as identity,
+    scheduled_arrival timestamp(6),
+    scheduled_departure timestamp(6),
+    updated_at timestamp(6),
+    flight_number varchar(20) not null unique,
+    airline varchar(50),
+    destination varchar(100),
+    origin varchar(100),
+    automata_state enum ('S0','S1','S2','S3','S4','S5','S6') not null,
+    status enum ('APPROACHING','ARRIVED','CANCELLED','CONFIRMED','DEPARTED','DETECTED','GATE_ASSIGNED','PARKED','WAITING') not null,
+    primary key (id)
+);
+
+create table gates (
+    is_active boolean not null,
+    created_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    updated_at timestamp(6),
+    gate_number varchar(10) not null unique,
+    terminal varchar(10),
+    location varchar(100),
+    led_path varchar(255),
+    gate_type enum ('JUMBO','NARROW_BODY','WIDE_BODY') not null,
+    status enum ('ASSIGNED','FREE','MAINTENANCE','OCCUPIED','RESERVED') not null,
+    primary key (id)
+);
+
+alter table assignments
+    add constraint fk_assignments_flight
+    foreign key (flight_id) references flights;
+
+alter table assignments
+    add constraint fk_assignments_gate
+    foreign key (gate_id) references gates;
+
+alter table flights
+    add constraint fk_flights_aircraft
+    foreign key (aircraft_id) references aircraft;
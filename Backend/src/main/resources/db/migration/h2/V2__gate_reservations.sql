@@ -0,0 +1,21 @@
+-- Reservas de gates por franja horaria (GateSchedulingService)
+
+create table gate_reservations (
+    is_active boolean not null,
+    created_at timestamp(6) not null,
+    end_time timestamp(6) not null,
+    flight_id bigint not null,
+    gate_id bigint not null,
+    id bigint generated by default as identity,
+    start_time timestamp(6) not null,
+    updated_at timestamp(6),
+    primary key (id)
+);
+
+alter table gate_reservations
+    add constraint fk_gate_reservations_flight
+    foreign key (flight_id) references flights;
+
+alter table gate_reservations
+    add constraint fk_gate_reservations_gate
+    foreign key (gate_id) references gates;
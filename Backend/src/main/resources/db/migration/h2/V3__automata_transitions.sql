@@ -0,0 +1,15 @@
+-- Diario append-only de transiciones del automata (TransitionJournal)
+
+create table automata_transitions (
+    flight_id bigint not null,
+    id bigint generated by default as identity,
+    occurred_at timestamp(6) not null,
+    flight_number varchar(10),
+    outputs varchar(255),
+    from_state enum ('S0','S1','S2','S3','S4','S5','S6') not null,
+    input enum ('I1','I2','I3','I4','I5','I6','OTHER') not null,
+    to_state enum ('S0','S1','S2','S3','S4','S5','S6') not null,
+    primary key (id)
+);
+
+create index idx_automata_transitions_flight on automata_transitions (flight_id, occurred_at);
@@ -0,0 +1,51 @@
+-- Almacenamiento frio: ArchiveService mueve aqui las asignaciones cerradas y los vuelos DEPARTED
+-- antiguos. Conservan el id original y no tienen FK: una asignacion archivada puede apuntar a un
+-- vuelo que sigue en flights (reasignado o cancelado) o que ya esta en flights_archive.
+
+create table assignments_archive (
+    is_active boolean not null,
+    led_activated boolean not null,
+    actual_arrival timestamp(6),
+    archived_at timestamp(6) not null,
+    assigned_at timestamp(6) not null,
+    created_at timestamp(6) not null,
+    departure_time timestamp(6),
+    expected_arrival timestamp(6),
+    flight_id bigint not null,
+    gate_id bigint not null,
+    id bigint not null,
+    updated_at timestamp(6),
+    notes varchar(500),
+    primary key (id)
+);
+
+create table flights_archive (
+    actual_arrival timestamp(6),
+    actual_departure timestamp(6),
+    aircraft_id bigint not null,
+    archived_at timestamp(6) not null,
+    created_at timestamp(6) not null,
+    detected_at timestamp(6),
+    id bigint not null,
+    scheduled_arrival timestamp(6),
+    scheduled_departure timestamp(6),
+    updated_at timestamp(6),
+    flight_number varchar(20) not null,
+    airline varchar(50),
+    destination varchar(100),
+    origin varchar(100),
+    automata_state enum ('S0','S1','S2','S3','S4','S5','S6') not null,
+    status enum ('APPROACHING','ARRIVED','CANCELLED','CONFIRMED','DEPARTED','DETECTED','GATE_ASSIGNED','PARKED','WAITING') not null,
+    primary key (id)
+);
+
+-- Historico por rango de fechas, por puerta y por vuelo (mismo orden que la tabla caliente)
+create index idx_assignments_archive_assigned_at on assignments_archive (assigned_at);
+create index idx_assignments_archive_gate_assigned_at on assignments_archive (gate_id, assigned_at desc);
+create index idx_assignments_archive_flight on assignments_archive (flight_id);
+create index idx_flights_archive_detected_at on flights_archive (detected_at);
+create index idx_flights_archive_flight_number on flights_archive (flight_number);
+
+-- Candidatos a archivar en las tablas calientes
+create index idx_assignments_closed_departure on assignments (is_active, departure_time);
+create index idx_flights_departed on flights (status, actual_departure);
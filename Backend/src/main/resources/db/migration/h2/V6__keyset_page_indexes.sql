@@ -0,0 +1,5 @@
+-- Paginacion keyset de los listados activos (findActivePageAfter): filtro + id > cursor ORDER BY id.
+-- H2 no admite indices parciales: la columna del filtro va delante del id.
+create index idx_gates_active_id on gates (is_active, id);
+create index idx_assignments_active_id on assignments (is_active, id);
+create index idx_flights_active_id on flights (automata_state, id);
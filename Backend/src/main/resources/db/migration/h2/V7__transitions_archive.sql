@@ -0,0 +1,17 @@
+-- Diario de transiciones de los vuelos archivados: ArchiveService mueve aqui las filas de
+-- automata_transitions junto con su vuelo. Conserva el id original para mantener el orden.
+
+create table automata_transitions_archive (
+    flight_id bigint not null,
+    id bigint not null,
+    archived_at timestamp(6) not null,
+    occurred_at timestamp(6) not null,
+    flight_number varchar(10),
+    outputs varchar(255),
+    from_state enum ('S0','S1','S2','S3','S4','S5','S6') not null,
+    input enum ('I1','I2','I3','I4','I5','I6','OTHER') not null,
+    to_state enum ('S0','S1','S2','S3','S4','S5','S6') not null,
+    primary key (id)
+);
+
+create index idx_automata_transitions_archive_flight on automata_transitions_archive (flight_id, occurred_at);
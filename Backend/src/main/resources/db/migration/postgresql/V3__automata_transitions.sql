@@ -0,0 +1,15 @@
+-- Diario append-only de transiciones del automata (TransitionJournal)
+
+create table automata_transitions (
+    from_state varchar(5) not null check (from_state in ('S0','S1','S2','S3','S4','S5','S6')),
+    to_state varchar(5) not null check (to_state in ('S0','S1','S2','S3','S4','S5','S6')),
+    flight_id bigint not null,
+    id bigint generated by default as identity,
+    occurred_at timestamp(6) not null,
+    flight_number varchar(10),
+    input varchar(10) not null check (input in ('I1','I2','I3','I4','I5','I6','OTHER')),
+    outputs varchar(255),
+    primary key (id)
+);
+
+create index idx_automata_transitions_flight on automata_transitions (flight_id, occurred_at);
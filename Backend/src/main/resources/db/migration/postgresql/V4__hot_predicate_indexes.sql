@@ -0,0 +1,37 @@
+-- Indices para los predicados calientes de repository/. Los filtros por is_active son indices
+-- parciales: solo contienen las filas activas y no crecen con el historico.
+-- PostgreSQL no indexa las claves foraneas por si solo, se declaran aqui.
+
+-- Asignaciones activas por vuelo y por puerta (automata, asignacion, liberacion)
+create index idx_assignments_active_flight on assignments (flight_id) where is_active;
+create index idx_assignments_active_gate on assignments (gate_id) where is_active;
+
+-- Conjunto activo: findByIsActiveTrue, recuentos y estado de LEDs del dashboard
+create index idx_assignments_active on assignments (id) include (led_activated) where is_active;
+
+-- Historico: rangos de assigned_at e historial por puerta o por vuelo ordenado por fecha
+create index idx_assignments_assigned_at on assignments (assigned_at);
+create index idx_assignments_gate_assigned_at on assignments (gate_id, assigned_at desc);
+create index idx_assignments_flight_assigned_at on assignments (flight_id, assigned_at desc);
+
+-- Puertas disponibles por tipo y estado, por terminal y recuentos por estado
+create index idx_gates_active_type_status on gates (gate_type, status) where is_active;
+create index idx_gates_active_status on gates (status) where is_active;
+create index idx_gates_active_terminal_status on gates (terminal, status) where is_active;
+
+-- Cola de espera (estado + status ordenada por deteccion) y vuelos activos por estado
+create index idx_flights_state_status_detected_at on flights (automata_state, status, detected_at);
+create index idx_flights_status on flights (status);
+create index idx_flights_detected_at on flights (detected_at);
+create index idx_flights_scheduled_arrival on flights (scheduled_arrival);
+create index idx_flights_airline on flights (airline);
+create index idx_flights_aircraft on flights (aircraft_id);
+
+-- Reservas activas por vuelo, por puerta y por hora de inicio
+create index idx_gate_reservations_active_flight on gate_reservations (flight_id) where is_active;
+create index idx_gate_reservations_active_gate on gate_reservations (gate_id, start_time) where is_active;
+create index idx_gate_reservations_active_start on gate_reservations (start_time) where is_active;
+
+-- Cache de aeronaves: primera aeronave por tipo y busqueda por modelo
+create index idx_aircraft_type on aircraft (aircraft_type, id);
+create index idx_aircraft_model on aircraft (model);
@@ -0,0 +1,5 @@
+-- Paginacion keyset de los listados activos (findActivePageAfter): filtro + id > cursor ORDER BY id.
+-- Indices parciales sobre id con el mismo predicado que la consulta; las asignaciones activas ya
+-- tienen idx_assignments_active (id) where is_active.
+create index idx_gates_active_id on gates (id) where is_active;
+create index idx_flights_active_id on flights (id) where automata_state in ('S1', 'S2', 'S3', 'S4', 'S5');
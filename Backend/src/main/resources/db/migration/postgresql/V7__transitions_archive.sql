@@ -0,0 +1,17 @@
+-- Diario de transiciones de los vuelos archivados: ArchiveService mueve aqui las filas de
+-- automata_transitions junto con su vuelo. Conserva el id original para mantener el orden.
+
+create table automata_transitions_archive (
+    from_state varchar(5) not null check (from_state in ('S0','S1','S2','S3','S4','S5','S6')),
+    to_state varchar(5) not null check (to_state in ('S0','S1','S2','S3','S4','S5','S6')),
+    flight_id bigint not null,
+    id bigint not null,
+    archived_at timestamp(6) not null,
+    occurred_at timestamp(6) not null,
+    flight_number varchar(10),
+    input varchar(10) not null check (input in ('I1','I2','I3','I4','I5','I6','OTHER')),
+    outputs varchar(255),
+    primary key (id)
+);
+
+create index idx_automata_transitions_archive_flight on automata_transitions_archive (flight_id, occurred_at);
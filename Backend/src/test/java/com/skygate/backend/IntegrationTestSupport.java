@@ -0,0 +1,97 @@
+package com.skygate.backend;
+
+import com.skygate.backend.service.automata.AutomataStateManager;
+import com.skygate.backend.service.automata.TransitionJournal;
+import com.skygate.backend.service.automata.WaitingFlightQueue;
+import com.skygate.backend.service.flight.AircraftLookupCache;
+import com.skygate.backend.service.gate.GateAvailabilityService;
+import com.skygate.backend.service.gate.GateSchedulingService;
+import com.skygate.backend.service.monitoring.DashboardStatsService;
+import com.skygate.backend.websocket.WebSocketSnapshotService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Contexto comun de los tests de integracion (perfil test, application-test.properties). Cada test parte
+// de los datos de DataInitializer: al terminar se borran vuelos, asignaciones, reservas, transiciones y
+// archivo, se restauran los estados de los gates y se reconstruye el estado en memoria desde la BD.
+@SpringBootTest
+@ActiveProfiles("test")
+public abstract class IntegrationTestSupport {
+
+    private static Map<Long, String> baselineGateStatus;
+    private static List<Long> baselineAircraftIds;
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransitionJournal transitionJournal;
+
+    @Autowired
+    private AutomataStateManager stateManager;
+
+    @Autowired
+    private GateAvailabilityService gateAvailabilityService;
+
+    @Autowired
+    private GateSchedulingService gateSchedulingService;
+
+    @Autowired
+    private WaitingFlightQueue waitingFlightQueue;
+
+    @Autowired
+    private DashboardStatsService dashboardStatsService;
+
+    @Autowired
+    private WebSocketSnapshotService snapshotService;
+
+    @Autowired
+    private AircraftLookupCache aircraftLookupCache;
+
+    @BeforeEach
+    void captureBaseline() {
+        synchronized (IntegrationTestSupport.class) {
+            if (baselineGateStatus == null) {
+                Map<Long, String> gateStatus = new HashMap<>();
+                jdbcTemplate.query("select id, status from gates",
+                        row -> { gateStatus.put(row.getLong("id"), row.getString("status")); });
+                baselineGateStatus = gateStatus;
+                baselineAircraftIds = jdbcTemplate.queryForList("select id from aircraft", Long.class);
+            }
+        }
+    }
+
+    @AfterEach
+    void resetData() {
+        transitionJournal.flush();
+        jdbcTemplate.update("delete from automata_transitions");
+        jdbcTemplate.update("delete from automata_transitions_archive");
+        jdbcTemplate.update("delete from gate_reservations");
+        jdbcTemplate.update("delete from assignments");
+        jdbcTemplate.update("delete from assignments_archive");
+        jdbcTemplate.update("delete from flights_archive");
+        jdbcTemplate.update("delete from flights");
+        for (Long aircraftId : jdbcTemplate.queryForList("select id from aircraft", Long.class)) {
+            if (!baselineAircraftIds.contains(aircraftId)) {
+                jdbcTemplate.update("delete from aircraft where id = ?", aircraftId);
+            }
+        }
+        baselineGateStatus.forEach((gateId, status) ->
+                jdbcTemplate.update("update gates set status = ? where id = ?", status, gateId));
+
+        stateManager.clear();
+        aircraftLookupCache.clear();
+        gateAvailabilityService.initializeIndex();
+        gateSchedulingService.initializeTimeline();
+        waitingFlightQueue.initializeQueue();
+        dashboardStatsService.initializeStats();
+        snapshotService.initializeSnapshots();
+    }
+}
@@ -0,0 +1,89 @@
+package com.skygate.backend.controller;
+
+import com.skygate.backend.model.dto.request.FlightDetectionRequestDTO;
+import com.skygate.backend.model.dto.response.BulkDetectionResultDTO;
+import com.skygate.backend.model.enums.AircraftType;
+import com.skygate.backend.service.assignment.AssignmentService;
+import com.skygate.backend.service.flight.FlightDetectionService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:fetchplandb",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.com.skygate.backend=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@AutoConfigureMockMvc
+class FetchPlanQueryCountTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private FlightDetectionService detectionService;
+
+    @Autowired
+    private AssignmentService assignmentService;
+
+    private Statistics statistics;
+    private Long flightId;
+    private Long assignmentId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (flightId != null) {
+            return;
+        }
+        List<FlightDetectionRequestDTO> detections = new ArrayList<>();
+        AircraftType[] types = {AircraftType.NARROW_BODY, AircraftType.WIDE_BODY, AircraftType.JUMBO};
+        for (int i = 0; i < 6; i++) {
+            FlightDetectionRequestDTO detection = new FlightDetectionRequestDTO();
+            detection.setFlightNumber("QC70" + i);
+            detection.setAircraftType(types[i % types.length]);
+            detections.add(detection);
+        }
+        List<BulkDetectionResultDTO> results = detectionService.detectFlights(detections);
+        flightId = results.get(0).getFlightId();
+        assignmentId = assignmentService.getActiveAssignmentByFlightId(flightId).orElseThrow().getId();
+    }
+
+    @Test
+    void listAndDetailEndpointsRunOneQueryEach() throws Exception {
+        assertThat(queriesFor("/api/v1/flights")).isEqualTo(1);
+        assertThat(queriesFor("/api/v1/flights?activeOnly=true")).isEqualTo(1);
+        assertThat(queriesFor("/api/v1/flights/" + flightId)).isEqualTo(1);
+        assertThat(queriesFor("/api/v1/flights/number/QC700")).isEqualTo(1);
+        assertThat(queriesFor("/api/v1/assignments")).isEqualTo(1);
+        assertThat(queriesFor("/api/v1/assignments?activeOnly=true")).isEqualTo(1);
+        assertThat(queriesFor("/api/v1/assignments/active")).isEqualTo(1);
+        assertThat(queriesFor("/api/v1/assignments/" + assignmentId)).isEqualTo(1);
+        assertThat(queriesFor("/api/v1/flights/page?size=3")).isEqualTo(1);
+        assertThat(queriesFor("/api/v1/monitoring/dashboard-stats")).isZero();
+    }
+
+    private long queriesFor(String url) throws Exception {
+        statistics.clear();
+        mockMvc.perform(get(url)).andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,65 @@
+package com.skygate.backend.listener;
+
+import com.skygate.backend.IntegrationTestSupport;
+import com.skygate.backend.model.entity.Flight;
+import com.skygate.backend.model.entity.Gate;
+import com.skygate.backend.model.enums.AircraftType;
+import com.skygate.backend.model.enums.AutomataState;
+import com.skygate.backend.model.enums.GateStatus;
+import com.skygate.backend.model.enums.GateType;
+import com.skygate.backend.service.flight.FlightDetectionService;
+import com.skygate.backend.service.flight.FlightService;
+import com.skygate.backend.service.gate.GateService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GateFreedEventListenerTests extends IntegrationTestSupport {
+
+    @Autowired
+    private GateService gateService;
+
+    @Autowired
+    private FlightService flightService;
+
+    @Autowired
+    private FlightDetectionService detectionService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void gateFreedInsideATransactionIsOfferedToTheWaitingFlightAfterCommit() throws InterruptedException {
+        for (Gate gate : gateService.getAllGates()) {
+            gateService.updateGateStatus(gate.getId(), GateStatus.MAINTENANCE);
+        }
+        Flight waiting = detectionService.detectFlightByAircraftType("GF101", AircraftType.NARROW_BODY, "BOG", "LIM", "Avianca");
+        assertThat(flightService.getFlightById(waiting.getId()).getAutomataState()).isEqualTo(AutomataState.S6);
+
+        Gate freed = gateService.getGatesByType(GateType.NARROW_BODY).get(0);
+        transactionTemplate.executeWithoutResult(status -> {
+            gateService.updateGateStatus(freed.getId(), GateStatus.FREE);
+            // Un listener que se dispare antes del commit llega aqui sin el gate en el indice
+            sleep(500);
+        });
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (flightService.getFlightById(waiting.getId()).getAutomataState() == AutomataState.S6
+                && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(flightService.getFlightById(waiting.getId()).getAutomataState()).isEqualTo(AutomataState.S4);
+        assertThat(gateService.getGateById(freed.getId()).getStatus()).isEqualTo(GateStatus.ASSIGNED);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.skygate.backend.mqtt;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skygate.backend.model.dto.request.SensorDetectionMessageDTO;
+import com.skygate.backend.util.Constants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MqttIngestionPipelineTests {
+
+    private static final String TOPIC = Constants.MqttConstants.TOPIC_SENSOR_DETECTION;
+
+    private MqttIngestionPipeline pipeline;
+
+    @AfterEach
+    void tearDown() {
+        if (pipeline != null) {
+            pipeline.stop();
+        }
+    }
+
+    @Test
+    void processesAllAcceptedMessagesInOrder() throws Exception {
+        RecordingHandler handler = new RecordingHandler(null);
+        pipeline = newPipeline(handler, 100, MqttIngestionPipeline.OverflowPolicy.BLOCK);
+
+        for (int i = 0; i < 50; i++) {
+            assertTrue(pipeline.submit(TOPIC, payload(i)));
+        }
+
+        assertTrue(handler.awaitCount(50));
+        for (int i = 0; i < 50; i++) {
+            assertEquals(i, handler.sequences.get(i).intValue());
+        }
+    }
+
+    @Test
+    void dropNewestShedsMessagesWhenQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingHandler handler = new RecordingHandler(release);
+        pipeline = newPipeline(handler, 4, MqttIngestionPipeline.OverflowPolicy.DROP_NEWEST);
+
+        // El primer mensaje bloquea al worker; los siguientes llenan la cola
+        assertTrue(pipeline.submit(TOPIC, payload(0)));
+        assertTrue(handler.awaitStarted());
+        for (int i = 1; i <= 4; i++) {
+            assertTrue(pipeline.submit(TOPIC, payload(i)));
+        }
+        assertFalse(pipeline.submit(TOPIC, payload(5)));
+        assertEquals(1, pipeline.getDroppedCount());
+
+        release.countDown();
+        assertTrue(handler.awaitCount(5));
+        assertEquals(List.of(0L, 1L, 2L, 3L, 4L), handler.sequences);
+    }
+
+    @Test
+    void dropOldestKeepsMostRecentMessages() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingHandler handler = new RecordingHandler(release);
+        pipeline = newPipeline(handler, 2, MqttIngestionPipeline.OverflowPolicy.DROP_OLDEST);
+
+        assertTrue(pipeline.submit(TOPIC, payload(0)));
+        assertTrue(handler.awaitStarted());
+        for (int i = 1; i <= 4; i++) {
+            assertTrue(pipeline.submit(TOPIC, payload(i)));
+        }
+        assertEquals(2, pipeline.getDroppedCount());
+
+        release.countDown();
+        assertTrue(handler.awaitCount(3));
+        assertEquals(List.of(0L, 3L, 4L), handler.sequences);
+    }
+
+    private MqttIngestionPipeline newPipeline(MqttMessageHandler handler, int capacity,
+                                              MqttIngestionPipeline.OverflowPolicy policy) {
+        MqttIngestionPipeline newPipeline = new MqttIngestionPipeline(
+                handler, new MqttPayloadDecoder(new ObjectMapper()), new SimpleMeterRegistry(), capacity, 1, 10, policy, 10, false);
+        newPipeline.start();
+        return newPipeline;
+    }
+
+    private static byte[] payload(int sequence) {
+        return ("{\"action\":\"ARRIVAL_DETECTED\",\"flightId\":" + sequence + "}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static class RecordingHandler extends MqttMessageHandler {
+        private final CountDownLatch release;
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final List<Long> sequences = new CopyOnWriteArrayList<>();
+
+        RecordingHandler(CountDownLatch release) {
+            super(null, null, null, null);
+            this.release = release;
+        }
+
+        @Override
+        public void handleSensorDetection(SensorDetectionMessageDTO message) {
+            started.countDown();
+            if (release != null) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            sequences.add(message.getFlightId());
+        }
+
+        boolean awaitStarted() throws InterruptedException {
+            return started.await(5, TimeUnit.SECONDS);
+        }
+
+        boolean awaitCount(int expected) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (sequences.size() < expected && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            return sequences.size() == expected;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.skygate.backend.mqtt;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skygate.backend.exception.InvalidMqttPayloadException;
+import com.skygate.backend.model.dto.request.GateStatusMessageDTO;
+import com.skygate.backend.model.dto.request.SensorDetectionMessageDTO;
+import org.junit.jupiter.api.Test;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MqttPayloadDecoderTests {
+
+    private final MqttPayloadDecoder decoder = new MqttPayloadDecoder(new ObjectMapper());
+
+    @Test
+    void decodesSensorDetectionIgnoringUnknownFields() {
+        SensorDetectionMessageDTO message = decoder.decodeSensorDetection(bytes(
+                "{\"action\":\"AIRCRAFT_DETECTED\",\"flightNumber\":\"AV1234\",\"aircraftType\":\"WIDE_BODY\","
+                        + "\"origin\":\"Bogota\",\"sensorId\":\"S-01\"}"));
+
+        assertEquals("AV1234", message.getFlightNumber());
+        assertEquals("WIDE_BODY", message.getAircraftType());
+        assertEquals("Bogota", message.getOrigin());
+    }
+
+    @Test
+    void acceptsNumericIdsSentAsStrings() {
+        SensorDetectionMessageDTO sensor = decoder.decodeSensorDetection(bytes(
+                "{\"action\":\"ARRIVAL_DETECTED\",\"flightId\":\"42\"}"));
+        GateStatusMessageDTO gate = decoder.decodeGateStatus(bytes(
+                "{\"action\":\"MANUAL_OVERRIDE\",\"gateId\":7,\"status\":\"FREE\"}"));
+
+        assertEquals(42L, sensor.getFlightId());
+        assertEquals(7L, gate.getGateId());
+    }
+
+    @Test
+    void decodesBulkDetection() {
+        SensorDetectionMessageDTO message = decoder.decodeSensorDetection(bytes(
+                "{\"action\":\"AIRCRAFT_DETECTED_BULK\",\"detections\":["
+                        + "{\"flightNumber\":\"AV1234\",\"aircraftType\":\"WIDE_BODY\"},"
+                        + "{\"flightNumber\":\"LA321\",\"aircraftType\":\"NARROW_BODY\",\"origin\":\"Lima\"}]}"));
+
+        assertEquals(2, message.getDetections().size());
+        assertEquals("LA321", message.getDetections().get(1).getFlightNumber());
+        assertEquals("Lima", message.getDetections().get(1).getOrigin());
+        assertThrows(InvalidMqttPayloadException.class, () -> decoder.decodeSensorDetection(bytes(
+                "{\"action\":\"AIRCRAFT_DETECTED_BULK\",\"detections\":[]}")));
+    }
+
+    @Test
+    void rejectsMalformedOrIncompletePayloads() {
+        assertThrows(InvalidMqttPayloadException.class, () -> decoder.decodeSensorDetection(bytes("not json")));
+        assertThrows(InvalidMqttPayloadException.class, () -> decoder.decodeSensorDetection(bytes("{\"flightId\":1}")));
+        assertThrows(InvalidMqttPayloadException.class, () -> decoder.decodeSensorDetection(bytes(
+                "{\"action\":\"DEPARTURE_DETECTED\"}")));
+        assertThrows(InvalidMqttPayloadException.class, () -> decoder.decodeSensorDetection(bytes(
+                "{\"action\":\"ARRIVAL_DETECTED\",\"flightId\":\"abc\"}")));
+        assertThrows(InvalidMqttPayloadException.class, () -> decoder.decodeGateStatus(bytes(
+                "{\"action\":\"MANUAL_OVERRIDE\",\"gateId\":7}")));
+        assertThrows(InvalidMqttPayloadException.class, () -> decoder.decodeGateStatus(new byte[0]));
+    }
+
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,313 @@
+package com.skygate.backend.repository;
+
+import com.skygate.backend.model.enums.AircraftType;
+import com.skygate.backend.model.enums.AutomataState;
+import com.skygate.backend.model.enums.FlightStatus;
+import com.skygate.backend.model.enums.GateStatus;
+import com.skygate.backend.model.enums.GateType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Ejecuta los @Query calientes de repository/ contra el esquema de las migraciones, captura el SQL y
+// los parametros que Hibernate envia al driver y hace EXPLAIN de esa misma sentencia. Si una consulta
+// vuelve a recorrer la tabla entera el test falla. Con SKYGATE_PG_URL (PostgreSQL desechable, p. ej.
+// jdbc:postgresql://localhost:5432/skygate_test) se comprueban las migraciones de PostgreSQL; si no, las de H2.
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class HotQueryIndexTests {
+
+    private static final String POSTGRES_URL = System.getenv("SKYGATE_PG_URL");
+    private static final boolean POSTGRES = POSTGRES_URL != null && !POSTGRES_URL.isBlank();
+
+    private static final Pattern FULL_SCAN = Pattern.compile("/\\* PUBLIC\\.[A-Z0-9_]+(\\.tableScan)? \\*/");
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2026, 1, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2026, 1, 2, 0, 0);
+
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Autowired
+    private GateRepository gateRepository;
+
+    @Autowired
+    private GateReservationRepository reservationRepository;
+
+    @Autowired
+    private AircraftRepository aircraftRepository;
+
+    @Autowired
+    private AutomataTransitionRepository transitionRepository;
+
+    @Autowired
+    private ArchivedAssignmentRepository archivedAssignmentRepository;
+
+    @Autowired
+    private ArchivedFlightRepository archivedFlightRepository;
+
+    @Autowired
+    private StatementCapture capture;
+
+    @Autowired
+    private ArchivedTransitionRepository archivedTransitionRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        if (!POSTGRES) {
+            registry.add("spring.datasource.url", () -> "jdbc:h2:mem:explaindb;DB_CLOSE_DELAY=-1");
+            return;
+        }
+        registry.add("spring.datasource.url", () -> POSTGRES_URL);
+        registry.add("spring.datasource.driverClassName", () -> "org.postgresql.Driver");
+        registry.add("spring.datasource.username",
+                () -> System.getenv().getOrDefault("SKYGATE_PG_USERNAME", "postgres"));
+        registry.add("spring.datasource.password",
+                () -> System.getenv().getOrDefault("SKYGATE_PG_PASSWORD", "postgres"));
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.PostgreSQLDialect");
+    }
+
+    private Map<String, Runnable> hotQueries() {
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("findActiveAssignmentByFlightId", () -> assignmentRepository.findActiveAssignmentByFlightId(1L));
+        queries.put("findActiveAssignmentByGateId", () -> assignmentRepository.findActiveAssignmentByGateId(1L));
+        queries.put("findActiveLedRows", () -> assignmentRepository.findActiveLedRows());
+        queries.put("streamHistory", () -> drain(assignmentRepository.streamHistory(FROM, TO)));
+        queries.put("streamHistoryByGate", () -> drain(assignmentRepository.streamHistoryByGate(1L, FROM, TO)));
+        queries.put("streamHistoryByFlights",
+                () -> drain(assignmentRepository.streamHistoryByFlights(List.of(1L, 2L), FROM, TO)));
+        queries.put("findArchivableIds", () -> assignmentRepository.findArchivableIds(FROM, Limit.of(500)));
+        queries.put("assignment findPageAfter", () -> assignmentRepository.findPageAfter(1L, Limit.of(50)));
+        queries.put("assignment findActivePageAfter", () -> assignmentRepository.findActivePageAfter(1L, Limit.of(50)));
+        queries.put("gate findPageAfter", () -> gateRepository.findPageAfter(1L, Limit.of(50)));
+        queries.put("gate findActivePageAfter", () -> gateRepository.findActivePageAfter(1L, Limit.of(50)));
+        queries.put("flight findPageAfter", () -> flightRepository.findPageAfter(1L, Limit.of(50)));
+        queries.put("flight findActivePageAfter", () -> flightRepository.findActivePageAfter(1L, Limit.of(50)));
+        queries.put("findAvailableGatesByType", () -> gateRepository.findAvailableGatesByType(GateType.NARROW_BODY));
+        queries.put("findByTerminalAndStatus", () -> gateRepository.findByTerminalAndStatus("T1", GateStatus.FREE));
+        queries.put("countByStatus", () -> gateRepository.countByStatus(GateStatus.OCCUPIED));
+        queries.put("findByAutomataStateAndStatus",
+                () -> flightRepository.findByAutomataStateAndStatus(AutomataState.S6, FlightStatus.WAITING));
+        queries.put("findAllActiveFlights", () -> flightRepository.findAllActiveFlights());
+        queries.put("streamByDetectionDateRange", () -> drain(flightRepository.streamByDetectionDateRange(FROM, TO)));
+        queries.put("findFlightsByScheduledArrivalRange", () -> flightRepository.findFlightsByScheduledArrivalRange(FROM, TO));
+        queries.put("findArchivable", () -> flightRepository.findArchivable(FROM, Limit.of(500)));
+        queries.put("findActiveByGateId", () -> reservationRepository.findActiveByGateId(1L));
+        queries.put("findActiveStartingBefore", () -> reservationRepository.findActiveStartingBefore(FROM));
+        queries.put("findByFlightIdBetween", () -> transitionRepository.findByFlightIdBetween(1L, FROM, TO));
+        queries.put("findLatestStateRowsByFlightIds",
+                () -> transitionRepository.findLatestStateRowsByFlightIds(List.of(1L, 2L)));
+        queries.put("findStateRowsByAutomataStateIn",
+                () -> flightRepository.findStateRowsByAutomataStateIn(List.of(AutomataState.S1, AutomataState.S6)));
+        queries.put("archived streamHistory", () -> drain(archivedAssignmentRepository.streamHistory(FROM, TO)));
+        queries.put("archived streamHistoryByGate",
+                () -> drain(archivedAssignmentRepository.streamHistoryByGate(1L, FROM, TO)));
+        queries.put("archived streamHistoryByFlights",
+                () -> drain(archivedAssignmentRepository.streamHistoryByFlights(List.of(1L, 2L), FROM, TO)));
+        queries.put("archived transitions findByFlightIdBetween",
+                () -> archivedTransitionRepository.findByFlightIdBetween(1L, FROM, TO));
+        queries.put("archived transitions findByFlightIdOrderByIdAsc",
+                () -> archivedTransitionRepository.findByFlightIdOrderByIdAsc(1L));
+        queries.put("findIdsByFlightNumber", () -> flightRepository.findIdsByFlightNumber("AV101"));
+        queries.put("archived findIdsByFlightNumber", () -> archivedFlightRepository.findIdsByFlightNumber("AV101"));
+        queries.put("archived streamByDetectionDateRange",
+                () -> drain(archivedFlightRepository.streamByDetectionDateRange(FROM, TO)));
+        queries.put("findFirstByAircraftTypeOrderByIdAsc",
+                () -> aircraftRepository.findFirstByAircraftTypeOrderByIdAsc(AircraftType.WIDE_BODY));
+        return queries;
+    }
+
+    @Test
+    void migrationsCoverHotQueries() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            if (POSTGRES) {
+                // Con tablas vacias el planificador prefiere el seq scan; se desactiva para ver si existe
+                // un indice aplicable a cada predicado
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("set enable_seqscan = off");
+                }
+            }
+            for (Map.Entry<String, Runnable> query : hotQueries().entrySet()) {
+                capture.start();
+                query.getValue().run();
+                List<CapturedStatement> statements = capture.stop();
+
+                assertThat(statements).as(query.getKey()).isNotEmpty();
+                for (CapturedStatement statement : statements) {
+                    String plan = explain(connection, statement);
+                    if (POSTGRES) {
+                        assertThat(plan).as(query.getKey() + ": " + statement.sql).doesNotContain("Seq Scan");
+                    } else {
+                        // H2 anota cada acceso con el indice y la condicion de busqueda; sin condicion es un
+                        // recorrido completo de la tabla o del indice
+                        assertThat(plan).as(query.getKey() + ": " + plan).doesNotContainPattern(FULL_SCAN);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void drain(Stream<?> stream) {
+        try (stream) {
+            stream.findFirst();
+        }
+    }
+
+    private static String explain(Connection connection, CapturedStatement captured) {
+        StringBuilder plan = new StringBuilder();
+        try (PreparedStatement statement = connection.prepareStatement("explain " + captured.sql)) {
+            for (Binding binding : captured.bindings) {
+                binding.method.invoke(statement, binding.args);
+            }
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    plan.append(rows.getString(1)).append('\n');
+                }
+            }
+        } catch (SQLException | ReflectiveOperationException e) {
+            throw new IllegalStateException("EXPLAIN failed for: " + captured.sql, e);
+        }
+        return plan.toString();
+    }
+
+    @TestConfiguration
+    static class CaptureConfiguration {
+
+        @Bean
+        StatementCapture statementCapture() {
+            return new StatementCapture();
+        }
+
+        @Bean
+        static BeanPostProcessor capturingDataSource(StatementCapture statementCapture) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource ? statementCapture.wrap((DataSource) bean) : bean;
+                }
+            };
+        }
+    }
+
+    // Proxy JDBC minimo: guarda cada SELECT preparado y los setXxx que recibe para repetirlos en el EXPLAIN
+    static class StatementCapture {
+
+        private final List<CapturedStatement> statements = new ArrayList<>();
+        private volatile boolean capturing;
+
+        void start() {
+            synchronized (statements) {
+                statements.clear();
+            }
+            capturing = true;
+        }
+
+        List<CapturedStatement> stop() {
+            capturing = false;
+            synchronized (statements) {
+                return new ArrayList<>(statements);
+            }
+        }
+
+        DataSource wrap(DataSource target) {
+            return proxy(DataSource.class, target, (method, args, result) ->
+                    method.getName().equals("getConnection") ? wrapConnection((Connection) result) : result);
+        }
+
+        private Connection wrapConnection(Connection target) {
+            return proxy(Connection.class, target, (method, args, result) -> {
+                if (!method.getName().equals("prepareStatement") || !capturing) {
+                    return result;
+                }
+                String sql = (String) args[0];
+                if (!sql.trim().toLowerCase().startsWith("select")) {
+                    return result;
+                }
+                CapturedStatement captured = new CapturedStatement(sql);
+                synchronized (statements) {
+                    statements.add(captured);
+                }
+                return proxy(PreparedStatement.class, (PreparedStatement) result, (setter, setterArgs, ignored) -> {
+                    if (setter.getName().startsWith("set") && setterArgs != null && setterArgs.length >= 2
+                            && setterArgs[0] instanceof Integer) {
+                        captured.bindings.add(new Binding(setter, setterArgs));
+                    }
+                    return ignored;
+                });
+            });
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, T target, ResultDecorator decorator) {
+            InvocationHandler handler = (proxy, method, args) -> {
+                Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getTargetException();
+                }
+                return decorator.decorate(method, args, result);
+            };
+            return (T) Proxy.newProxyInstance(HotQueryIndexTests.class.getClassLoader(), new Class<?>[]{type}, handler);
+        }
+    }
+
+    @FunctionalInterface
+    interface ResultDecorator {
+        Object decorate(Method method, Object[] args, Object result) throws Throwable;
+    }
+
+    static final class CapturedStatement {
+        private final String sql;
+        private final List<Binding> bindings = new ArrayList<>();
+
+        private CapturedStatement(String sql) {
+            this.sql = sql;
+        }
+    }
+
+    static final class Binding {
+        private final Method method;
+        private final Object[] args;
+
+        private Binding(Method method, Object[] args) {
+            this.method = method;
+            this.args = args;
+        }
+    }
+}
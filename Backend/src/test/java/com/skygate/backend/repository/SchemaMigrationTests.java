@@ -0,0 +1,48 @@
+package com.skygate.backend.repository;
+
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Simula una base de datos de produccion anterior a Flyway: solo tiene el esquema de V1 y ninguna tabla
+// de historial. Con baseline-on-migrate V1 se marca como aplicada y el resto de migraciones debe crear
+// todas las tablas que el esquema base no tenia.
+class SchemaMigrationTests {
+
+    @Test
+    void preFlywayDatabaseUpgradesFromBaseline() throws SQLException {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:upgradedb;DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration/h2")
+                .target("1").load().migrate();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("drop table \"flyway_schema_history\"");
+        }
+        assertThat(tableExists(dataSource, "GATE_RESERVATIONS")).isFalse();
+
+        int applied = Flyway.configure().dataSource(dataSource).locations("classpath:db/migration/h2")
+                .baselineOnMigrate(true).baselineVersion("1").load().migrate().migrationsExecuted;
+
+        assertThat(applied).isEqualTo(6);
+        assertThat(tableExists(dataSource, "GATE_RESERVATIONS")).isTrue();
+        assertThat(tableExists(dataSource, "AUTOMATA_TRANSITIONS")).isTrue();
+        assertThat(tableExists(dataSource, "ASSIGNMENTS_ARCHIVE")).isTrue();
+        assertThat(tableExists(dataSource, "FLIGHTS_ARCHIVE")).isTrue();
+    }
+
+    private static boolean tableExists(JdbcDataSource dataSource, String table) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             ResultSet tables = connection.getMetaData().getTables(null, "PUBLIC", table, null)) {
+            return tables.next();
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.skygate.backend.service.archive;
+
+import com.skygate.backend.IntegrationTestSupport;
+import com.skygate.backend.model.dto.response.AssignmentResponseDTO;
+import com.skygate.backend.model.dto.response.FlightResponseDTO;
+import com.skygate.backend.model.entity.Aircraft;
+import com.skygate.backend.model.entity.Assignment;
+import com.skygate.backend.model.entity.AutomataTransitionRecord;
+import com.skygate.backend.model.entity.Flight;
+import com.skygate.backend.model.entity.Gate;
+import com.skygate.backend.model.enums.AutomataInput;
+import com.skygate.backend.model.enums.AutomataState;
+import com.skygate.backend.model.enums.FlightStatus;
+import com.skygate.backend.repository.AircraftRepository;
+import com.skygate.backend.repository.ArchivedAssignmentRepository;
+import com.skygate.backend.repository.ArchivedFlightRepository;
+import com.skygate.backend.repository.ArchivedTransitionRepository;
+import com.skygate.backend.repository.AssignmentRepository;
+import com.skygate.backend.repository.AutomataTransitionRepository;
+import com.skygate.backend.repository.FlightRepository;
+import com.skygate.backend.repository.GateRepository;
+import com.skygate.backend.service.assignment.AssignmentService;
+import com.skygate.backend.service.automata.TransitionHistoryService;
+import com.skygate.backend.service.flight.FlightService;
+import com.skygate.backend.service.monitoring.DashboardStatsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArchiveServiceTests extends IntegrationTestSupport {
+
+    @Autowired
+    private ArchiveService archiveService;
+
+    @Autowired
+    private AssignmentService assignmentService;
+
+    @Autowired
+    private FlightService flightService;
+
+    @Autowired
+    private DashboardStatsService dashboardStatsService;
+
+    @Autowired
+    private AircraftRepository aircraftRepository;
+
+    @Autowired
+    private GateRepository gateRepository;
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+
+    @Autowired
+    private ArchivedFlightRepository archivedFlightRepository;
+
+    @Autowired
+    private ArchivedAssignmentRepository archivedAssignmentRepository;
+
+    @Autowired
+    private AutomataTransitionRepository transitionRepository;
+
+    @Autowired
+    private ArchivedTransitionRepository archivedTransitionRepository;
+
+    @Autowired
+    private TransitionHistoryService historyService;
+
+    @Test
+    void movesOldDepartedFlightsAndClosedAssignmentsInChunksAndKeepsThemInHistory() {
+        LocalDateTime now = LocalDateTime.now();
+        Gate gate = gateRepository.findAll().get(0);
+
+        Flight oldDeparture = departedFlight("AR101", now.minusHours(48));
+        Flight recentDeparture = departedFlight("AR102", now.minusHours(1));
+        Flight reassigned = flight("AR103", FlightStatus.GATE_ASSIGNED, AutomataState.S3, null);
+        Assignment oldClosed = closedAssignment(oldDeparture, gate, now.minusHours(48));
+        Assignment recentClosed = closedAssignment(recentDeparture, gate, now.minusHours(1));
+        Assignment reassignedClosed = closedAssignment(reassigned, gate, now.minusHours(30));
+
+        // Lote de 1 fila para recorrer varios bloques por tabla
+        int moved = new ArchivalJob(archiveService, true, 24, 1).archiveOlderThan(now.minusHours(24));
+
+        assertThat(moved).isEqualTo(3);
+        assertThat(flightRepository.findById(oldDeparture.getId())).isEmpty();
+        assertThat(archivedFlightRepository.findById(oldDeparture.getId()))
+                .hasValueSatisfying(archived -> assertThat(archived.getFlightNumber()).isEqualTo("AR101"));
+        assertThat(flightRepository.findById(recentDeparture.getId())).isPresent();
+        assertThat(flightRepository.findById(reassigned.getId())).isPresent();
+        assertThat(assignmentRepository.findAllById(List.of(oldClosed.getId(), reassignedClosed.getId()))).isEmpty();
+        assertThat(archivedAssignmentRepository.findAllById(List.of(oldClosed.getId(), reassignedClosed.getId())))
+                .hasSize(2);
+        assertThat(assignmentRepository.findById(recentClosed.getId())).isPresent();
+        assertThat(dashboardStatsService.countFlightsByStatus(FlightStatus.DEPARTED)).isEqualTo(1);
+
+        // El historico une ambas tablas, con los datos del vuelo sea cual sea su tabla
+        List<AssignmentResponseDTO> archivedFlightHistory = assignmentService.getAssignmentHistoryByFlight("AR101");
+        assertThat(archivedFlightHistory).hasSize(1);
+        assertThat(archivedFlightHistory.get(0).getId()).isEqualTo(oldClosed.getId());
+        assertThat(archivedFlightHistory.get(0).getGate().getGateNumber()).isEqualTo(gate.getGateNumber());
+        assertThat(assignmentService.getAssignmentHistoryByFlight("AR103"))
+                .extracting(AssignmentResponseDTO::getId)
+                .containsExactly(reassignedClosed.getId());
+
+        List<Long> gateHistory = assignmentService.getAssignmentHistory(now.minusHours(72), now, gate.getGateNumber(), null)
+                .stream().map(AssignmentResponseDTO::getId).collect(Collectors.toList());
+        assertThat(gateHistory).containsExactly(oldClosed.getId(), reassignedClosed.getId(), recentClosed.getId());
+
+        assertThat(flightService.getFlightsByDateRange(null, null))
+                .extracting(FlightResponseDTO::getId)
+                .containsExactly(oldDeparture.getId(), recentDeparture.getId(), reassigned.getId());
+    }
+
+    @Test
+    void archivedFlightsTakeTheirTransitionJournalAlong() {
+        LocalDateTime now = LocalDateTime.now();
+        Flight oldDeparture = departedFlight("AR201", now.minusHours(48));
+        LocalDateTime detectedAt = now.minusHours(50).truncatedTo(ChronoUnit.SECONDS);
+        journal(oldDeparture, AutomataState.S0, AutomataInput.I1, AutomataState.S1, detectedAt);
+        journal(oldDeparture, AutomataState.S1, AutomataInput.I2, AutomataState.S3, detectedAt.plusSeconds(1));
+        journal(oldDeparture, AutomataState.S3, AutomataInput.I3, AutomataState.S4, detectedAt.plusSeconds(2));
+
+        assertThat(archiveService.archiveFlightChunk(now.minusHours(24), 10)).isEqualTo(1);
+
+        assertThat(transitionRepository.findByFlightIdOrderByIdAsc(oldDeparture.getId())).isEmpty();
+        assertThat(archivedTransitionRepository.findByFlightIdOrderByIdAsc(oldDeparture.getId())).hasSize(3);
+
+        // El historial del vuelo archivado se lee del diario archivado
+        assertThat(historyService.getHistory(oldDeparture.getId()))
+                .extracting(AutomataTransitionRecord::getInput)
+                .containsExactly(AutomataInput.I1, AutomataInput.I2, AutomataInput.I3);
+        assertThat(historyService.getHistory(oldDeparture.getId(), detectedAt.plusSeconds(1), null))
+                .extracting(AutomataTransitionRecord::getToState)
+                .containsExactly(AutomataState.S3, AutomataState.S4);
+        assertThat(historyService.getStateAt(oldDeparture.getId(), detectedAt.plusSeconds(1))).isEqualTo(AutomataState.S3);
+        assertThat(historyService.getStateAt(oldDeparture.getId(), detectedAt.minusSeconds(1))).isEqualTo(AutomataState.S0);
+    }
+
+    @Test
+    void mergeKeepsOrderAndDropsRowsSeenInBothTables() {
+        Stream<Integer> hot = Stream.of(1, 4, 6, 9);
+        Stream<Integer> archived = Stream.of(2, 4, 5, 10);
+
+        try (Stream<Integer> merged = ArchiveService.mergeSorted(hot, archived, Integer::compare)) {
+            assertThat(merged).containsExactly(1, 2, 4, 5, 6, 9, 10);
+        }
+    }
+
+    private Flight departedFlight(String flightNumber, LocalDateTime departedAt) {
+        return flight(flightNumber, FlightStatus.DEPARTED, AutomataState.S0, departedAt);
+    }
+
+    private Flight flight(String flightNumber, FlightStatus status, AutomataState state, LocalDateTime departedAt) {
+        Aircraft aircraft = aircraftRepository.findAll().get(0);
+        Flight flight = new Flight(flightNumber, aircraft, "BOG", "MDE");
+        flight.setStatus(status);
+        flight.setAutomataState(state);
+        flight.setDetectedAt(departedAt != null ? departedAt.minusHours(2) : LocalDateTime.now());
+        flight.setActualDeparture(departedAt);
+        return flightRepository.save(flight);
+    }
+
+    private void journal(Flight flight, AutomataState from, AutomataInput input, AutomataState to, LocalDateTime at) {
+        jdbcTemplate.update("insert into automata_transitions (flight_id, flight_number, from_state, input, to_state, "
+                        + "outputs, occurred_at) values (?, ?, ?, ?, ?, ?, ?)",
+                flight.getId(), flight.getFlightNumber(), from.name(), input.name(), to.name(), "", at);
+    }
+
+    private Assignment closedAssignment(Flight flight, Gate gate, LocalDateTime closedAt) {
+        Assignment assignment = new Assignment(flight, gate);
+        assignment.setAssignedAt(closedAt.minusHours(1));
+        assignment.setIsActive(false);
+        assignment.setDepartureTime(closedAt);
+        return assignmentRepository.save(assignment);
+    }
+}
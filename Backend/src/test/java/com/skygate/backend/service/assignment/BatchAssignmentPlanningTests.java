@@ -0,0 +1,121 @@
+package com.skygate.backend.service.assignment;
+
+import com.skygate.backend.model.entity.Aircraft;
+import com.skygate.backend.model.entity.Flight;
+import com.skygate.backend.model.entity.Gate;
+import com.skygate.backend.model.enums.AircraftType;
+import com.skygate.backend.model.enums.GateStatus;
+import com.skygate.backend.model.enums.GateType;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BatchAssignmentPlanningTests {
+
+    private final AssignmentStrategyService strategyService = new AssignmentStrategyService(null);
+
+    @Test
+    void keepsLargeGatesForLargeAircraftInTheSameWave() {
+        // Asignando en orden de llegada el narrow body ocuparia el unico gate wide body
+        List<Flight> flights = List.of(flight(1L, AircraftType.NARROW_BODY), flight(2L, AircraftType.WIDE_BODY));
+        List<Gate> gates = List.of(gate(10L, GateType.WIDE_BODY));
+
+        Map<Long, Gate> plan = strategyService.planBatchAssignment(flights, gates);
+
+        assertThat(plan).containsOnlyKeys(2L);
+        assertThat(plan.get(2L).getId()).isEqualTo(10L);
+    }
+
+    @Test
+    void prefersExactMatchesAndNeverPlansIncompatiblePairs() {
+        List<Flight> flights = List.of(
+                flight(1L, AircraftType.NARROW_BODY),
+                flight(2L, AircraftType.JUMBO),
+                flight(3L, AircraftType.WIDE_BODY));
+        List<Gate> gates = List.of(
+                gate(10L, GateType.WIDE_BODY),
+                gate(11L, GateType.NARROW_BODY),
+                gate(12L, GateType.WIDE_BODY));
+
+        Map<Long, Gate> plan = strategyService.planBatchAssignment(flights, gates);
+
+        assertThat(plan.get(1L).getGateType()).isEqualTo(GateType.NARROW_BODY);
+        assertThat(plan.get(3L).getGateType()).isEqualTo(GateType.WIDE_BODY);
+        assertThat(plan).doesNotContainKey(2L);
+    }
+
+    @Test
+    void solverMatchesBruteForceOnSmallMatrices() {
+        Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            int rows = 1 + random.nextInt(5);
+            int columns = 1 + random.nextInt(5);
+            long[][] cost = new long[rows][columns];
+            for (int i = 0; i < rows; i++) {
+                for (int j = 0; j < columns; j++) {
+                    cost[i][j] = random.nextInt(4) == 0 ? MinCostAssignment.FORBIDDEN : random.nextInt(150);
+                }
+            }
+
+            int[] match = MinCostAssignment.solve(cost);
+
+            assertThat(score(cost, match)).isEqualTo(bruteForce(cost, 0, new boolean[columns]));
+        }
+    }
+
+    // Compara (parejas validas, coste) de la mejor asignacion: mas parejas primero, menor coste despues
+    private static long score(long[][] cost, int[] match) {
+        long pairs = 0;
+        long total = 0;
+        boolean[] usedColumns = new boolean[cost[0].length];
+        for (int i = 0; i < match.length; i++) {
+            if (match[i] >= 0) {
+                assertThat(usedColumns[match[i]]).isFalse();
+                assertThat(cost[i][match[i]]).isLessThan(MinCostAssignment.FORBIDDEN);
+                usedColumns[match[i]] = true;
+                pairs++;
+                total += cost[i][match[i]];
+            }
+        }
+        return -pairs * MinCostAssignment.FORBIDDEN + total;
+    }
+
+    private static long bruteForce(long[][] cost, int row, boolean[] usedColumns) {
+        if (row == cost.length) {
+            return 0;
+        }
+        long best = bruteForce(cost, row + 1, usedColumns);
+        for (int j = 0; j < usedColumns.length; j++) {
+            if (!usedColumns[j] && cost[row][j] < MinCostAssignment.FORBIDDEN) {
+                usedColumns[j] = true;
+                best = Math.min(best, cost[row][j] - MinCostAssignment.FORBIDDEN
+                        + bruteForce(cost, row + 1, usedColumns));
+                usedColumns[j] = false;
+            }
+        }
+        return best;
+    }
+
+    private static Flight flight(Long id, AircraftType aircraftType) {
+        Aircraft aircraft = new Aircraft();
+        aircraft.setAircraftType(aircraftType);
+        Flight flight = new Flight();
+        flight.setId(id);
+        flight.setFlightNumber("BA" + id);
+        flight.setAircraft(aircraft);
+        return flight;
+    }
+
+    private static Gate gate(Long id, GateType gateType) {
+        Gate gate = new Gate();
+        gate.setId(id);
+        gate.setGateNumber("G" + id);
+        gate.setGateType(gateType);
+        gate.setStatus(GateStatus.FREE);
+        gate.setIsActive(true);
+        return gate;
+    }
+}
@@ -0,0 +1,44 @@
+package com.skygate.backend.service.automata;
+
+import com.skygate.backend.IntegrationTestSupport;
+import com.skygate.backend.model.entity.Flight;
+import com.skygate.backend.model.enums.AircraftType;
+import com.skygate.backend.model.enums.AutomataState;
+import com.skygate.backend.service.flight.FlightDetectionService;
+import com.skygate.backend.service.flight.FlightService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AutomataStateLoaderTests extends IntegrationTestSupport {
+
+    @Autowired
+    private AutomataStateLoader stateLoader;
+
+    @Autowired
+    private AutomataStateManager stateManager;
+
+    @Autowired
+    private FlightDetectionService detectionService;
+
+    @Autowired
+    private FlightService flightService;
+
+    @Test
+    void warmStartRestoresInProgressFlightsWithoutOverwritingLiveStates() {
+        Flight first = detectionService.detectFlightByAircraftType("WS101", AircraftType.JUMBO, "BOG", "LIM", "Avianca");
+        Flight second = detectionService.detectFlightByAircraftType("WS102", AircraftType.NARROW_BODY, "BOG", "LIM", "Avianca");
+        AutomataState firstState = flightService.getFlightById(first.getId()).getAutomataState();
+
+        stateManager.clear();
+        assertThat(stateManager.getCurrentState(first.getId())).isEqualTo(AutomataState.S0);
+
+        // Una transicion en vivo anterior a la precarga tiene prioridad sobre la BD
+        stateManager.setState(second.getId(), AutomataState.S5);
+
+        assertThat(stateLoader.warmStart()).isEqualTo(1);
+        assertThat(stateManager.getCurrentState(first.getId())).isEqualTo(firstState);
+        assertThat(stateManager.getCurrentState(second.getId())).isEqualTo(AutomataState.S5);
+    }
+}
@@ -0,0 +1,44 @@
+package com.skygate.backend.service.automata;
+
+import com.skygate.backend.model.enums.AutomataState;
+import com.skygate.backend.repository.FlightRepository;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class BatchAssignmentCoordinatorTests {
+
+    private final AutomataService automataService = mock(AutomataService.class);
+    private final FlightRepository flightRepository = mock(FlightRepository.class);
+
+    @Test
+    void flightsLeftInDetectionStatesAreRecoveredIntoTheNextBatch() {
+        when(flightRepository.findStateRowsByAutomataStateIn(anyCollection())).thenReturn(List.of(
+                new Object[]{7L, AutomataState.S1},
+                new Object[]{9L, AutomataState.S3}));
+        BatchAssignmentCoordinator coordinator = new BatchAssignmentCoordinator(automataService, flightRepository, true, 500);
+
+        assertThat(coordinator.recoverPending()).isEqualTo(2);
+        coordinator.submit(11L);
+        coordinator.flush();
+
+        verify(flightRepository).findStateRowsByAutomataStateIn(
+                List.of(AutomataState.S1, AutomataState.S2, AutomataState.S3));
+        verify(automataService).processBatchGateAssignment(List.of(7L, 9L, 11L));
+        assertThat(coordinator.getPendingCount()).isZero();
+    }
+
+    @Test
+    void nothingIsRecoveredWhenBatchingIsDisabled() {
+        BatchAssignmentCoordinator coordinator = new BatchAssignmentCoordinator(automataService, flightRepository, false, 500);
+
+        assertThat(coordinator.recoverPending()).isZero();
+        verifyNoInteractions(flightRepository);
+    }
+}
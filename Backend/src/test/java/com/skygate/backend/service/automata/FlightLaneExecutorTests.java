@@ -0,0 +1,105 @@
+package com.skygate.backend.service.automata;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FlightLaneExecutorTests {
+
+    private final FlightLaneExecutor lanes = new FlightLaneExecutor(new SimpleMeterRegistry(), true, 4);
+    private final ExecutorService callers = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        lanes.shutdown();
+    }
+
+    @Test
+    void inputsOfTheSameFlightNeverOverlap() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        List<Future<Integer>> results = new ArrayList<>();
+
+        for (int i = 0; i < 200; i++) {
+            int input = i;
+            results.add(callers.submit(() -> lanes.execute(7L, () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                order.add(input);
+                running.decrementAndGet();
+                return input;
+            })));
+        }
+        for (int i = 0; i < results.size(); i++) {
+            assertThat(results.get(i).get(10, TimeUnit.SECONDS)).isEqualTo(i);
+        }
+
+        assertThat(maxRunning.get()).isEqualTo(1);
+        assertThat(order).hasSize(200);
+    }
+
+    @Test
+    void flightsOnDifferentLanesRunInParallel() throws Exception {
+        assertThat(lanes.laneFor(1L)).isNotEqualTo(lanes.laneFor(2L));
+        CountDownLatch bothStarted = new CountDownLatch(2);
+
+        Future<Boolean> first = callers.submit(() -> lanes.execute(1L, () -> awaitOther(bothStarted)));
+        Future<Boolean> second = callers.submit(() -> lanes.execute(2L, () -> awaitOther(bothStarted)));
+
+        assertThat(first.get(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(second.get(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void nestedCallsRunOnTheLaneOfTheirFlightAndFailuresReachTheCaller() {
+        String sameFlight = lanes.execute(3L, () -> lanes.execute(3L, () -> Thread.currentThread().getName()));
+        assertThat(sameFlight).isEqualTo("skygate-flight-lane-" + lanes.laneFor(3L));
+
+        String otherFlight = lanes.execute(3L, () -> lanes.execute(4L, () -> Thread.currentThread().getName()));
+        assertThat(otherFlight).isEqualTo("skygate-flight-lane-" + lanes.laneFor(4L));
+
+        assertThatThrownBy(() -> lanes.execute(3L, () -> {
+            throw new IllegalStateException("No active assignment");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("No active assignment");
+    }
+
+    @Test
+    void lanesWaitingOnEachOtherDoNotDeadlock() throws Exception {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+
+        Future<String> first = callers.submit(() -> lanes.execute(1L, () -> {
+            awaitOther(bothStarted);
+            return lanes.execute(2L, () -> "first");
+        }));
+        Future<String> second = callers.submit(() -> lanes.execute(2L, () -> {
+            awaitOther(bothStarted);
+            return lanes.execute(1L, () -> "second");
+        }));
+
+        assertThat(first.get(10, TimeUnit.SECONDS)).isEqualTo("first");
+        assertThat(second.get(10, TimeUnit.SECONDS)).isEqualTo("second");
+    }
+
+    private static boolean awaitOther(CountDownLatch bothStarted) {
+        bothStarted.countDown();
+        try {
+            return bothStarted.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
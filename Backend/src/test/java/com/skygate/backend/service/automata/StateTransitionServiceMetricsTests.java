@@ -0,0 +1,95 @@
+package com.skygate.backend.service.automata;
+
+import com.skygate.backend.exception.InvalidStateTransitionException;
+import com.skygate.backend.model.entity.Flight;
+import com.skygate.backend.model.enums.AircraftType;
+import com.skygate.backend.model.enums.AutomataInput;
+import com.skygate.backend.model.enums.AutomataState;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StateTransitionServiceMetricsTests {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final StateTransitionService service = new StateTransitionService(
+            new AutomataStateManager(), new TransitionJournal(null, registry, false, 1, 1, 0, 1, 0), registry);
+
+    @Test
+    void recordsTransitionsByStatePairAndRejections() {
+        Flight flight = flight(1L);
+
+        service.processInput(flight, AutomataInput.I1, AircraftType.WIDE_BODY);
+
+        assertThat(registry.get("skygate.automata.transition")
+                .tags("from", "S0", "input", "I1", "to", "S1", "outcome", "success")
+                .timer().count()).isEqualTo(1);
+
+        assertThatThrownBy(() -> service.processInput(flight, AutomataInput.I6, null))
+                .isInstanceOf(InvalidStateTransitionException.class);
+        assertThat(registry.get("skygate.automata.transition")
+                .tags("from", "S1", "input", "I6", "outcome", "rejected")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void measuresWaitInS6UntilGateIsAssigned() {
+        Flight flight = flight(2L);
+
+        service.processInput(flight, AutomataInput.I1, AircraftType.NARROW_BODY);
+        service.processInput(flight, AutomataInput.I4, null);
+        assertThat(registry.get("skygate.automata.s6.waiting").gauge().value()).isEqualTo(1.0);
+
+        service.processInput(flight, AutomataInput.OTHER, null);
+        service.processInput(flight, AutomataInput.I3, null);
+
+        assertThat(registry.get("skygate.automata.s6.wait").tags("exit", "S4").timer().count()).isEqualTo(1);
+        assertThat(registry.get("skygate.automata.s6.waiting").gauge().value()).isZero();
+    }
+
+    @Test
+    void waitIsOnlyTrackedOnceTheTransactionCommits() {
+        Flight flight = flight(3L);
+        service.processInput(flight, AutomataInput.I1, AircraftType.NARROW_BODY);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.processInput(flight, AutomataInput.I4, null);
+            assertThat(registry.get("skygate.automata.s6.waiting").gauge().value()).isZero();
+
+            // Rollback: la entrada en S6 no se registra
+            TransactionSynchronizationManager.getSynchronizations().forEach(sync ->
+                    sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(registry.get("skygate.automata.s6.waiting").gauge().value()).isZero();
+    }
+
+    @Test
+    void resumedWaitCountsFromThePersistedEntryInstant() {
+        Flight flight = flight(4L);
+        flight.setAutomataState(AutomataState.S6);
+        service.resumeWaiting(flight.getId(), LocalDateTime.now().minusMinutes(10));
+        assertThat(registry.get("skygate.automata.s6.waiting").gauge().value()).isEqualTo(1.0);
+
+        service.processInput(flight, AutomataInput.I3, null);
+
+        assertThat(registry.get("skygate.automata.s6.wait").tags("exit", "S4").timer().totalTime(TimeUnit.MINUTES))
+                .isGreaterThanOrEqualTo(10.0);
+    }
+
+    private static Flight flight(Long id) {
+        Flight flight = new Flight();
+        flight.setId(id);
+        flight.setFlightNumber("MT" + id);
+        flight.setAutomataState(AutomataState.S0);
+        return flight;
+    }
+}
@@ -0,0 +1,54 @@
+package com.skygate.backend.service.automata;
+
+import com.skygate.backend.IntegrationTestSupport;
+import com.skygate.backend.model.entity.AutomataTransitionRecord;
+import com.skygate.backend.model.entity.Flight;
+import com.skygate.backend.model.enums.AircraftType;
+import com.skygate.backend.model.enums.AutomataInput;
+import com.skygate.backend.model.enums.AutomataState;
+import com.skygate.backend.service.flight.FlightDetectionService;
+import com.skygate.backend.service.flight.FlightService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransitionHistoryServiceTests extends IntegrationTestSupport {
+
+    @Autowired
+    private FlightDetectionService detectionService;
+
+    @Autowired
+    private FlightService flightService;
+
+    @Autowired
+    private TransitionHistoryService historyService;
+
+    @Autowired
+    private AutomataStateManager stateManager;
+
+    @Test
+    void journalsCommittedTransitionsAndRebuildsStateOnReplay() {
+        Flight detected = detectionService.detectFlightByAircraftType("JR101", AircraftType.NARROW_BODY, "BOG", "MDE", "Avianca");
+        AutomataState storedState = flightService.getFlightById(detected.getId()).getAutomataState();
+        assertThat(storedState).isEqualTo(AutomataState.S4);
+
+        List<AutomataTransitionRecord> history = historyService.getHistory(detected.getId());
+        assertThat(history).extracting(AutomataTransitionRecord::getInput)
+                .containsExactly(AutomataInput.I1, AutomataInput.I2, AutomataInput.I3);
+        assertThat(history.get(0).getFromState()).isEqualTo(AutomataState.S0);
+        assertThat(history.get(history.size() - 1).getToState()).isEqualTo(storedState);
+
+        LocalDateTime beforeDetection = history.get(0).getOccurredAt().minusSeconds(1);
+        assertThat(historyService.getStateAt(detected.getId(), beforeDetection)).isEqualTo(AutomataState.S0);
+        assertThat(historyService.getStateAt(detected.getId(), LocalDateTime.now())).isEqualTo(storedState);
+
+        stateManager.removeFlight(detected.getId());
+        assertThat(stateManager.getCurrentState(detected.getId())).isEqualTo(AutomataState.S0);
+
+        historyService.replay();
+        assertThat(stateManager.getCurrentState(detected.getId())).isEqualTo(storedState);
+    }
+}
@@ -0,0 +1,144 @@
+package com.skygate.backend.service.automata;
+
+import com.skygate.backend.model.entity.Flight;
+import com.skygate.backend.model.enums.AutomataInput;
+import com.skygate.backend.model.enums.AutomataOutput;
+import com.skygate.backend.model.enums.AutomataState;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class TransitionJournalTests {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void failedBatchIsRetriedUntilTheDatabaseRecovers() {
+        FlakyJdbcTemplate jdbcTemplate = new FlakyJdbcTemplate(3);
+        TransitionJournal journal = new TransitionJournal(jdbcTemplate, registry, true, 100, 10, 20, 2, 1);
+        journal.start();
+
+        journal.append(flight(1L, "JR101"), transition(AutomataState.S0, AutomataState.S2));
+        journal.append(flight(1L, "JR101"), transition(AutomataState.S2, AutomataState.S3));
+        journal.flush();
+        journal.stop();
+
+        // El escritor sigue reintentando mas alla de max-attempts mientras esta activo
+        assertThat(jdbcTemplate.written).containsExactly("JR101", "JR101");
+        assertThat(count("written")).isEqualTo(2.0);
+        assertThat(count("failed")).isZero();
+        assertThat(count("retried")).isGreaterThanOrEqualTo(3.0);
+    }
+
+    @Test
+    void integrityViolationOnlyDropsTheInvalidRows() {
+        FlakyJdbcTemplate jdbcTemplate = new FlakyJdbcTemplate(0);
+        jdbcTemplate.invalidFlightNumber = "BAD1";
+        TransitionJournal journal = new TransitionJournal(jdbcTemplate, registry, true, 100, 10, 20, 2, 1);
+
+        // Sin escritor activo flush escribe en el hilo llamador, en un unico lote
+        journal.append(flight(1L, "JR101"), transition(AutomataState.S0, AutomataState.S2));
+        journal.append(flight(2L, "BAD1"), transition(AutomataState.S0, AutomataState.S2));
+        journal.append(flight(3L, "JR103"), transition(AutomataState.S0, AutomataState.S1));
+        journal.flush();
+
+        assertThat(jdbcTemplate.written).containsExactly("JR101", "JR103");
+        assertThat(count("written")).isEqualTo(2.0);
+        assertThat(count("failed")).isEqualTo(1.0);
+        assertThat(count("retried")).isZero();
+    }
+
+    @Test
+    void flushWaitsForTheRowTheWriterIsInserting() {
+        FlakyJdbcTemplate jdbcTemplate = new FlakyJdbcTemplate(0);
+        jdbcTemplate.insertDelayMs = 5;
+        TransitionJournal journal = new TransitionJournal(jdbcTemplate, registry, true, 100, 10, 20, 2, 1);
+        journal.start();
+        try {
+            // Cada flush tiene que ver escrito el registro que acaba de encolar, tambien cuando el
+            // escritor ya lo saco de la cola y aun no lo ha insertado
+            for (int i = 1; i <= 50; i++) {
+                journal.append(flight((long) i, "JR" + (100 + i)), transition(AutomataState.S0, AutomataState.S1));
+                journal.flush();
+                assertThat(jdbcTemplate.written).hasSize(i);
+            }
+        } finally {
+            journal.stop();
+        }
+    }
+
+    private double count(String outcome) {
+        return registry.counter("skygate.automata.journal.records", "outcome", outcome).count();
+    }
+
+    private static Flight flight(Long id, String flightNumber) {
+        Flight flight = new Flight();
+        flight.setId(id);
+        flight.setFlightNumber(flightNumber);
+        return flight;
+    }
+
+    private static StateTransitionService.TransitionResult transition(AutomataState from, AutomataState to) {
+        return new StateTransitionService.TransitionResult(from, to, AutomataInput.I1, List.of(AutomataOutput.O1));
+    }
+
+    // Falla las primeras failures llamadas como una caida de la BD y rechaza los lotes con invalidFlightNumber
+    private static final class FlakyJdbcTemplate extends JdbcTemplate {
+
+        private final AtomicInteger failures;
+        private final List<String> written = new ArrayList<>();
+        private String invalidFlightNumber;
+        private long insertDelayMs;
+
+        private FlakyJdbcTemplate(int failures) {
+            this.failures = new AtomicInteger(failures);
+        }
+
+        @Override
+        public <T> int[][] batchUpdate(String sql, Collection<T> batchArgs, int batchSize,
+                                       ParameterizedPreparedStatementSetter<T> pss) {
+            if (failures.getAndDecrement() > 0) {
+                throw new TransientDataAccessResourceException("database unavailable");
+            }
+            List<String> flightNumbers = new ArrayList<>();
+            for (T entry : batchArgs) {
+                PreparedStatement statement = mock(PreparedStatement.class);
+                try {
+                    pss.setValues(statement, entry);
+                    ArgumentCaptor<String> flightNumber = ArgumentCaptor.forClass(String.class);
+                    verify(statement).setString(eq(2), flightNumber.capture());
+                    flightNumbers.add(flightNumber.getValue());
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            if (insertDelayMs > 0) {
+                try {
+                    Thread.sleep(insertDelayMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (flightNumbers.contains(invalidFlightNumber)) {
+                throw new DataIntegrityViolationException("invalid row");
+            }
+            written.addAll(flightNumbers);
+            return new int[][]{new int[batchArgs.size()]};
+        }
+    }
+}
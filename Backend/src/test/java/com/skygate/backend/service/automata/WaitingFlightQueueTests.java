@@ -0,0 +1,72 @@
+package com.skygate.backend.service.automata;
+
+import com.skygate.backend.event.EntityChangedEvent;
+import com.skygate.backend.model.entity.Aircraft;
+import com.skygate.backend.model.entity.Flight;
+import com.skygate.backend.model.enums.AircraftType;
+import com.skygate.backend.model.enums.AutomataState;
+import com.skygate.backend.model.enums.FlightStatus;
+import com.skygate.backend.model.enums.GateType;
+import org.junit.jupiter.api.Test;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WaitingFlightQueueTests {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    @Test
+    void prefersExactGateTypeThenBestSmallerAircraft() {
+        WaitingFlightQueue queue = new WaitingFlightQueue(null, WaitingFlightQueue.Order.SCHEDULED_ARRIVAL, List.of());
+        queue.enqueue(waiting(1L, AircraftType.NARROW_BODY, BASE.plusMinutes(30), "AV"));
+        queue.enqueue(waiting(2L, AircraftType.NARROW_BODY, BASE.plusMinutes(10), "AV"));
+        queue.enqueue(waiting(3L, AircraftType.WIDE_BODY, BASE.plusMinutes(50), "AV"));
+
+        assertThat(queue.pollBestFor(GateType.WIDE_BODY)).get()
+                .extracting(WaitingFlightQueue.WaitingFlight::getFlightId).isEqualTo(3L);
+        assertThat(queue.pollBestFor(GateType.JUMBO)).get()
+                .extracting(WaitingFlightQueue.WaitingFlight::getFlightId).isEqualTo(2L);
+        assertThat(queue.pollBestFor(GateType.JUMBO)).get()
+                .extracting(WaitingFlightQueue.WaitingFlight::getFlightId).isEqualTo(1L);
+        assertThat(queue.pollBestFor(GateType.NARROW_BODY)).isEmpty();
+    }
+
+    @Test
+    void followsCommittedStateChangesAndPriorityAirlines() {
+        WaitingFlightQueue queue = new WaitingFlightQueue(null, WaitingFlightQueue.Order.PRIORITY, List.of("LA"));
+        Flight first = waiting(1L, AircraftType.NARROW_BODY, BASE, "AV");
+        Flight second = waiting(2L, AircraftType.NARROW_BODY, BASE, "LA");
+        queue.onEntityChanged(new EntityChangedEvent(this, first, false));
+        queue.onEntityChanged(new EntityChangedEvent(this, second, false));
+        assertThat(queue.size(AircraftType.NARROW_BODY)).isEqualTo(2);
+
+        first.setAutomataState(AutomataState.S4);
+        first.setStatus(FlightStatus.GATE_ASSIGNED);
+        queue.onEntityChanged(new EntityChangedEvent(this, first, false));
+        assertThat(queue.size()).isEqualTo(1);
+
+        queue.enqueue(waiting(3L, AircraftType.NARROW_BODY, BASE, "AV"));
+        WaitingFlightQueue.WaitingFlight best = queue.pollBestFor(GateType.NARROW_BODY).orElseThrow();
+        assertThat(best.getFlightId()).isEqualTo(2L);
+
+        queue.requeue(best);
+        assertThat(queue.pollBestFor(GateType.NARROW_BODY)).get()
+                .extracting(WaitingFlightQueue.WaitingFlight::getFlightId).isEqualTo(2L);
+    }
+
+    private static Flight waiting(Long id, AircraftType aircraftType, LocalDateTime scheduledArrival, String airline) {
+        Aircraft aircraft = new Aircraft();
+        aircraft.setAircraftType(aircraftType);
+        Flight flight = new Flight();
+        flight.setId(id);
+        flight.setFlightNumber("WQ" + id);
+        flight.setAircraft(aircraft);
+        flight.setAirline(airline);
+        flight.setScheduledArrival(scheduledArrival);
+        flight.setAutomataState(AutomataState.S6);
+        flight.setStatus(FlightStatus.WAITING);
+        return flight;
+    }
+}
@@ -0,0 +1,80 @@
+package com.skygate.backend.service.export;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skygate.backend.IntegrationTestSupport;
+import com.skygate.backend.model.dto.request.FlightDetectionRequestDTO;
+import com.skygate.backend.model.dto.response.BulkDetectionResultDTO;
+import com.skygate.backend.model.entity.Assignment;
+import com.skygate.backend.model.enums.AircraftType;
+import com.skygate.backend.model.enums.ExportFormat;
+import com.skygate.backend.service.assignment.AssignmentService;
+import com.skygate.backend.service.flight.FlightDetectionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HistoryExportServiceTests extends IntegrationTestSupport {
+
+    @Autowired
+    private HistoryExportService exportService;
+
+    @Autowired
+    private FlightDetectionService detectionService;
+
+    @Autowired
+    private AssignmentService assignmentService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void exportsAssignmentHistoryAsOneJsonDocumentPerLineAndAsCsv() throws Exception {
+        LocalDateTime from = LocalDateTime.now().minusSeconds(1);
+        FlightDetectionRequestDTO detection = new FlightDetectionRequestDTO();
+        detection.setFlightNumber("EX501");
+        detection.setAircraftType(AircraftType.WIDE_BODY);
+        List<BulkDetectionResultDTO> results = detectionService.detectFlights(List.of(detection));
+        Assignment assignment = assignmentService.getActiveAssignmentByFlightId(results.get(0).getFlightId())
+                .orElseThrow();
+        String gateNumber = assignment.getGate().getGateNumber();
+
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        long written = exportService.exportAssignments(from, null, gateNumber, ExportFormat.NDJSON, ndjson);
+
+        String[] lines = ndjson.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(written).isEqualTo(1);
+        assertThat(lines).hasSize(1);
+        JsonNode row = objectMapper.readTree(lines[0]);
+        assertThat(row.get("id").asLong()).isEqualTo(assignment.getId());
+        assertThat(row.get("flight").get("flightNumber").asText()).isEqualTo("EX501");
+        assertThat(row.get("gate").get("gateNumber").asText()).isEqualTo(gateNumber);
+
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        exportService.exportAssignments(from, null, gateNumber, ExportFormat.CSV, csv);
+        String[] csvLines = csv.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(csvLines).hasSize(2);
+        assertThat(csvLines[0]).startsWith("id,flightId,flightNumber,");
+        assertThat(csvLines[1]).startsWith(assignment.getId() + "," + results.get(0).getFlightId() + ",EX501,");
+
+        ByteArrayOutputStream flights = new ByteArrayOutputStream();
+        long flightRows = exportService.exportFlights(from, null, ExportFormat.NDJSON, flights);
+        String[] flightLines = flights.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(flightRows).isEqualTo(1);
+        assertThat(flightLines).hasSize(1);
+        assertThat(objectMapper.readTree(flightLines[0]).get("flightNumber").asText()).isEqualTo("EX501");
+    }
+
+    @Test
+    void csvValuesAreQuotedOnlyWhenNeeded() {
+        assertThat(HistoryExportService.csvValue(null)).isEmpty();
+        assertThat(HistoryExportService.csvValue("G-W01")).isEqualTo("G-W01");
+        assertThat(HistoryExportService.csvValue("late, reassigned")).isEqualTo("\"late, reassigned\"");
+        assertThat(HistoryExportService.csvValue("gate \"B\"")).isEqualTo("\"gate \"\"B\"\"\"");
+    }
+}
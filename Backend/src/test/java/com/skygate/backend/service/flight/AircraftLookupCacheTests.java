@@ -0,0 +1,49 @@
+package com.skygate.backend.service.flight;
+
+import com.skygate.backend.IntegrationTestSupport;
+import com.skygate.backend.model.entity.Aircraft;
+import com.skygate.backend.model.enums.AircraftType;
+import com.skygate.backend.repository.AircraftRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import java.util.EnumSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AircraftLookupCacheTests extends IntegrationTestSupport {
+
+    @Autowired
+    private AircraftLookupCache aircraftCache;
+
+    @Autowired
+    private AircraftRepository aircraftRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void repeatedLookupsAreServedFromCacheUntilAnAircraftChanges() {
+        aircraftCache.clear();
+        double hitsBefore = hits("type");
+
+        Aircraft first = aircraftCache.findFirstByType(AircraftType.NARROW_BODY).orElseThrow();
+        Aircraft second = aircraftCache.findFirstByType(AircraftType.NARROW_BODY).orElseThrow();
+        assertThat(second).isSameAs(first);
+        assertThat(aircraftCache.findFirstByTypes(EnumSet.of(AircraftType.NARROW_BODY)))
+                .containsEntry(AircraftType.NARROW_BODY, first);
+        assertThat(hits("type") - hitsBefore).isEqualTo(2.0);
+        assertThat(first.getId()).isEqualTo(aircraftRepository.findFirstByAircraftTypeOrderByIdAsc(AircraftType.NARROW_BODY)
+                .orElseThrow().getId());
+
+        assertThat(aircraftCache.findByModel("CACHE-TEST-1")).isEmpty();
+        aircraftRepository.save(new Aircraft("CACHE-TEST-1", AircraftType.JUMBO, "Skygate"));
+
+        assertThat(aircraftCache.size()).isZero();
+        assertThat(aircraftCache.findByModel("CACHE-TEST-1")).isPresent();
+    }
+
+    private double hits(String cache) {
+        return meterRegistry.counter("skygate.aircraft.cache", "cache", cache, "result", "hit").count();
+    }
+}
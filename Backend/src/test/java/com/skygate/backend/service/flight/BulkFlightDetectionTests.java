@@ -0,0 +1,110 @@
+package com.skygate.backend.service.flight;
+
+import com.skygate.backend.IntegrationTestSupport;
+import com.skygate.backend.event.EntityChangedEvent;
+import com.skygate.backend.model.dto.request.FlightDetectionRequestDTO;
+import com.skygate.backend.model.dto.response.BulkDetectionResultDTO;
+import com.skygate.backend.model.entity.Aircraft;
+import com.skygate.backend.model.entity.Flight;
+import com.skygate.backend.model.enums.AircraftType;
+import com.skygate.backend.model.enums.AutomataState;
+import com.skygate.backend.model.enums.FlightStatus;
+import com.skygate.backend.repository.AircraftRepository;
+import com.skygate.backend.service.automata.AutomataService;
+import com.skygate.backend.service.automata.AutomataStateManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RecordApplicationEvents
+class BulkFlightDetectionTests extends IntegrationTestSupport {
+
+    @Autowired
+    private FlightDetectionService detectionService;
+
+    @Autowired
+    private FlightService flightService;
+
+    @Autowired
+    private AircraftRepository aircraftRepository;
+
+    @Autowired
+    private AutomataStateManager stateManager;
+
+    @Autowired
+    private AutomataService automataService;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Test
+    void detectsValidItemsAndReportsPerItemFailures() {
+        Aircraft wideBody = aircraftRepository.findByAircraftType(AircraftType.WIDE_BODY).get(0);
+        Flight scheduled = new Flight();
+        scheduled.setFlightNumber("BK300");
+        scheduled.setAircraft(wideBody);
+        scheduled.setScheduledArrival(LocalDateTime.now().plusHours(3));
+        scheduled.setScheduledDeparture(LocalDateTime.now().plusHours(5));
+        Long scheduledId = flightService.createFlight(scheduled).getId();
+
+        List<BulkDetectionResultDTO> results = detectionService.detectFlights(List.of(
+                detection("BK101", AircraftType.NARROW_BODY),
+                detection("BK102", AircraftType.JUMBO),
+                detection("BK101", AircraftType.NARROW_BODY),
+                detection("not-a-flight", AircraftType.NARROW_BODY),
+                detection("BK300", AircraftType.NARROW_BODY)));
+
+        assertThat(results).extracting(BulkDetectionResultDTO::isSuccess)
+                .containsExactly(true, true, false, false, true);
+        assertThat(results.get(2).getMessage()).isEqualTo("Duplicate flight number in batch");
+        assertThat(results.get(4).getFlightId()).isEqualTo(scheduledId);
+
+        // Los INSERT por lotes no pasan por EntityChangeListener: el alta se publica a mano
+        assertThat(events.stream(EntityChangedEvent.class)
+                .filter(event -> event.getSource() instanceof FlightService && !event.isRemoved())
+                .map(event -> ((Flight) event.getEntity()).getFlightNumber()))
+                .containsExactlyInAnyOrder("BK101", "BK102");
+
+        for (BulkDetectionResultDTO result : List.of(results.get(0), results.get(1), results.get(4))) {
+            Flight stored = flightService.getFlightById(result.getFlightId());
+            assertThat(stored.getAutomataState()).isEqualTo(AutomataState.S4)
+                    .isEqualTo(result.getAutomataState())
+                    .isEqualTo(stateManager.getCurrentState(stored.getId()));
+        }
+        assertThat(flightService.getFlightById(scheduledId).getAircraft().getAircraftType())
+                .isEqualTo(AircraftType.NARROW_BODY);
+
+        List<BulkDetectionResultDTO> again = detectionService.detectFlights(List.of(detection("BK101", AircraftType.NARROW_BODY)));
+        assertThat(again.get(0).isSuccess()).isFalse();
+        assertThat(again.get(0).getMessage()).isEqualTo("Flight with number BK101 already exists");
+    }
+
+    @Test
+    void departedFlightNumbersAreRejectedInsteadOfReusingTheOldRecord() {
+        Flight departed = detectionService.detectFlightByAircraftType("BK401", AircraftType.NARROW_BODY, "BOG", "MDE", "Avianca");
+        automataService.processAircraftArrival(departed.getId());
+        automataService.processAircraftDeparture(departed.getId());
+
+        List<BulkDetectionResultDTO> results = detectionService.detectFlights(List.of(detection("BK401", AircraftType.JUMBO)));
+
+        assertThat(results.get(0).isSuccess()).isFalse();
+        assertThat(results.get(0).getMessage()).isEqualTo("Flight with number BK401 already exists");
+        Flight stored = flightService.getFlightById(departed.getId());
+        assertThat(stored.getStatus()).isEqualTo(FlightStatus.DEPARTED);
+        assertThat(stored.getAircraft().getAircraftType()).isEqualTo(AircraftType.NARROW_BODY);
+    }
+
+    private static FlightDetectionRequestDTO detection(String flightNumber, AircraftType aircraftType) {
+        FlightDetectionRequestDTO detection = new FlightDetectionRequestDTO();
+        detection.setFlightNumber(flightNumber);
+        detection.setAircraftType(aircraftType);
+        detection.setOrigin("BOG");
+        detection.setDestination("MDE");
+        return detection;
+    }
+}
@@ -0,0 +1,101 @@
+package com.skygate.backend.service.flight;
+
+import com.skygate.backend.IntegrationTestSupport;
+import com.skygate.backend.model.dto.response.AssignmentResponseDTO;
+import com.skygate.backend.model.dto.response.CursorPageDTO;
+import com.skygate.backend.model.dto.response.FlightResponseDTO;
+import com.skygate.backend.model.dto.response.GateResponseDTO;
+import com.skygate.backend.model.entity.Flight;
+import com.skygate.backend.model.enums.AircraftType;
+import com.skygate.backend.repository.AircraftRepository;
+import com.skygate.backend.repository.AssignmentRepository;
+import com.skygate.backend.repository.FlightRepository;
+import com.skygate.backend.repository.GateRepository;
+import com.skygate.backend.service.assignment.AssignmentService;
+import com.skygate.backend.service.gate.GateService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CursorPaginationTests extends IntegrationTestSupport {
+
+    @Autowired
+    private FlightService flightService;
+
+    @Autowired
+    private GateService gateService;
+
+    @Autowired
+    private AssignmentService assignmentService;
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Autowired
+    private GateRepository gateRepository;
+
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+
+    @Autowired
+    private AircraftRepository aircraftRepository;
+
+    @Test
+    void walkingTheCursorVisitsEveryRowOnceInIdOrder() {
+        for (int i = 0; i < 5; i++) {
+            Flight flight = new Flight();
+            flight.setFlightNumber("PG40" + i);
+            flight.setAircraft(aircraftRepository.findByAircraftType(AircraftType.NARROW_BODY).get(0));
+            flight.setScheduledArrival(LocalDateTime.now().plusHours(1));
+            flight.setScheduledDeparture(LocalDateTime.now().plusHours(2));
+            flightService.createFlight(flight);
+        }
+
+        List<FlightResponseDTO> flights = walk(after -> flightService.getFlightPage(after, 2, false));
+        List<FlightResponseDTO> expected = flightRepository.findAll().stream()
+                .sorted(Comparator.comparing(Flight::getId))
+                .map(FlightResponseDTO::fromEntity)
+                .collect(Collectors.toList());
+        assertThat(flights).usingRecursiveFieldByFieldElementComparator().isEqualTo(expected);
+
+        List<GateResponseDTO> gates = walk(after -> gateService.getGatePage(after, 3, false));
+        assertThat(gates).extracting(GateResponseDTO::getId)
+                .containsExactlyElementsOf(gateRepository.findAll().stream()
+                        .map(gate -> gate.getId()).sorted().collect(Collectors.toList()));
+
+        List<AssignmentResponseDTO> assignments = walk(after -> assignmentService.getAssignmentPage(after, 2, false));
+        assertThat(assignments).usingRecursiveFieldByFieldElementComparator()
+                .isEqualTo(assignmentRepository.findAll().stream()
+                        .sorted(Comparator.comparing(assignment -> assignment.getId()))
+                        .map(AssignmentResponseDTO::fromEntity)
+                        .collect(Collectors.toList()));
+    }
+
+    @Test
+    void lastPageHasNoCursorAndSizeIsClamped() {
+        CursorPageDTO<GateResponseDTO> page = gateService.getGatePage(null, 1000, false);
+        assertThat(page.getNextCursor()).isNull();
+        assertThat(page.getSize()).isEqualTo(page.getItems().size());
+
+        assertThat(CursorPageDTO.limit(null)).isEqualTo(50);
+        assertThat(CursorPageDTO.limit(10_000)).isEqualTo(200);
+    }
+
+    private static <T> List<T> walk(Function<Long, CursorPageDTO<T>> fetchPage) {
+        List<T> all = new ArrayList<>();
+        Long cursor = null;
+        do {
+            CursorPageDTO<T> page = fetchPage.apply(cursor);
+            all.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return all;
+    }
+}
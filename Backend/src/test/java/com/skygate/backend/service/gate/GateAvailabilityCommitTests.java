@@ -0,0 +1,44 @@
+package com.skygate.backend.service.gate;
+
+import com.skygate.backend.IntegrationTestSupport;
+import com.skygate.backend.model.entity.Gate;
+import com.skygate.backend.model.enums.GateStatus;
+import com.skygate.backend.model.enums.GateType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GateAvailabilityCommitTests extends IntegrationTestSupport {
+
+    @Autowired
+    private GateAvailabilityService gateAvailabilityService;
+
+    @Autowired
+    private GateService gateService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void releasedGateReachesTheIndexOnlyAfterCommit() {
+        Gate gate = gateService.getGatesByStatus(GateStatus.FREE).get(0);
+        GateType gateType = gate.getGateType();
+        gateService.updateGateStatus(gate.getId(), GateStatus.MAINTENANCE);
+        int freeBefore = gateAvailabilityService.getAvailableGatesCountByType(gateType);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            gateService.updateGateStatus(gate.getId(), GateStatus.FREE);
+            assertThat(gateAvailabilityService.getAvailableGatesCountByType(gateType)).isEqualTo(freeBefore);
+            status.setRollbackOnly();
+        });
+        assertThat(gateAvailabilityService.getAvailableGatesCountByType(gateType)).isEqualTo(freeBefore);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            gateService.updateGateStatus(gate.getId(), GateStatus.FREE);
+            assertThat(gateAvailabilityService.getAvailableGatesCountByType(gateType)).isEqualTo(freeBefore);
+        });
+        assertThat(gateAvailabilityService.getAvailableGatesCountByType(gateType)).isEqualTo(freeBefore + 1);
+    }
+}
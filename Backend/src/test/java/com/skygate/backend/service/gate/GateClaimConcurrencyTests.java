@@ -0,0 +1,92 @@
+package com.skygate.backend.service.gate;
+
+import com.skygate.backend.model.entity.Assignment;
+import com.skygate.backend.model.enums.AircraftType;
+import com.skygate.backend.model.enums.AutomataState;
+import com.skygate.backend.model.enums.GateStatus;
+import com.skygate.backend.repository.AssignmentRepository;
+import com.skygate.backend.repository.FlightRepository;
+import com.skygate.backend.repository.GateRepository;
+import com.skygate.backend.service.flight.FlightDetectionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:gateclaimdb",
+        "spring.jpa.show-sql=false",
+        "logging.level.com.skygate.backend=WARN",
+        "logging.level.org.hibernate.SQL=WARN"
+})
+class GateClaimConcurrencyTests {
+
+    private static final int DETECTIONS = 2000;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private FlightDetectionService flightDetectionService;
+
+    @Autowired
+    private GateRepository gateRepository;
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+
+    @Test
+    void concurrentDetectionsNeverDoubleBookAGate() throws Exception {
+        long gatePool = gateRepository.countByStatus(GateStatus.FREE);
+        assertThat(gatePool).isPositive().isLessThan(DETECTIONS);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < DETECTIONS; i++) {
+            String flightNumber = "ST" + (1000 + i);
+            futures.add(executor.submit(() -> {
+                try {
+                    start.await();
+                    flightDetectionService.detectFlightByAircraftType(
+                            flightNumber, AircraftType.NARROW_BODY, "Bogota", "Lima", "SkyGate Test");
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        assertThat(failures).isEmpty();
+
+        List<Assignment> activeAssignments = assignmentRepository.findByIsActiveTrue();
+        Set<Long> assignedGateIds = activeAssignments.stream()
+                .map(assignment -> assignment.getGate().getId())
+                .collect(Collectors.toSet());
+
+        assertThat(activeAssignments).hasSize((int) gatePool);
+        assertThat(assignedGateIds).hasSize((int) gatePool);
+        assertThat(gateRepository.countByStatus(GateStatus.ASSIGNED)).isEqualTo(gatePool);
+        assertThat(flightRepository.countByAutomataState(AutomataState.S4)).isEqualTo(gatePool);
+        assertThat(flightRepository.countByAutomataState(AutomataState.S6)).isEqualTo(DETECTIONS - gatePool);
+    }
+}
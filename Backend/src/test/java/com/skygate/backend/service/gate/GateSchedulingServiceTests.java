@@ -0,0 +1,187 @@
+package com.skygate.backend.service.gate;
+
+import com.skygate.backend.IntegrationTestSupport;
+import com.skygate.backend.exception.NoAvailableGateException;
+import com.skygate.backend.model.entity.Aircraft;
+import com.skygate.backend.model.entity.Flight;
+import com.skygate.backend.model.entity.Gate;
+import com.skygate.backend.model.entity.GateReservation;
+import com.skygate.backend.model.enums.AircraftType;
+import com.skygate.backend.model.enums.FlightStatus;
+import com.skygate.backend.model.enums.GateStatus;
+import com.skygate.backend.model.enums.GateType;
+import com.skygate.backend.repository.AircraftRepository;
+import com.skygate.backend.repository.FlightRepository;
+import com.skygate.backend.repository.GateReservationRepository;
+import com.skygate.backend.service.automata.AutomataService;
+import com.skygate.backend.service.flight.FlightDetectionService;
+import com.skygate.backend.service.flight.FlightService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GateSchedulingServiceTests extends IntegrationTestSupport {
+
+    @Autowired
+    private GateSchedulingService schedulingService;
+
+    @Autowired
+    private GateService gateService;
+
+    @Autowired
+    private FlightService flightService;
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Autowired
+    private AircraftRepository aircraftRepository;
+
+    @Autowired
+    private GateReservationRepository reservationRepository;
+
+    @Autowired
+    private FlightDetectionService detectionService;
+
+    @Autowired
+    private AutomataService automataService;
+
+    @Test
+    void overlappingReservationsNeverShareAGate() {
+        LocalDateTime arrival = LocalDateTime.now().plusHours(5);
+        int jumboGates = gateService.getGatesByType(GateType.JUMBO).size();
+
+        Set<Long> reservedGates = new HashSet<>();
+        for (int i = 0; i < jumboGates; i++) {
+            GateReservation reservation = schedulingService.preassignGate(
+                    scheduledFlight("GS" + (100 + i), AircraftType.JUMBO, arrival).getId());
+            assertThat(reservation.getGate().getGateType()).isEqualTo(GateType.JUMBO);
+            reservedGates.add(reservation.getGate().getId());
+        }
+        assertThat(reservedGates).hasSize(jumboGates);
+
+        // Todos los gates jumbo estan reservados en esa franja
+        Long overflow = scheduledFlight("GS199", AircraftType.JUMBO, arrival.plusMinutes(30)).getId();
+        assertThatThrownBy(() -> schedulingService.preassignGate(overflow))
+                .isInstanceOf(NoAvailableGateException.class);
+
+        // Fuera de la franja los mismos gates vuelven a estar disponibles
+        GateReservation later = schedulingService.preassignGate(
+                scheduledFlight("GS198", AircraftType.JUMBO, arrival.plusHours(6)).getId());
+        assertThat(reservedGates).contains(later.getGate().getId());
+    }
+
+    @Test
+    void reservationsPreferTheExactTypeThenTheSmallestLargerGate() {
+        LocalDateTime arrival = LocalDateTime.now().plusHours(5);
+        int narrowGates = gateService.getGatesByType(GateType.NARROW_BODY).size();
+
+        for (int i = 0; i < narrowGates; i++) {
+            GateReservation reservation = schedulingService.preassignGate(
+                    scheduledFlight("GN" + (100 + i), AircraftType.NARROW_BODY, arrival).getId());
+            assertThat(reservation.getGate().getGateType()).isEqualTo(GateType.NARROW_BODY);
+        }
+
+        GateReservation overflow = schedulingService.preassignGate(
+                scheduledFlight("GN199", AircraftType.NARROW_BODY, arrival).getId());
+        assertThat(overflow.getGate().getGateType()).isEqualTo(GateType.WIDE_BODY);
+    }
+
+    @Test
+    void imminentReservationHoldsTheGateUntilTheFlightClaimsIt() {
+        Flight flight = scheduledFlight("GC101", AircraftType.WIDE_BODY, LocalDateTime.now().plusMinutes(30));
+
+        GateReservation reservation = schedulingService.preassignGate(flight.getId());
+        Long gateId = reservation.getGate().getId();
+        assertThat(gateService.getGateById(gateId).getStatus()).isEqualTo(GateStatus.RESERVED);
+
+        Optional<Gate> claimed = schedulingService.claimReservedGate(reload(flight));
+
+        assertThat(claimed).map(Gate::getId).contains(gateId);
+        assertThat(gateService.getGateById(gateId).getStatus()).isEqualTo(GateStatus.ASSIGNED);
+        assertThat(reservationRepository.findActiveByFlightId(flight.getId())).isEmpty();
+    }
+
+    @Test
+    void promotionReservesTheGateOnceTheReservationEntersTheHorizon() {
+        Flight flight = scheduledFlight("GP101", AircraftType.WIDE_BODY, LocalDateTime.now().plusHours(5));
+        GateReservation reservation = schedulingService.preassignGate(flight.getId());
+        Long gateId = reservation.getGate().getId();
+        assertThat(gateService.getGateById(gateId).getStatus()).isEqualTo(GateStatus.FREE);
+
+        moveStartTo(reservation, LocalDateTime.now().plusMinutes(10));
+        schedulingService.promoteUpcomingReservations();
+
+        assertThat(gateService.getGateById(gateId).getStatus()).isEqualTo(GateStatus.RESERVED);
+        assertThat(reservationRepository.findActiveByFlightId(flight.getId()))
+                .map(active -> active.getGate().getId()).contains(gateId);
+    }
+
+    @Test
+    void promotionRelocatesReservationsWhoseGateIsStillOccupied() {
+        Flight flight = scheduledFlight("GR101", AircraftType.WIDE_BODY, LocalDateTime.now().plusHours(5));
+        GateReservation reservation = schedulingService.preassignGate(flight.getId());
+        Long previousGateId = reservation.getGate().getId();
+        gateService.updateGateStatus(previousGateId, GateStatus.OCCUPIED);
+
+        moveStartTo(reservation, LocalDateTime.now().plusMinutes(10));
+        schedulingService.promoteUpcomingReservations();
+
+        GateReservation relocated = reservationRepository.findActiveByFlightId(flight.getId()).orElseThrow();
+        assertThat(relocated.getGate().getId()).isNotEqualTo(previousGateId);
+        assertThat(AircraftType.WIDE_BODY.isCompatibleWith(relocated.getGate().getGateType())).isTrue();
+        assertThat(gateService.getGateById(relocated.getGate().getId()).getStatus()).isEqualTo(GateStatus.RESERVED);
+        assertThat(gateService.getGateById(previousGateId).getStatus()).isEqualTo(GateStatus.OCCUPIED);
+    }
+
+    @Test
+    void departedFlightsAreNotTreatedAsScheduled() {
+        Flight departed = detectionService.detectFlightByAircraftType("GD101", AircraftType.NARROW_BODY, "BOG", "LIM", "Avianca");
+        automataService.processAircraftArrival(departed.getId());
+        automataService.processAircraftDeparture(departed.getId());
+        Flight stored = flightService.getFlightById(departed.getId());
+        assertThat(stored.getStatus()).isEqualTo(FlightStatus.DEPARTED);
+        assertThat(stored.isScheduled()).isFalse();
+
+        // Volver a detectar el numero no reutiliza el registro del viaje anterior
+        assertThat(flightService.findScheduledFlight("GD101")).isEmpty();
+        assertThatThrownBy(() -> detectionService.detectFlightByAircraftType(
+                "GD101", AircraftType.WIDE_BODY, "BOG", "LIM", "Avianca"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("already exists");
+        assertThatThrownBy(() -> schedulingService.preassignGate(departed.getId()))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        Flight unchanged = flightService.getFlightById(departed.getId());
+        assertThat(unchanged.getStatus()).isEqualTo(FlightStatus.DEPARTED);
+        assertThat(unchanged.getAircraft().getAircraftType()).isEqualTo(AircraftType.NARROW_BODY);
+        assertThat(unchanged.getActualDeparture()).isEqualTo(stored.getActualDeparture());
+    }
+
+    private Flight scheduledFlight(String flightNumber, AircraftType aircraftType, LocalDateTime arrival) {
+        Aircraft aircraft = aircraftRepository.findFirstByAircraftTypeOrderByIdAsc(aircraftType).orElseThrow();
+        Flight flight = new Flight();
+        flight.setFlightNumber(flightNumber);
+        flight.setAircraft(aircraft);
+        flight.setOrigin("BOG");
+        flight.setDestination("LIM");
+        flight.setAirline("SkyGate Test");
+        flight.setScheduledArrival(arrival);
+        flight.setScheduledDeparture(arrival.plusMinutes(60));
+        return flightService.createFlight(flight);
+    }
+
+    private Flight reload(Flight flight) {
+        return flightRepository.findByIdWithAircraft(flight.getId()).orElseThrow();
+    }
+
+    private void moveStartTo(GateReservation reservation, LocalDateTime start) {
+        jdbcTemplate.update("update gate_reservations set start_time = ? where id = ?", start, reservation.getId());
+    }
+}
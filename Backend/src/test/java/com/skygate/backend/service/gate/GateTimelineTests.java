@@ -0,0 +1,64 @@
+package com.skygate.backend.service.gate;
+
+import org.junit.jupiter.api.Test;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GateTimelineTests {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 8, 0);
+
+    @Test
+    void intervalTreeMatchesBruteForceOverlapChecks() {
+        Random random = new Random(13);
+        IntervalTree tree = new IntervalTree();
+        List<long[]> intervals = new ArrayList<>();
+
+        for (int step = 0; step < 2000; step++) {
+            if (!intervals.isEmpty() && random.nextInt(3) == 0) {
+                long[] removed = intervals.remove(random.nextInt(intervals.size()));
+                assertThat(tree.remove(removed[0], removed[1])).isTrue();
+            } else {
+                long start = random.nextInt(1000);
+                long[] interval = {step, start, start + 1 + random.nextInt(50)};
+                intervals.add(interval);
+                tree.insert(interval[0], interval[1], interval[2]);
+            }
+
+            long from = random.nextInt(1050);
+            long to = from + 1 + random.nextInt(60);
+            long expected = intervals.stream().filter(i -> i[1] < to && from < i[2]).count();
+            assertThat(tree.size()).isEqualTo(intervals.size());
+            assertThat(tree.overlapsAny(from, to)).isEqualTo(expected > 0);
+            assertThat(tree.overlaps(from, to)).hasSize((int) expected);
+        }
+    }
+
+    @Test
+    void reservationsRejectOverlapsButForcedOccupancyIsReportedAsConflict() {
+        GateTimeline timeline = new GateTimeline();
+
+        assertThat(timeline.reserve(1L, 100L, BASE, BASE.plusHours(2))).isTrue();
+        assertThat(timeline.reserve(1L, 101L, BASE.plusHours(1), BASE.plusHours(3))).isFalse();
+        // Ventanas semiabiertas: empezar justo cuando termina la anterior no solapa
+        assertThat(timeline.reserve(1L, 101L, BASE.plusHours(2), BASE.plusHours(3))).isTrue();
+        assertThat(timeline.findFreeGates(List.of(1L, 2L), BASE.plusMinutes(30), BASE.plusHours(1)))
+                .containsExactly(2L);
+
+        timeline.occupy(1L, 200L, BASE.plusMinutes(90), BASE.plusHours(4));
+        assertThat(timeline.findConflicts(1L, 200L, BASE.plusMinutes(90), BASE.plusHours(4)))
+                .containsExactlyInAnyOrder(100L, 101L);
+
+        // Re-reservar el mismo vuelo mueve su ventana en lugar de duplicarla
+        assertThat(timeline.reserve(2L, 100L, BASE, BASE.plusHours(2))).isTrue();
+        assertThat(timeline.getBookedGate(100L)).isEqualTo(2L);
+        assertThat(timeline.size()).isEqualTo(3);
+
+        assertThat(timeline.release(200L)).isTrue();
+        assertThat(timeline.isFree(1L, BASE, BASE.plusHours(2))).isTrue();
+    }
+}
@@ -0,0 +1,42 @@
+package com.skygate.backend.service.monitoring;
+
+import com.skygate.backend.IntegrationTestSupport;
+import com.skygate.backend.model.entity.Gate;
+import com.skygate.backend.model.enums.GateStatus;
+import com.skygate.backend.service.gate.GateService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DashboardStatsServiceTests extends IntegrationTestSupport {
+
+    @Autowired
+    private DashboardStatsService statsService;
+
+    @Autowired
+    private GateService gateService;
+
+    @Test
+    void countersFollowCommittedChangesAndMatchDatabase() {
+        assertThat(statsService.getTotalGates()).isEqualTo(gateService.getAllGates().size());
+        assertThat(statsService.countGatesByStatus(GateStatus.FREE))
+                .isEqualTo(gateService.countGatesByStatus(GateStatus.FREE));
+
+        Gate gate = gateService.getGatesByStatus(GateStatus.FREE).get(0);
+        long free = statsService.countGatesByStatus(GateStatus.FREE);
+        long maintenance = statsService.countGatesByStatus(GateStatus.MAINTENANCE);
+
+        gateService.updateGateStatus(gate.getId(), GateStatus.MAINTENANCE);
+
+        assertThat(statsService.countGatesByStatus(GateStatus.FREE)).isEqualTo(free - 1);
+        assertThat(statsService.countGatesByStatus(GateStatus.MAINTENANCE)).isEqualTo(maintenance + 1);
+
+        statsService.reconcileStats();
+        assertThat(statsService.countGatesByStatus(GateStatus.MAINTENANCE))
+                .isEqualTo(gateService.countGatesByStatus(GateStatus.MAINTENANCE));
+
+        gateService.updateGateStatus(gate.getId(), GateStatus.FREE);
+        assertThat(statsService.countGatesByStatus(GateStatus.FREE)).isEqualTo(free);
+    }
+}
@@ -0,0 +1,50 @@
+package com.skygate.backend.service.monitoring;
+
+import org.junit.jupiter.api.Test;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StatusTallyTests {
+
+    @Test
+    void movesCountsBetweenKeysOnUpdate() {
+        StatusTally<String> tally = new StatusTally<>();
+        tally.put(1L, "FREE");
+        tally.put(2L, "FREE");
+        tally.put(1L, "ASSIGNED");
+
+        assertThat(tally.count("FREE")).isEqualTo(1);
+        assertThat(tally.count("ASSIGNED")).isEqualTo(1);
+        assertThat(tally.size()).isEqualTo(2);
+
+        tally.remove(2L);
+        assertThat(tally.count("FREE")).isZero();
+        assertThat(tally.size()).isEqualTo(1);
+    }
+
+    @Test
+    void reconcileFixesDriftWithoutOverwritingNewerChanges() {
+        StatusTally<String> tally = new StatusTally<>();
+        tally.put(1L, "FREE");
+        tally.put(2L, "FREE");
+        tally.put(3L, "OCCUPIED");
+
+        long mark = tally.mark();
+        // Cambios aplicados mientras se leia la BD
+        tally.put(2L, "ASSIGNED");
+        tally.put(4L, "FREE");
+        tally.remove(3L);
+
+        // La lectura de la BD es anterior a esos cambios y ademas el id 1 estaba desalineado
+        Map<Long, String> actual = Map.of(1L, "MAINTENANCE", 2L, "FREE", 3L, "OCCUPIED", 5L, "FREE");
+        int drift = tally.reconcile(actual, mark);
+
+        assertThat(drift).isEqualTo(2);
+        assertThat(tally.size()).isEqualTo(4);
+        assertThat(tally.count("MAINTENANCE")).isEqualTo(1);
+        assertThat(tally.count("ASSIGNED")).isEqualTo(1);
+        assertThat(tally.count("FREE")).isEqualTo(2);
+        assertThat(tally.count("OCCUPIED")).isZero();
+    }
+}
@@ -0,0 +1,133 @@
+package com.skygate.backend.service.outbox;
+
+import com.skygate.backend.service.outbox.SideEffectOutbox.Channel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SideEffectOutboxTests {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicBoolean brokerConnected = new AtomicBoolean(true);
+    private SideEffectOutbox outbox = new SideEffectOutbox(registry, brokerConnected::get, true, 100, 10, 3, 1);
+
+    @AfterEach
+    void tearDown() {
+        outbox.stop();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void effectsLeaveOnlyAfterCommitAndRollbackDiscardsThem() {
+        outbox.start();
+        List<String> sent = new CopyOnWriteArrayList<>();
+
+        TransactionSynchronizationManager.initSynchronization();
+        outbox.record(Channel.MQTT, "leds", () -> sent.add("GREEN"));
+        outbox.record(Channel.WEBSOCKET, "websocket", () -> sent.add("S3->S4"));
+        assertThat(sent).isEmpty();
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        TransactionSynchronizationManager.initSynchronization();
+        outbox.record(Channel.MQTT, "leds", () -> sent.add("RED"));
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // stop() espera a que los relays despachen todo lo pendiente
+        outbox.stop();
+        assertThat(sent).containsExactlyInAnyOrder("GREEN", "S3->S4");
+        assertThat(count("leds", "discarded")).isEqualTo(1.0);
+    }
+
+    @Test
+    void failedEffectIsRetriedBeforeLaterOnesInOrder() {
+        outbox.start();
+        List<String> sent = new CopyOnWriteArrayList<>();
+        AtomicInteger attempts = new AtomicInteger();
+
+        outbox.record(Channel.MQTT, "leds", () -> attempts.incrementAndGet() >= 2 && sent.add("GREEN"));
+        outbox.record(Channel.MQTT, "leds", () -> sent.add("RED"));
+        outbox.record(Channel.MQTT, "display", () -> false);
+
+        outbox.stop();
+        assertThat(sent).containsExactly("GREEN", "RED");
+        assertThat(attempts.get()).isEqualTo(2);
+        assertThat(count("display", "failed")).isEqualTo(3.0);
+    }
+
+    @Test
+    void permanentFailuresAndBrokerOutagesAreNotRetried() {
+        outbox.start();
+        AtomicInteger attempts = new AtomicInteger();
+
+        outbox.record(Channel.MQTT, "display", () -> {
+            attempts.incrementAndGet();
+            throw new IllegalArgumentException("not serializable");
+        });
+        outbox.stop();
+
+        brokerConnected.set(false);
+        outbox = new SideEffectOutbox(registry, brokerConnected::get, true, 100, 10, 3, 1);
+        outbox.start();
+        outbox.record(Channel.MQTT, "leds", () -> attempts.incrementAndGet() > 0);
+        outbox.stop();
+
+        assertThat(attempts.get()).isEqualTo(1);
+        assertThat(count("display", "rejected")).isEqualTo(1.0);
+        assertThat(count("display", "retried")).isZero();
+        assertThat(count("leds", "unavailable")).isEqualTo(1.0);
+    }
+
+    @Test
+    void stuckMqttLaneNeitherDelaysWebSocketNorBlocksCommits() throws InterruptedException {
+        outbox = new SideEffectOutbox(registry, brokerConnected::get, true, 1, 10, 3, 1);
+        outbox.start();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch webSocketSent = new CountDownLatch(1);
+
+        outbox.record(Channel.MQTT, "leds", () -> await(release));
+        // El relay MQTT esta ocupado: la primera entra en la cola, la segunda se descarta sin bloquear
+        Thread.sleep(50);
+        outbox.record(Channel.MQTT, "leds", () -> true);
+        outbox.record(Channel.MQTT, "leds", () -> true);
+        outbox.record(Channel.WEBSOCKET, "websocket", () -> {
+            webSocketSent.countDown();
+            return true;
+        });
+
+        assertThat(webSocketSent.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(count("leds", "dropped")).isEqualTo(1.0);
+        release.countDown();
+    }
+
+    private double count(String type, String outcome) {
+        return registry.counter("skygate.outbox.effects", "type", type, "outcome", outcome).count();
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, status);
+    }
+}
@@ -0,0 +1,48 @@
+package com.skygate.backend.websocket;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class WebSocketBroadcastBufferTests {
+
+    private final SimpMessagingTemplate messagingTemplate = mock(SimpMessagingTemplate.class);
+
+    @Test
+    void coalescesEntityUpdatesIntoOneFramePerTopic() {
+        WebSocketBroadcastBuffer buffer = new WebSocketBroadcastBuffer(messagingTemplate, new SimpleMeterRegistry(), true);
+
+        buffer.publish("/topic/gates/status", 1L, "gate-1-assigned");
+        buffer.publish("/topic/gates/status", 2L, "gate-2-free");
+        buffer.publish("/topic/gates/status", 1L, "gate-1-occupied");
+        buffer.publishEvent("/topic/automata/transitions", "t1");
+        buffer.publishEvent("/topic/automata/transitions", "t2");
+
+        verify(messagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
+
+        buffer.flush();
+
+        verify(messagingTemplate).convertAndSend("/topic/gates/status", (Object) List.of("gate-1-occupied", "gate-2-free"));
+        verify(messagingTemplate).convertAndSend("/topic/automata/transitions", (Object) List.of("t1", "t2"));
+
+        buffer.flush();
+        verify(messagingTemplate, times(2)).convertAndSend(anyString(), any(Object.class));
+    }
+
+    @Test
+    void sendsImmediatelyWhenDisabled() {
+        WebSocketBroadcastBuffer buffer = new WebSocketBroadcastBuffer(messagingTemplate, new SimpleMeterRegistry(), false);
+
+        buffer.publish("/topic/gates/status", 1L, "gate-1-assigned");
+
+        verify(messagingTemplate).convertAndSend("/topic/gates/status", (Object) "gate-1-assigned");
+    }
+}
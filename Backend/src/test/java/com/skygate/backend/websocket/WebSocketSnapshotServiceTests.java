@@ -0,0 +1,67 @@
+package com.skygate.backend.websocket;
+
+import com.skygate.backend.IntegrationTestSupport;
+import com.skygate.backend.model.dto.response.SnapshotDeltaDTO;
+import com.skygate.backend.model.dto.response.SnapshotSyncResponseDTO;
+import com.skygate.backend.model.entity.Gate;
+import com.skygate.backend.model.enums.GateStatus;
+import com.skygate.backend.service.gate.GateService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WebSocketSnapshotServiceTests extends IntegrationTestSupport {
+
+    @Autowired
+    private WebSocketSnapshotService snapshotService;
+
+    @Autowired
+    private GateService gateService;
+
+    @Test
+    void resumesFromRevisionWithOnlyChangedFields() {
+        SnapshotSyncResponseDTO full = snapshotService.syncGates(null, null);
+        assertThat(full.getMode()).isEqualTo(SnapshotSyncResponseDTO.MODE_FULL);
+        assertThat(full.getItems()).isNotEmpty();
+
+        Gate gate = gateService.getAllGates().get(0);
+        gateService.updateGateStatus(gate.getId(), GateStatus.MAINTENANCE);
+
+        SnapshotSyncResponseDTO delta = snapshotService.syncGates(full.getEpoch(), full.getRevision());
+        assertThat(delta.getMode()).isEqualTo(SnapshotSyncResponseDTO.MODE_DELTA);
+        assertThat(delta.getRevision()).isEqualTo(full.getRevision() + 1);
+        assertThat(delta.getItems()).hasSize(1);
+
+        SnapshotDeltaDTO change = delta.getItems().get(0);
+        assertThat(change.getId()).isEqualTo(gate.getId());
+        assertThat(change.getChanges()).containsEntry("status", "MAINTENANCE");
+        assertThat(change.getChanges()).doesNotContainKeys("gateNumber", "gateType", "terminal");
+
+        SnapshotSyncResponseDTO upToDate = snapshotService.syncGates(delta.getEpoch(), delta.getRevision());
+        assertThat(upToDate.getMode()).isEqualTo(SnapshotSyncResponseDTO.MODE_DELTA);
+        assertThat(upToDate.getItems()).isEmpty();
+    }
+
+    @Test
+    void fallsBackToFullSnapshotForUnknownEpochOrEvictedRevision() {
+        SnapshotSyncResponseDTO full = snapshotService.syncGates(null, null);
+
+        assertThat(snapshotService.syncGates(full.getEpoch() - 1, full.getRevision()).getMode())
+                .isEqualTo(SnapshotSyncResponseDTO.MODE_FULL);
+
+        SnapshotStore store = new SnapshotStore("GATE", 1L, 2);
+        store.reset(Map.of(1L, Map.of("status", "FREE")));
+        long initialRevision = store.getRevision();
+        store.apply(1L, Map.of("status", "ASSIGNED"));
+        store.apply(1L, Map.of("status", "OCCUPIED"));
+        store.apply(1L, Map.of("status", "FREE"));
+
+        assertThat(store.sync(1L, initialRevision).getMode()).isEqualTo(SnapshotSyncResponseDTO.MODE_FULL);
+        SnapshotSyncResponseDTO resumed = store.sync(1L, initialRevision + 1);
+        assertThat(resumed.getMode()).isEqualTo(SnapshotSyncResponseDTO.MODE_DELTA);
+        assertThat(resumed.getItems()).singleElement()
+                .satisfies(item -> assertThat(item.getChanges()).containsEntry("status", "FREE"));
+    }
+}
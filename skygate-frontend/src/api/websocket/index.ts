@@ -1,2 +1,3 @@
 export * from './socket.config';
 export * from './useWebSocket';
+export * from './snapshotSync';
@@ -0,0 +1,131 @@
+import type { Client, IMessage, StompSubscription } from '@stomp/stompjs';
+import { parseFrame } from './socket.config';
+import type { SnapshotDelta, SnapshotSyncRequest, SnapshotSyncResponse } from '../../types/backend.types';
+
+export interface SnapshotChannel {
+    syncQueue: string;
+    syncDestination: string;
+    deltaTopic: string;
+}
+
+export type SnapshotListener<T> = (items: Map<number, T>, changes: SnapshotDelta[]) => void;
+
+// Copia local de gates o vuelos mantenida con el protocolo snapshot + delta del backend:
+// 1. Al conectar se suscribe a la cola de sync y al topic de deltas, y envia /app/*/sync con el
+//    epoch y la ultima revision conocidos (null la primera vez).
+// 2. El backend responde FULL (snapshot completo) o DELTA (solo lo cambiado desde esa revision).
+// 3. Despues aplica los deltas del topic en orden de revision. Los que llegan antes de la
+//    respuesta se guardan; si falta una revision se vuelve a sincronizar desde la ultima aplicada.
+export class SnapshotSync<T extends { id: number }> {
+    private items = new Map<number, T>();
+    private epoch: number | null = null;
+    private revision: number | null = null;
+    private syncing = false;
+    private pending: SnapshotDelta[] = [];
+    private client: Client | null = null;
+    private readonly channel: SnapshotChannel;
+    private readonly listener: SnapshotListener<T>;
+
+    constructor(channel: SnapshotChannel, listener: SnapshotListener<T>) {
+        this.channel = channel;
+        this.listener = listener;
+    }
+
+    attach(client: Client): StompSubscription[] {
+        this.client = client;
+        const subscriptions = [
+            client.subscribe(this.channel.syncQueue, (message: IMessage) => {
+                try {
+                    this.applySync(JSON.parse(message.body));
+                } catch (error) {
+                    console.error('[WebSocket] Error parsing snapshot sync:', error);
+                }
+            }),
+            client.subscribe(this.channel.deltaTopic, (message: IMessage) => {
+                try {
+                    this.applyDeltas(parseFrame<SnapshotDelta>(message));
+                } catch (error) {
+                    console.error('[WebSocket] Error parsing snapshot delta:', error);
+                }
+            }),
+        ];
+        this.requestSync();
+        return subscriptions;
+    }
+
+    getItems(): Map<number, T> {
+        return this.items;
+    }
+
+    private requestSync() {
+        if (!this.client || !this.client.connected) {
+            return;
+        }
+        this.syncing = true;
+        const request: SnapshotSyncRequest = { epoch: this.epoch, sinceRevision: this.revision };
+        this.client.publish({ destination: this.channel.syncDestination, body: JSON.stringify(request) });
+    }
+
+    private applySync(response: SnapshotSyncResponse) {
+        const items = response.mode === 'FULL' ? new Map<number, T>() : new Map(this.items);
+        response.items.forEach(delta => this.merge(items, delta));
+
+        this.items = items;
+        this.epoch = response.epoch;
+        this.revision = response.revision;
+        this.syncing = false;
+        // Tras una sincronizacion solo se publica el estado, sin cambios que notificar
+        this.listener(this.items, []);
+
+        const pending = this.pending;
+        this.pending = [];
+        this.applyDeltas(pending);
+    }
+
+    private applyDeltas(deltas: SnapshotDelta[]) {
+        if (this.syncing || this.revision === null) {
+            this.pending.push(...deltas);
+            return;
+        }
+
+        const sorted = [...deltas].sort((a, b) => a.revision - b.revision);
+        const items = new Map(this.items);
+        const applied: SnapshotDelta[] = [];
+        let revision = this.revision;
+        let gap = -1;
+
+        for (let i = 0; i < sorted.length; i++) {
+            const delta = sorted[i];
+            if (delta.revision <= revision) {
+                continue;
+            }
+            if (delta.revision > revision + 1) {
+                gap = i;
+                break;
+            }
+            this.merge(items, delta);
+            revision = delta.revision;
+            applied.push(delta);
+        }
+
+        this.revision = revision;
+        if (applied.length > 0) {
+            this.items = items;
+            this.listener(this.items, applied);
+        }
+        if (gap >= 0) {
+            console.warn(`[WebSocket] Revisión ${revision + 1} perdida en ${this.channel.deltaTopic}, resincronizando`);
+            this.pending.push(...sorted.slice(gap));
+            this.requestSync();
+        }
+    }
+
+    private merge(items: Map<number, T>, delta: SnapshotDelta) {
+        if (delta.removed) {
+            items.delete(delta.id);
+            return;
+        }
+        const current = items.get(delta.id);
+        items.set(delta.id, { ...(current ?? {}), ...delta.changes, id: delta.id } as T);
+    }
+}
@@ -22,13 +22,31 @@ export const WS_CONFIG: WebSocketConfig = {
 
 export const WS_TOPICS = {
     AUTOMATA_TRANSITIONS: '/topic/automata/transitions',
-    FLIGHTS_UPDATES: '/topic/flights/updates',
-    GATES_UPDATES: '/topic/gates/updates',
-    ASSIGNMENTS_UPDATES: '/topic/assignments/updates',
+    FLIGHTS_DELTA: '/topic/flights/delta',
+    GATES_DELTA: '/topic/gates/delta',
+    ASSIGNMENTS_CREATED: '/topic/assignments/created',
+} as const;
+
+// Respuesta a /app/*/sync, solo para la sesion que la pidio
+export const WS_QUEUES = {
+    FLIGHTS_SYNC: '/user/queue/flights/sync',
+    GATES_SYNC: '/user/queue/gates/sync',
+} as const;
+
+export const WS_DESTINATIONS = {
+    FLIGHTS_SYNC: '/app/flights/sync',
+    GATES_SYNC: '/app/gates/sync',
 } as const;
 
 export type WebSocketTopic = typeof WS_TOPICS[keyof typeof WS_TOPICS];
 
+// WebSocketBroadcastBuffer agrupa los mensajes de cada topic en un solo frame cuyo cuerpo es un
+// array JSON. Un objeto suelto (respuestas de /user/queue) se trata como lista de un elemento.
+export function parseFrame<T>(message: IMessage): T[] {
+    const payload: T | T[] = JSON.parse(message.body);
+    return Array.isArray(payload) ? payload : [payload];
+}
+
 export interface WebSocketCallbacks {
     onConnect?: () => void;
     onDisconnect?: () => void;
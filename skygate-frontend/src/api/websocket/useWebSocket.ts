@@ -1,12 +1,24 @@
 import { useEffect, useRef, useState, useCallback } from 'react';
 import { Client, IMessage, StompSubscription } from '@stomp/stompjs';
-import { createStompClient, WS_TOPICS, ConnectionStatus } from './socket.config';
+import { createStompClient, parseFrame, WS_TOPICS, WS_QUEUES, WS_DESTINATIONS, ConnectionStatus } from './socket.config';
+import { SnapshotSync } from './snapshotSync';
 import { useStore } from '../../store';
-import type { AutomataTransition, Flight, Gate, Assignment } from '../../types/backend.types';
+import type { AutomataTransition, Flight, Gate, Assignment, SnapshotDelta } from '../../types/backend.types';
 
 let globalClient: Client | null = null;
 let globalSubscriptions: StompSubscription[] = [];
 let isGloballyConnected = false;
+// Se conservan entre reconexiones para reanudar desde la ultima revision recibida
+let gatesSync: SnapshotSync<Gate> | null = null;
+let flightsSync: SnapshotSync<Flight> | null = null;
+
+const GATE_STATUS_LABELS: Record<string, string> = {
+    FREE: 'disponible',
+    ASSIGNED: 'asignado',
+    OCCUPIED: 'ocupado',
+    MAINTENANCE: 'en mantenimiento',
+    RESERVED: 'reservado',
+};
 
 export function useWebSocket() {
     const [status, setStatus] = useState<ConnectionStatus>('DISCONNECTED');
@@ -18,6 +30,8 @@ export function useWebSocket() {
     const setCurrentState = useStore(state => state.setCurrentState);
     const addToast = useStore(state => state.addToast);
     const addDropdownNotification = useStore(state => state.addDropdownNotification);
+    const setGatesSnapshot = useStore(state => state.setGatesSnapshot);
+    const setFlightsSnapshot = useStore(state => state.setFlightsSnapshot);
 
     const isDuplicateMessage = useCallback((messageId: string): boolean => {
         if (processedMessagesRef.current.has(messageId)) {
@@ -52,105 +66,124 @@ export function useWebSocket() {
         unsubscribeAll();
 
         const automataSubscription = globalClient.subscribe(WS_TOPICS.AUTOMATA_TRANSITIONS, (message: IMessage) => {
+            let transitions: AutomataTransition[];
             try {
-                const transition: AutomataTransition = JSON.parse(message.body);
-                const messageId = `automata-${transition.flightId}-${transition.toState}-${transition.timestamp || Date.now()}`;
-
-                if (isDuplicateMessage(messageId)) {
-                    console.log('[WebSocket] Mensaje duplicado ignorado:', messageId);
-                    return;
-                }
-
-                console.log('[WebSocket] Transición recibida:', transition);
-
-                addTransition(transition);
-                setCurrentState(transition.flightId, transition.toState);
-
-                const notificationMessages: Record<string, { message: string; type: 'success' | 'error' | 'info' | 'warning' }> = {
-                    S0: { message: `Sistema inicializado`, type: 'info' },
-                    S1: { message: `Vuelo ${transition.flightNumber} - Wide Body detectado`, type: 'info' },
-                    S2: { message: `Vuelo ${transition.flightNumber} - Jumbo detectado`, type: 'info' },
-                    S3: { message: `Vuelo ${transition.flightNumber} - Narrow Body detectado`, type: 'info' },
-                    S4: {
-                        message: transition.event === 'WAITING_FLIGHT_REASSIGNED'
-                            ? `Vuelo ${transition.flightNumber} reasignado automáticamente desde espera`
-                            : `Vuelo ${transition.flightNumber} - Gate asignado exitosamente`,
-                        type: 'success'
-                    },
-                    S5: { message: `Vuelo ${transition.flightNumber} - Aeronave estacionada en gate`, type: 'success' },
-                    S6: { message: `Vuelo ${transition.flightNumber} - Sin gates disponibles, en espera`, type: 'warning' },
-                };
-
-                const notif = notificationMessages[transition.toState];
-                if (notif) {
-                    addDropdownNotification({
-                        type: notif.type,
-                        message: notif.message,
-                        timestamp: Date.now(),
-                        read: false,
-                    });
-                }
+                transitions = parseFrame<AutomataTransition>(message);
             } catch (error) {
                 console.error('[WebSocket] Error parsing transition:', error);
+                return;
             }
+
+            transitions.forEach((transition) => {
+                try {
+                    const messageId = `automata-${transition.flightId}-${transition.toState}-${transition.timestamp || Date.now()}`;
+
+                    if (isDuplicateMessage(messageId)) {
+                        console.log('[WebSocket] Mensaje duplicado ignorado:', messageId);
+                        return;
+                    }
+
+                    console.log('[WebSocket] Transición recibida:', transition);
+
+                    addTransition(transition);
+                    setCurrentState(transition.flightId, transition.toState);
+
+                    const notificationMessages: Record<string, { message: string; type: 'success' | 'error' | 'info' | 'warning' }> = {
+                        S0: { message: `Sistema inicializado`, type: 'info' },
+                        S1: { message: `Vuelo ${transition.flightNumber} - Wide Body detectado`, type: 'info' },
+                        S2: { message: `Vuelo ${transition.flightNumber} - Jumbo detectado`, type: 'info' },
+                        S3: { message: `Vuelo ${transition.flightNumber} - Narrow Body detectado`, type: 'info' },
+                        S4: {
+                            message: transition.event === 'WAITING_FLIGHT_REASSIGNED'
+                                ? `Vuelo ${transition.flightNumber} reasignado automáticamente desde espera`
+                                : `Vuelo ${transition.flightNumber} - Gate asignado exitosamente`,
+                            type: 'success'
+                        },
+                        S5: { message: `Vuelo ${transition.flightNumber} - Aeronave estacionada en gate`, type: 'success' },
+                        S6: { message: `Vuelo ${transition.flightNumber} - Sin gates disponibles, en espera`, type: 'warning' },
+                    };
+
+                    const notif = notificationMessages[transition.toState];
+                    if (notif) {
+                        addDropdownNotification({
+                            type: notif.type,
+                            message: notif.message,
+                            timestamp: Date.now(),
+                            read: false,
+                        });
+                    }
+                } catch (error) {
+                    console.error('[WebSocket] Error processing transition:', error);
+                }
+            });
         });
 
-        const flightsSubscription = globalClient.subscribe(WS_TOPICS.FLIGHTS_UPDATES, (message: IMessage) => {
-            try {
-                const flight: Flight = JSON.parse(message.body);
-                const messageId = `flight-${flight.id}-${flight.status}-${Date.now()}`;
+        if (!flightsSync) {
+            flightsSync = new SnapshotSync<Flight>({
+                syncQueue: WS_QUEUES.FLIGHTS_SYNC,
+                syncDestination: WS_DESTINATIONS.FLIGHTS_SYNC,
+                deltaTopic: WS_TOPICS.FLIGHTS_DELTA,
+            }, (flights: Map<number, Flight>, changes: SnapshotDelta[]) => {
+                setFlightsSnapshot(flights);
 
-                if (isDuplicateMessage(messageId)) {
-                    return;
-                }
+                changes.forEach((delta) => {
+                    const flight = flights.get(delta.id);
+                    if (delta.removed || !flight) {
+                        return;
+                    }
 
-                console.log('[WebSocket] Actualización de vuelo:', flight);
+                    console.log('[WebSocket] Actualización de vuelo:', delta);
 
-                addDropdownNotification({
-                    type: 'info',
-                    message: `Vuelo ${flight.flightNumber} actualizado`,
-                    timestamp: Date.now(),
-                    read: false,
+                    addDropdownNotification({
+                        type: 'info',
+                        message: `Vuelo ${flight.flightNumber} actualizado`,
+                        timestamp: Date.now(),
+                        read: false,
+                    });
                 });
-            } catch (error) {
-                console.error('[WebSocket] Error parsing flight:', error);
-            }
-        });
-
-        const gatesSubscription = globalClient.subscribe(WS_TOPICS.GATES_UPDATES, (message: IMessage) => {
-            try {
-                const gate: Gate = JSON.parse(message.body);
-                const messageId = `gate-${gate.id}-${gate.status}-${Date.now()}`;
+            });
+        }
 
-                if (isDuplicateMessage(messageId)) {
-                    return;
-                }
+        if (!gatesSync) {
+            gatesSync = new SnapshotSync<Gate>({
+                syncQueue: WS_QUEUES.GATES_SYNC,
+                syncDestination: WS_DESTINATIONS.GATES_SYNC,
+                deltaTopic: WS_TOPICS.GATES_DELTA,
+            }, (gates: Map<number, Gate>, changes: SnapshotDelta[]) => {
+                setGatesSnapshot(gates);
 
-                console.log('[WebSocket] Actualización de gate:', gate);
+                changes.forEach((delta) => {
+                    const gate = gates.get(delta.id);
+                    if (delta.removed || !gate || delta.changes?.status === undefined) {
+                        return;
+                    }
 
-                const statusLabels: Record<string, string> = {
-                    FREE: 'disponible',
-                    ASSIGNED: 'asignado',
-                    OCCUPIED: 'ocupado',
-                    MAINTENANCE: 'en mantenimiento',
-                    RESERVED: 'reservado',
-                };
+                    console.log('[WebSocket] Actualización de gate:', delta);
 
-                addDropdownNotification({
-                    type: 'info',
-                    message: `Gate ${gate.gateNumber} ahora está ${statusLabels[gate.status] || gate.status}`,
-                    timestamp: Date.now(),
-                    read: false,
+                    addDropdownNotification({
+                        type: 'info',
+                        message: `Gate ${gate.gateNumber} ahora está ${GATE_STATUS_LABELS[gate.status] || gate.status}`,
+                        timestamp: Date.now(),
+                        read: false,
+                    });
                 });
+            });
+        }
+
+        const flightsSubscriptions = flightsSync.attach(globalClient);
+        const gatesSubscriptions = gatesSync.attach(globalClient);
+
+        const assignmentsSubscription = globalClient.subscribe(WS_TOPICS.ASSIGNMENTS_CREATED, (message: IMessage) => {
+            let assignments: Assignment[];
+            try {
+                assignments = parseFrame<Assignment>(message);
             } catch (error) {
-                console.error('[WebSocket] Error parsing gate:', error);
+                console.error('[WebSocket] Error parsing assignment:', error);
+                return;
             }
-        });
 
-        const assignmentsSubscription = globalClient.subscribe(WS_TOPICS.ASSIGNMENTS_UPDATES, (message: IMessage) => {
-            try {
-                const assignment: Assignment = JSON.parse(message.body);
-                const messageId = `assignment-${assignment.id}-${Date.now()}`;
+            assignments.forEach((assignment) => {
+                const messageId = `assignment-${assignment.id}`;
 
                 if (isDuplicateMessage(messageId)) {
                     return;
@@ -164,20 +197,18 @@ export function useWebSocket() {
                     timestamp: Date.now(),
                     read: false,
                 });
-            } catch (error) {
-                console.error('[WebSocket] Error parsing assignment:', error);
-            }
+            });
         });
 
         globalSubscriptions = [
             automataSubscription,
-            flightsSubscription,
-            gatesSubscription,
+            ...flightsSubscriptions,
+            ...gatesSubscriptions,
             assignmentsSubscription,
         ];
 
         console.log('[WebSocket] Suscripciones configuradas:', globalSubscriptions.length);
-    }, [addTransition, setCurrentState, addDropdownNotification, unsubscribeAll, isDuplicateMessage]);
+    }, [addTransition, setCurrentState, addDropdownNotification, setGatesSnapshot, setFlightsSnapshot, unsubscribeAll, isDuplicateMessage]);
 
     useEffect(() => {
         mountedRef.current = true;
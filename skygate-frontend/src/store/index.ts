@@ -2,11 +2,13 @@ import { create } from 'zustand';
 import { createAutomataSlice, AutomataSlice } from './slices/automata.slice';
 import { createNotificationSlice, NotificationSlice } from './slices/notification.slice';
 import { createGateSlice, GateSlice } from './slices/gate.slice';
+import { createSnapshotSlice, SnapshotSlice } from './slices/snapshot.slice';
 
-export type RootState = AutomataSlice & NotificationSlice & GateSlice;
+export type RootState = AutomataSlice & NotificationSlice & GateSlice & SnapshotSlice;
 
 export const useStore = create<RootState>()((...args) => ({
     ...createAutomataSlice(...args),
     ...createNotificationSlice(...args),
     ...createGateSlice(...args),
+    ...createSnapshotSlice(...args),
 }));
@@ -1,3 +1,4 @@
 export * from './automata.slice';
 export * from './notification.slice';
 export * from './gate.slice';
+export * from './snapshot.slice';
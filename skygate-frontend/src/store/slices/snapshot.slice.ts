@@ -0,0 +1,24 @@
+import type { StateCreator } from 'zustand';
+import type { Flight, Gate } from '../../types/backend.types';
+
+export interface SnapshotSlice {
+    gatesById: Map<number, Gate>;
+    flightsById: Map<number, Flight>;
+
+    setGatesSnapshot: (gates: Map<number, Gate>) => void;
+    setFlightsSnapshot: (flights: Map<number, Flight>) => void;
+}
+
+// Estado en vivo de gates y vuelos mantenido por SnapshotSync (snapshot + deltas por WebSocket)
+export const createSnapshotSlice: StateCreator<SnapshotSlice> = (set) => ({
+    gatesById: new Map(),
+    flightsById: new Map(),
+
+    setGatesSnapshot: (gates) => {
+        set({ gatesById: gates });
+    },
+
+    setFlightsSnapshot: (flights) => {
+        set({ flightsById: flights });
+    },
+});
@@ -121,6 +121,29 @@ export interface AutomataTransition {
     event?: string;
 }
 
+export type SnapshotMode = 'FULL' | 'DELTA';
+
+export interface SnapshotDelta {
+    entityType: string;
+    id: number;
+    revision: number;
+    removed?: boolean;
+    changes?: Record<string, unknown>;
+}
+
+export interface SnapshotSyncRequest {
+    epoch: number | null;
+    sinceRevision: number | null;
+}
+
+export interface SnapshotSyncResponse {
+    entityType: string;
+    mode: SnapshotMode;
+    epoch: number;
+    revision: number;
+    items: SnapshotDelta[];
+}
+
 export interface WebSocketMessage {
     type: 'AUTOMATA_TRANSITION' | 'FLIGHT_UPDATE' | 'GATE_UPDATE' | 'ASSIGNMENT_UPDATE';
     payload: any;